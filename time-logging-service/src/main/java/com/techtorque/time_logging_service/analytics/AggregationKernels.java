@@ -0,0 +1,73 @@
+package com.techtorque.time_logging_service.analytics;
+
+/**
+ * Dense aggregation loops over the columnar store's primitive arrays
+ *
+ * Every kernel looks at rows [0, length) and keeps those whose day lies in [fromDay, toDay].
+ * Values (minutes) must lie in [0, 65535] so that vector lanes can accumulate in ints.
+ * Implementations: "scalar" (plain loops, the reference) and "vector" (Java Vector API,
+ * needs the JVM started with --add-modules jdk.incubator.vector).
+ */
+public interface AggregationKernels {
+
+  String SCALAR = "scalar";
+  String VECTOR = "vector";
+  String AUTO = "auto";
+
+  String name();
+
+  /**
+   * Number of rows in the day range
+   */
+  long count(int[] days, int length, int fromDay, int toDay);
+
+  /**
+   * Sum of the values of the rows in the day range
+   */
+  long sum(int[] values, int[] days, int length, int fromDay, int toDay);
+
+  /**
+   * Per-bucket count and sum of the rows in the day range; a row goes to bucket buckets[row] + bucketOffset
+   */
+  void histogram(int[] buckets, int bucketOffset, int[] values, int[] days, int length, int fromDay, int toDay,
+                 long[] counts, long[] sums);
+
+  /**
+   * Kernels by name: "scalar", "vector", or "auto" (vector when the Vector API module is present, else scalar)
+   *
+   * @throws IllegalArgumentException for an unknown name, or "vector" without the Vector API module
+   */
+  static AggregationKernels select(String implementation) {
+    return switch (implementation) {
+      case SCALAR -> ScalarKernels.INSTANCE;
+      case VECTOR -> {
+        AggregationKernels vector = vectorKernels();
+        if (vector == null) {
+          throw new IllegalArgumentException(
+                  "Vector kernels need the JVM started with --add-modules jdk.incubator.vector");
+        }
+        yield vector;
+      }
+      case AUTO -> {
+        AggregationKernels vector = vectorKernels();
+        yield vector != null ? vector : ScalarKernels.INSTANCE;
+      }
+      default -> throw new IllegalArgumentException(
+              "Unknown aggregation kernels '" + implementation + "'. Allowed: auto, scalar, vector");
+    };
+  }
+
+  private static AggregationKernels vectorKernels() {
+    if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+      return null;
+    }
+    try {
+      // Loaded reflectively so that nothing touches the incubator classes when the module is absent
+      return (AggregationKernels) Class.forName(AggregationKernels.class.getPackageName() + ".VectorKernels")
+              .getDeclaredConstructor()
+              .newInstance();
+    } catch (ReflectiveOperationException | LinkageError e) {
+      return null;
+    }
+  }
+}
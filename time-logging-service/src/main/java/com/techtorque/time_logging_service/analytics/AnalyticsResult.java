@@ -0,0 +1,9 @@
+package com.techtorque.time_logging_service.analytics;
+
+import java.util.List;
+
+/**
+ * Result of an analytics query: matching rows and minutes, and the groups (largest first)
+ */
+public record AnalyticsResult(List<GroupedMinutes> groups, long count, long minutes) {
+}
@@ -0,0 +1,86 @@
+package com.techtorque.time_logging_service.analytics;
+
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * One compressed bitmap of row ordinals per distinct int value of a column
+ * (a dictionary code, or an epoch day); sorted so that value ranges can be OR-ed.
+ * Not thread-safe; guarded by the owning store's lock.
+ */
+final class BitmapIndex {
+
+  private final NavigableMap<Integer, RoaringBitmap> bitmaps = new TreeMap<>();
+
+  void add(int value, int ordinal) {
+    bitmaps.computeIfAbsent(value, v -> new RoaringBitmap()).add(ordinal);
+  }
+
+  void remove(int value, int ordinal) {
+    RoaringBitmap bitmap = bitmaps.get(value);
+    if (bitmap != null) {
+      bitmap.remove(ordinal);
+      if (bitmap.isEmpty()) {
+        bitmaps.remove(value);
+      }
+    }
+  }
+
+  /**
+   * Rows holding any of the values (a new bitmap the caller may modify)
+   */
+  RoaringBitmap any(int[] values) {
+    List<RoaringBitmap> matching = new ArrayList<>(values.length);
+    for (int value : values) {
+      RoaringBitmap bitmap = bitmaps.get(value);
+      if (bitmap != null) {
+        matching.add(bitmap);
+      }
+    }
+    return union(matching);
+  }
+
+  /**
+   * Rows whose value lies in [from, to] (a new bitmap the caller may modify)
+   */
+  RoaringBitmap range(int from, int to) {
+    if (from > to) {
+      return new RoaringBitmap();
+    }
+    return union(bitmaps.subMap(from, true, to, true).values());
+  }
+
+  /**
+   * Convert runs of consecutive ordinals to run containers, e.g. after a bulk load
+   */
+  void optimize() {
+    for (RoaringBitmap bitmap : bitmaps.values()) {
+      bitmap.runOptimize();
+    }
+  }
+
+  long estimatedBytes() {
+    long bytes = 64;
+    for (RoaringBitmap bitmap : bitmaps.values()) {
+      // TreeMap entry + boxed key + the bitmap
+      bytes += 40 + 16 + bitmap.getSizeInBytes();
+    }
+    return bytes;
+  }
+
+  private static RoaringBitmap union(Collection<RoaringBitmap> bitmaps) {
+    if (bitmaps.isEmpty()) {
+      return new RoaringBitmap();
+    }
+    if (bitmaps.size() == 1) {
+      return bitmaps.iterator().next().clone();
+    }
+    return FastAggregation.or(bitmaps.iterator());
+  }
+}
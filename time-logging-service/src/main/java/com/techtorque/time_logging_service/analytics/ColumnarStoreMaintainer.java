@@ -0,0 +1,206 @@
+package com.techtorque.time_logging_service.analytics;
+
+import com.techtorque.time_logging_service.cache.TimeLogCacheEvictor;
+import com.techtorque.time_logging_service.cache.TimeLogChange;
+import com.techtorque.time_logging_service.cache.TimeLogCommitListener;
+import com.techtorque.time_logging_service.entity.TimeLog;
+import com.techtorque.time_logging_service.repository.TimeLogRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Loads the columnar analytics store and keeps it current
+ *
+ * - Loaded in the background once the application is ready (queries use the database until then)
+ * - Local writes arrive through Hibernate post-commit listeners, so every write path is covered
+ * - Writes from other instances arrive as cache invalidations: the row is re-read, or the store reloaded
+ * Changes made while a (re)load is running are replayed onto the new store; upserts and deletes are
+ * idempotent, so a change seen by both the load and the replay is harmless.
+ */
+@Component
+public class ColumnarStoreMaintainer implements TimeLogCacheEvictor, TimeLogCommitListener {
+
+  private static final Logger logger = LoggerFactory.getLogger(ColumnarStoreMaintainer.class);
+
+  private final EntityManagerFactory entityManagerFactory;
+  private final TimeLogRepository timeLogRepository;
+  private final TransactionTemplate readOnlyTransaction;
+  private final boolean enabled;
+  private final AggregationKernels kernels;
+  private volatile ColumnarTimeLogStore store;
+  // Non-null while a (re)load is running; guarded by this
+  private List<Consumer<ColumnarTimeLogStore>> pendingChanges;
+  // A reload was requested while one was running, so it may have missed the change behind it; guarded by this
+  private boolean reloadAgain;
+
+  public ColumnarStoreMaintainer(EntityManagerFactory entityManagerFactory,
+                                 TimeLogRepository timeLogRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.analytics.columnar.enabled:false}") boolean enabled,
+                                 @Value("${app.analytics.columnar.kernels:auto}") String kernels) {
+    this.entityManagerFactory = entityManagerFactory;
+    this.timeLogRepository = timeLogRepository;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    this.enabled = enabled;
+    this.kernels = AggregationKernels.select(kernels);
+  }
+
+  @PostConstruct
+  void register() {
+    if (!enabled) {
+      return;
+    }
+    TimeLogCommitListener.register(entityManagerFactory, this);
+    logger.info("Columnar analytics store uses {} aggregation kernels", kernels.name());
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  void loadInBackground() {
+    if (enabled) {
+      startLoader();
+    }
+  }
+
+  private void startLoader() {
+    Thread loader = new Thread(this::reload, "time-log-columnar-load");
+    loader.setDaemon(true);
+    loader.start();
+  }
+
+  /**
+   * The loaded store, or null while disabled or not loaded yet
+   */
+  public ColumnarTimeLogStore getStore() {
+    return store;
+  }
+
+  /**
+   * Rebuild the store from the database; the current store keeps answering queries meanwhile.
+   * If a reload is already running, it runs once more when done instead.
+   */
+  public void reload() {
+    synchronized (this) {
+      if (pendingChanges != null) {
+        reloadAgain = true;
+        return;
+      }
+      pendingChanges = new ArrayList<>();
+    }
+    while (load()) {
+      logger.info("Reloading the columnar analytics store, requested while it was loading");
+    }
+  }
+
+  /**
+   * @return whether another reload was requested meanwhile (pendingChanges is then reset for it)
+   */
+  private boolean load() {
+    long started = System.nanoTime();
+    try {
+      ColumnarTimeLogStore fresh = new ColumnarTimeLogStore((int) Math.min(Integer.MAX_VALUE, timeLogRepository.count()),
+              kernels);
+      readOnlyTransaction.executeWithoutResult(status -> {
+        try (Stream<TimeLogRow> rows = timeLogRepository.streamAnalyticsRows()) {
+          rows.forEach(fresh::upsert);
+        }
+      });
+      fresh.optimize();
+      boolean again;
+      synchronized (this) {
+        pendingChanges.forEach(change -> change.accept(fresh));
+        store = fresh;
+        again = reloadAgain;
+        reloadAgain = false;
+        pendingChanges = again ? new ArrayList<>() : null;
+      }
+      logger.info("Columnar analytics store loaded: {} rows, ~{} MB, in {} ms", fresh.size(),
+              fresh.estimatedBytes() / (1024 * 1024), (System.nanoTime() - started) / 1_000_000);
+      return again;
+    } catch (RuntimeException e) {
+      synchronized (this) {
+        pendingChanges = null;
+        reloadAgain = false;
+      }
+      logger.error("Could not load the columnar analytics store: {}", e.getMessage());
+      return false;
+    }
+  }
+
+  @Override
+  public void onPostInsert(PostInsertEvent event) {
+    if (event.getEntity() instanceof TimeLog timeLog) {
+      TimeLogRow row = TimeLogRow.of(timeLog);
+      apply(store -> store.upsert(row));
+    }
+  }
+
+  @Override
+  public void onPostUpdate(PostUpdateEvent event) {
+    if (event.getEntity() instanceof TimeLog timeLog) {
+      TimeLogRow row = TimeLogRow.of(timeLog);
+      apply(store -> store.upsert(row));
+    }
+  }
+
+  @Override
+  public void onPostDelete(PostDeleteEvent event) {
+    if (event.getEntity() instanceof TimeLog timeLog) {
+      UUID id = timeLog.getId();
+      apply(store -> store.delete(id));
+    }
+  }
+
+  @Override
+  public void evict(TimeLogChange change) {
+    if (!enabled) {
+      return;
+    }
+    // Written by another instance: take the committed state from the database
+    TimeLogRow row = timeLogRepository.findAnalyticsRow(change.id()).orElse(null);
+    apply(store -> {
+      if (row != null) {
+        store.upsert(row);
+      } else {
+        store.delete(change.id());
+      }
+    });
+  }
+
+  @Override
+  public void evictAll() {
+    if (enabled) {
+      // Called on the invalidation listener thread, which must not wait for a full table scan
+      startLoader();
+    }
+  }
+
+  private void apply(Consumer<ColumnarTimeLogStore> change) {
+    synchronized (this) {
+      if (pendingChanges != null) {
+        pendingChanges.add(change);
+      }
+    }
+    ColumnarTimeLogStore current = store;
+    if (current != null) {
+      change.accept(current);
+    }
+  }
+}
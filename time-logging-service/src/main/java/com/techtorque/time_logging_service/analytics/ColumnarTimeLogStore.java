@@ -0,0 +1,428 @@
+package com.techtorque.time_logging_service.analytics;
+
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory column store of time logs for admin dashboard queries
+ *
+ * One primitive array per column, indexed by row ordinal:
+ * - employee, service, project and work type as dictionary codes (-1 for null)
+ * - the date as an epoch day number, the duration in minutes
+ * Updates overwrite a row in place; deletes clear its live bit (ordinals are never reused for another ID).
+ *
+ * Every live row is also indexed by a compressed bitmap per distinct employee, service, project, work type
+ * and day. A selection ORs the bitmaps of the requested values within a dimension and ANDs the dimensions
+ * (smallest first), so only the matching rows are visited when accumulating into packed long group keys
+ * (21 bits per groupBy dimension, so up to about two million distinct values per dimension).
+ * Selections constrained by at most one date range, grouped by at most one non-date dimension, are
+ * instead answered by a dense pass of the aggregation kernels over the columns (deleted rows carry
+ * a day outside every range). While any live row has minutes outside the kernels' [0, 65535] range, that pass
+ * uses the scalar kernels, which have no such limit.
+ *
+ * Thread-safe: queries share a read lock, writes take the write lock.
+ */
+public class ColumnarTimeLogStore {
+
+  static final int MAX_GROUP_DIMENSIONS = 3;
+  private static final int KEY_BITS = 21;
+  private static final long KEY_MASK = (1L << KEY_BITS) - 1;
+  private static final int DAY_OFFSET = (int) LocalDate.of(1900, 1, 1).toEpochDay();
+  private static final int INITIAL_CAPACITY = 1024;
+  private static final int DELETED_DAY = Integer.MIN_VALUE;
+  private static final int FIRST_DAY = DELETED_DAY + 1;
+  private static final int MAX_KERNEL_MINUTES = 65535;
+
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+  private final AggregationKernels kernels;
+  private final StringDictionary employees = new StringDictionary();
+  private final StringDictionary services = new StringDictionary();
+  private final StringDictionary projects = new StringDictionary();
+  private final StringDictionary workTypes = new StringDictionary();
+  private final UuidOrdinalIndex ordinals;
+  private final BitmapIndex employeeIndex = new BitmapIndex();
+  private final BitmapIndex serviceIndex = new BitmapIndex();
+  private final BitmapIndex projectIndex = new BitmapIndex();
+  private final BitmapIndex workTypeIndex = new BitmapIndex();
+  private final BitmapIndex dayIndex = new BitmapIndex();
+  private final RoaringBitmap live = new RoaringBitmap();
+
+  private int[] employeeColumn;
+  private int[] serviceColumn;
+  private int[] projectColumn;
+  private int[] workTypeColumn;
+  private int[] dayColumn;
+  private int[] minutesColumn;
+  private int rowCount;
+  private int liveCount;
+  // Live rows whose minutes the configured kernels cannot accumulate
+  private int outOfRangeRows;
+
+  public ColumnarTimeLogStore() {
+    this(INITIAL_CAPACITY);
+  }
+
+  public ColumnarTimeLogStore(int expectedRows) {
+    this(expectedRows, AggregationKernels.select(AggregationKernels.AUTO));
+  }
+
+  public ColumnarTimeLogStore(int expectedRows, AggregationKernels kernels) {
+    this.kernels = kernels;
+    int capacity = Math.max(INITIAL_CAPACITY, expectedRows);
+    employeeColumn = new int[capacity];
+    serviceColumn = new int[capacity];
+    projectColumn = new int[capacity];
+    workTypeColumn = new int[capacity];
+    dayColumn = new int[capacity];
+    minutesColumn = new int[capacity];
+    ordinals = new UuidOrdinalIndex(capacity);
+  }
+
+  /**
+   * Insert a row, or overwrite the row with the same ID
+   */
+  public void upsert(TimeLogRow row) {
+    lock.writeLock().lock();
+    try {
+      int ordinal = ordinals.get(row.id());
+      if (ordinal < 0) {
+        ensureCapacity(rowCount + 1);
+        ordinal = rowCount++;
+        ordinals.put(row.id(), ordinal);
+      } else if (live.contains(ordinal)) {
+        unindex(ordinal);
+        if (isOutOfKernelRange(minutesColumn[ordinal])) {
+          outOfRangeRows--;
+        }
+      }
+      employeeColumn[ordinal] = employees.encode(row.employeeId());
+      serviceColumn[ordinal] = services.encode(row.serviceId());
+      projectColumn[ordinal] = projects.encode(row.projectId());
+      workTypeColumn[ordinal] = workTypes.encode(row.workType());
+      dayColumn[ordinal] = (int) row.date().toEpochDay();
+      minutesColumn[ordinal] = row.minutes();
+      if (isOutOfKernelRange(row.minutes())) {
+        outOfRangeRows++;
+      }
+      index(ordinal);
+      if (live.checkedAdd(ordinal)) {
+        liveCount++;
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Remove a row; unknown IDs are ignored
+   */
+  public void delete(UUID id) {
+    lock.writeLock().lock();
+    try {
+      int ordinal = ordinals.get(id);
+      if (ordinal >= 0 && live.checkedRemove(ordinal)) {
+        unindex(ordinal);
+        dayColumn[ordinal] = DELETED_DAY;
+        liveCount--;
+        if (isOutOfKernelRange(minutesColumn[ordinal])) {
+          outOfRangeRows--;
+        }
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Filter and group the live rows
+   *
+   * @param groupBy Up to three dimensions; empty for totals only
+   */
+  public AnalyticsResult query(TimeLogFilter filter, List<Dimension> groupBy) {
+    return query(TimeLogSelection.of(filter), groupBy);
+  }
+
+  /**
+   * Select rows through the bitmap indexes, then group only the selected rows
+   *
+   * @param groupBy Up to three dimensions; empty for totals only
+   */
+  public AnalyticsResult query(TimeLogSelection selection, List<Dimension> groupBy) {
+    if (groupBy.size() > MAX_GROUP_DIMENSIONS) {
+      throw new IllegalArgumentException("At most " + MAX_GROUP_DIMENSIONS + " groupBy dimensions are supported");
+    }
+    lock.readLock().lock();
+    try {
+      if (isDenseScan(selection, groupBy)) {
+        return scan(selection.dateRanges().isEmpty() ? null : selection.dateRanges().get(0), groupBy);
+      }
+      RoaringBitmap selected = select(selection);
+
+      int[][] groupColumns = new int[groupBy.size()][];
+      int[] groupOffsets = new int[groupBy.size()];
+      for (int d = 0; d < groupBy.size(); d++) {
+        groupColumns[d] = column(groupBy.get(d));
+        groupOffsets[d] = groupBy.get(d) == Dimension.DATE ? -DAY_OFFSET : 1;
+      }
+
+      LongAccumulatorMap groups = new LongAccumulatorMap(64);
+      long minutes = 0;
+      IntIterator rows = selected.getIntIterator();
+      while (rows.hasNext()) {
+        int row = rows.next();
+        int rowMinutes = minutesColumn[row];
+        minutes += rowMinutes;
+        if (groupColumns.length > 0) {
+          long key = 0;
+          for (int d = 0; d < groupColumns.length; d++) {
+            key = (key << KEY_BITS) | ((groupColumns[d][row] + groupOffsets[d]) & KEY_MASK);
+          }
+          groups.add(key, 1, rowMinutes);
+        }
+      }
+      return new AnalyticsResult(decodeGroups(groups, groupBy), selected.getLongCardinality(), minutes);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Convert runs of consecutive ordinals in the bitmaps to run containers, e.g. after a bulk load
+   */
+  public void optimize() {
+    lock.writeLock().lock();
+    try {
+      live.runOptimize();
+      employeeIndex.optimize();
+      serviceIndex.optimize();
+      projectIndex.optimize();
+      workTypeIndex.optimize();
+      dayIndex.optimize();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Number of live rows
+   */
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return liveCount;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Approximate heap used by the columns, the ID index and the dictionaries
+   */
+  public long estimatedBytes() {
+    lock.readLock().lock();
+    try {
+      long columns = 6L * 4 * employeeColumn.length;
+      long bitmaps = live.getSizeInBytes() + employeeIndex.estimatedBytes() + serviceIndex.estimatedBytes()
+              + projectIndex.estimatedBytes() + workTypeIndex.estimatedBytes() + dayIndex.estimatedBytes();
+      return columns + bitmaps + ordinals.estimatedBytes() + employees.estimatedBytes() + services.estimatedBytes()
+              + projects.estimatedBytes() + workTypes.estimatedBytes();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private static boolean isOutOfKernelRange(int minutes) {
+    return minutes < 0 || minutes > MAX_KERNEL_MINUTES;
+  }
+
+  private static boolean isDenseScan(TimeLogSelection selection, List<Dimension> groupBy) {
+    return selection.employeeIds().isEmpty() && selection.serviceIds().isEmpty() && selection.projectIds().isEmpty()
+            && selection.workTypes().isEmpty() && selection.dateRanges().size() <= 1
+            && (groupBy.isEmpty() || (groupBy.size() == 1 && groupBy.get(0) != Dimension.DATE));
+  }
+
+  /**
+   * Totals, or groups of one dictionary-encoded dimension, over every row in the date range
+   */
+  private AnalyticsResult scan(TimeLogSelection.DateRange range, List<Dimension> groupBy) {
+    int fromDay = range != null && range.from() != null ? (int) range.from().toEpochDay() : FIRST_DAY;
+    int toDay = range != null && range.to() != null ? (int) range.to().toEpochDay() : Integer.MAX_VALUE;
+    AggregationKernels kernels = outOfRangeRows == 0 ? this.kernels : ScalarKernels.INSTANCE;
+    if (groupBy.isEmpty()) {
+      return new AnalyticsResult(new ArrayList<>(), kernels.count(dayColumn, rowCount, fromDay, toDay),
+              kernels.sum(minutesColumn, dayColumn, rowCount, fromDay, toDay));
+    }
+    Dimension dimension = groupBy.get(0);
+    StringDictionary dictionary = dictionary(dimension);
+    // Bucket 0 holds null values (code -1)
+    long[] counts = new long[dictionary.size() + 1];
+    long[] sums = new long[counts.length];
+    kernels.histogram(column(dimension), 1, minutesColumn, dayColumn, rowCount, fromDay, toDay, counts, sums);
+
+    List<GroupedMinutes> groups = new ArrayList<>();
+    long count = 0;
+    long minutes = 0;
+    for (int bucket = 0; bucket < counts.length; bucket++) {
+      if (counts[bucket] > 0) {
+        groups.add(new GroupedMinutes(Collections.singletonList(dictionary.decode(bucket - 1)), counts[bucket],
+                sums[bucket]));
+        count += counts[bucket];
+        minutes += sums[bucket];
+      }
+    }
+    groups.sort(Comparator.comparingLong(GroupedMinutes::minutes).reversed());
+    return new AnalyticsResult(groups, count, minutes);
+  }
+
+  /**
+   * Rows matching the selection: a new bitmap, or the live rows when nothing is constrained
+   */
+  private RoaringBitmap select(TimeLogSelection selection) {
+    List<RoaringBitmap> constraints = new ArrayList<>();
+    for (Dimension dimension : List.of(Dimension.EMPLOYEE, Dimension.SERVICE, Dimension.PROJECT, Dimension.WORK_TYPE)) {
+      Set<String> values = selection.values(dimension);
+      if (values.isEmpty()) {
+        continue;
+      }
+      RoaringBitmap matching = index(dimension).any(codes(dictionary(dimension), values));
+      if (matching.isEmpty()) {
+        return matching;
+      }
+      constraints.add(matching);
+    }
+    if (!selection.dateRanges().isEmpty()) {
+      RoaringBitmap days = new RoaringBitmap();
+      for (TimeLogSelection.DateRange range : selection.dateRanges()) {
+        int fromDay = range.from() != null ? (int) range.from().toEpochDay() : FIRST_DAY;
+        int toDay = range.to() != null ? (int) range.to().toEpochDay() : Integer.MAX_VALUE;
+        days.or(dayIndex.range(fromDay, toDay));
+      }
+      constraints.add(days);
+    }
+    if (constraints.isEmpty()) {
+      return live;
+    }
+    // Indexes only hold live rows; intersect the smallest bitmaps first
+    constraints.sort(Comparator.comparingLong(RoaringBitmap::getLongCardinality));
+    RoaringBitmap selected = constraints.get(0);
+    for (int i = 1; i < constraints.size() && !selected.isEmpty(); i++) {
+      selected.and(constraints.get(i));
+    }
+    return selected;
+  }
+
+  private static int[] codes(StringDictionary dictionary, Set<String> values) {
+    int[] codes = new int[values.size()];
+    int found = 0;
+    for (String value : values) {
+      int code = dictionary.find(value);
+      if (code >= 0) {
+        codes[found++] = code;
+      }
+    }
+    return Arrays.copyOf(codes, found);
+  }
+
+  private void index(int ordinal) {
+    indexCode(employeeIndex, employeeColumn[ordinal], ordinal);
+    indexCode(serviceIndex, serviceColumn[ordinal], ordinal);
+    indexCode(projectIndex, projectColumn[ordinal], ordinal);
+    indexCode(workTypeIndex, workTypeColumn[ordinal], ordinal);
+    dayIndex.add(dayColumn[ordinal], ordinal);
+  }
+
+  private void unindex(int ordinal) {
+    employeeIndex.remove(employeeColumn[ordinal], ordinal);
+    serviceIndex.remove(serviceColumn[ordinal], ordinal);
+    projectIndex.remove(projectColumn[ordinal], ordinal);
+    workTypeIndex.remove(workTypeColumn[ordinal], ordinal);
+    dayIndex.remove(dayColumn[ordinal], ordinal);
+  }
+
+  private static void indexCode(BitmapIndex index, int code, int ordinal) {
+    // Null values cannot be selected, so they are not indexed
+    if (code != StringDictionary.NULL_CODE) {
+      index.add(code, ordinal);
+    }
+  }
+
+  private List<GroupedMinutes> decodeGroups(LongAccumulatorMap groups, List<Dimension> groupBy) {
+    List<GroupedMinutes> decoded = new ArrayList<>(groups.size());
+    int dimensions = groupBy.size();
+    groups.forEach((key, count, minutes) -> {
+      String[] values = new String[dimensions];
+      long remaining = key;
+      for (int d = dimensions - 1; d >= 0; d--) {
+        int packed = (int) (remaining & KEY_MASK);
+        remaining >>>= KEY_BITS;
+        values[d] = decode(groupBy.get(d), packed);
+      }
+      decoded.add(new GroupedMinutes(Arrays.asList(values), count, minutes));
+    });
+    decoded.sort(Comparator.comparingLong(GroupedMinutes::minutes).reversed());
+    return decoded;
+  }
+
+  private String decode(Dimension dimension, int packed) {
+    return switch (dimension) {
+      case EMPLOYEE -> employees.decode(packed - 1);
+      case SERVICE -> services.decode(packed - 1);
+      case PROJECT -> projects.decode(packed - 1);
+      case WORK_TYPE -> workTypes.decode(packed - 1);
+      case DATE -> LocalDate.ofEpochDay(packed + (long) DAY_OFFSET).toString();
+    };
+  }
+
+  private BitmapIndex index(Dimension dimension) {
+    return switch (dimension) {
+      case EMPLOYEE -> employeeIndex;
+      case SERVICE -> serviceIndex;
+      case PROJECT -> projectIndex;
+      case WORK_TYPE -> workTypeIndex;
+      case DATE -> dayIndex;
+    };
+  }
+
+  private StringDictionary dictionary(Dimension dimension) {
+    return switch (dimension) {
+      case EMPLOYEE -> employees;
+      case SERVICE -> services;
+      case PROJECT -> projects;
+      case WORK_TYPE -> workTypes;
+      case DATE -> throw new IllegalArgumentException("Dates are not dictionary-encoded");
+    };
+  }
+
+  private int[] column(Dimension dimension) {
+    return switch (dimension) {
+      case EMPLOYEE -> employeeColumn;
+      case SERVICE -> serviceColumn;
+      case PROJECT -> projectColumn;
+      case WORK_TYPE -> workTypeColumn;
+      case DATE -> dayColumn;
+    };
+  }
+
+  private void ensureCapacity(int required) {
+    if (required <= employeeColumn.length) {
+      return;
+    }
+    int capacity = Math.max(required, employeeColumn.length + (employeeColumn.length >> 1));
+    employeeColumn = Arrays.copyOf(employeeColumn, capacity);
+    serviceColumn = Arrays.copyOf(serviceColumn, capacity);
+    projectColumn = Arrays.copyOf(projectColumn, capacity);
+    workTypeColumn = Arrays.copyOf(workTypeColumn, capacity);
+    dayColumn = Arrays.copyOf(dayColumn, capacity);
+    minutesColumn = Arrays.copyOf(minutesColumn, capacity);
+  }
+}
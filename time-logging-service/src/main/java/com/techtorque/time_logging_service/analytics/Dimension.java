@@ -0,0 +1,74 @@
+package com.techtorque.time_logging_service.analytics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Dimensions admin dashboards can filter and group time logs by
+ */
+public enum Dimension {
+
+  EMPLOYEE("employee", "employeeId"),
+  SERVICE("service", "serviceId"),
+  PROJECT("project", "projectId"),
+  WORK_TYPE("workType", "workType"),
+  DATE("date", "date");
+
+  private final String parameterName;
+  private final String attribute;
+
+  Dimension(String parameterName, String attribute) {
+    this.parameterName = parameterName;
+    this.attribute = attribute;
+  }
+
+  public String getParameterName() {
+    return parameterName;
+  }
+
+  /**
+   * TimeLog entity attribute behind this dimension
+   */
+  public String getAttribute() {
+    return attribute;
+  }
+
+  /**
+   * Parse a comma-separated groupBy parameter, e.g. "service,workType"
+   *
+   * @throws IllegalArgumentException on an unknown dimension
+   */
+  public static List<Dimension> parse(String groupBy) {
+    List<Dimension> dimensions = new ArrayList<>();
+    if (groupBy == null) {
+      return dimensions;
+    }
+    for (String name : groupBy.split(",")) {
+      String trimmed = name.trim();
+      if (trimmed.isEmpty()) {
+        continue;
+      }
+      Dimension dimension = byParameterName(trimmed);
+      if (!dimensions.contains(dimension)) {
+        dimensions.add(dimension);
+      }
+    }
+    return dimensions;
+  }
+
+  /**
+   * @throws IllegalArgumentException on an unknown dimension
+   */
+  public static Dimension byParameterName(String name) {
+    for (Dimension dimension : values()) {
+      if (dimension.parameterName.equalsIgnoreCase(name)) {
+        return dimension;
+      }
+    }
+    List<String> allowed = new ArrayList<>();
+    for (Dimension dimension : values()) {
+      allowed.add(dimension.parameterName);
+    }
+    throw new IllegalArgumentException("Unknown dimension '" + name + "'. Allowed: " + String.join(", ", allowed));
+  }
+}
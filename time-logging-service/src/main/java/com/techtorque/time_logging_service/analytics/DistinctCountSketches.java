@@ -0,0 +1,335 @@
+package com.techtorque.time_logging_service.analytics;
+
+import com.techtorque.time_logging_service.cache.TimeLogCommitListener;
+import com.techtorque.time_logging_service.entity.DistinctSketch;
+import com.techtorque.time_logging_service.entity.TimeLog;
+import com.techtorque.time_logging_service.repository.DistinctSketchRepository;
+import com.techtorque.time_logging_service.repository.TimeLogRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Daily HyperLogLog sketches for approximate distinct counts over any date range
+ *
+ * - distinct employees per service and per project, distinct services per employee
+ * - one persisted sketch per (dimension, key, day); a range query merges the days' sketches
+ * - committed inserts are merged into the sketches by a background writer (merging is idempotent,
+ *   so a retried or repeated merge is harmless); sketches cannot forget a value, so an update or
+ *   delete has the writer rebuild that day's sketches from time_logs instead (within about a second)
+ * - concurrent writers (threads or instances) are serialized by the sketch's version and retried
+ * - on first start with an empty sketch table every logged day is built in the background
+ */
+@Component
+public class DistinctCountSketches implements TimeLogCommitListener {
+
+  private static final Logger logger = LoggerFactory.getLogger(DistinctCountSketches.class);
+  private static final int MAX_CHANGES_PER_DRAIN = 1000;
+  private static final int MAX_ATTEMPTS = 5;
+
+  private final EntityManagerFactory entityManagerFactory;
+  private final TimeLogRepository timeLogRepository;
+  private final DistinctSketchRepository sketchRepository;
+  private final TransactionTemplate transaction;
+  private final boolean enabled;
+  private final int precision;
+  private final BlockingQueue<TimeLogRow> insertedRows;
+  // Days whose sketches must be rebuilt from time_logs (updates, deletes, queue overflow, backfill)
+  private final Set<LocalDate> daysToRebuild = ConcurrentHashMap.newKeySet();
+  private volatile boolean running;
+  private Thread writer;
+
+  /**
+   * What a family of sketches is keyed by, and what it counts
+   */
+  private enum Family {
+    EMPLOYEES_PER_SERVICE(Dimension.SERVICE, Dimension.EMPLOYEE),
+    EMPLOYEES_PER_PROJECT(Dimension.PROJECT, Dimension.EMPLOYEE),
+    SERVICES_PER_EMPLOYEE(Dimension.EMPLOYEE, Dimension.SERVICE);
+
+    private final Dimension keyedBy;
+    private final Dimension counted;
+
+    Family(Dimension keyedBy, Dimension counted) {
+      this.keyedBy = keyedBy;
+      this.counted = counted;
+    }
+  }
+
+  private record SketchId(String dimension, String key, LocalDate date) {
+  }
+
+  public DistinctCountSketches(EntityManagerFactory entityManagerFactory,
+                               TimeLogRepository timeLogRepository,
+                               DistinctSketchRepository sketchRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.analytics.distinct.enabled:false}") boolean enabled,
+                               @Value("${app.analytics.distinct.relative-error:0.02}") double relativeError,
+                               @Value("${app.analytics.distinct.queue-capacity:100000}") int queueCapacity) {
+    this.entityManagerFactory = entityManagerFactory;
+    this.timeLogRepository = timeLogRepository;
+    this.sketchRepository = sketchRepository;
+    this.transaction = new TransactionTemplate(transactionManager);
+    this.enabled = enabled;
+    this.precision = HyperLogLog.precisionFor(relativeError);
+    this.insertedRows = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+  }
+
+  @PostConstruct
+  void start() {
+    if (!enabled) {
+      return;
+    }
+    TimeLogCommitListener.register(entityManagerFactory, this);
+
+    running = true;
+    writer = new Thread(this::runWriter, "time-log-distinct-sketches");
+    writer.setDaemon(true);
+    writer.start();
+    logger.info("Distinct-count sketches enabled: precision {} ({}% relative standard error)", precision,
+            String.format("%.2f", 100 * HyperLogLog.relativeStandardError(precision)));
+  }
+
+  @PreDestroy
+  void stop() throws InterruptedException {
+    running = false;
+    if (writer != null) {
+      writer.interrupt();
+      writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  void backfillIfEmpty() {
+    if (enabled && sketchRepository.count() == 0) {
+      List<LocalDate> days = timeLogRepository.findDistinctDates();
+      logger.info("Building distinct-count sketches for {} logged days", days.size());
+      daysToRebuild.addAll(days);
+    }
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public int getPrecision() {
+    return precision;
+  }
+
+  /**
+   * Estimated number of distinct employees (per service or project) or services (per employee) in [from, to]
+   *
+   * @throws IllegalArgumentException when disabled, or for a dimension without sketches
+   */
+  public DistinctEstimate estimate(Dimension keyedBy, String key, LocalDate from, LocalDate to) {
+    if (!enabled) {
+      throw new IllegalArgumentException("Distinct-count sketches are not enabled");
+    }
+    Family family = family(keyedBy);
+    List<DistinctSketch> sketches = sketchRepository.findByDimensionAndSketchKeyAndDateBetween(
+            keyedBy.getParameterName(), key, from, to);
+    List<HyperLogLog> days = new ArrayList<>(sketches.size());
+    int lowestPrecision = precision;
+    for (DistinctSketch sketch : sketches) {
+      HyperLogLog day = HyperLogLog.fromBytes(sketch.getRegisters());
+      lowestPrecision = Math.min(lowestPrecision, day.getPrecision());
+      days.add(day);
+    }
+    // Sketches written before a precision change are folded to the lowest precision present
+    HyperLogLog merged = new HyperLogLog(lowestPrecision);
+    days.forEach(merged::merge);
+    return new DistinctEstimate(family.counted, merged.estimate(), HyperLogLog.relativeStandardError(lowestPrecision),
+            sketches.size());
+  }
+
+  /**
+   * Result of a distinct-count query: what was counted, the estimate, its relative standard error,
+   * and how many daily sketches were merged
+   */
+  public record DistinctEstimate(Dimension counted, long estimate, double relativeStandardError, int sketches) {
+  }
+
+  @Override
+  public void onPostInsert(PostInsertEvent event) {
+    if (event.getEntity() instanceof TimeLog timeLog && !insertedRows.offer(TimeLogRow.of(timeLog))) {
+      daysToRebuild.add(timeLog.getDate());
+    }
+  }
+
+  @Override
+  public void onPostUpdate(PostUpdateEvent event) {
+    if (!(event.getEntity() instanceof TimeLog timeLog)) {
+      return;
+    }
+    daysToRebuild.add(timeLog.getDate());
+    if (event.getOldState() != null
+            && event.getOldState()[event.getPersister().getPropertyIndex("date")] instanceof LocalDate oldDate) {
+      daysToRebuild.add(oldDate);
+    }
+  }
+
+  @Override
+  public void onPostDelete(PostDeleteEvent event) {
+    if (event.getEntity() instanceof TimeLog timeLog) {
+      daysToRebuild.add(timeLog.getDate());
+    }
+  }
+
+  private void runWriter() {
+    List<TimeLogRow> rows = new ArrayList<>();
+    while (running || !insertedRows.isEmpty()) {
+      try {
+        TimeLogRow first = insertedRows.poll(1, TimeUnit.SECONDS);
+        if (first != null) {
+          rows.add(first);
+          insertedRows.drainTo(rows, MAX_CHANGES_PER_DRAIN - 1);
+        }
+      } catch (InterruptedException e) {
+        // Woken up by stop(); the loop writes whatever is still queued before exiting
+      }
+      try {
+        write(rows);
+      } catch (RuntimeException e) {
+        logger.error("Could not update distinct-count sketches: {}", e.getMessage());
+      }
+      rows.clear();
+    }
+  }
+
+  private void write(List<TimeLogRow> rows) {
+    Set<LocalDate> days = new HashSet<>();
+    for (LocalDate day : daysToRebuild) {
+      if (daysToRebuild.remove(day)) {
+        days.add(day);
+      }
+    }
+    for (LocalDate day : days) {
+      withRetries("rebuild " + day, () -> rebuildDay(day));
+    }
+
+    Map<SketchId, HyperLogLog> additions = new HashMap<>();
+    for (TimeLogRow row : rows) {
+      // A rebuilt day already contains every row committed before it
+      if (!days.contains(row.date())) {
+        add(additions, row);
+      }
+    }
+    additions.forEach((id, added) -> withRetries("merge " + id, () -> mergeInto(id, added)));
+  }
+
+  private void rebuildDay(LocalDate day) {
+    transaction.executeWithoutResult(status -> {
+      Map<SketchId, HyperLogLog> rebuilt = new HashMap<>();
+      timeLogRepository.findAnalyticsRowsByDate(day).forEach(row -> add(rebuilt, row));
+      for (DistinctSketch existing : sketchRepository.findByDate(day)) {
+        HyperLogLog fresh = rebuilt.remove(new SketchId(existing.getDimension(), existing.getSketchKey(), day));
+        if (fresh == null) {
+          sketchRepository.delete(existing);
+        } else if (!fresh.equals(HyperLogLog.fromBytes(existing.getRegisters()))) {
+          existing.setRegisters(fresh.toBytes());
+        }
+      }
+      rebuilt.forEach((id, sketch) -> sketchRepository.save(newSketch(id, sketch)));
+      sketchRepository.flush();
+    });
+  }
+
+  private void mergeInto(SketchId id, HyperLogLog added) {
+    transaction.executeWithoutResult(status -> {
+      DistinctSketch sketch = sketchRepository.findByDimensionAndSketchKeyAndDate(id.dimension(), id.key(), id.date())
+              .orElse(null);
+      if (sketch == null) {
+        sketchRepository.saveAndFlush(newSketch(id, added));
+        return;
+      }
+      HyperLogLog stored = HyperLogLog.fromBytes(sketch.getRegisters());
+      HyperLogLog merged = new HyperLogLog(Math.min(stored.getPrecision(), added.getPrecision()));
+      merged.merge(stored);
+      merged.merge(added);
+      if (!merged.equals(stored)) {
+        sketch.setRegisters(merged.toBytes());
+        sketchRepository.saveAndFlush(sketch);
+      }
+    });
+  }
+
+  private void withRetries(String description, Runnable work) {
+    for (int attempt = 1; ; attempt++) {
+      try {
+        work.run();
+        return;
+      } catch (OptimisticLockingFailureException | DataIntegrityViolationException e) {
+        // Another writer changed or created the same sketch: merging again is safe
+        if (attempt == MAX_ATTEMPTS) {
+          logger.warn("Giving up on distinct-count sketch {} after {} attempts: {}", description, attempt,
+                  e.getMessage());
+          return;
+        }
+      }
+    }
+  }
+
+  private void add(Map<SketchId, HyperLogLog> sketches, TimeLogRow row) {
+    for (Family family : Family.values()) {
+      String key = value(row, family.keyedBy);
+      String counted = value(row, family.counted);
+      if (key != null && counted != null) {
+        sketches.computeIfAbsent(new SketchId(family.keyedBy.getParameterName(), key, row.date()),
+                id -> new HyperLogLog(precision)).add(counted);
+      }
+    }
+  }
+
+  private static DistinctSketch newSketch(SketchId id, HyperLogLog sketch) {
+    return DistinctSketch.builder()
+            .dimension(id.dimension())
+            .sketchKey(id.key())
+            .date(id.date())
+            .registers(sketch.toBytes())
+            .build();
+  }
+
+  private static String value(TimeLogRow row, Dimension dimension) {
+    return switch (dimension) {
+      case EMPLOYEE -> row.employeeId();
+      case SERVICE -> row.serviceId();
+      case PROJECT -> row.projectId();
+      default -> throw new IllegalArgumentException("No distinct-count sketches for " + dimension.getParameterName());
+    };
+  }
+
+  private static Family family(Dimension keyedBy) {
+    for (Family family : Family.values()) {
+      if (family.keyedBy == keyedBy) {
+        return family;
+      }
+    }
+    throw new IllegalArgumentException("Distinct counts are kept per service, project or employee, not per "
+            + keyedBy.getParameterName());
+  }
+}
@@ -0,0 +1,11 @@
+package com.techtorque.time_logging_service.analytics;
+
+import java.util.List;
+
+/**
+ * One group of an analytics query: the group's dimension values, row count and total minutes
+ *
+ * @param key Values of the groupBy dimensions, in groupBy order (dates as ISO strings, null for missing values)
+ */
+public record GroupedMinutes(List<String> key, long count, long minutes) {
+}
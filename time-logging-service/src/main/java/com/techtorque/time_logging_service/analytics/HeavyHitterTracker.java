@@ -0,0 +1,304 @@
+package com.techtorque.time_logging_service.analytics;
+
+import com.techtorque.time_logging_service.cache.TimeLogCacheEvictor;
+import com.techtorque.time_logging_service.cache.TimeLogChange;
+import com.techtorque.time_logging_service.cache.TimeLogCommitListener;
+import com.techtorque.time_logging_service.entity.TimeLog;
+import com.techtorque.time_logging_service.repository.TimeLogRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Streaming "top services/projects by hours" per day, week and month
+ *
+ * One Space-Saving summary (plus the exact total) per dimension and window, for the last 62 days,
+ * 26 weeks and 13 months. Fed with the minute deltas of every committed insert, update and delete
+ * on this instance; loaded from the database in the background at startup and after missed invalidations.
+ * Changes made by other instances mark the affected windows stale, and a stale window is rebuilt
+ * from a GROUP BY when next read. Windows outside the retention are answered from a GROUP BY directly.
+ * A commit racing a (re)load can be missed or counted twice in its windows until they are rebuilt.
+ */
+@Component
+public class HeavyHitterTracker implements TimeLogCacheEvictor, TimeLogCommitListener {
+
+  private static final Logger logger = LoggerFactory.getLogger(HeavyHitterTracker.class);
+  private static final List<Dimension> DIMENSIONS = List.of(Dimension.SERVICE, Dimension.PROJECT);
+  private static final Map<TimeWindow, Integer> RETAINED_WINDOWS = Map.of(
+          TimeWindow.DAY, 62, TimeWindow.WEEK, 26, TimeWindow.MONTH, 13);
+
+  private final EntityManagerFactory entityManagerFactory;
+  private final TimeLogRepository timeLogRepository;
+  private final TransactionTemplate readOnlyTransaction;
+  private final boolean enabled;
+  private final int capacity;
+  // Guarded by this
+  private Map<WindowKey, WindowCounters> windows = new HashMap<>();
+  private volatile boolean loaded;
+
+  private record WindowKey(Dimension dimension, TimeWindow window, LocalDate start) {
+  }
+
+  private static final class WindowCounters {
+    private final SpaceSaving summary;
+    private long totalMinutes;
+    private boolean stale;
+
+    private WindowCounters(int capacity) {
+      this.summary = new SpaceSaving(capacity);
+    }
+  }
+
+  /**
+   * Heavy hitters of one window: the k largest keys with their bounds, the bound of any unlisted key,
+   * and the exact total of the window
+   */
+  public record TopK(LocalDate from, LocalDate to, List<SpaceSaving.HeavyHitter> hitters, long untrackedBound,
+                     long totalMinutes, int capacity) {
+  }
+
+  public HeavyHitterTracker(EntityManagerFactory entityManagerFactory,
+                            TimeLogRepository timeLogRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.analytics.top.enabled:false}") boolean enabled,
+                            @Value("${app.analytics.top.capacity:500}") int capacity) {
+    this.entityManagerFactory = entityManagerFactory;
+    this.timeLogRepository = timeLogRepository;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    this.enabled = enabled;
+    this.capacity = capacity;
+  }
+
+  @PostConstruct
+  void register() {
+    if (!enabled) {
+      return;
+    }
+    TimeLogCommitListener.register(entityManagerFactory, this);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  void loadInBackground() {
+    if (enabled) {
+      startLoader();
+    }
+  }
+
+  private void startLoader() {
+    Thread loader = new Thread(this::reload, "time-log-heavy-hitters-load");
+    loader.setDaemon(true);
+    loader.start();
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public boolean isLoaded() {
+    return loaded;
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /**
+   * Rebuild every retained window from the database
+   */
+  public void reload() {
+    long started = System.nanoTime();
+    LocalDate today = LocalDate.now();
+    LocalDate from = today;
+    for (TimeWindow window : TimeWindow.values()) {
+      LocalDate earliest = window.startBefore(today, RETAINED_WINDOWS.get(window) - 1);
+      from = earliest.isBefore(from) ? earliest : from;
+    }
+    LocalDate loadFrom = from;
+    Map<WindowKey, WindowCounters> fresh = new HashMap<>();
+    try {
+      readOnlyTransaction.executeWithoutResult(status -> {
+        try (Stream<TimeLogRow> rows = timeLogRepository.streamAnalyticsRowsFrom(loadFrom)) {
+          rows.forEach(row -> apply(fresh, today, row.serviceId(), row.projectId(), row.date(), row.minutes()));
+        }
+      });
+    } catch (RuntimeException e) {
+      logger.error("Could not load the heavy-hitter windows: {}", e.getMessage());
+      return;
+    }
+    synchronized (this) {
+      windows = fresh;
+      loaded = true;
+    }
+    logger.info("Heavy-hitter windows loaded from {}: {} windows in {} ms", loadFrom, fresh.size(),
+            (System.nanoTime() - started) / 1_000_000);
+  }
+
+  /**
+   * The k services or projects with the most minutes in the window containing the date
+   *
+   * @throws IllegalArgumentException when disabled, for another dimension, or k outside [1, capacity]
+   */
+  public TopK top(Dimension dimension, TimeWindow window, LocalDate date, int k) {
+    if (!enabled) {
+      throw new IllegalArgumentException("Heavy-hitter tracking is not enabled");
+    }
+    if (!DIMENSIONS.contains(dimension)) {
+      throw new IllegalArgumentException("Top-K is kept per service or project, not per " + dimension.getParameterName());
+    }
+    if (k < 1 || k > capacity) {
+      throw new IllegalArgumentException("k must be between 1 and " + capacity);
+    }
+    WindowKey key = new WindowKey(dimension, window, window.start(date));
+    WindowCounters counters;
+    boolean rebuild;
+    synchronized (this) {
+      counters = windows.get(key);
+      rebuild = !loaded || !isRetained(key, LocalDate.now()) || (counters != null && counters.stale);
+    }
+    if (rebuild) {
+      counters = build(key);
+      synchronized (this) {
+        WindowCounters current = windows.get(key);
+        if (loaded && current != null && current.stale) {
+          windows.put(key, counters);
+        }
+      }
+    }
+    LocalDate end = window.end(key.start());
+    if (counters == null) {
+      return new TopK(key.start(), end, List.of(), 0, 0, capacity);
+    }
+    synchronized (this) {
+      List<SpaceSaving.HeavyHitter> hitters = counters.summary.top(k + 1);
+      // The (k+1)-th count also bounds every key not listed
+      long bound = counters.summary.untrackedBound();
+      if (hitters.size() > k) {
+        bound = Math.max(bound, hitters.remove(k).count());
+      }
+      return new TopK(key.start(), end, hitters, bound, counters.totalMinutes, capacity);
+    }
+  }
+
+  @Override
+  public void onPostInsert(PostInsertEvent event) {
+    if (event.getEntity() instanceof TimeLog timeLog) {
+      apply(timeLog.getServiceId(), timeLog.getProjectId(), timeLog.getDate(), timeLog.getMinutes());
+    }
+  }
+
+  @Override
+  public void onPostUpdate(PostUpdateEvent event) {
+    if (!(event.getEntity() instanceof TimeLog timeLog)) {
+      return;
+    }
+    Object[] oldState = event.getOldState();
+    if (oldState == null) {
+      // Nothing to subtract: recount the day's windows instead
+      markStale(timeLog.getDate());
+      return;
+    }
+    EntityPersister persister = event.getPersister();
+    Object oldProject = oldState[persister.getPropertyIndex("projectId")];
+    Object oldDate = oldState[persister.getPropertyIndex("date")];
+    Object oldMinutes = oldState[persister.getPropertyIndex("minutes")];
+    apply(timeLog.getServiceId(), (String) oldProject, (LocalDate) oldDate, -((Integer) oldMinutes));
+    apply(timeLog.getServiceId(), timeLog.getProjectId(), timeLog.getDate(), timeLog.getMinutes());
+  }
+
+  @Override
+  public void onPostDelete(PostDeleteEvent event) {
+    if (event.getEntity() instanceof TimeLog timeLog) {
+      apply(timeLog.getServiceId(), timeLog.getProjectId(), timeLog.getDate(), -timeLog.getMinutes());
+    }
+  }
+
+  @Override
+  public void evict(TimeLogChange change) {
+    if (!enabled) {
+      return;
+    }
+    // Written by another instance: the delta is unknown, so the windows of that day are rebuilt on read
+    markStale(change.date());
+  }
+
+  @Override
+  public void evictAll() {
+    if (enabled) {
+      // Reads go to the database until the reload completes
+      loaded = false;
+      startLoader();
+    }
+  }
+
+  private synchronized void markStale(LocalDate date) {
+    for (Dimension dimension : DIMENSIONS) {
+      for (TimeWindow window : TimeWindow.values()) {
+        WindowKey key = new WindowKey(dimension, window, window.start(date));
+        windows.computeIfAbsent(key, k -> new WindowCounters(capacity)).stale = true;
+      }
+    }
+  }
+
+  private synchronized void apply(String serviceId, String projectId, LocalDate date, int minutes) {
+    apply(windows, LocalDate.now(), serviceId, projectId, date, minutes);
+  }
+
+  private void apply(Map<WindowKey, WindowCounters> target, LocalDate today, String serviceId, String projectId,
+                     LocalDate date, int minutes) {
+    for (Dimension dimension : DIMENSIONS) {
+      String value = dimension == Dimension.SERVICE ? serviceId : projectId;
+      if (value == null) {
+        continue;
+      }
+      for (TimeWindow window : TimeWindow.values()) {
+        WindowKey key = new WindowKey(dimension, window, window.start(date));
+        if (isRetained(key, today)) {
+          WindowCounters counters = target.computeIfAbsent(key, k -> new WindowCounters(capacity));
+          counters.summary.add(value, minutes);
+          counters.totalMinutes += minutes;
+        }
+      }
+    }
+  }
+
+  private static boolean isRetained(WindowKey key, LocalDate today) {
+    return !key.start().isBefore(key.window().startBefore(today, RETAINED_WINDOWS.get(key.window()) - 1));
+  }
+
+  /**
+   * Exact window from a GROUP BY, fed largest first (so the largest keys get exact counters)
+   */
+  private WindowCounters build(WindowKey key) {
+    TimeLogSelection selection = new TimeLogSelection(null, null, null, null,
+            List.of(new TimeLogSelection.DateRange(key.start(), key.window().end(key.start()))));
+    AnalyticsResult result = readOnlyTransaction.execute(status ->
+            timeLogRepository.aggregate(selection, List.of(key.dimension())));
+    WindowCounters counters = new WindowCounters(capacity);
+    for (GroupedMinutes group : result.groups()) {
+      String value = group.key().get(0);
+      if (value != null) {
+        counters.summary.add(value, group.minutes());
+        counters.totalMinutes += group.minutes();
+      }
+    }
+    return counters;
+  }
+}
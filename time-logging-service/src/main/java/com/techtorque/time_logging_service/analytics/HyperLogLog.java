@@ -0,0 +1,228 @@
+package com.techtorque.time_logging_service.analytics;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+/**
+ * HyperLogLog distinct-count sketch over strings
+ *
+ * 2^precision one-byte registers; the relative standard error is 1.04 / sqrt(2^precision)
+ * (e.g. precision 12: 4096 registers, 1.6%). Small cardinalities use linear counting.
+ * Sketches merge by taking the register-wise maximum, so merging is idempotent and order-independent;
+ * a sketch can be folded to a lower precision to merge with one built at that precision.
+ *
+ * Serialized sparse ((index, rank) pairs) while few registers are set, which is the common case
+ * for one service or employee on one day, and dense otherwise.
+ * Not thread-safe.
+ */
+public final class HyperLogLog {
+
+  public static final int MIN_PRECISION = 4;
+  public static final int MAX_PRECISION = 16;
+  private static final byte SPARSE = 1;
+  private static final byte DENSE = 2;
+
+  private final int precision;
+  private final byte[] registers;
+
+  public HyperLogLog(int precision) {
+    if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+      throw new IllegalArgumentException("HyperLogLog precision must be between " + MIN_PRECISION + " and "
+              + MAX_PRECISION);
+    }
+    this.precision = precision;
+    this.registers = new byte[1 << precision];
+  }
+
+  /**
+   * Smallest precision whose relative standard error is at most the given bound
+   */
+  public static int precisionFor(double relativeError) {
+    for (int precision = MIN_PRECISION; precision <= MAX_PRECISION; precision++) {
+      if (relativeStandardError(precision) <= relativeError) {
+        return precision;
+      }
+    }
+    throw new IllegalArgumentException("A relative error of " + relativeError + " needs more than "
+            + (1 << MAX_PRECISION) + " registers");
+  }
+
+  public static double relativeStandardError(int precision) {
+    return 1.04 / Math.sqrt(1 << precision);
+  }
+
+  public int getPrecision() {
+    return precision;
+  }
+
+  public void add(String value) {
+    long hash = hash(value);
+    int index = (int) (hash >>> (64 - precision));
+    // Guard bit keeps the rank within 64 - precision + 1
+    long remaining = (hash << precision) | (1L << (precision - 1));
+    byte rank = (byte) (Long.numberOfLeadingZeros(remaining) + 1);
+    if (registers[index] < rank) {
+      registers[index] = rank;
+    }
+  }
+
+  /**
+   * Merge another sketch into this one; the other is folded first if it has a higher precision
+   *
+   * @throws IllegalArgumentException if the other sketch has a lower precision (fold this one instead)
+   */
+  public void merge(HyperLogLog other) {
+    if (other.precision < precision) {
+      throw new IllegalArgumentException("Cannot merge a precision " + other.precision + " sketch into precision "
+              + precision + "; fold this sketch first");
+    }
+    HyperLogLog folded = other.precision == precision ? other : other.foldTo(precision);
+    for (int i = 0; i < registers.length; i++) {
+      if (registers[i] < folded.registers[i]) {
+        registers[i] = folded.registers[i];
+      }
+    }
+  }
+
+  /**
+   * The same sketch at a lower precision, as if every value had been added to a sketch of that precision
+   */
+  public HyperLogLog foldTo(int lowerPrecision) {
+    if (lowerPrecision > precision) {
+      throw new IllegalArgumentException("Cannot fold precision " + precision + " up to " + lowerPrecision);
+    }
+    HyperLogLog folded = new HyperLogLog(lowerPrecision);
+    int droppedBits = precision - lowerPrecision;
+    for (int i = 0; i < registers.length; i++) {
+      if (registers[i] == 0) {
+        continue;
+      }
+      int dropped = i & ((1 << droppedBits) - 1);
+      // The dropped index bits now lead the rank's bit string
+      byte rank = dropped != 0
+              ? (byte) (Integer.numberOfLeadingZeros(dropped) - (32 - droppedBits) + 1)
+              : (byte) (droppedBits + registers[i]);
+      int index = i >>> droppedBits;
+      if (folded.registers[index] < rank) {
+        folded.registers[index] = rank;
+      }
+    }
+    return folded;
+  }
+
+  public long estimate() {
+    int m = registers.length;
+    double sum = 0;
+    int zeros = 0;
+    for (byte register : registers) {
+      sum += 1.0 / (1L << register);
+      if (register == 0) {
+        zeros++;
+      }
+    }
+    double estimate = alpha(m) * m * (double) m / sum;
+    if (estimate <= 2.5 * m && zeros > 0) {
+      estimate = m * Math.log((double) m / zeros);
+    }
+    return Math.round(estimate);
+  }
+
+  public boolean isEmpty() {
+    for (byte register : registers) {
+      if (register != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Compact serialized form: [encoding, precision] followed by (index, rank) triples or all registers
+   */
+  public byte[] toBytes() {
+    int set = 0;
+    for (byte register : registers) {
+      if (register != 0) {
+        set++;
+      }
+    }
+    if (set * 3 < registers.length) {
+      ByteArrayOutputStream out = new ByteArrayOutputStream(2 + set * 3);
+      out.write(SPARSE);
+      out.write(precision);
+      for (int i = 0; i < registers.length; i++) {
+        if (registers[i] != 0) {
+          out.write(i >>> 8);
+          out.write(i);
+          out.write(registers[i]);
+        }
+      }
+      return out.toByteArray();
+    }
+    byte[] bytes = new byte[2 + registers.length];
+    bytes[0] = DENSE;
+    bytes[1] = (byte) precision;
+    System.arraycopy(registers, 0, bytes, 2, registers.length);
+    return bytes;
+  }
+
+  /**
+   * @throws IllegalArgumentException if the bytes are not a serialized sketch
+   */
+  public static HyperLogLog fromBytes(byte[] bytes) {
+    if (bytes == null || bytes.length < 2) {
+      throw new IllegalArgumentException("Not a serialized HyperLogLog sketch");
+    }
+    HyperLogLog sketch = new HyperLogLog(bytes[1]);
+    if (bytes[0] == DENSE && bytes.length == 2 + sketch.registers.length) {
+      System.arraycopy(bytes, 2, sketch.registers, 0, sketch.registers.length);
+    } else if (bytes[0] == SPARSE && (bytes.length - 2) % 3 == 0) {
+      for (int offset = 2; offset < bytes.length; offset += 3) {
+        int index = ((bytes[offset] & 0xFF) << 8) | (bytes[offset + 1] & 0xFF);
+        if (index >= sketch.registers.length) {
+          throw new IllegalArgumentException("Not a serialized HyperLogLog sketch");
+        }
+        sketch.registers[index] = bytes[offset + 2];
+      }
+    } else {
+      throw new IllegalArgumentException("Not a serialized HyperLogLog sketch");
+    }
+    return sketch;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return o instanceof HyperLogLog other && precision == other.precision && Arrays.equals(registers, other.registers);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * precision + Arrays.hashCode(registers);
+  }
+
+  private static double alpha(int m) {
+    return switch (m) {
+      case 16 -> 0.673;
+      case 32 -> 0.697;
+      case 64 -> 0.709;
+      default -> 0.7213 / (1 + 1.079 / m);
+    };
+  }
+
+  /**
+   * 64-bit FNV-1a over the chars, finished with the MurmurHash3 fmix64 avalanche
+   */
+  private static long hash(String value) {
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < value.length(); i++) {
+      hash ^= value.charAt(i);
+      hash *= 0x100000001b3L;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb93fe34d53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
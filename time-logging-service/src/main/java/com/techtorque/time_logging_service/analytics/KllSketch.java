@@ -0,0 +1,319 @@
+package com.techtorque.time_logging_service.analytics;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * KLL quantile sketch over int values (minutes per time log entry)
+ *
+ * A stack of compactors: level h holds items of weight 2^h, and a full level is sorted and every other item
+ * (odd or even positions, chosen pseudo-randomly) is promoted to the next level. Capacities shrink by 2/3 per
+ * level below the top, so the sketch keeps O(k) items for any stream length, and a quantile's rank is off by
+ * roughly 1.7/k of the count (k = 200: under 1%). Exact while fewer than k values were added.
+ * Sketches merge by concatenating levels and compacting again; count, sum, min and max stay exact.
+ * Coin flips derive from the count, so the same values in the same order always give the same sketch.
+ *
+ * Serialized as varints, each level sorted and delta-encoded: a few bytes per retained item.
+ * Not thread-safe.
+ */
+public final class KllSketch {
+
+  public static final int MIN_K = 8;
+  public static final int MAX_K = 4096;
+  private static final byte FORMAT = 1;
+  private static final double LEVEL_CAPACITY_RATIO = 2.0 / 3.0;
+
+  private final int k;
+  private final List<int[]> levels = new ArrayList<>();
+  private final List<Integer> sizes = new ArrayList<>();
+  private int retained;
+  private int maxRetained;
+  private long count;
+  private long sum;
+  private int min = Integer.MAX_VALUE;
+  private int max = Integer.MIN_VALUE;
+
+  public KllSketch(int k) {
+    if (k < MIN_K || k > MAX_K) {
+      throw new IllegalArgumentException("KLL k must be between " + MIN_K + " and " + MAX_K);
+    }
+    this.k = k;
+    grow();
+  }
+
+  public int getK() {
+    return k;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public long getSum() {
+    return sum;
+  }
+
+  /**
+   * @throws IllegalStateException when empty
+   */
+  public int getMin() {
+    requireValues();
+    return min;
+  }
+
+  /**
+   * @throws IllegalStateException when empty
+   */
+  public int getMax() {
+    requireValues();
+    return max;
+  }
+
+  public boolean isEmpty() {
+    return count == 0;
+  }
+
+  /**
+   * Items kept, at most about 3k
+   */
+  public int getRetained() {
+    return retained;
+  }
+
+  public void add(int value) {
+    append(0, value);
+    count++;
+    sum += value;
+    min = Math.min(min, value);
+    max = Math.max(max, value);
+    if (retained >= maxRetained) {
+      compress();
+    }
+  }
+
+  /**
+   * Add every value of the other sketch to this one (a sketch built with a smaller k brings its larger error along)
+   */
+  public void merge(KllSketch other) {
+    if (other.isEmpty()) {
+      return;
+    }
+    while (levels.size() < other.levels.size()) {
+      grow();
+    }
+    for (int h = 0; h < other.levels.size(); h++) {
+      int[] items = other.levels.get(h);
+      for (int i = 0; i < other.sizes.get(h); i++) {
+        append(h, items[i]);
+      }
+    }
+    count += other.count;
+    sum += other.sum;
+    min = Math.min(min, other.min);
+    max = Math.max(max, other.max);
+    while (retained >= maxRetained) {
+      compress();
+    }
+  }
+
+  /**
+   * Smallest retained value whose estimated rank reaches the fraction q of all values
+   * (q = 0 and q = 1 give the exact min and max)
+   *
+   * @throws IllegalArgumentException when q is outside [0, 1]
+   * @throws IllegalStateException when empty
+   */
+  public int quantile(double q) {
+    if (!(q >= 0 && q <= 1)) {
+      throw new IllegalArgumentException("Quantile must be between 0 and 1");
+    }
+    requireValues();
+    if (q == 0) {
+      return min;
+    }
+    if (q == 1) {
+      return max;
+    }
+    // (value, weight) pairs packed into longs: sorting them sorts by value
+    long[] weighted = new long[retained];
+    int n = 0;
+    for (int h = 0; h < levels.size(); h++) {
+      int[] items = levels.get(h);
+      for (int i = 0; i < sizes.get(h); i++) {
+        weighted[n++] = ((long) items[i] << 32) | ((long) h & 0xFFFFFFFFL);
+      }
+    }
+    Arrays.sort(weighted);
+    double target = q * count;
+    long cumulative = 0;
+    for (long item : weighted) {
+      cumulative += 1L << (int) item;
+      if (cumulative >= target) {
+        return (int) (item >> 32);
+      }
+    }
+    return max;
+  }
+
+  /**
+   * Compact serialized form: [format, k, count, sum, min, max, levels] then each level's size and sorted deltas
+   */
+  public byte[] toBytes() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(16 + 2 * retained);
+    out.write(FORMAT);
+    writeVarLong(out, k);
+    writeVarLong(out, count);
+    writeVarLong(out, zigZag(sum));
+    writeVarLong(out, zigZag(isEmpty() ? 0 : min));
+    writeVarLong(out, zigZag(isEmpty() ? 0 : max));
+    writeVarLong(out, levels.size());
+    for (int h = 0; h < levels.size(); h++) {
+      int size = sizes.get(h);
+      int[] items = Arrays.copyOf(levels.get(h), size);
+      Arrays.sort(items);
+      writeVarLong(out, size);
+      long previous = 0;
+      for (int item : items) {
+        writeVarLong(out, zigZag(item - previous));
+        previous = item;
+      }
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * @throws IllegalArgumentException if the bytes are not a serialized sketch
+   */
+  public static KllSketch fromBytes(byte[] bytes) {
+    if (bytes == null || bytes.length < 2 || bytes[0] != FORMAT) {
+      throw new IllegalArgumentException("Not a serialized KLL sketch");
+    }
+    try {
+      int[] position = {1};
+      KllSketch sketch = new KllSketch((int) readVarLong(bytes, position));
+      sketch.count = readVarLong(bytes, position);
+      sketch.sum = unZigZag(readVarLong(bytes, position));
+      int min = (int) unZigZag(readVarLong(bytes, position));
+      int max = (int) unZigZag(readVarLong(bytes, position));
+      if (sketch.count > 0) {
+        sketch.min = min;
+        sketch.max = max;
+      }
+      int levels = (int) readVarLong(bytes, position);
+      while (sketch.levels.size() < levels) {
+        sketch.grow();
+      }
+      for (int h = 0; h < levels; h++) {
+        long size = readVarLong(bytes, position);
+        long previous = 0;
+        for (long i = 0; i < size; i++) {
+          previous += unZigZag(readVarLong(bytes, position));
+          sketch.append(h, (int) previous);
+        }
+      }
+      if (position[0] != bytes.length) {
+        throw new IllegalArgumentException("Not a serialized KLL sketch");
+      }
+      return sketch;
+    } catch (ArrayIndexOutOfBoundsException e) {
+      throw new IllegalArgumentException("Not a serialized KLL sketch");
+    }
+  }
+
+  private void requireValues() {
+    if (isEmpty()) {
+      throw new IllegalStateException("Empty KLL sketch");
+    }
+  }
+
+  private void grow() {
+    levels.add(new int[8]);
+    sizes.add(0);
+    maxRetained = 0;
+    for (int h = 0; h < levels.size(); h++) {
+      maxRetained += capacity(h);
+    }
+  }
+
+  private int capacity(int level) {
+    int depth = levels.size() - level - 1;
+    return (int) Math.ceil(Math.pow(LEVEL_CAPACITY_RATIO, depth) * k) + 1;
+  }
+
+  private void append(int level, int value) {
+    int[] items = levels.get(level);
+    int size = sizes.get(level);
+    if (size == items.length) {
+      items = Arrays.copyOf(items, items.length * 2);
+      levels.set(level, items);
+    }
+    items[size] = value;
+    sizes.set(level, size + 1);
+    retained++;
+  }
+
+  /**
+   * Compact the lowest full level into the one above it
+   */
+  private void compress() {
+    for (int h = 0; h < levels.size(); h++) {
+      int size = sizes.get(h);
+      if (size < capacity(h)) {
+        continue;
+      }
+      if (h + 1 == levels.size()) {
+        grow();
+      }
+      int[] items = levels.get(h);
+      Arrays.sort(items, 0, size);
+      // An odd item out stays on this level
+      int pairs = size / 2;
+      int kept = size - 2 * pairs;
+      int offset = coinFlip(h) ? 1 : 0;
+      for (int p = 0; p < pairs; p++) {
+        append(h + 1, items[kept + 2 * p + offset]);
+      }
+      sizes.set(h, kept);
+      retained -= 2 * pairs;
+      return;
+    }
+  }
+
+  private boolean coinFlip(int level) {
+    long hash = count * 0x9E3779B97F4A7C15L + level;
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    return (hash & 1) == 1;
+  }
+
+  private static long zigZag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  private static long unZigZag(long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  private static void writeVarLong(ByteArrayOutputStream out, long value) {
+    while ((value & ~0x7FL) != 0) {
+      out.write((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.write((int) value);
+  }
+
+  private static long readVarLong(byte[] bytes, int[] position) {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      byte b = bytes[position[0]++];
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IllegalArgumentException("Not a serialized KLL sketch");
+  }
+}
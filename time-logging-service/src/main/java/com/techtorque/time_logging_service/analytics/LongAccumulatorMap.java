@@ -0,0 +1,85 @@
+package com.techtorque.time_logging_service.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from a packed long group key to a (count, minutes) pair, without boxing
+ */
+final class LongAccumulatorMap {
+
+  private static final long EMPTY = Long.MIN_VALUE;
+
+  private long[] keys;
+  private long[] counts;
+  private long[] minutes;
+  private int size;
+
+  LongAccumulatorMap(int expected) {
+    allocate(Math.max(16, Integer.highestOneBit(Math.max(1, expected) * 2 - 1) << 1));
+  }
+
+  void add(long key, long count, long addedMinutes) {
+    int mask = keys.length - 1;
+    for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+      if (keys[slot] == EMPTY) {
+        keys[slot] = key;
+        counts[slot] = count;
+        minutes[slot] = addedMinutes;
+        if (++size * 4L > keys.length * 3L) {
+          grow();
+        }
+        return;
+      }
+      if (keys[slot] == key) {
+        counts[slot] += count;
+        minutes[slot] += addedMinutes;
+        return;
+      }
+    }
+  }
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * Visit every (key, count, minutes) entry
+   */
+  void forEach(Visitor visitor) {
+    for (int slot = 0; slot < keys.length; slot++) {
+      if (keys[slot] != EMPTY) {
+        visitor.visit(keys[slot], counts[slot], minutes[slot]);
+      }
+    }
+  }
+
+  private void grow() {
+    long[] oldKeys = keys;
+    long[] oldCounts = counts;
+    long[] oldMinutes = minutes;
+    allocate(oldKeys.length * 2);
+    for (int slot = 0; slot < oldKeys.length; slot++) {
+      if (oldKeys[slot] != EMPTY) {
+        add(oldKeys[slot], oldCounts[slot], oldMinutes[slot]);
+      }
+    }
+  }
+
+  private void allocate(int capacity) {
+    keys = new long[capacity];
+    counts = new long[capacity];
+    minutes = new long[capacity];
+    Arrays.fill(keys, EMPTY);
+    size = 0;
+  }
+
+  private static int hash(long key) {
+    long h = key * 0x9e3779b97f4a7c15L;
+    return (int) (h ^ (h >>> 32));
+  }
+
+  @FunctionalInterface
+  interface Visitor {
+    void visit(long key, long count, long minutes);
+  }
+}
@@ -0,0 +1,307 @@
+package com.techtorque.time_logging_service.analytics;
+
+import com.techtorque.time_logging_service.cache.TimeLogCommitListener;
+import com.techtorque.time_logging_service.entity.QuantileSketch;
+import com.techtorque.time_logging_service.entity.TimeLog;
+import com.techtorque.time_logging_service.repository.QuantileSketchRepository;
+import com.techtorque.time_logging_service.repository.TimeLogRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Monthly KLL sketches of minutes per entry, per work type and per service, for percentile queries
+ *
+ * - one persisted sketch per (dimension, key, month); a range query merges the months' sketches
+ * - committed inserts are merged into the sketches by a background writer; sketches cannot forget a value,
+ *   so an update or delete has the writer rebuild that month's sketches from time_logs (within about a second)
+ * - concurrent writers (threads or instances) are serialized by the sketch's version; a retry re-reads the
+ *   stored sketch, so a value is never merged twice
+ * - on first start with an empty sketch table every logged month is built in the background
+ */
+@Component
+public class QuantileSketches implements TimeLogCommitListener {
+
+  private static final Logger logger = LoggerFactory.getLogger(QuantileSketches.class);
+  private static final List<Dimension> DIMENSIONS = List.of(Dimension.WORK_TYPE, Dimension.SERVICE);
+  private static final int MAX_CHANGES_PER_DRAIN = 1000;
+  private static final int MAX_ATTEMPTS = 5;
+
+  private final EntityManagerFactory entityManagerFactory;
+  private final TimeLogRepository timeLogRepository;
+  private final QuantileSketchRepository sketchRepository;
+  private final TransactionTemplate transaction;
+  private final boolean enabled;
+  private final int k;
+  private final BlockingQueue<TimeLogRow> insertedRows;
+  // First days of months whose sketches must be rebuilt from time_logs (updates, deletes, queue overflow, backfill)
+  private final Set<LocalDate> monthsToRebuild = ConcurrentHashMap.newKeySet();
+  private volatile boolean running;
+  private Thread writer;
+
+  private record SketchId(String dimension, String key, LocalDate month) {
+  }
+
+  /**
+   * Merged sketch of a key over whole months, and how many monthly sketches went into it
+   */
+  public record Distribution(LocalDate from, LocalDate to, KllSketch sketch, int months) {
+  }
+
+  public QuantileSketches(EntityManagerFactory entityManagerFactory,
+                          TimeLogRepository timeLogRepository,
+                          QuantileSketchRepository sketchRepository,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${app.analytics.quantiles.enabled:false}") boolean enabled,
+                          @Value("${app.analytics.quantiles.k:200}") int k,
+                          @Value("${app.analytics.quantiles.queue-capacity:100000}") int queueCapacity) {
+    if (k < KllSketch.MIN_K || k > KllSketch.MAX_K) {
+      throw new IllegalArgumentException("app.analytics.quantiles.k must be between " + KllSketch.MIN_K + " and "
+              + KllSketch.MAX_K);
+    }
+    this.entityManagerFactory = entityManagerFactory;
+    this.timeLogRepository = timeLogRepository;
+    this.sketchRepository = sketchRepository;
+    this.transaction = new TransactionTemplate(transactionManager);
+    this.enabled = enabled;
+    this.k = k;
+    this.insertedRows = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+  }
+
+  @PostConstruct
+  void start() {
+    if (!enabled) {
+      return;
+    }
+    TimeLogCommitListener.register(entityManagerFactory, this);
+
+    running = true;
+    writer = new Thread(this::runWriter, "time-log-quantile-sketches");
+    writer.setDaemon(true);
+    writer.start();
+    logger.info("Quantile sketches enabled: k {} (rank error about {}%)", k,
+            String.format("%.2f", 100 * rankError(k)));
+  }
+
+  @PreDestroy
+  void stop() throws InterruptedException {
+    running = false;
+    if (writer != null) {
+      writer.interrupt();
+      writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  void backfillIfEmpty() {
+    if (enabled && sketchRepository.count() == 0) {
+      Set<LocalDate> months = new HashSet<>();
+      timeLogRepository.findDistinctDates().forEach(day -> months.add(day.withDayOfMonth(1)));
+      logger.info("Building quantile sketches for {} logged months", months.size());
+      monthsToRebuild.addAll(months);
+    }
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public int getK() {
+    return k;
+  }
+
+  /**
+   * Rank error of a quantile as a fraction of the count, as observed for this KLL variant (about 1.7 / k)
+   */
+  public static double rankError(int k) {
+    return 1.7 / k;
+  }
+
+  /**
+   * Minutes-per-entry distribution of a work type or service over the whole months overlapping [from, to]
+   *
+   * @throws IllegalArgumentException when disabled, or for a dimension without sketches
+   */
+  public Distribution distribution(Dimension dimension, String key, LocalDate from, LocalDate to) {
+    if (!enabled) {
+      throw new IllegalArgumentException("Quantile sketches are not enabled");
+    }
+    if (!DIMENSIONS.contains(dimension)) {
+      throw new IllegalArgumentException("Distributions are kept per work type or service, not per "
+              + dimension.getParameterName());
+    }
+    LocalDate firstMonth = from.withDayOfMonth(1);
+    LocalDate lastMonth = to.withDayOfMonth(1);
+    List<QuantileSketch> sketches = sketchRepository.findByDimensionAndSketchKeyAndMonthBetween(
+            dimension.getParameterName(), key, firstMonth, lastMonth);
+    KllSketch merged = new KllSketch(k);
+    for (QuantileSketch sketch : sketches) {
+      merged.merge(KllSketch.fromBytes(sketch.getItems()));
+    }
+    return new Distribution(firstMonth, lastMonth.plusMonths(1).minusDays(1), merged, sketches.size());
+  }
+
+  @Override
+  public void onPostInsert(PostInsertEvent event) {
+    if (event.getEntity() instanceof TimeLog timeLog && !insertedRows.offer(TimeLogRow.of(timeLog))) {
+      monthsToRebuild.add(timeLog.getDate().withDayOfMonth(1));
+    }
+  }
+
+  @Override
+  public void onPostUpdate(PostUpdateEvent event) {
+    if (!(event.getEntity() instanceof TimeLog timeLog)) {
+      return;
+    }
+    monthsToRebuild.add(timeLog.getDate().withDayOfMonth(1));
+    if (event.getOldState() != null
+            && event.getOldState()[event.getPersister().getPropertyIndex("date")] instanceof LocalDate oldDate) {
+      monthsToRebuild.add(oldDate.withDayOfMonth(1));
+    }
+  }
+
+  @Override
+  public void onPostDelete(PostDeleteEvent event) {
+    if (event.getEntity() instanceof TimeLog timeLog) {
+      monthsToRebuild.add(timeLog.getDate().withDayOfMonth(1));
+    }
+  }
+
+  private void runWriter() {
+    List<TimeLogRow> rows = new ArrayList<>();
+    while (running || !insertedRows.isEmpty()) {
+      try {
+        TimeLogRow first = insertedRows.poll(1, TimeUnit.SECONDS);
+        if (first != null) {
+          rows.add(first);
+          insertedRows.drainTo(rows, MAX_CHANGES_PER_DRAIN - 1);
+        }
+      } catch (InterruptedException e) {
+        // Woken up by stop(); the loop writes whatever is still queued before exiting
+      }
+      try {
+        write(rows);
+      } catch (RuntimeException e) {
+        logger.error("Could not update quantile sketches: {}", e.getMessage());
+      }
+      rows.clear();
+    }
+  }
+
+  private void write(List<TimeLogRow> rows) {
+    Set<LocalDate> months = new HashSet<>();
+    for (LocalDate month : monthsToRebuild) {
+      if (monthsToRebuild.remove(month)) {
+        months.add(month);
+      }
+    }
+    for (LocalDate month : months) {
+      withRetries("rebuild " + month, () -> rebuildMonth(month));
+    }
+
+    Map<SketchId, KllSketch> additions = new HashMap<>();
+    for (TimeLogRow row : rows) {
+      // A rebuilt month already contains every row committed before it
+      if (!months.contains(row.date().withDayOfMonth(1))) {
+        add(additions, row);
+      }
+    }
+    additions.forEach((id, added) -> withRetries("merge " + id, () -> mergeInto(id, added)));
+  }
+
+  private void rebuildMonth(LocalDate month) {
+    transaction.executeWithoutResult(status -> {
+      Map<SketchId, KllSketch> rebuilt = new HashMap<>();
+      timeLogRepository.findAnalyticsRowsByDateBetween(month, month.plusMonths(1).minusDays(1))
+              .forEach(row -> add(rebuilt, row));
+      for (QuantileSketch existing : sketchRepository.findByMonth(month)) {
+        KllSketch fresh = rebuilt.remove(new SketchId(existing.getDimension(), existing.getSketchKey(), month));
+        if (fresh == null) {
+          sketchRepository.delete(existing);
+        } else {
+          byte[] items = fresh.toBytes();
+          if (!Arrays.equals(items, existing.getItems())) {
+            existing.setItems(items);
+          }
+        }
+      }
+      rebuilt.forEach((id, sketch) -> sketchRepository.save(newSketch(id, sketch)));
+      sketchRepository.flush();
+    });
+  }
+
+  private void mergeInto(SketchId id, KllSketch added) {
+    transaction.executeWithoutResult(status -> {
+      QuantileSketch sketch = sketchRepository.findByDimensionAndSketchKeyAndMonth(id.dimension(), id.key(),
+              id.month()).orElse(null);
+      if (sketch == null) {
+        sketchRepository.saveAndFlush(newSketch(id, added));
+        return;
+      }
+      KllSketch merged = KllSketch.fromBytes(sketch.getItems());
+      merged.merge(added);
+      sketch.setItems(merged.toBytes());
+      sketchRepository.saveAndFlush(sketch);
+    });
+  }
+
+  private void withRetries(String description, Runnable work) {
+    for (int attempt = 1; ; attempt++) {
+      try {
+        work.run();
+        return;
+      } catch (OptimisticLockingFailureException | DataIntegrityViolationException e) {
+        // Another writer changed or created the same sketch: the next attempt merges into its version
+        if (attempt == MAX_ATTEMPTS) {
+          logger.warn("Giving up on quantile sketch {} after {} attempts: {}", description, attempt, e.getMessage());
+          return;
+        }
+      }
+    }
+  }
+
+  private void add(Map<SketchId, KllSketch> sketches, TimeLogRow row) {
+    for (Dimension dimension : DIMENSIONS) {
+      String key = dimension == Dimension.WORK_TYPE ? row.workType() : row.serviceId();
+      if (key != null) {
+        sketches.computeIfAbsent(new SketchId(dimension.getParameterName(), key, row.date().withDayOfMonth(1)),
+                id -> new KllSketch(k)).add(row.minutes());
+      }
+    }
+  }
+
+  private static QuantileSketch newSketch(SketchId id, KllSketch sketch) {
+    return QuantileSketch.builder()
+            .dimension(id.dimension())
+            .sketchKey(id.key())
+            .month(id.month())
+            .items(sketch.toBytes())
+            .build();
+  }
+}
@@ -0,0 +1,54 @@
+package com.techtorque.time_logging_service.analytics;
+
+/**
+ * Plain-loop aggregation kernels; the reference implementation and the fallback
+ */
+final class ScalarKernels implements AggregationKernels {
+
+  static final ScalarKernels INSTANCE = new ScalarKernels();
+
+  private ScalarKernels() {
+  }
+
+  @Override
+  public String name() {
+    return SCALAR;
+  }
+
+  @Override
+  public long count(int[] days, int length, int fromDay, int toDay) {
+    long count = 0;
+    for (int i = 0; i < length; i++) {
+      int day = days[i];
+      if (day >= fromDay && day <= toDay) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  @Override
+  public long sum(int[] values, int[] days, int length, int fromDay, int toDay) {
+    long sum = 0;
+    for (int i = 0; i < length; i++) {
+      int day = days[i];
+      if (day >= fromDay && day <= toDay) {
+        sum += values[i];
+      }
+    }
+    return sum;
+  }
+
+  @Override
+  public void histogram(int[] buckets, int bucketOffset, int[] values, int[] days, int length, int fromDay, int toDay,
+                        long[] counts, long[] sums) {
+    for (int i = 0; i < length; i++) {
+      int day = days[i];
+      if (day >= fromDay && day <= toDay) {
+        int bucket = buckets[i] + bucketOffset;
+        counts[bucket]++;
+        sums[bucket] += values[i];
+      }
+    }
+  }
+}
@@ -0,0 +1,115 @@
+package com.techtorque.time_logging_service.analytics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Weighted Space-Saving heavy-hitters summary with a fixed number of counters
+ *
+ * For every tracked key, count - error <= true weight <= count; any untracked key weighs at most
+ * untrackedBound(). Weights may be negative (an update or delete taking minutes back): they are
+ * subtracted from a tracked key and otherwise dropped, which keeps both bounds valid. A key that
+ * replaces the smallest counter inherits the untracked bound as its error.
+ * Not thread-safe.
+ */
+public final class SpaceSaving {
+
+  private static final Comparator<Counter> BY_COUNT = Comparator.comparingLong((Counter c) -> c.count)
+          .thenComparing(c -> c.key);
+
+  private final int capacity;
+  private final Map<String, Counter> counters = new HashMap<>();
+  private final TreeSet<Counter> byCount = new TreeSet<>(BY_COUNT);
+  // Largest count ever evicted: no untracked key can weigh more
+  private long evictedBound;
+
+  private static final class Counter {
+    private final String key;
+    private long count;
+    private long error;
+
+    private Counter(String key, long count, long error) {
+      this.key = key;
+      this.count = count;
+      this.error = error;
+    }
+  }
+
+  /**
+   * A tracked key: count is an upper bound of its weight, count - error a lower bound
+   */
+  public record HeavyHitter(String key, long count, long error) {
+
+    public long lowerBound() {
+      return Math.max(0, count - error);
+    }
+  }
+
+  public SpaceSaving(int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Space-Saving needs at least one counter");
+    }
+    this.capacity = capacity;
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public void add(String key, long weight) {
+    if (weight == 0) {
+      return;
+    }
+    Counter counter = counters.get(key);
+    if (counter != null) {
+      byCount.remove(counter);
+      counter.count += weight;
+      byCount.add(counter);
+      return;
+    }
+    if (weight < 0) {
+      // Untracked: its true weight only went down, so every bound still holds
+      return;
+    }
+    if (counters.size() == capacity) {
+      Counter smallest = byCount.pollFirst();
+      counters.remove(smallest.key);
+      evictedBound = Math.max(evictedBound, smallest.count);
+    }
+    Counter added = new Counter(key, evictedBound + weight, evictedBound);
+    counters.put(key, added);
+    byCount.add(added);
+  }
+
+  /**
+   * Upper bound of the weight of any key not returned by top()
+   */
+  public long untrackedBound() {
+    return evictedBound;
+  }
+
+  /**
+   * The k keys with the largest counts, largest first (keys taken back to zero are left out)
+   */
+  public List<HeavyHitter> top(int k) {
+    List<HeavyHitter> top = new ArrayList<>(Math.min(k, counters.size()));
+    Iterator<Counter> largestFirst = byCount.descendingIterator();
+    while (top.size() < k && largestFirst.hasNext()) {
+      Counter counter = largestFirst.next();
+      if (counter.count <= 0) {
+        break;
+      }
+      top.add(new HeavyHitter(counter.key, counter.count, counter.error));
+    }
+    return top;
+  }
+
+  public int size() {
+    return counters.size();
+  }
+}
@@ -0,0 +1,60 @@
+package com.techtorque.time_logging_service.analytics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dense int codes for the distinct values of one string column
+ * Not thread-safe; guarded by the owning store's lock.
+ */
+final class StringDictionary {
+
+  static final int NULL_CODE = -1;
+  static final int MISSING = -2;
+
+  private final Map<String, Integer> codes = new HashMap<>();
+  private final List<String> values = new ArrayList<>();
+
+  int encode(String value) {
+    if (value == null) {
+      return NULL_CODE;
+    }
+    Integer code = codes.get(value);
+    if (code == null) {
+      code = values.size();
+      codes.put(value, code);
+      values.add(value);
+    }
+    return code;
+  }
+
+  /**
+   * Code of an existing value, NULL_CODE for null, MISSING if the value was never seen
+   */
+  int find(String value) {
+    if (value == null) {
+      return NULL_CODE;
+    }
+    Integer code = codes.get(value);
+    return code != null ? code : MISSING;
+  }
+
+  String decode(int code) {
+    return code < 0 ? null : values.get(code);
+  }
+
+  int size() {
+    return values.size();
+  }
+
+  long estimatedBytes() {
+    long bytes = 64;
+    for (String value : values) {
+      // HashMap node + boxed code + list slot + the string itself
+      bytes += 48 + 16 + 8 + 40 + value.length();
+    }
+    return bytes;
+  }
+}
@@ -0,0 +1,313 @@
+package com.techtorque.time_logging_service.analytics;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techtorque.time_logging_service.dto.response.DistinctCountResponse;
+import com.techtorque.time_logging_service.dto.response.HoursDistributionResponse;
+import com.techtorque.time_logging_service.dto.response.TimeLogAnalyticsResponse;
+import com.techtorque.time_logging_service.dto.response.TopKResponse;
+import com.techtorque.time_logging_service.entity.TimeLogHours;
+import com.techtorque.time_logging_service.repository.TimeLogRepository;
+import com.techtorque.time_logging_service.service.WorkTypeDictionary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Admin dashboard slices of all employees' hours
+ *
+ * Answered from the in-memory columnar store when it is enabled and loaded,
+ * otherwise (or when explicitly asked for) with a GROUP BY in the database.
+ */
+@Service
+public class TimeLogAnalyticsService {
+
+  public static final String SOURCE_AUTO = "auto";
+  public static final String SOURCE_COLUMNAR = "columnar";
+  public static final String SOURCE_DATABASE = "database";
+
+  private static final Logger logger = LoggerFactory.getLogger(TimeLogAnalyticsService.class);
+
+  private final ColumnarStoreMaintainer columnarStore;
+  private final DistinctCountSketches distinctCountSketches;
+  private final HeavyHitterTracker heavyHitterTracker;
+  private final QuantileSketches quantileSketches;
+  private final UtilizationReportEngine utilizationReportEngine;
+  private final ObjectMapper objectMapper;
+  private final TimeLogRepository timeLogRepository;
+  private final WorkTypeDictionary workTypeDictionary;
+
+  public TimeLogAnalyticsService(ColumnarStoreMaintainer columnarStore, DistinctCountSketches distinctCountSketches,
+                                 HeavyHitterTracker heavyHitterTracker, QuantileSketches quantileSketches,
+                                 UtilizationReportEngine utilizationReportEngine, ObjectMapper objectMapper,
+                                 TimeLogRepository timeLogRepository, WorkTypeDictionary workTypeDictionary) {
+    this.columnarStore = columnarStore;
+    this.distinctCountSketches = distinctCountSketches;
+    this.heavyHitterTracker = heavyHitterTracker;
+    this.quantileSketches = quantileSketches;
+    this.utilizationReportEngine = utilizationReportEngine;
+    this.objectMapper = objectMapper;
+    this.timeLogRepository = timeLogRepository;
+    this.workTypeDictionary = workTypeDictionary;
+  }
+
+  /**
+   * Filter and group time logs
+   *
+   * @param selection Values OR-ed within a dimension, dimensions AND-ed
+   * @param groupBy Up to three dimensions; empty for totals only
+   * @param source "auto", "columnar" or "database"
+   * @throws IllegalArgumentException for too many dimensions, an unknown source,
+   *                                  or "columnar" while the store is not available
+   */
+  @Transactional(readOnly = true)
+  public TimeLogAnalyticsResponse query(TimeLogSelection selection, List<Dimension> groupBy, String source) {
+    if (groupBy.size() > ColumnarTimeLogStore.MAX_GROUP_DIMENSIONS) {
+      throw new IllegalArgumentException("At most " + ColumnarTimeLogStore.MAX_GROUP_DIMENSIONS
+              + " groupBy dimensions are supported");
+    }
+    ColumnarTimeLogStore store = columnarStore.getStore();
+    boolean columnar = switch (source) {
+      case SOURCE_AUTO -> store != null;
+      case SOURCE_COLUMNAR -> {
+        if (store == null) {
+          throw new IllegalArgumentException("The columnar analytics store is not enabled or not loaded yet");
+        }
+        yield true;
+      }
+      case SOURCE_DATABASE -> false;
+      default -> throw new IllegalArgumentException("Unknown source '" + source + "'. Allowed: auto, columnar, database");
+    };
+
+    long started = System.nanoTime();
+    AnalyticsResult result;
+    if (columnar) {
+      result = store.query(selection, groupBy);
+    } else {
+      result = aggregateInDatabase(selection, groupBy);
+    }
+    long elapsedMicros = (System.nanoTime() - started) / 1000;
+    logger.debug("Analytics query {} grouped by {} answered from {} in {} us", selection, groupBy,
+            columnar ? SOURCE_COLUMNAR : SOURCE_DATABASE, elapsedMicros);
+
+    return toResponse(result, groupBy, columnar ? SOURCE_COLUMNAR : SOURCE_DATABASE, elapsedMicros);
+  }
+
+  /**
+   * Approximate distinct employees per service or project, or distinct services per employee, in [from, to]
+   *
+   * @param dimension "service", "project" or "employee"
+   * @throws IllegalArgumentException for another dimension, an inverted range, or when sketches are disabled
+   */
+  @Transactional(readOnly = true)
+  public DistinctCountResponse distinctCount(String dimension, String key, LocalDate from, LocalDate to) {
+    if (from.isAfter(to)) {
+      throw new IllegalArgumentException("from must not be after to");
+    }
+    Dimension keyedBy = Dimension.byParameterName(dimension);
+    DistinctCountSketches.DistinctEstimate estimate = distinctCountSketches.estimate(keyedBy, key, from, to);
+
+    DistinctCountResponse response = new DistinctCountResponse();
+    response.setDimension(keyedBy.getParameterName());
+    response.setKey(key);
+    response.setCounted(estimate.counted().getParameterName());
+    response.setFrom(from);
+    response.setTo(to);
+    response.setEstimate(estimate.estimate());
+    response.setRelativeStandardError(estimate.relativeStandardError());
+    response.setSketches(estimate.sketches());
+    return response;
+  }
+
+  /**
+   * The k services or projects with the most hours in the day, week or month containing the date
+   *
+   * @param dimension "service" or "project"
+   * @param window "day", "week" or "month"
+   * @throws IllegalArgumentException for another dimension or window, k outside [1, capacity],
+   *                                  or when tracking is disabled
+   */
+  public TopKResponse top(String dimension, String window, LocalDate date, int k) {
+    Dimension keyedBy = Dimension.byParameterName(dimension);
+    TimeWindow timeWindow = TimeWindow.byParameterName(window);
+    HeavyHitterTracker.TopK top = heavyHitterTracker.top(keyedBy, timeWindow, date, k);
+
+    TopKResponse response = new TopKResponse();
+    response.setDimension(keyedBy.getParameterName());
+    response.setWindow(timeWindow.getParameterName());
+    response.setFrom(top.from());
+    response.setTo(top.to());
+    response.setTotalMinutes(top.totalMinutes());
+    response.setTotalHours(TimeLogHours.toHours(top.totalMinutes()));
+    response.setMaxUntrackedMinutes(top.untrackedBound());
+    response.setCapacity(top.capacity());
+    List<TopKResponse.Entry> entries = new ArrayList<>(top.hitters().size());
+    for (SpaceSaving.HeavyHitter hitter : top.hitters()) {
+      TopKResponse.Entry entry = new TopKResponse.Entry();
+      entry.setKey(hitter.key());
+      entry.setMinutes(hitter.count());
+      entry.setMinMinutes(hitter.lowerBound());
+      entry.setHours(TimeLogHours.toHours(hitter.count()));
+      entry.setGuaranteed(hitter.lowerBound() >= top.untrackedBound());
+      entries.add(entry);
+    }
+    response.setEntries(entries);
+    return response;
+  }
+
+  /**
+   * Percentiles of hours per entry for a work type or service over the whole months overlapping [from, to]
+   *
+   * @param dimension "workType" or "service"
+   * @param quantiles Fractions between 0 and 1, e.g. 0.5, 0.9, 0.99
+   * @throws IllegalArgumentException for another dimension, an inverted range, a quantile outside [0, 1],
+   *                                  or when sketches are disabled
+   */
+  @Transactional(readOnly = true)
+  public HoursDistributionResponse distribution(String dimension, String key, LocalDate from, LocalDate to,
+                                                List<Double> quantiles) {
+    if (from.isAfter(to)) {
+      throw new IllegalArgumentException("from must not be after to");
+    }
+    for (Double q : quantiles) {
+      if (q == null || !(q >= 0 && q <= 1)) {
+        throw new IllegalArgumentException("Quantiles must be between 0 and 1");
+      }
+    }
+    QuantileSketches.Distribution distribution = quantileSketches.distribution(
+            Dimension.byParameterName(dimension), key, from, to);
+    KllSketch sketch = distribution.sketch();
+
+    HoursDistributionResponse response = new HoursDistributionResponse();
+    response.setDimension(Dimension.byParameterName(dimension).getParameterName());
+    response.setKey(key);
+    response.setFrom(distribution.from());
+    response.setTo(distribution.to());
+    response.setCount(sketch.getCount());
+    response.setMonths(distribution.months());
+    response.setRankError(QuantileSketches.rankError(sketch.getK()));
+    Map<String, Double> percentiles = new LinkedHashMap<>();
+    if (!sketch.isEmpty()) {
+      response.setMeanHours(sketch.getSum() / 60.0 / sketch.getCount());
+      response.setMinHours(TimeLogHours.toHours(sketch.getMin()));
+      response.setMaxHours(TimeLogHours.toHours(sketch.getMax()));
+      for (double q : quantiles) {
+        String label = "p" + BigDecimal.valueOf(q * 100).stripTrailingZeros().toPlainString();
+        percentiles.put(label, TimeLogHours.toHours(sketch.quantile(q)));
+      }
+    }
+    response.setQuantiles(percentiles);
+    return response;
+  }
+
+  /**
+   * Hours by employee and work type, billable ratio and utilization over [from, to], aggregated in parallel
+   * date partitions
+   *
+   * @throws IllegalArgumentException when from is after to
+   */
+  public UtilizationReportEngine.UtilizationReport utilization(LocalDate from, LocalDate to) {
+    return utilizationReportEngine.run(from, to);
+  }
+
+  /**
+   * Write a utilization report as JSON, one employee at a time
+   */
+  public void writeUtilization(UtilizationReportEngine.UtilizationReport report, OutputStream out) throws IOException {
+    try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+      json.writeStartObject();
+      json.writeStringField("from", report.from().toString());
+      json.writeStringField("to", report.to().toString());
+      json.writeNumberField("partitions", report.partitions());
+      json.writeNumberField("parallelism", report.parallelism());
+      json.writeNumberField("elapsedMillis", report.elapsedMillis());
+      json.writeNumberField("capacityHoursPerEmployee", TimeLogHours.toHours(report.capacityMinutes()));
+      json.writeNumberField("totalHours", TimeLogHours.toHours(report.totalMinutes()));
+      json.writeNumberField("billableHours", TimeLogHours.toHours(report.billableMinutes()));
+      json.writeNumberField("billableRatio", ratio(report.billableMinutes(), report.totalMinutes()));
+      json.writeArrayFieldStart("employees");
+      for (UtilizationReportEngine.EmployeeUtilization employee : report.employees()) {
+        json.writeStartObject();
+        json.writeStringField("employeeId", employee.employeeId());
+        json.writeNumberField("entries", employee.count());
+        json.writeNumberField("totalHours", TimeLogHours.toHours(employee.totalMinutes()));
+        json.writeNumberField("billableHours", TimeLogHours.toHours(employee.billableMinutes()));
+        json.writeNumberField("billableRatio", ratio(employee.billableMinutes(), employee.totalMinutes()));
+        json.writeNumberField("utilization", ratio(employee.billableMinutes(), report.capacityMinutes()));
+        json.writeObjectFieldStart("hoursByWorkType");
+        for (Map.Entry<String, Long> workType : employee.minutesByWorkType().entrySet()) {
+          json.writeNumberField(workType.getKey(), TimeLogHours.toHours(workType.getValue()));
+        }
+        json.writeEndObject();
+        json.writeEndObject();
+      }
+      json.writeEndArray();
+      json.writeEndObject();
+    }
+  }
+
+  private static double ratio(long part, long whole) {
+    return whole == 0 ? 0 : (double) part / whole;
+  }
+
+  private AnalyticsResult aggregateInDatabase(TimeLogSelection selection, List<Dimension> groupBy) {
+    if (selection.workTypes().isEmpty()) {
+      return timeLogRepository.aggregate(selection, groupBy);
+    }
+    // Unknown names can match nothing; binding them would register them in the work type dictionary
+    Set<String> knownWorkTypes = new HashSet<>();
+    for (String workType : selection.workTypes()) {
+      if (workTypeDictionary.find(workType) != null) {
+        knownWorkTypes.add(workType);
+      }
+    }
+    if (knownWorkTypes.isEmpty()) {
+      return new AnalyticsResult(new ArrayList<>(), 0, 0);
+    }
+    return timeLogRepository.aggregate(new TimeLogSelection(selection.employeeIds(), selection.serviceIds(),
+            selection.projectIds(), knownWorkTypes, selection.dateRanges()), groupBy);
+  }
+
+  private static TimeLogAnalyticsResponse toResponse(AnalyticsResult result, List<Dimension> groupBy,
+                                                     String source, long elapsedMicros) {
+    TimeLogAnalyticsResponse response = new TimeLogAnalyticsResponse();
+    response.setSource(source);
+    List<String> names = new ArrayList<>(groupBy.size());
+    for (Dimension dimension : groupBy) {
+      names.add(dimension.getParameterName());
+    }
+    response.setGroupBy(names);
+    response.setCount(result.count());
+    response.setTotalMinutes(result.minutes());
+    response.setTotalHours(TimeLogHours.toHours(result.minutes()));
+    response.setElapsedMicros(elapsedMicros);
+
+    List<TimeLogAnalyticsResponse.Group> groups = new ArrayList<>(result.groups().size());
+    for (GroupedMinutes grouped : result.groups()) {
+      Map<String, String> key = new LinkedHashMap<>();
+      for (int d = 0; d < names.size(); d++) {
+        key.put(names.get(d), grouped.key().get(d));
+      }
+      TimeLogAnalyticsResponse.Group group = new TimeLogAnalyticsResponse.Group();
+      group.setKey(key);
+      group.setCount(grouped.count());
+      group.setMinutes(grouped.minutes());
+      group.setHours(TimeLogHours.toHours(grouped.minutes()));
+      groups.add(group);
+    }
+    response.setGroups(groups);
+    return response;
+  }
+}
@@ -0,0 +1,14 @@
+package com.techtorque.time_logging_service.analytics;
+
+import java.time.LocalDate;
+
+/**
+ * Admin dashboard filter; null fields are not applied, date bounds are inclusive
+ */
+public record TimeLogFilter(String employeeId, String serviceId, String projectId, String workType,
+                            LocalDate from, LocalDate to) {
+
+  public static TimeLogFilter all() {
+    return new TimeLogFilter(null, null, null, null, null, null);
+  }
+}
@@ -0,0 +1,18 @@
+package com.techtorque.time_logging_service.analytics;
+
+import com.techtorque.time_logging_service.entity.TimeLog;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * The columns of one time log held by the in-memory analytics structures
+ */
+public record TimeLogRow(UUID id, String employeeId, String serviceId, String projectId, String workType,
+                         LocalDate date, int minutes) {
+
+  public static TimeLogRow of(TimeLog timeLog) {
+    return new TimeLogRow(timeLog.getId(), timeLog.getEmployeeId(), timeLog.getServiceId(), timeLog.getProjectId(),
+            timeLog.getWorkType(), timeLog.getDate(), timeLog.getMinutes());
+  }
+}
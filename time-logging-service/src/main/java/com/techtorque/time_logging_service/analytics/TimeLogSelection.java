@@ -0,0 +1,56 @@
+package com.techtorque.time_logging_service.analytics;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Ad-hoc admin filter: values are OR-ed within a dimension, dimensions are AND-ed
+ *
+ * An empty set or list does not constrain its dimension. Date ranges are inclusive.
+ */
+public record TimeLogSelection(Set<String> employeeIds, Set<String> serviceIds, Set<String> projectIds,
+                               Set<String> workTypes, List<DateRange> dateRanges) {
+
+  public TimeLogSelection {
+    employeeIds = employeeIds != null ? Set.copyOf(employeeIds) : Set.of();
+    serviceIds = serviceIds != null ? Set.copyOf(serviceIds) : Set.of();
+    projectIds = projectIds != null ? Set.copyOf(projectIds) : Set.of();
+    workTypes = workTypes != null ? Set.copyOf(workTypes) : Set.of();
+    dateRanges = dateRanges != null ? List.copyOf(dateRanges) : List.of();
+  }
+
+  /**
+   * The single-value filter as a selection
+   */
+  public static TimeLogSelection of(TimeLogFilter filter) {
+    List<DateRange> dateRanges = filter.from() != null || filter.to() != null
+            ? List.of(new DateRange(filter.from(), filter.to()))
+            : List.of();
+    return new TimeLogSelection(single(filter.employeeId()), single(filter.serviceId()), single(filter.projectId()),
+            single(filter.workType()), dateRanges);
+  }
+
+  /**
+   * Selected values of a dimension (dates are selected through dateRanges instead)
+   */
+  public Set<String> values(Dimension dimension) {
+    return switch (dimension) {
+      case EMPLOYEE -> employeeIds;
+      case SERVICE -> serviceIds;
+      case PROJECT -> projectIds;
+      case WORK_TYPE -> workTypes;
+      case DATE -> Set.of();
+    };
+  }
+
+  private static Set<String> single(String value) {
+    return value != null ? Set.of(value) : Set.of();
+  }
+
+  /**
+   * Inclusive date range; a null bound is open
+   */
+  public record DateRange(LocalDate from, LocalDate to) {
+  }
+}
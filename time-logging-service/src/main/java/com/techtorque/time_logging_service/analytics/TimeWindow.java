@@ -0,0 +1,77 @@
+package com.techtorque.time_logging_service.analytics;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Calendar windows of the heavy-hitter reports (weeks start on Monday)
+ */
+public enum TimeWindow {
+
+  DAY("day"),
+  WEEK("week"),
+  MONTH("month");
+
+  private final String parameterName;
+
+  TimeWindow(String parameterName) {
+    this.parameterName = parameterName;
+  }
+
+  public String getParameterName() {
+    return parameterName;
+  }
+
+  /**
+   * First day of the window containing the date
+   */
+  public LocalDate start(LocalDate date) {
+    return switch (this) {
+      case DAY -> date;
+      case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+      case MONTH -> date.withDayOfMonth(1);
+    };
+  }
+
+  /**
+   * Last day of the window starting on the given day
+   */
+  public LocalDate end(LocalDate start) {
+    return switch (this) {
+      case DAY -> start;
+      case WEEK -> start.plusDays(6);
+      case MONTH -> start.with(TemporalAdjusters.lastDayOfMonth());
+    };
+  }
+
+  /**
+   * Start of the window the given number of windows before the one containing the date
+   */
+  public LocalDate startBefore(LocalDate date, int windows) {
+    LocalDate start = start(date);
+    return switch (this) {
+      case DAY -> start.minusDays(windows);
+      case WEEK -> start.minusWeeks(windows);
+      case MONTH -> start.minusMonths(windows);
+    };
+  }
+
+  /**
+   * @throws IllegalArgumentException on an unknown window
+   */
+  public static TimeWindow byParameterName(String name) {
+    for (TimeWindow window : values()) {
+      if (window.parameterName.equalsIgnoreCase(name)) {
+        return window;
+      }
+    }
+    List<String> allowed = new ArrayList<>();
+    for (TimeWindow window : values()) {
+      allowed.add(window.parameterName);
+    }
+    throw new IllegalArgumentException("Unknown window '" + name + "'. Allowed: " + String.join(", ", allowed));
+  }
+}
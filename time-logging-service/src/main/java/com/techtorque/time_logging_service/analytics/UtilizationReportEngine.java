@@ -0,0 +1,194 @@
+package com.techtorque.time_logging_service.analytics;
+
+import com.techtorque.time_logging_service.repository.TimeLogRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fleet-wide utilization over a date range, aggregated in parallel
+ *
+ * The range is split into partitions of a few days; each partition is one GROUP BY (employee, work type)
+ * in its own read-only transaction, run on a bounded pool (so at most 'parallelism' connections are used),
+ * and the partial results are merged as they complete.
+ * Billable hours are all hours except those of the configured non-billable work types; utilization is
+ * billable hours over the working-day capacity of the range (Monday to Friday).
+ * Ranges longer than 'max-days' are rejected, which bounds the partitions (and their futures) of one report.
+ */
+@Component
+public class UtilizationReportEngine {
+
+  private static final Logger logger = LoggerFactory.getLogger(UtilizationReportEngine.class);
+  private static final List<Dimension> GROUP_BY = List.of(Dimension.EMPLOYEE, Dimension.WORK_TYPE);
+
+  private final TimeLogRepository timeLogRepository;
+  private final TransactionTemplate readOnlyTransaction;
+  private final ExecutorService pool;
+  private final int parallelism;
+  private final int partitionDays;
+  private final int maxDays;
+  private final Set<String> nonBillableWorkTypes;
+  private final int minutesPerWorkingDay;
+
+  /**
+   * Minutes and entries of one employee, per work type
+   */
+  public record EmployeeUtilization(String employeeId, Map<String, Long> minutesByWorkType, long totalMinutes,
+                                    long billableMinutes, long count) {
+  }
+
+  /**
+   * @param employees Per employee, ordered by employee ID
+   * @param capacityMinutes Working-day capacity of one employee over the range
+   */
+  public record UtilizationReport(LocalDate from, LocalDate to, int partitions, int parallelism,
+                                  long capacityMinutes, List<EmployeeUtilization> employees,
+                                  long totalMinutes, long billableMinutes, long elapsedMillis) {
+  }
+
+  public UtilizationReportEngine(TimeLogRepository timeLogRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.analytics.report.parallelism:4}") int parallelism,
+                                 @Value("${app.analytics.report.partition-days:7}") int partitionDays,
+                                 @Value("${app.analytics.report.max-days:366}") int maxDays,
+                                 @Value("${app.analytics.report.non-billable-work-types:Documentation}")
+                                 Set<String> nonBillableWorkTypes,
+                                 @Value("${app.analytics.report.hours-per-working-day:8}") int hoursPerWorkingDay) {
+    if (parallelism < 1 || partitionDays < 1 || maxDays < 1 || hoursPerWorkingDay < 1) {
+      throw new IllegalArgumentException(
+              "Report parallelism, partition days, max days and hours per working day must be positive");
+    }
+    this.timeLogRepository = timeLogRepository;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    this.parallelism = parallelism;
+    this.partitionDays = partitionDays;
+    this.maxDays = maxDays;
+    this.nonBillableWorkTypes = Set.copyOf(nonBillableWorkTypes);
+    this.minutesPerWorkingDay = hoursPerWorkingDay * 60;
+    AtomicInteger threads = new AtomicInteger();
+    this.pool = Executors.newFixedThreadPool(parallelism, task -> {
+      Thread thread = new Thread(task, "utilization-report-" + threads.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  @PreDestroy
+  void stop() {
+    pool.shutdownNow();
+  }
+
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  /**
+   * @throws IllegalArgumentException when from is after to, or the range spans more than max-days days
+   */
+  public UtilizationReport run(LocalDate from, LocalDate to) {
+    if (from.isAfter(to)) {
+      throw new IllegalArgumentException("from must not be after to");
+    }
+    long days = ChronoUnit.DAYS.between(from, to) + 1;
+    if (days > maxDays) {
+      throw new IllegalArgumentException(
+              "Utilization reports cover at most " + maxDays + " days, requested " + days);
+    }
+    long started = System.nanoTime();
+    List<TimeLogSelection.DateRange> partitions = new ArrayList<>();
+    for (LocalDate start = from; !start.isAfter(to); start = start.plusDays(partitionDays)) {
+      LocalDate end = start.plusDays(partitionDays - 1);
+      partitions.add(new TimeLogSelection.DateRange(start, end.isAfter(to) ? to : end));
+    }
+
+    CompletionService<AnalyticsResult> completion = new ExecutorCompletionService<>(pool);
+    List<Future<AnalyticsResult>> futures = new ArrayList<>(partitions.size());
+    for (TimeLogSelection.DateRange partition : partitions) {
+      TimeLogSelection selection = new TimeLogSelection(null, null, null, null, List.of(partition));
+      futures.add(completion.submit(() -> readOnlyTransaction.execute(status ->
+              timeLogRepository.aggregate(selection, GROUP_BY))));
+    }
+
+    Map<String, Map<String, long[]>> merged = new HashMap<>();
+    try {
+      for (int done = 0; done < partitions.size(); done++) {
+        for (GroupedMinutes group : completion.take().get().groups()) {
+          long[] totals = merged.computeIfAbsent(group.key().get(0), employee -> new HashMap<>())
+                  .computeIfAbsent(group.key().get(1), workType -> new long[2]);
+          totals[0] += group.minutes();
+          totals[1] += group.count();
+        }
+      }
+    } catch (InterruptedException e) {
+      futures.forEach(future -> future.cancel(true));
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while building the utilization report", e);
+    } catch (ExecutionException e) {
+      futures.forEach(future -> future.cancel(true));
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException("Utilization report partition failed", e.getCause());
+    }
+
+    List<EmployeeUtilization> employees = new ArrayList<>(merged.size());
+    long totalMinutes = 0;
+    long billableMinutes = 0;
+    for (Map.Entry<String, Map<String, long[]>> employee : new TreeMap<>(merged).entrySet()) {
+      Map<String, Long> byWorkType = new TreeMap<>();
+      long minutes = 0;
+      long billable = 0;
+      long count = 0;
+      for (Map.Entry<String, long[]> workType : employee.getValue().entrySet()) {
+        String name = workType.getKey() != null ? workType.getKey() : "Unspecified";
+        byWorkType.merge(name, workType.getValue()[0], Long::sum);
+        minutes += workType.getValue()[0];
+        count += workType.getValue()[1];
+        if (!nonBillableWorkTypes.contains(name)) {
+          billable += workType.getValue()[0];
+        }
+      }
+      employees.add(new EmployeeUtilization(employee.getKey(), byWorkType, minutes, billable, count));
+      totalMinutes += minutes;
+      billableMinutes += billable;
+    }
+
+    long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+    logger.info("Utilization report {} to {}: {} employees from {} partitions on {} workers in {} ms", from, to,
+            employees.size(), partitions.size(), parallelism, elapsedMillis);
+    return new UtilizationReport(from, to, partitions.size(), parallelism, workingDays(from, to) * minutesPerWorkingDay,
+            employees, totalMinutes, billableMinutes, elapsedMillis);
+  }
+
+  private static long workingDays(LocalDate from, LocalDate to) {
+    long days = 0;
+    for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+      if (day.getDayOfWeek() != DayOfWeek.SATURDAY && day.getDayOfWeek() != DayOfWeek.SUNDAY) {
+        days++;
+      }
+    }
+    return days;
+  }
+}
@@ -0,0 +1,97 @@
+package com.techtorque.time_logging_service.analytics;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Open-addressing hash map from time log UUID to row ordinal, stored in primitive arrays
+ * (about 20 bytes per slot instead of ~80 bytes per entry for a HashMap<UUID, Integer>)
+ * Not thread-safe; guarded by the owning store's lock.
+ */
+final class UuidOrdinalIndex {
+
+  private static final int EMPTY = -1;
+
+  private long[] mostBits;
+  private long[] leastBits;
+  private int[] ordinals;
+  private int size;
+
+  UuidOrdinalIndex(int expected) {
+    allocate(Math.max(16, Integer.highestOneBit(Math.max(1, expected) * 2 - 1) << 1));
+  }
+
+  int get(UUID id) {
+    int mask = ordinals.length - 1;
+    long most = id.getMostSignificantBits();
+    long least = id.getLeastSignificantBits();
+    for (int slot = hash(most, least) & mask; ; slot = (slot + 1) & mask) {
+      if (ordinals[slot] == EMPTY) {
+        return EMPTY;
+      }
+      if (mostBits[slot] == most && leastBits[slot] == least) {
+        return ordinals[slot];
+      }
+    }
+  }
+
+  void put(UUID id, int ordinal) {
+    if ((size + 1) * 4L > ordinals.length * 3L) {
+      grow();
+    }
+    insert(id.getMostSignificantBits(), id.getLeastSignificantBits(), ordinal);
+  }
+
+  int size() {
+    return size;
+  }
+
+  long estimatedBytes() {
+    return (long) ordinals.length * (8 + 8 + 4);
+  }
+
+  private void insert(long most, long least, int ordinal) {
+    int mask = ordinals.length - 1;
+    for (int slot = hash(most, least) & mask; ; slot = (slot + 1) & mask) {
+      if (ordinals[slot] == EMPTY) {
+        mostBits[slot] = most;
+        leastBits[slot] = least;
+        ordinals[slot] = ordinal;
+        size++;
+        return;
+      }
+      if (mostBits[slot] == most && leastBits[slot] == least) {
+        ordinals[slot] = ordinal;
+        return;
+      }
+    }
+  }
+
+  private void grow() {
+    long[] oldMost = mostBits;
+    long[] oldLeast = leastBits;
+    int[] oldOrdinals = ordinals;
+    allocate(oldOrdinals.length * 2);
+    for (int i = 0; i < oldOrdinals.length; i++) {
+      if (oldOrdinals[i] != EMPTY) {
+        insert(oldMost[i], oldLeast[i], oldOrdinals[i]);
+      }
+    }
+  }
+
+  private void allocate(int capacity) {
+    mostBits = new long[capacity];
+    leastBits = new long[capacity];
+    ordinals = new int[capacity];
+    Arrays.fill(ordinals, EMPTY);
+    size = 0;
+  }
+
+  private static int hash(long most, long least) {
+    long h = most ^ least;
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    return (int) h;
+  }
+}
@@ -0,0 +1,106 @@
+package com.techtorque.time_logging_service.analytics;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Aggregation kernels on the Java Vector API (widest species of the CPU, e.g. 8 ints with AVX2)
+ *
+ * The day range test runs on whole vectors; sums accumulate in int lanes and are flushed to a long
+ * before they can overflow (lane by lane: reduceLanes would add the lanes in int arithmetic). Histograms scatter the selected lanes one by one (there is no vector scatter-add).
+ * Only instantiated through AggregationKernels.select, when the jdk.incubator.vector module is present.
+ */
+final class VectorKernels implements AggregationKernels {
+
+  private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+  // 32768 iterations of values <= 65535 stay below Integer.MAX_VALUE per lane
+  private static final int FLUSH_ITERATIONS = 1 << 15;
+
+  VectorKernels() {
+  }
+
+  @Override
+  public String name() {
+    return VECTOR + " (" + SPECIES.length() + " x int)";
+  }
+
+  @Override
+  public long count(int[] days, int length, int fromDay, int toDay) {
+    int upper = SPECIES.loopBound(length);
+    long count = 0;
+    int i = 0;
+    for (; i < upper; i += SPECIES.length()) {
+      count += inRange(days, i, fromDay, toDay).trueCount();
+    }
+    for (; i < length; i++) {
+      if (days[i] >= fromDay && days[i] <= toDay) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  @Override
+  public long sum(int[] values, int[] days, int length, int fromDay, int toDay) {
+    int upper = SPECIES.loopBound(length);
+    long sum = 0;
+    IntVector lanes = IntVector.zero(SPECIES);
+    int iterations = 0;
+    int i = 0;
+    for (; i < upper; i += SPECIES.length()) {
+      lanes = lanes.add(IntVector.fromArray(SPECIES, values, i), inRange(days, i, fromDay, toDay));
+      if (++iterations == FLUSH_ITERATIONS) {
+        sum += sumLanes(lanes);
+        lanes = IntVector.zero(SPECIES);
+        iterations = 0;
+      }
+    }
+    sum += sumLanes(lanes);
+    for (; i < length; i++) {
+      if (days[i] >= fromDay && days[i] <= toDay) {
+        sum += values[i];
+      }
+    }
+    return sum;
+  }
+
+  @Override
+  public void histogram(int[] buckets, int bucketOffset, int[] values, int[] days, int length, int fromDay, int toDay,
+                        long[] counts, long[] sums) {
+    int upper = SPECIES.loopBound(length);
+    int i = 0;
+    for (; i < upper; i += SPECIES.length()) {
+      VectorMask<Integer> selected = inRange(days, i, fromDay, toDay);
+      long lanes = selected.toLong();
+      while (lanes != 0) {
+        int row = i + Long.numberOfTrailingZeros(lanes);
+        int bucket = buckets[row] + bucketOffset;
+        counts[bucket]++;
+        sums[bucket] += values[row];
+        lanes &= lanes - 1;
+      }
+    }
+    for (; i < length; i++) {
+      if (days[i] >= fromDay && days[i] <= toDay) {
+        int bucket = buckets[i] + bucketOffset;
+        counts[bucket]++;
+        sums[bucket] += values[i];
+      }
+    }
+  }
+
+  private static long sumLanes(IntVector lanes) {
+    long sum = 0;
+    for (int lane : lanes.toArray()) {
+      sum += lane;
+    }
+    return sum;
+  }
+
+  private static VectorMask<Integer> inRange(int[] days, int offset, int fromDay, int toDay) {
+    IntVector day = IntVector.fromArray(SPECIES, days, offset);
+    return day.compare(VectorOperators.GE, fromDay).and(day.compare(VectorOperators.LE, toDay));
+  }
+}
@@ -0,0 +1,27 @@
+package com.techtorque.time_logging_service.cache;
+
+/**
+ * A committed change other instances must apply to their caches: one line of an invalidation message
+ */
+public sealed interface CacheChange permits TimeLogChange, PayrollWeekChange, CacheFlush {
+
+  /**
+   * The change as one payload line (no line breaks)
+   */
+  String encode();
+
+  /**
+   * Evict whatever the evictor holds for this change
+   */
+  void applyTo(TimeLogCacheEvictor evictor);
+
+  static CacheChange decode(String line) {
+    if (line.equals(CacheFlush.LINE)) {
+      return new CacheFlush();
+    }
+    if (line.startsWith(PayrollWeekChange.PREFIX)) {
+      return PayrollWeekChange.decode(line);
+    }
+    return TimeLogChange.decode(line);
+  }
+}
@@ -0,0 +1,19 @@
+package com.techtorque.time_logging_service.cache;
+
+/**
+ * Changes were dropped before they could be published: other instances must evict everything
+ */
+public record CacheFlush() implements CacheChange {
+
+  static final String LINE = "flush";
+
+  @Override
+  public String encode() {
+    return LINE;
+  }
+
+  @Override
+  public void applyTo(TimeLogCacheEvictor evictor) {
+    evictor.evictAll();
+  }
+}
@@ -0,0 +1,167 @@
+package com.techtorque.time_logging_service.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evicts local caches when other instances write time logs or close and reopen payroll weeks
+ *
+ * Holds one connection that LISTENs on the invalidation channel and applies each message to every
+ * TimeLogCacheEvictor. Anything that may have hidden a message triggers a full flush instead:
+ * - (re)establishing the LISTEN, since notifications sent while disconnected are lost
+ * - a gap in a sender's sequence numbers
+ * - a payload that cannot be parsed
+ * - a flush marker, sent by an instance that had to drop changes
+ */
+@Component
+public class CacheInvalidationListener {
+
+  private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationListener.class);
+  private static final int MAX_TRACKED_SENDERS = 1000;
+
+  private final DataSource dataSource;
+  private final CacheInvalidationPublisher publisher;
+  private final List<TimeLogCacheEvictor> evictors;
+  private final int pollMillis;
+  private final long reconnectDelayMillis;
+  private final Map<String, Long> lastSequences = new ConcurrentHashMap<>();
+  private volatile boolean running;
+  private volatile boolean listening;
+  private Thread listener;
+
+  public CacheInvalidationListener(DataSource dataSource,
+                                   CacheInvalidationPublisher publisher,
+                                   List<TimeLogCacheEvictor> evictors,
+                                   @Value("${app.cache.invalidation.poll-interval-ms:500}") int pollMillis,
+                                   @Value("${app.cache.invalidation.reconnect-delay-ms:5000}") long reconnectDelayMillis) {
+    this.dataSource = dataSource;
+    this.publisher = publisher;
+    this.evictors = evictors;
+    this.pollMillis = pollMillis;
+    this.reconnectDelayMillis = reconnectDelayMillis;
+  }
+
+  @PostConstruct
+  void start() {
+    if (!publisher.isActive()) {
+      return;
+    }
+    running = true;
+    listener = new Thread(this::runListener, "time-log-cache-listen");
+    listener.setDaemon(true);
+    listener.start();
+  }
+
+  @PreDestroy
+  void stop() throws InterruptedException {
+    running = false;
+    if (listener != null) {
+      listener.interrupt();
+      listener.join(TimeUnit.SECONDS.toMillis(5));
+    }
+  }
+
+  /**
+   * Whether the LISTEN connection is currently established
+   */
+  public boolean isListening() {
+    return listening;
+  }
+
+  private void runListener() {
+    while (running) {
+      try (Connection connection = dataSource.getConnection()) {
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+          statement.execute("LISTEN " + publisher.getChannel());
+        }
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        listening = true;
+        // Anything written while we were not listening was never delivered to us
+        flushAll("listening on channel '" + publisher.getChannel() + "'");
+
+        while (running) {
+          PGNotification[] notifications = pgConnection.getNotifications(pollMillis);
+          if (notifications == null) {
+            continue;
+          }
+          for (PGNotification notification : notifications) {
+            handle(notification.getParameter());
+          }
+        }
+      } catch (SQLException | RuntimeException e) {
+        if (!running) {
+          break;
+        }
+        logger.warn("Cache invalidation listener disconnected ({}); reconnecting in {} ms",
+                e.getMessage(), reconnectDelayMillis);
+      } finally {
+        listening = false;
+      }
+      try {
+        Thread.sleep(reconnectDelayMillis);
+      } catch (InterruptedException e) {
+        break;
+      }
+    }
+  }
+
+  /**
+   * Apply one invalidation message
+   */
+  void handle(String payload) {
+    InvalidationMessage message;
+    try {
+      message = InvalidationMessage.decode(payload);
+    } catch (RuntimeException e) {
+      flushAll("unreadable invalidation message: " + e.getMessage());
+      return;
+    }
+    if (message.instanceId().equals(publisher.getInstanceId())) {
+      // Our own writes: Hibernate and the ledger already saw them locally
+      return;
+    }
+
+    if (lastSequences.size() >= MAX_TRACKED_SENDERS && !lastSequences.containsKey(message.instanceId())) {
+      lastSequences.clear();
+    }
+    Long previous = lastSequences.put(message.instanceId(), message.sequence());
+    if (previous != null && message.sequence() != previous + 1) {
+      flushAll("gap in invalidations from " + message.instanceId() + " (" + previous + " -> " + message.sequence() + ")");
+      return;
+    }
+
+    for (CacheChange change : message.changes()) {
+      if (change instanceof CacheFlush) {
+        flushAll(message.instanceId() + " dropped invalidations");
+        return;
+      }
+      for (TimeLogCacheEvictor evictor : evictors) {
+        change.applyTo(evictor);
+      }
+    }
+    logger.debug("Evicted {} changes from instance {}", message.changes().size(), message.instanceId());
+  }
+
+  private void flushAll(String reason) {
+    logger.info("Flushing local time log caches: {}", reason);
+    for (TimeLogCacheEvictor evictor : evictors) {
+      evictor.evictAll();
+    }
+  }
+}
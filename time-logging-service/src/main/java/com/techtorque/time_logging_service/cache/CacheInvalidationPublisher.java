@@ -0,0 +1,162 @@
+package com.techtorque.time_logging_service.cache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes committed time log and payroll week changes to the other instances with PostgreSQL NOTIFY
+ *
+ * Changes are queued after commit and a single sender thread packs them into NOTIFY payloads
+ * (under the 8000 byte limit), each stamped with this instance's ID and a sequence number.
+ * When the queue overflows, the dropped changes are replaced by one flush marker sent with the next message, so
+ * receivers evict everything. A sequence number is consumed even when its message cannot be sent (database down),
+ * so receivers see the gap and fall back to a full flush instead of serving stale entries.
+ *
+ * Only active when enabled and the datasource is PostgreSQL (e.g. not under H2 in tests).
+ */
+@Component
+public class CacheInvalidationPublisher {
+
+  private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationPublisher.class);
+  private static final int MAX_PAYLOAD_BYTES = 7900;
+  private static final int MAX_CHANGES_PER_DRAIN = 1000;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final boolean active;
+  private final String channel;
+  private final String instanceId = UUID.randomUUID().toString();
+  private final AtomicLong sequence = new AtomicLong();
+  private final BlockingQueue<CacheChange> queue;
+  // Set when a change could not be queued; the sender then sends a flush marker
+  private final AtomicBoolean overflowed = new AtomicBoolean();
+  private volatile boolean running;
+  private Thread sender;
+
+  public CacheInvalidationPublisher(JdbcTemplate jdbcTemplate,
+                                    @Value("${app.cache.invalidation.enabled:true}") boolean enabled,
+                                    @Value("${app.cache.invalidation.channel:time_log_invalidation}") String channel,
+                                    @Value("${app.cache.invalidation.queue-capacity:100000}") int queueCapacity,
+                                    @Value("${spring.datasource.url:}") String datasourceUrl) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.active = enabled && datasourceUrl.startsWith("jdbc:postgresql:");
+    this.channel = channel;
+    this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+  }
+
+  @PostConstruct
+  void start() {
+    if (!active) {
+      logger.info("Cross-instance cache invalidation disabled");
+      return;
+    }
+    running = true;
+    sender = new Thread(this::runSender, "time-log-cache-notify");
+    sender.setDaemon(true);
+    sender.start();
+    logger.info("Publishing cache invalidations on channel '{}' as instance {}", channel, instanceId);
+  }
+
+  @PreDestroy
+  void stop() throws InterruptedException {
+    running = false;
+    if (sender != null) {
+      sender.interrupt();
+      sender.join(TimeUnit.SECONDS.toMillis(5));
+    }
+  }
+
+  public boolean isActive() {
+    return active;
+  }
+
+  public String getInstanceId() {
+    return instanceId;
+  }
+
+  public String getChannel() {
+    return channel;
+  }
+
+  /**
+   * Queue a committed change for the other instances (never blocks the committing thread)
+   */
+  public void publish(CacheChange change) {
+    if (!active) {
+      return;
+    }
+    if (!queue.offer(change) && !overflowed.getAndSet(true)) {
+      logger.warn("Cache invalidation queue full; other instances will be told to flush their caches");
+    }
+  }
+
+  private void runSender() {
+    List<CacheChange> batch = new ArrayList<>();
+    while (running || !queue.isEmpty() || overflowed.get()) {
+      try {
+        CacheChange first = queue.poll(1, TimeUnit.SECONDS);
+        if (first != null) {
+          batch.add(first);
+          queue.drainTo(batch, MAX_CHANGES_PER_DRAIN - 1);
+        }
+      } catch (InterruptedException e) {
+        // Woken up by stop(); the loop sends whatever is still queued before exiting
+      }
+      if (overflowed.getAndSet(false)) {
+        // Every change committed so far, dropped or queued, is covered by the flush
+        queue.clear();
+        batch.clear();
+        batch.add(new CacheFlush());
+      }
+      if (!batch.isEmpty()) {
+        send(batch);
+        batch.clear();
+      }
+    }
+  }
+
+  private void send(List<CacheChange> changes) {
+    List<CacheChange> chunk = new ArrayList<>();
+    long chunkSequence = sequence.incrementAndGet();
+    int bytes = InvalidationMessage.headerLength(instanceId, chunkSequence);
+    for (CacheChange change : changes) {
+      int length = InvalidationMessage.encodedLength(change);
+      if (!chunk.isEmpty() && bytes + length > MAX_PAYLOAD_BYTES) {
+        notify(new InvalidationMessage(instanceId, chunkSequence, chunk));
+        chunk = new ArrayList<>();
+        chunkSequence = sequence.incrementAndGet();
+        bytes = InvalidationMessage.headerLength(instanceId, chunkSequence);
+      }
+      chunk.add(change);
+      bytes += length;
+    }
+    notify(new InvalidationMessage(instanceId, chunkSequence, chunk));
+  }
+
+  private void notify(InvalidationMessage message) {
+    try {
+      jdbcTemplate.execute("SELECT pg_notify(?, ?)", (PreparedStatementCallback<Boolean>) statement -> {
+        statement.setString(1, channel);
+        statement.setString(2, message.encode());
+        return statement.execute();
+      });
+    } catch (RuntimeException e) {
+      logger.warn("Could not publish cache invalidation {} ({} changes): {}",
+              message.sequence(), message.changes().size(), e.getMessage());
+    }
+  }
+}
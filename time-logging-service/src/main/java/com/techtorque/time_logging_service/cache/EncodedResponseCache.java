@@ -0,0 +1,402 @@
+package com.techtorque.time_logging_service.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.techtorque.time_logging_service.config.SharedConstants;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techtorque.time_logging_service.entity.TimeLog;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Responses kept as encoded bytes - JSON, or Smile / CBOR when negotiated - (and gzip-compressed bytes for large
+ * ones), written out as they are
+ *
+ * Entries are keyed by the request and tagged with the data version of their scope - the employee or service
+ * whose time logs they show - at the time they were computed. Versions are stamps from one clock, moved on
+ * after commit of every local write (Hibernate post-commit listeners) and on remote invalidations, so an entry is
+ * served only while nothing it depends on has changed. Caches the responses are computed from (the daily summary
+ * segments) move the employee scope on again once they have evicted, since post-commit listeners run in no set
+ * order and a response computed between this cache's bump and their eviction would otherwise be kept.
+ *
+ * Bounded by entry count and total bytes (responses that do not fit are encoded but not kept); entries that are
+ * stale or idle are swept periodically.
+ */
+@Component
+public class EncodedResponseCache implements TimeLogCacheEvictor, TimeLogCommitListener {
+
+  private static final Logger logger = LoggerFactory.getLogger(EncodedResponseCache.class);
+
+  private final EntityManagerFactory entityManagerFactory;
+  private final Map<Format, ObjectMapper> objectMappers = new EnumMap<>(Format.class);
+  private final boolean enabled;
+  private final int maxEntries;
+  private final long maxBytes;
+  private final int gzipMinBytes;
+  private final long idleNanos;
+  private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+  private final AtomicLong cachedBytes = new AtomicLong();
+  private final AtomicLong clock = new AtomicLong();
+  private final ConcurrentHashMap<String, Long> employeeStamps = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<String, Long> serviceStamps = new ConcurrentHashMap<>();
+  private volatile long allServicesStamp;
+  private volatile long allStamp;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  /**
+   * Whose time logs a response shows: any write to them makes the response stale
+   */
+  public enum Scope {
+    EMPLOYEE,
+    SERVICE
+  }
+
+  /**
+   * Wire formats a response can be encoded in, JSON first: it is the default
+   */
+  public enum Format {
+    JSON(MediaType.APPLICATION_JSON),
+    SMILE(MediaType.parseMediaType(SharedConstants.WireFormats.SMILE)),
+    CBOR(MediaType.APPLICATION_CBOR);
+
+    private final MediaType mediaType;
+
+    Format(MediaType mediaType) {
+      this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+      return mediaType;
+    }
+  }
+
+  /**
+   * @param gzip The same bytes gzip-compressed, or null when the body is too small to be worth compressing
+   */
+  public record EncodedBody(MediaType contentType, byte[] identity, byte[] gzip) {
+  }
+
+  public EncodedResponseCache(EntityManagerFactory entityManagerFactory, ObjectMapper objectMapper,
+                              MappingJackson2SmileHttpMessageConverter smileConverter,
+                              MappingJackson2CborHttpMessageConverter cborConverter,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.http.response-cache.enabled:true}") boolean enabled,
+                              @Value("${app.http.response-cache.max-entries:10000}") int maxEntries,
+                              @Value("${app.http.response-cache.max-size:64MB}") DataSize maxSize,
+                              @Value("${app.http.response-cache.gzip-min-size:2KB}") DataSize gzipMinSize,
+                              @Value("${app.http.response-cache.idle-timeout:PT10M}") Duration idleTimeout) {
+    this.entityManagerFactory = entityManagerFactory;
+    // The mappers of the message converters, so cached bytes match what the converters would write
+    this.objectMappers.put(Format.JSON, objectMapper);
+    this.objectMappers.put(Format.SMILE, smileConverter.getObjectMapper());
+    this.objectMappers.put(Format.CBOR, cborConverter.getObjectMapper());
+    this.enabled = enabled;
+    this.maxEntries = maxEntries;
+    this.maxBytes = maxSize.toBytes();
+    this.gzipMinBytes = (int) gzipMinSize.toBytes();
+    this.idleNanos = idleTimeout.toNanos();
+    FunctionCounter.builder("time_logs.response_cache.requests", hits, LongAdder::sum)
+            .tag("result", "hit")
+            .description("Responses written from pre-encoded bytes")
+            .register(meterRegistry);
+    FunctionCounter.builder("time_logs.response_cache.requests", misses, LongAdder::sum)
+            .tag("result", "miss")
+            .description("Responses computed and encoded")
+            .register(meterRegistry);
+    Gauge.builder("time_logs.response_cache.bytes", cachedBytes, AtomicLong::get)
+            .description("Bytes held by cached responses")
+            .register(meterRegistry);
+  }
+
+  @PostConstruct
+  void register() {
+    if (!enabled) {
+      return;
+    }
+    TimeLogCommitListener.register(entityManagerFactory, this);
+  }
+
+  /**
+   * The encoded response for a request, computing and encoding it if not cached for the scope's current version
+   *
+   * @param request Identifies the response within the scope (path and parameters)
+   * @param body Computes the response object; exceptions propagate and nothing is cached
+   */
+  public EncodedBody get(Scope scope, String scopeId, String request, Format format, Supplier<?> body) {
+    if (!enabled) {
+      return new EncodedBody(format.getMediaType(), encode(format, body.get()), null);
+    }
+    String key = scope + "|" + scopeId + "|" + format + "|" + request;
+    // Read before computing: a write committed meanwhile moves the version on and strands this entry
+    long version = version(scope, scopeId);
+    Entry entry = entries.get(key);
+    if (entry != null && entry.version == version) {
+      entry.lastAccessed = System.nanoTime();
+      hits.increment();
+      return entry.body;
+    }
+
+    misses.increment();
+    byte[] identity = encode(format, body.get());
+    EncodedBody encoded = new EncodedBody(format.getMediaType(), identity,
+            identity.length >= gzipMinBytes ? gzip(identity) : null);
+    Entry created = new Entry(scope, scopeId, version, encoded);
+    if (entries.size() < maxEntries && cachedBytes.get() + created.size() <= maxBytes) {
+      cachedBytes.addAndGet(created.size());
+      Entry replaced = entries.put(key, created);
+      if (replaced != null) {
+        cachedBytes.addAndGet(-replaced.size());
+      }
+    }
+    return encoded;
+  }
+
+  /**
+   * The format an Accept header prefers: each format takes the quality of the most specific range that includes it,
+   * and the highest quality wins, then the most specific, then JSON. JSON when the header is absent, invalid or
+   * accepts no format (the converters of other endpoints answer these with JSON too)
+   */
+  public static Format negotiate(String accept) {
+    if (accept == null || accept.isBlank()) {
+      return Format.JSON;
+    }
+    List<MediaType> acceptable;
+    try {
+      acceptable = MediaType.parseMediaTypes(accept);
+    } catch (InvalidMediaTypeException e) {
+      return Format.JSON;
+    }
+    Format best = Format.JSON;
+    double bestQuality = 0;
+    int bestSpecificity = -1;
+    for (Format format : Format.values()) {
+      double quality = 0;
+      int specificity = -1;
+      for (MediaType mediaType : acceptable) {
+        int rangeSpecificity = mediaType.isWildcardType() ? 0 : mediaType.isWildcardSubtype() ? 1 : 2;
+        if (rangeSpecificity > specificity && mediaType.includes(format.getMediaType())) {
+          quality = mediaType.getQualityValue();
+          specificity = rangeSpecificity;
+        }
+      }
+      if (quality > bestQuality || (quality > 0 && quality == bestQuality && specificity > bestSpecificity)) {
+        best = format;
+        bestQuality = quality;
+        bestSpecificity = specificity;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * 200 with the gzip bytes when the client accepts gzip and they exist, the identity bytes otherwise
+   */
+  public static ResponseEntity<byte[]> respond(EncodedBody body, String acceptEncoding) {
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(body.contentType())
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+    if (body.gzip() != null && acceptsGzip(acceptEncoding)) {
+      return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.gzip());
+    }
+    return response.body(body.identity());
+  }
+
+  /**
+   * Whether an Accept-Encoding header lists gzip (or *) without q=0
+   */
+  static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    for (String coding : acceptEncoding.split(",")) {
+      String[] parts = coding.trim().split(";");
+      String name = parts[0].trim();
+      if (!name.equalsIgnoreCase("gzip") && !name.equals("*")) {
+        continue;
+      }
+      boolean refused = false;
+      for (int i = 1; i < parts.length; i++) {
+        String parameter = parts[i].trim();
+        if (parameter.startsWith("q=")) {
+          try {
+            refused = Double.parseDouble(parameter.substring(2)) <= 0;
+          } catch (NumberFormatException e) {
+            refused = true;
+          }
+        }
+      }
+      if (!refused) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public long version(Scope scope, String scopeId) {
+    return switch (scope) {
+      case EMPLOYEE -> Math.max(employeeStamps.getOrDefault(scopeId, 0L), allStamp);
+      case SERVICE -> Math.max(serviceStamps.getOrDefault(scopeId, 0L), Math.max(allServicesStamp, allStamp));
+    };
+  }
+
+  int size() {
+    return entries.size();
+  }
+
+  /**
+   * Drop entries that are stale or were not read for the idle timeout
+   */
+  @Scheduled(fixedDelayString = "${app.http.response-cache.sweep-interval-ms:60000}")
+  public void sweep() {
+    long now = System.nanoTime();
+    int removed = 0;
+    for (Map.Entry<String, Entry> mapEntry : entries.entrySet()) {
+      Entry entry = mapEntry.getValue();
+      if ((entry.version != version(entry.scope, entry.scopeId) || now - entry.lastAccessed >= idleNanos)
+              && entries.remove(mapEntry.getKey(), entry)) {
+        cachedBytes.addAndGet(-entry.size());
+        removed++;
+      }
+    }
+    if (removed > 0) {
+      logger.debug("Response cache: {} stale or idle entries removed, {} cached ({} bytes)", removed, entries.size(),
+              cachedBytes.get());
+    }
+  }
+
+  @Override
+  public void onPostInsert(PostInsertEvent event) {
+    if (event.getEntity() instanceof TimeLog timeLog) {
+      changed(timeLog.getEmployeeId(), timeLog.getServiceId());
+    }
+  }
+
+  @Override
+  public void onPostUpdate(PostUpdateEvent event) {
+    if (!(event.getEntity() instanceof TimeLog timeLog)) {
+      return;
+    }
+    changed(timeLog.getEmployeeId(), timeLog.getServiceId());
+    Object[] oldState = event.getOldState();
+    if (oldState == null) {
+      // The previous service is unknown
+      allServicesStamp = clock.incrementAndGet();
+      return;
+    }
+    EntityPersister persister = event.getPersister();
+    changed((String) oldState[persister.getPropertyIndex("employeeId")],
+            (String) oldState[persister.getPropertyIndex("serviceId")]);
+  }
+
+  @Override
+  public void onPostDelete(PostDeleteEvent event) {
+    if (event.getEntity() instanceof TimeLog timeLog) {
+      changed(timeLog.getEmployeeId(), timeLog.getServiceId());
+    }
+  }
+
+  /**
+   * Move the employee scope on, once a cache its responses are computed from has evicted the employee's entries
+   */
+  public void employeeChanged(String employeeId) {
+    changed(employeeId, null);
+  }
+
+  @Override
+  public void evict(TimeLogChange change) {
+    if (change.serviceId() == null) {
+      // The service is unknown
+      long stamp = clock.incrementAndGet();
+      employeeStamps.put(change.employeeId(), stamp);
+      allServicesStamp = stamp;
+      return;
+    }
+    changed(change.employeeId(), change.serviceId());
+  }
+
+  @Override
+  public void evictAll() {
+    allStamp = clock.incrementAndGet();
+    entries.clear();
+    cachedBytes.set(0);
+  }
+
+  private void changed(String employeeId, String serviceId) {
+    long stamp = clock.incrementAndGet();
+    if (employeeId != null) {
+      employeeStamps.put(employeeId, stamp);
+    }
+    if (serviceId != null) {
+      serviceStamps.put(serviceId, stamp);
+    }
+  }
+
+  private byte[] encode(Format format, Object body) {
+    try {
+      return objectMappers.get(format).writeValueAsBytes(body);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Could not encode response", e);
+    }
+  }
+
+  private static byte[] gzip(byte[] bytes) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+    try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+      gzip.write(bytes);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toByteArray();
+  }
+
+  private static final class Entry {
+    private final Scope scope;
+    private final String scopeId;
+    private final long version;
+    private final EncodedBody body;
+    private volatile long lastAccessed = System.nanoTime();
+
+    Entry(Scope scope, String scopeId, long version, EncodedBody body) {
+      this.scope = scope;
+      this.scopeId = scopeId;
+      this.version = version;
+      this.body = body;
+    }
+
+    long size() {
+      return body.identity().length + (body.gzip() != null ? body.gzip().length : 0);
+    }
+  }
+}
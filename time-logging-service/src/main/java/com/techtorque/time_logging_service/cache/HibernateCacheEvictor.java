@@ -0,0 +1,40 @@
+package com.techtorque.time_logging_service.cache;
+
+import com.techtorque.time_logging_service.entity.TimeLog;
+import com.techtorque.time_logging_service.repository.TimeLogRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts remotely changed time logs from the Hibernate second-level cache
+ *
+ * Hibernate invalidates cached query results only for writes made through this instance,
+ * so any remote change also clears the time log query region.
+ */
+@Component
+public class HibernateCacheEvictor implements TimeLogCacheEvictor {
+
+  private final EntityManagerFactory entityManagerFactory;
+
+  public HibernateCacheEvictor(EntityManagerFactory entityManagerFactory) {
+    this.entityManagerFactory = entityManagerFactory;
+  }
+
+  @Override
+  public void evict(TimeLogChange change) {
+    Cache cache = cache();
+    cache.evictEntityData(TimeLog.class, change.id());
+    cache.evictQueryRegion(TimeLogRepository.QUERY_CACHE_REGION);
+  }
+
+  @Override
+  public void evictAll() {
+    cache().evictAllRegions();
+  }
+
+  private Cache cache() {
+    return entityManagerFactory.unwrap(SessionFactory.class).getCache();
+  }
+}
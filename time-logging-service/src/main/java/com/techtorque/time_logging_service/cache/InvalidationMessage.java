@@ -0,0 +1,48 @@
+package com.techtorque.time_logging_service.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Payload of one NOTIFY on the invalidation channel
+ *
+ * Format: "v2 <instanceId> <sequence>" on the first line, then one encoded CacheChange per line.
+ * The per-instance sequence lets receivers detect messages they never saw.
+ */
+record InvalidationMessage(String instanceId, long sequence, List<CacheChange> changes) {
+
+  private static final String VERSION = "v2";
+
+  String encode() {
+    StringBuilder payload = new StringBuilder(VERSION).append(' ').append(instanceId).append(' ').append(sequence);
+    for (CacheChange change : changes) {
+      payload.append('\n').append(change.encode());
+    }
+    return payload.toString();
+  }
+
+  static InvalidationMessage decode(String payload) {
+    String[] lines = payload.split("\n");
+    String[] header = lines[0].split(" ");
+    if (header.length != 3 || !VERSION.equals(header[0])) {
+      throw new IllegalArgumentException("Unsupported invalidation message header: " + lines[0]);
+    }
+    List<CacheChange> changes = new ArrayList<>(lines.length - 1);
+    for (int i = 1; i < lines.length; i++) {
+      changes.add(CacheChange.decode(lines[i]));
+    }
+    return new InvalidationMessage(header[1], Long.parseLong(header[2]), changes);
+  }
+
+  /**
+   * Bytes taken by a change once appended to a payload (NOTIFY payloads are limited to 8000 bytes)
+   */
+  static int encodedLength(CacheChange change) {
+    return 1 + change.encode().getBytes(StandardCharsets.UTF_8).length;
+  }
+
+  static int headerLength(String instanceId, long sequence) {
+    return VERSION.length() + 2 + instanceId.length() + Long.toString(sequence).length();
+  }
+}
@@ -0,0 +1,27 @@
+package com.techtorque.time_logging_service.cache;
+
+import java.time.LocalDate;
+
+/**
+ * A payroll week was closed: other instances must forget that they found it open
+ *
+ * @param weekStart Monday of the week
+ */
+public record PayrollWeekChange(LocalDate weekStart) implements CacheChange {
+
+  static final String PREFIX = "week\t";
+
+  @Override
+  public String encode() {
+    return PREFIX + weekStart;
+  }
+
+  @Override
+  public void applyTo(TimeLogCacheEvictor evictor) {
+    evictor.evictPayrollWeek(weekStart);
+  }
+
+  static PayrollWeekChange decode(String line) {
+    return new PayrollWeekChange(LocalDate.parse(line.substring(PREFIX.length())));
+  }
+}
@@ -0,0 +1,25 @@
+package com.techtorque.time_logging_service.cache;
+
+import java.time.LocalDate;
+
+/**
+ * An in-process cache derived from time logs that must be evicted when another instance writes
+ */
+public interface TimeLogCacheEvictor {
+
+  /**
+   * Evict whatever this cache holds for the changed time log
+   */
+  void evict(TimeLogChange change);
+
+  /**
+   * Evict whatever this cache holds about the payroll week being open (it was closed)
+   */
+  default void evictPayrollWeek(LocalDate weekStart) {
+  }
+
+  /**
+   * Evict everything; used when invalidation messages may have been missed
+   */
+  void evictAll();
+}
@@ -0,0 +1,42 @@
+package com.techtorque.time_logging_service.cache;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * A committed write to one time log: the keys other instances must evict
+ *
+ * @param id Time log ID
+ * @param employeeId Owner of the time log
+ * @param serviceId Service the log is booked on, or null when unknown (every service is then evicted)
+ * @param date Day the log is booked on (for updates that moved the log, one change per affected day)
+ */
+public record TimeLogChange(UUID id, String employeeId, String serviceId, LocalDate date) implements CacheChange {
+
+  private static final char FIELD_SEPARATOR = '\t';
+
+  @Override
+  public String encode() {
+    return id + String.valueOf(FIELD_SEPARATOR) + date + FIELD_SEPARATOR + (serviceId != null ? serviceId : "")
+            + FIELD_SEPARATOR + employeeId;
+  }
+
+  @Override
+  public void applyTo(TimeLogCacheEvictor evictor) {
+    evictor.evict(this);
+  }
+
+  static TimeLogChange decode(String line) {
+    int first = line.indexOf(FIELD_SEPARATOR);
+    int second = line.indexOf(FIELD_SEPARATOR, first + 1);
+    int third = second < 0 ? -1 : line.indexOf(FIELD_SEPARATOR, second + 1);
+    if (first < 0 || third < 0) {
+      throw new IllegalArgumentException("Malformed time log change: " + line);
+    }
+    String serviceId = line.substring(second + 1, third);
+    return new TimeLogChange(UUID.fromString(line.substring(0, first)),
+            line.substring(third + 1),
+            serviceId.isEmpty() ? null : serviceId,
+            LocalDate.parse(line.substring(first + 1, second)));
+  }
+}
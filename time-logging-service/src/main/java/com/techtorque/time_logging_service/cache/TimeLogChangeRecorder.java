@@ -0,0 +1,80 @@
+package com.techtorque.time_logging_service.cache;
+
+import com.techtorque.time_logging_service.entity.TimeLog;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Hands every committed TimeLog insert, update and delete to the invalidation publisher
+ *
+ * Registered as Hibernate post-commit listeners, so it covers every write path
+ * (service, ingestion batches, journal replay, timers) and never reports a rolled-back change.
+ */
+@Component
+public class TimeLogChangeRecorder implements TimeLogCommitListener {
+
+  private final EntityManagerFactory entityManagerFactory;
+  private final CacheInvalidationPublisher publisher;
+
+  public TimeLogChangeRecorder(EntityManagerFactory entityManagerFactory, CacheInvalidationPublisher publisher) {
+    this.entityManagerFactory = entityManagerFactory;
+    this.publisher = publisher;
+  }
+
+  @PostConstruct
+  void register() {
+    if (!publisher.isActive()) {
+      return;
+    }
+    TimeLogCommitListener.register(entityManagerFactory, this);
+  }
+
+  @Override
+  public void onPostInsert(PostInsertEvent event) {
+    if (event.getEntity() instanceof TimeLog timeLog) {
+      publisher.publish(change(timeLog));
+    }
+  }
+
+  @Override
+  public void onPostUpdate(PostUpdateEvent event) {
+    if (!(event.getEntity() instanceof TimeLog timeLog)) {
+      return;
+    }
+    Object[] oldState = event.getOldState();
+    if (oldState == null) {
+      // The previous service is unknown
+      publisher.publish(new TimeLogChange(timeLog.getId(), timeLog.getEmployeeId(), null, timeLog.getDate()));
+      return;
+    }
+    TimeLogChange change = change(timeLog);
+    publisher.publish(change);
+    // A log moved to another day or service also changes the old day's and service's totals
+    EntityPersister persister = event.getPersister();
+    TimeLogChange old = new TimeLogChange(timeLog.getId(),
+            (String) oldState[persister.getPropertyIndex("employeeId")],
+            (String) oldState[persister.getPropertyIndex("serviceId")],
+            (LocalDate) oldState[persister.getPropertyIndex("date")]);
+    if (!old.equals(change)) {
+      publisher.publish(old);
+    }
+  }
+
+  @Override
+  public void onPostDelete(PostDeleteEvent event) {
+    if (event.getEntity() instanceof TimeLog timeLog) {
+      publisher.publish(change(timeLog));
+    }
+  }
+
+  private static TimeLogChange change(TimeLog timeLog) {
+    return new TimeLogChange(timeLog.getId(), timeLog.getEmployeeId(), timeLog.getServiceId(), timeLog.getDate());
+  }
+}
@@ -0,0 +1,53 @@
+package com.techtorque.time_logging_service.cache;
+
+import com.techtorque.time_logging_service.entity.TimeLog;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Hibernate post-commit insert, update and delete listener for TimeLog entities
+ *
+ * Implementations see every committed write, whatever the write path, and never a rolled-back one;
+ * they are registered with {@link #register(EntityManagerFactory, TimeLogCommitListener)}.
+ */
+public interface TimeLogCommitListener extends PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+  /**
+   * Append the listener to the post-commit insert, update and delete events of the session factory
+   */
+  static void register(EntityManagerFactory entityManagerFactory, TimeLogCommitListener listener) {
+    EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .requireService(EventListenerRegistry.class);
+    registry.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+    registry.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+    registry.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+  }
+
+  @Override
+  default boolean requiresPostCommitHandling(EntityPersister persister) {
+    return TimeLog.class.equals(persister.getMappedClass());
+  }
+
+  @Override
+  default void onPostInsertCommitFailed(PostInsertEvent event) {
+  }
+
+  @Override
+  default void onPostUpdateCommitFailed(PostUpdateEvent event) {
+  }
+
+  @Override
+  default void onPostDeleteCommitFailed(PostDeleteEvent event) {
+  }
+}
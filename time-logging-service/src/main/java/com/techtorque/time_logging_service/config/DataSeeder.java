@@ -7,6 +7,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.core.env.Environment;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
@@ -37,9 +38,15 @@ public class DataSeeder implements CommandLineRunner {
         }
 
         // Check if data already exists to avoid duplicates
-        if (timeLogRepository.count() > 0) {
-            logger.info("Time logs already exist in database ({} entries). Skipping seeding.",
-                       timeLogRepository.count());
+        long existing;
+        try {
+            existing = timeLogRepository.count();
+        } catch (DataAccessException e) {
+            logger.warn("Database unavailable. Skipping time log data seeding: {}", e.getMessage());
+            return;
+        }
+        if (existing > 0) {
+            logger.info("Time logs already exist in database ({} entries). Skipping seeding.", existing);
             return;
         }
 
@@ -135,7 +142,7 @@ public class DataSeeder implements CommandLineRunner {
                         .employeeId(employeeId)
                         .projectId(projects[logCount % projects.length])
                         .serviceId(services[logCount % services.length])
-                        .hours(Math.round(morningHours * 2) / 2.0) // Round to nearest 0.5
+                        .minutes((int) Math.round(morningHours * 2) * 30) // Round to nearest 0.5 hours
                         .date(workDate)
                         .description(descriptions[logCount % descriptions.length])
                         .workType(workTypes[logCount % workTypes.length])
@@ -150,7 +157,7 @@ public class DataSeeder implements CommandLineRunner {
                         .employeeId(employeeId)
                         .projectId(projects[logCount % projects.length])
                         .serviceId(services[logCount % services.length])
-                        .hours(Math.round(afternoonHours * 2) / 2.0)
+                        .minutes((int) Math.round(afternoonHours * 2) * 30)
                         .date(workDate)
                         .description(descriptions[logCount % descriptions.length])
                         .workType(workTypes[(logCount + 1) % workTypes.length])
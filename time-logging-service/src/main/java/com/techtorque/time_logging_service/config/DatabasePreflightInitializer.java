@@ -5,11 +5,23 @@ import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationContextInitializer;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
 import org.springframework.lang.NonNull;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.util.HashMap;
+import java.util.Map;
 
+/**
+ * Checks database connectivity before the context starts
+ *
+ * If the database is unreachable the service still starts in degraded mode (time logs are
+ * journaled locally, see TimeLogJournalService) unless app.database.require-at-startup=true.
+ * In degraded mode Hibernate boots without JDBC metadata and schema management is skipped, for the life of the
+ * process: if the database comes back without its schema, journal replay keeps the records and the service must
+ * be restarted to create the schema before they can be replayed.
+ */
 public class DatabasePreflightInitializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
 
   private static final Logger logger = LoggerFactory.getLogger(DatabasePreflightInitializer.class);
@@ -38,7 +50,17 @@ public class DatabasePreflightInitializer implements ApplicationContextInitializ
       logger.error("** Please ensure it is running and accessible.            **");
       logger.error("************************************************************\n");
 
-      System.exit(1);
+      if (env.getProperty("app.database.require-at-startup", Boolean.class, false)) {
+        System.exit(1);
+      }
+
+      logger.warn("Starting in degraded mode: time logs will be journaled locally until the database is reachable.");
+      Map<String, Object> degraded = new HashMap<>();
+      degraded.put("app.database.available-at-startup", "false");
+      degraded.put("spring.jpa.hibernate.ddl-auto", "none");
+      degraded.put("spring.jpa.properties.hibernate.boot.allow_jdbc_metadata_access", "false");
+      degraded.put("spring.datasource.hikari.initialization-fail-timeout", "-1");
+      env.getPropertySources().addFirst(new MapPropertySource("databaseDegradedMode", degraded));
     }
   }
 }
@@ -0,0 +1,52 @@
+package com.techtorque.time_logging_service.config;
+
+import com.techtorque.time_logging_service.journal.TimeLogJournal;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Local journal used for degraded-mode ingestion when the database is unreachable
+ */
+@Configuration
+public class JournalConfig {
+
+  @Bean(destroyMethod = "close")
+  @Primary
+  public TimeLogJournal timeLogJournal(@Value("${app.time-logs.journal.dir:./data/journal}") String directory,
+                                       @Value("${app.time-logs.journal.segment-size:16MB}") DataSize segmentSize,
+                                       MeterRegistry meterRegistry) throws IOException {
+    TimeLogJournal journal = new TimeLogJournal(Path.of(directory), (int) segmentSize.toBytes());
+    Gauge.builder("time_logs.journal.depth", journal, TimeLogJournal::depth)
+            .description("Journaled time logs waiting for replay")
+            .register(meterRegistry);
+    Gauge.builder("time_logs.journal.segments", journal, TimeLogJournal::segmentCount)
+            .description("Journal segment files on disk")
+            .register(meterRegistry);
+    return journal;
+  }
+
+  /**
+   * Journal records that replay could not write (unreadable, rejected by the database, or dated in a closed
+   * payroll week); never replayed automatically
+   */
+  @Bean(destroyMethod = "close")
+  public TimeLogJournal timeLogDeadLetterJournal(
+          @Value("${app.time-logs.journal.dead-letter-dir:${app.time-logs.journal.dir:./data/journal}/dead-letter}")
+          String directory,
+          @Value("${app.time-logs.journal.dead-letter-segment-size:1MB}") DataSize segmentSize,
+          MeterRegistry meterRegistry) throws IOException {
+    TimeLogJournal deadLetters = new TimeLogJournal(Path.of(directory), (int) segmentSize.toBytes());
+    Gauge.builder("time_logs.journal.dead_letters", deadLetters, TimeLogJournal::depth)
+            .description("Journaled time logs that could not be replayed")
+            .register(meterRegistry);
+    return deadLetters;
+  }
+}
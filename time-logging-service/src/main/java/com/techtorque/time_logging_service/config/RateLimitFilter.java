@@ -0,0 +1,121 @@
+package com.techtorque.time_logging_service.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techtorque.time_logging_service.ratelimit.RateLimitProperties;
+import com.techtorque.time_logging_service.ratelimit.TokenBucketRateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-employee token bucket rate limiting
+ *
+ * Requests are matched against the configured rules (see {@link RateLimitProperties}) and charged
+ * to a bucket keyed by rule + X-User-Subject (falling back to the client address for anonymous
+ * calls). Rejected requests get 429 Too Many Requests with a Retry-After header in seconds.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+  private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+  private final TokenBucketRateLimiter limiter;
+  private final List<RateLimitProperties.Rule> rules;
+  private final ObjectMapper mapper = new ObjectMapper();
+
+  public RateLimitFilter(RateLimitProperties properties) {
+    this(properties, new TokenBucketRateLimiter(properties.getMaxKeys()));
+  }
+
+  public RateLimitFilter(RateLimitProperties properties, TokenBucketRateLimiter limiter) {
+    this.limiter = limiter;
+    this.rules = List.copyOf(properties.getRules());
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+          throws ServletException, IOException {
+
+    int ruleIndex = findRule(request);
+    if (ruleIndex < 0) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    RateLimitProperties.Rule rule = rules.get(ruleIndex);
+    String subject = request.getHeader("X-User-Subject");
+    if (subject == null || subject.isEmpty()) {
+      subject = "ip:" + request.getRemoteAddr();
+    }
+
+    int capacity = resolveCapacity(rule, request.getHeader("X-User-Roles"));
+    long nanosPerToken = Math.max(1L, rule.getPeriod().toNanos() / capacity);
+    long waitNanos = limiter.tryAcquire(ruleIndex + ":" + subject, capacity, nanosPerToken);
+
+    if (waitNanos == 0L) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    long retryAfterSeconds = Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+    response.setHeader("Retry-After", Long.toString(retryAfterSeconds));
+    response.setContentType("application/json");
+
+    Map<String, Object> errorResponse = new HashMap<>();
+    errorResponse.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+    errorResponse.put("error", HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase());
+    errorResponse.put("message", "Rate limit exceeded. Retry after " + retryAfterSeconds + " seconds.");
+    errorResponse.put("path", request.getRequestURI());
+    errorResponse.put("timestamp", LocalDateTime.now().toString());
+    response.getWriter().write(mapper.writeValueAsString(errorResponse));
+  }
+
+  private int findRule(HttpServletRequest request) {
+    String method = request.getMethod();
+    String path = request.getServletPath();
+    if (path == null || path.isEmpty()) {
+      path = request.getRequestURI();
+    }
+    for (int i = 0; i < rules.size(); i++) {
+      RateLimitProperties.Rule rule = rules.get(i);
+      if (rule.getMethod() != null && !rule.getMethod().equalsIgnoreCase(method)) {
+        continue;
+      }
+      if (PATH_MATCHER.match(rule.getPath(), path)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private int resolveCapacity(RateLimitProperties.Rule rule, String rolesHeader) {
+    int capacity = rule.getCapacity();
+    if (rolesHeader == null || rule.getRoleCapacity().isEmpty()) {
+      return Math.max(1, capacity);
+    }
+    boolean overridden = false;
+    for (String role : rolesHeader.split(",")) {
+      String normalized = role.trim().toUpperCase();
+      if (normalized.startsWith("ROLE_")) {
+        normalized = normalized.substring(5);
+      }
+      Integer roleCapacity = rule.getRoleCapacity().get(normalized);
+      if (roleCapacity != null) {
+        capacity = overridden ? Math.max(capacity, roleCapacity) : roleCapacity;
+        overridden = true;
+      }
+    }
+    return Math.max(1, capacity);
+  }
+}
@@ -1,7 +1,9 @@
 package com.techtorque.time_logging_service.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techtorque.time_logging_service.ratelimit.RateLimitProperties;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -24,6 +26,9 @@ public class SecurityConfig {
     @Value("${app.security.enabled:true}")
     private boolean securityEnabled;
 
+    @Autowired
+    private RateLimitProperties rateLimitProperties;
+
     // A more comprehensive whitelist for Swagger/OpenAPI, actuator, and public endpoints
     private static final String[] PUBLIC_WHITELIST = {
         "/v3/api-docs/**",
@@ -82,6 +87,11 @@ public class SecurityConfig {
             );
         }
 
+        // Per-employee rate limiting runs after the gateway headers have been read
+        if (rateLimitProperties.isEnabled()) {
+            http.addFilterAfter(new RateLimitFilter(rateLimitProperties), UsernamePasswordAuthenticationFilter.class);
+        }
+
         return http.build();
     }
 }
\ No newline at end of file
@@ -104,6 +104,16 @@ public class SharedConstants {
         public static final String DOCUMENTATION = "Documentation";
     }
 
+    /**
+     * Media types other services can request in Accept (JSON unless they ask for a binary format).
+     * Binary formats carry the same fields as the JSON DTOs, so clients decode them into the same classes.
+     */
+    public static final class WireFormats {
+        public static final String JSON = "application/json";
+        public static final String SMILE = "application/x-jackson-smile";
+        public static final String CBOR = "application/cbor";
+    }
+
     /**
      * Employee roles (for reference)
      */
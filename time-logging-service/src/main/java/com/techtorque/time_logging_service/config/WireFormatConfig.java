@@ -0,0 +1,30 @@
+package com.techtorque.time_logging_service.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Binary representations (Smile, CBOR) of every Jackson response and request body, chosen by Accept / Content-Type
+ *
+ * These replace Spring MVC's default Smile and CBOR converters in their place after the JSON converter, so JSON stays
+ * the default. Their mappers come from the application's Jackson builder (Spring's defaults do not), so binary bodies
+ * carry exactly the fields of the JSON ones, dates as ISO strings included.
+ */
+@Configuration
+public class WireFormatConfig {
+
+  @Bean
+  public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+  }
+
+  @Bean
+  public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+    return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+  }
+}
@@ -0,0 +1,248 @@
+package com.techtorque.time_logging_service.controller;
+
+import com.techtorque.time_logging_service.analytics.Dimension;
+import com.techtorque.time_logging_service.analytics.TimeLogAnalyticsService;
+import com.techtorque.time_logging_service.analytics.TimeLogFilter;
+import com.techtorque.time_logging_service.analytics.TimeLogSelection;
+import com.techtorque.time_logging_service.analytics.UtilizationReportEngine;
+import com.techtorque.time_logging_service.dto.request.TimeLogSelectionRequest;
+import com.techtorque.time_logging_service.dto.response.DistinctCountResponse;
+import com.techtorque.time_logging_service.dto.response.HoursDistributionResponse;
+import com.techtorque.time_logging_service.dto.response.TimeLogAnalyticsResponse;
+import com.techtorque.time_logging_service.dto.response.TopKResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * REST Controller for admin dashboard analytics over all employees' time logs
+ */
+@RestController
+@RequestMapping("/time-logs/analytics")
+@Tag(name = "Time Logging Analytics", description = "Admin dashboard slices of logged hours")
+@SecurityRequirement(name = "bearerAuth")
+public class AnalyticsController {
+
+  private final TimeLogAnalyticsService analyticsService;
+
+  public AnalyticsController(TimeLogAnalyticsService analyticsService) {
+    this.analyticsService = analyticsService;
+  }
+
+  /**
+   * GET /time-logs/analytics - Group and filter hours
+   * Example: /time-logs/analytics?groupBy=service,workType&from=2025-01-01&to=2025-03-31
+   */
+  @Operation(
+    summary = "Slice logged hours",
+    description = "Filter all time logs by employee, service, project, work type and date range, " +
+                  "and group the hours by up to three of employee, service, project, workType and date."
+  )
+  @ApiResponses(value = {
+    @ApiResponse(responseCode = "200", description = "Successfully computed the slice"),
+    @ApiResponse(responseCode = "400", description = "Unknown dimension or source, or too many groupBy dimensions"),
+    @ApiResponse(responseCode = "401", description = "Unauthorized"),
+    @ApiResponse(responseCode = "403", description = "Forbidden")
+  })
+  @GetMapping
+  @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+  public ResponseEntity<TimeLogAnalyticsResponse> query(
+          @Parameter(description = "Comma-separated dimensions to group by (employee, service, project, workType, date)")
+          @RequestParam(required = false) String groupBy,
+          @RequestParam(required = false) String employeeId,
+          @RequestParam(required = false) String serviceId,
+          @RequestParam(required = false) String projectId,
+          @RequestParam(required = false) String workType,
+          @Parameter(description = "Start date (YYYY-MM-DD, inclusive)")
+          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+          @Parameter(description = "End date (YYYY-MM-DD, inclusive)")
+          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+          @Parameter(description = "auto (columnar store when loaded), columnar or database")
+          @RequestParam(defaultValue = TimeLogAnalyticsService.SOURCE_AUTO) String source) {
+
+    TimeLogFilter filter = new TimeLogFilter(employeeId, serviceId, projectId, workType, from, to);
+    return ResponseEntity.ok(analyticsService.query(TimeLogSelection.of(filter), Dimension.parse(groupBy), source));
+  }
+
+  /**
+   * POST /time-logs/analytics/filter - Group and filter hours with multi-value filters
+   * Example body: {"serviceIds": ["SRV-1", "SRV-2"], "workTypes": ["Repair"],
+   *                "dateRanges": [{"from": "2025-01-01", "to": "2025-01-31"}], "groupBy": ["employee"]}
+   */
+  @Operation(
+    summary = "Slice logged hours with an ad-hoc filter",
+    description = "Values are OR-ed within each list and the lists are AND-ed, e.g. any of two services, " +
+                  "a work type, and any of several date ranges. Matching rows are resolved through bitmap " +
+                  "indexes when the columnar store is loaded."
+  )
+  @ApiResponses(value = {
+    @ApiResponse(responseCode = "200", description = "Successfully computed the slice"),
+    @ApiResponse(responseCode = "400", description = "Unknown dimension or source, or too many groupBy dimensions"),
+    @ApiResponse(responseCode = "401", description = "Unauthorized"),
+    @ApiResponse(responseCode = "403", description = "Forbidden")
+  })
+  @PostMapping("/filter")
+  @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+  public ResponseEntity<TimeLogAnalyticsResponse> filter(@Valid @RequestBody TimeLogSelectionRequest request) {
+    List<TimeLogSelection.DateRange> dateRanges = new ArrayList<>();
+    if (request.getDateRanges() != null) {
+      for (TimeLogSelectionRequest.DateRange range : request.getDateRanges()) {
+        dateRanges.add(new TimeLogSelection.DateRange(range.getFrom(), range.getTo()));
+      }
+    }
+    TimeLogSelection selection = new TimeLogSelection(values(request.getEmployeeIds()),
+            values(request.getServiceIds()), values(request.getProjectIds()), values(request.getWorkTypes()),
+            dateRanges);
+    String groupBy = request.getGroupBy() != null ? String.join(",", request.getGroupBy()) : null;
+    String source = request.getSource() != null ? request.getSource() : TimeLogAnalyticsService.SOURCE_AUTO;
+    return ResponseEntity.ok(analyticsService.query(selection, Dimension.parse(groupBy), source));
+  }
+
+  /**
+   * GET /time-logs/analytics/distinct - Approximate distinct counts over a date range
+   * Example: /time-logs/analytics/distinct?dimension=service&key=SRV-1&from=2025-11-01&to=2025-11-30
+   */
+  @Operation(
+    summary = "Count distinct technicians or services",
+    description = "Distinct employees who logged time on a service or project, or distinct services an employee " +
+                  "worked on, between two dates. Estimated by merging daily HyperLogLog sketches; " +
+                  "the response carries the relative standard error."
+  )
+  @ApiResponses(value = {
+    @ApiResponse(responseCode = "200", description = "Successfully estimated the count"),
+    @ApiResponse(responseCode = "400", description = "Unsupported dimension, inverted range, or sketches disabled"),
+    @ApiResponse(responseCode = "401", description = "Unauthorized"),
+    @ApiResponse(responseCode = "403", description = "Forbidden")
+  })
+  @GetMapping("/distinct")
+  @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+  public ResponseEntity<DistinctCountResponse> distinct(
+          @Parameter(description = "service, project (counts employees) or employee (counts services)")
+          @RequestParam String dimension,
+          @RequestParam String key,
+          @Parameter(description = "Start date (YYYY-MM-DD, inclusive)")
+          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+          @Parameter(description = "End date (YYYY-MM-DD, inclusive)")
+          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+    return ResponseEntity.ok(analyticsService.distinctCount(dimension, key, from, to));
+  }
+
+  /**
+   * GET /time-logs/analytics/top - Services or projects with the most hours in a day, week or month
+   * Example: /time-logs/analytics/top?dimension=service&window=week&date=2025-11-20&k=10
+   */
+  @Operation(
+    summary = "Top services or projects by hours",
+    description = "The k services or projects with the most hours in the day, week (Monday start) or month " +
+                  "containing the date. Kept as streaming Space-Saving summaries: every entry carries upper (minutes) " +
+                  "and lower (minMinutes) bounds, and maxUntrackedMinutes bounds every key not listed."
+  )
+  @ApiResponses(value = {
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved the top keys"),
+    @ApiResponse(responseCode = "400", description = "Unsupported dimension or window, k out of range, or tracking disabled"),
+    @ApiResponse(responseCode = "401", description = "Unauthorized"),
+    @ApiResponse(responseCode = "403", description = "Forbidden")
+  })
+  @GetMapping("/top")
+  @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+  public ResponseEntity<TopKResponse> top(
+          @Parameter(description = "service or project")
+          @RequestParam String dimension,
+          @Parameter(description = "day, week or month")
+          @RequestParam(defaultValue = "week") String window,
+          @Parameter(description = "Any day in the window (YYYY-MM-DD); defaults to today")
+          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+          @RequestParam(defaultValue = "10") int k) {
+
+    LocalDate day = date != null ? date : LocalDate.now();
+    return ResponseEntity.ok(analyticsService.top(dimension, window, day, k));
+  }
+
+  /**
+   * GET /time-logs/analytics/distribution - Percentiles of hours per entry for a work type or service
+   * Example: /time-logs/analytics/distribution?dimension=workType&key=Repair&from=2025-01-01&to=2025-06-30
+   */
+  @Operation(
+    summary = "Hours-per-entry distribution",
+    description = "p50/p90/p99 (or any quantiles) of hours per time log entry for a work type or service, " +
+                  "over the whole months overlapping the range. Estimated by merging monthly KLL sketches; " +
+                  "count, mean, min and max are exact and the response carries the rank error."
+  )
+  @ApiResponses(value = {
+    @ApiResponse(responseCode = "200", description = "Successfully estimated the distribution"),
+    @ApiResponse(responseCode = "400", description = "Unsupported dimension, inverted range, bad quantile, or sketches disabled"),
+    @ApiResponse(responseCode = "401", description = "Unauthorized"),
+    @ApiResponse(responseCode = "403", description = "Forbidden")
+  })
+  @GetMapping("/distribution")
+  @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+  public ResponseEntity<HoursDistributionResponse> distribution(
+          @Parameter(description = "workType or service")
+          @RequestParam String dimension,
+          @RequestParam String key,
+          @Parameter(description = "Start date (YYYY-MM-DD); its whole month is included")
+          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+          @Parameter(description = "End date (YYYY-MM-DD); its whole month is included")
+          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+          @Parameter(description = "Comma-separated fractions between 0 and 1")
+          @RequestParam(defaultValue = "0.5,0.9,0.99") List<Double> quantiles) {
+
+    return ResponseEntity.ok(analyticsService.distribution(dimension, key, from, to, quantiles));
+  }
+
+  /**
+   * GET /time-logs/analytics/utilization - Fleet-wide utilization report
+   * Example: /time-logs/analytics/utilization?from=2025-11-01&to=2025-11-30
+   */
+  @Operation(
+    summary = "Fleet-wide utilization report",
+    description = "Hours by employee and work type, billable ratio and utilization (billable hours over " +
+                  "working-day capacity) for all employees between two dates. The range is aggregated in " +
+                  "parallel date partitions and the JSON is streamed one employee at a time."
+  )
+  @ApiResponses(value = {
+    @ApiResponse(responseCode = "200", description = "Report generated"),
+    @ApiResponse(responseCode = "400", description = "Inverted range, or longer than app.analytics.report.max-days"),
+    @ApiResponse(responseCode = "401", description = "Unauthorized"),
+    @ApiResponse(responseCode = "403", description = "Forbidden")
+  })
+  @GetMapping("/utilization")
+  @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+  public ResponseEntity<StreamingResponseBody> utilization(
+          @Parameter(description = "Start date (YYYY-MM-DD, inclusive)")
+          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+          @Parameter(description = "End date (YYYY-MM-DD, inclusive)")
+          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+    // Aggregated before the response starts, so errors still map to a status code
+    UtilizationReportEngine.UtilizationReport report = analyticsService.utilization(from, to);
+    StreamingResponseBody body = out -> analyticsService.writeUtilization(report, out);
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+  }
+
+  private static Set<String> values(List<String> values) {
+    Set<String> set = new HashSet<>();
+    if (values != null) {
+      values.stream().filter(Objects::nonNull).forEach(set::add);
+    }
+    return set;
+  }
+}
@@ -0,0 +1,98 @@
+package com.techtorque.time_logging_service.controller;
+
+import com.techtorque.time_logging_service.dto.response.PayrollPeriodResponse;
+import com.techtorque.time_logging_service.service.PayrollPeriodService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST Controller for closing and re-opening payroll weeks
+ */
+@RestController
+@RequestMapping("/time-logs/payroll-periods")
+@Tag(name = "Payroll Periods", description = "Close payroll weeks to freeze their time logs and summaries")
+@SecurityRequirement(name = "bearerAuth")
+public class PayrollPeriodController {
+
+  private final PayrollPeriodService payrollPeriodService;
+
+  public PayrollPeriodController(PayrollPeriodService payrollPeriodService) {
+    this.payrollPeriodService = payrollPeriodService;
+  }
+
+  /**
+   * GET /time-logs/payroll-periods - Closed payroll weeks
+   */
+  @Operation(summary = "List closed payroll weeks", description = "Closed payroll weeks, most recent first.")
+  @ApiResponses(value = {
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved closed weeks"),
+    @ApiResponse(responseCode = "401", description = "Unauthorized"),
+    @ApiResponse(responseCode = "403", description = "Forbidden")
+  })
+  @GetMapping
+  @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+  public ResponseEntity<List<PayrollPeriodResponse>> getClosedPeriods() {
+    return ResponseEntity.ok(payrollPeriodService.getClosedPeriods());
+  }
+
+  /**
+   * POST /time-logs/payroll-periods?date=YYYY-MM-DD - Close the payroll week containing a date
+   */
+  @Operation(
+    summary = "Close a payroll week",
+    description = "Freeze the totals of the Monday-to-Sunday week containing the date into a snapshot. Time logs " +
+                  "dated in a closed week can no longer be created, updated or deleted (409), and daily and " +
+                  "weekly summaries inside it are served from the snapshot. Closing a closed week returns it unchanged."
+  )
+  @ApiResponses(value = {
+    @ApiResponse(responseCode = "201", description = "Week closed"),
+    @ApiResponse(responseCode = "401", description = "Unauthorized"),
+    @ApiResponse(responseCode = "403", description = "Forbidden")
+  })
+  @PostMapping
+  @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+  public ResponseEntity<PayrollPeriodResponse> close(
+          @Parameter(description = "Admin ID from authentication token", required = true)
+          @RequestHeader("X-User-Subject") String userId,
+          @Parameter(description = "Any day of the week to close (YYYY-MM-DD)", required = true)
+          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+
+    return ResponseEntity.status(HttpStatus.CREATED).body(payrollPeriodService.close(date, userId));
+  }
+
+  /**
+   * DELETE /time-logs/payroll-periods/{date} - Re-open the payroll week containing a date
+   */
+  @Operation(
+    summary = "Re-open a payroll week",
+    description = "Delete the snapshot of the closed week containing the date and allow its time logs to be " +
+                  "changed again. Summaries already cached by clients stay valid until their max-age expires."
+  )
+  @ApiResponses(value = {
+    @ApiResponse(responseCode = "204", description = "Week re-opened"),
+    @ApiResponse(responseCode = "401", description = "Unauthorized"),
+    @ApiResponse(responseCode = "403", description = "Forbidden"),
+    @ApiResponse(responseCode = "404", description = "Week is not closed")
+  })
+  @DeleteMapping("/{date}")
+  @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+  public ResponseEntity<Void> reopen(
+          @Parameter(description = "Any day of the week to re-open (YYYY-MM-DD)", required = true)
+          @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+
+    payrollPeriodService.reopen(date);
+    return ResponseEntity.noContent().build();
+  }
+}
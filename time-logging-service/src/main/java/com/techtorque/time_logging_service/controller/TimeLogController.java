@@ -1,18 +1,31 @@
 package com.techtorque.time_logging_service.controller;
 
+import com.techtorque.time_logging_service.cache.EncodedResponseCache;
+import com.techtorque.time_logging_service.dto.mapper.TimeLogField;
 import com.techtorque.time_logging_service.dto.request.TimeLogRequest;
+import com.techtorque.time_logging_service.dto.request.TimeLogSummariesRequest;
 import com.techtorque.time_logging_service.dto.request.TimeLogUpdateRequest;
+import com.techtorque.time_logging_service.dto.response.TimeLogHistogramResponse;
 import com.techtorque.time_logging_service.dto.response.TimeLogResponse;
 import com.techtorque.time_logging_service.dto.response.TimeLogSummaryResponse;
 import com.techtorque.time_logging_service.exception.UnauthorizedAccessException;
+import com.techtorque.time_logging_service.service.PayrollPeriodService;
+import com.techtorque.time_logging_service.service.TimeLogIngestionQueue;
+import com.techtorque.time_logging_service.service.TimeLogIngestionResult;
 import com.techtorque.time_logging_service.service.TimeLogService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -20,9 +33,11 @@ import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
 
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * REST Controller for Time Logging Service
@@ -43,9 +58,18 @@ import java.util.Map;
 public class TimeLogController {
 
   private final TimeLogService timeLogService;
+  private final TimeLogIngestionQueue timeLogIngestionQueue;
+  private final EncodedResponseCache responseCache;
+  private final CacheControl closedPeriodCacheControl;
 
-  public TimeLogController(TimeLogService timeLogService) {
+  public TimeLogController(TimeLogService timeLogService, TimeLogIngestionQueue timeLogIngestionQueue,
+                           EncodedResponseCache responseCache,
+                           @Value("${app.payroll.closed-summary-max-age:P30D}") Duration closedSummaryMaxAge) {
     this.timeLogService = timeLogService;
+    this.timeLogIngestionQueue = timeLogIngestionQueue;
+    this.responseCache = responseCache;
+    // Private: summaries are per employee, behind authentication
+    this.closedPeriodCacheControl = CacheControl.maxAge(closedSummaryMaxAge).cachePrivate();
   }
 
   /**
@@ -59,6 +83,7 @@ public class TimeLogController {
   )
   @ApiResponses(value = {
     @ApiResponse(responseCode = "201", description = "Time log created successfully"),
+    @ApiResponse(responseCode = "202", description = "Database unavailable - time log journaled locally and created once it is back (see X-Journal-Record-Id)"),
     @ApiResponse(responseCode = "400", description = "Invalid request data"),
     @ApiResponse(responseCode = "401", description = "Unauthorized - missing or invalid authentication"),
     @ApiResponse(responseCode = "403", description = "Forbidden - insufficient permissions")
@@ -70,56 +95,58 @@ public class TimeLogController {
           @RequestHeader(value = "X-User-Subject") String employeeId,
           @Valid @RequestBody TimeLogRequest request) {
 
-    TimeLogResponse response = timeLogService.createTimeLog(employeeId, request);
-    return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    // Synchronous by default; group-committed when app.time-logs.ingestion.mode=batched
+    TimeLogIngestionResult result = timeLogIngestionQueue.submit(employeeId, request);
+    if (result.isJournaled()) {
+      return ResponseEntity.status(HttpStatus.ACCEPTED)
+              .header("X-Journal-Record-Id", result.journalRecordId())
+              .build();
+    }
+    return ResponseEntity.status(HttpStatus.CREATED).body(result.timeLog());
   }
 
   /**
    * GET /time-logs - Get employee's time logs
    * Returns all time logs for the authenticated employee
    * Optional query parameters for filtering: from, to
+   * Optional sparse fieldset: fields=id,date,hours returns (and selects) only those fields
    */
   @Operation(
     summary = "Get employee's time logs",
-    description = "Retrieve all time log entries for the authenticated employee. Optionally filter by date range."
+    description = "Retrieve all time log entries for the authenticated employee. Optionally filter by date range and work type, " +
+                  "and limit each entry to the fields listed in 'fields'."
   )
   @ApiResponses(value = {
     @ApiResponse(responseCode = "200", description = "Successfully retrieved time logs"),
+    @ApiResponse(responseCode = "400", description = "Unknown field in 'fields'"),
     @ApiResponse(responseCode = "401", description = "Unauthorized"),
     @ApiResponse(responseCode = "403", description = "Forbidden")
   })
   @GetMapping
   @PreAuthorize("hasAnyRole('EMPLOYEE', 'ADMIN', 'SUPER_ADMIN')")
-  public ResponseEntity<List<TimeLogResponse>> getMyTimeLogs(
+  public ResponseEntity<List<?>> getMyTimeLogs(
           @Parameter(description = "Employee ID from authentication token", required = true)
           @RequestHeader("X-User-Subject") String userId,
           @RequestHeader("X-User-Roles") String roles,
           @Parameter(description = "Start date for filtering (YYYY-MM-DD)")
           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
           @Parameter(description = "End date for filtering (YYYY-MM-DD)")
-          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
-
-    List<TimeLogResponse> responses;
+          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+          @Parameter(description = "Work type for filtering (e.g. Repair)")
+          @RequestParam(required = false) String workType,
+          @Parameter(description = "Comma-separated fields to return (e.g. id,date,hours); all fields when omitted")
+          @RequestParam(required = false) String fields) {
 
-    // Admin and Super Admin can see all time logs
-    if (roles.contains("ADMIN") || roles.contains("SUPER_ADMIN")) {
-      if (from != null && to != null) {
-        // For admin with date range, get all logs and filter (or create new method)
-        responses = timeLogService.getAllTimeLogs().stream()
-            .filter(log -> !log.getDate().isBefore(from) && !log.getDate().isAfter(to))
-            .collect(java.util.stream.Collectors.toList());
-      } else {
-        responses = timeLogService.getAllTimeLogs();
-      }
-    } else {
-      // Employee sees only their own logs
-      if (from != null && to != null) {
-        responses = timeLogService.getTimeLogsByDateRange(userId, from, to);
-      } else {
-        responses = timeLogService.getAllTimeLogsByEmployee(userId);
-      }
+    boolean admin = roles.contains("ADMIN") || roles.contains("SUPER_ADMIN");
+    boolean dateRange = from != null && to != null;
+    if (fields != null) {
+      return ResponseEntity.ok(timeLogService.getTimeLogFields(TimeLogField.parse(fields),
+              admin ? null : userId, null, null, workType, dateRange ? from : null, dateRange ? to : null));
     }
 
+    // Admin and Super Admin can see all time logs, employees only their own
+    List<TimeLogResponse> responses = timeLogService.getTimeLogs(admin ? null : userId,
+            dateRange ? from : null, dateRange ? to : null, workType);
     return ResponseEntity.ok(responses);
   }
 
@@ -220,21 +247,36 @@ public class TimeLogController {
    */
   @Operation(
     summary = "Get time logs for a service",
-    description = "Retrieve all time log entries associated with a specific service. Useful for tracking work progress and hours spent."
+    description = "Retrieve all time log entries associated with a specific service. Useful for tracking work progress and hours spent. " +
+                  "Served from pre-encoded bytes until the service's time logs change; gzip-compressed when accepted."
   )
   @ApiResponses(value = {
-    @ApiResponse(responseCode = "200", description = "Successfully retrieved time logs"),
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved time logs",
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = TimeLogResponse.class)))),
     @ApiResponse(responseCode = "401", description = "Unauthorized"),
     @ApiResponse(responseCode = "403", description = "Forbidden")
   })
   @GetMapping("/service/{serviceId}")
   @PreAuthorize("hasAnyRole('CUSTOMER', 'EMPLOYEE', 'ADMIN')")
-  public ResponseEntity<List<TimeLogResponse>> getTimeLogsForService(
+  public ResponseEntity<byte[]> getTimeLogsForService(
           @Parameter(description = "Service ID", required = true)
-          @PathVariable String serviceId) {
+          @PathVariable String serviceId,
+          @Parameter(description = "Comma-separated fields to return (e.g. id,date,hours); all fields when omitted")
+          @RequestParam(required = false) String fields,
+          @Parameter(hidden = true)
+          @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+          @Parameter(hidden = true)
+          @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
     
-    List<TimeLogResponse> responses = timeLogService.getTimeLogsByServiceId(serviceId);
-    return ResponseEntity.ok(responses);
+    EncodedResponseCache.EncodedBody body = responseCache.get(EncodedResponseCache.Scope.SERVICE, serviceId,
+            "service?fields=" + fields, EncodedResponseCache.negotiate(accept), () -> {
+              if (fields != null) {
+                return timeLogService.getTimeLogFields(TimeLogField.parse(fields),
+                        null, serviceId, null, null, null, null);
+              }
+              return timeLogService.getTimeLogsByServiceId(serviceId);
+            });
+    return EncodedResponseCache.respond(body, acceptEncoding);
   }
 
   /**
@@ -245,26 +287,107 @@ public class TimeLogController {
   @Operation(
     summary = "Get time log summary",
     description = "Retrieve a summary of time logs for the authenticated employee. " +
-                  "Specify 'daily' or 'weekly' period and a reference date."
+                  "Specify 'daily' or 'weekly' period and a reference date. Periods in a closed payroll week " +
+                  "are served from its snapshot with a strong ETag and a long-lived private Cache-Control; " +
+                  "others from pre-encoded bytes until the employee's time logs change, gzip-compressed when accepted."
   )
   @ApiResponses(value = {
-    @ApiResponse(responseCode = "200", description = "Successfully retrieved summary"),
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved summary",
+            content = @Content(schema = @Schema(implementation = TimeLogSummaryResponse.class))),
+    @ApiResponse(responseCode = "304", description = "Closed period, summary unchanged since the given ETag"),
     @ApiResponse(responseCode = "400", description = "Invalid period or date parameter"),
     @ApiResponse(responseCode = "401", description = "Unauthorized"),
     @ApiResponse(responseCode = "403", description = "Forbidden")
   })
   @GetMapping("/summary")
   @PreAuthorize("hasAnyRole('EMPLOYEE', 'ADMIN', 'SUPER_ADMIN')")
-  public ResponseEntity<TimeLogSummaryResponse> getSummary(
+  public ResponseEntity<?> getSummary(
           @Parameter(description = "Employee ID from authentication token", required = true)
           @RequestHeader("X-User-Subject") String employeeId,
           @Parameter(description = "Period type: 'daily' or 'weekly'", required = true)
           @RequestParam String period,
           @Parameter(description = "Reference date (YYYY-MM-DD)", required = true)
-          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+          @Parameter(hidden = true)
+          @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+          @Parameter(hidden = true)
+          @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+    // If-None-Match against the ETag is answered with 304 by Spring
+    Optional<PayrollPeriodService.ClosedSummaries> closed =
+            timeLogService.getClosedSummaries(List.of(employeeId), period, date);
+    if (closed.isPresent()) {
+      return ResponseEntity.ok()
+              .cacheControl(closedPeriodCacheControl)
+              .eTag(closed.get().etag())
+              .body(closed.get().summaries().get(0));
+    }
+
+    EncodedResponseCache.EncodedBody body = responseCache.get(EncodedResponseCache.Scope.EMPLOYEE, employeeId,
+            "summary?period=" + period + "&date=" + date, EncodedResponseCache.negotiate(accept),
+            () -> timeLogService.getEmployeeSummaryByPeriod(employeeId, period, date));
+    return EncodedResponseCache.respond(body, acceptEncoding);
+  }
+
+  /**
+   * POST /time-logs/summaries - Daily/weekly summaries of a team
+   * One aggregate query per chunk of employees instead of one summary call per technician
+   */
+  @Operation(
+    summary = "Get time log summaries for several employees",
+    description = "Summaries of the listed employees for a 'daily' or 'weekly' period around a reference date, " +
+                  "in request order, computed together in one aggregate query per 500 employees."
+  )
+  @ApiResponses(value = {
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved summaries"),
+    @ApiResponse(responseCode = "400", description = "Invalid period, date or employee list"),
+    @ApiResponse(responseCode = "401", description = "Unauthorized"),
+    @ApiResponse(responseCode = "403", description = "Forbidden")
+  })
+  @PostMapping("/summaries")
+  @PreAuthorize("hasAnyRole('ADMIN', 'SUPER_ADMIN')")
+  public ResponseEntity<List<TimeLogSummaryResponse>> getSummaries(
+          @Valid @RequestBody TimeLogSummariesRequest request) {
+
+    return ResponseEntity.ok(timeLogService.getEmployeeSummaries(request.getEmployeeIds(), request.getPeriod(),
+            request.getDate()));
+  }
+
+  /**
+   * GET /time-logs/histogram - Hours per day, week or month for charts
+   * One query for the whole range instead of one summary call per bucket
+   * Query parameters: from, to (YYYY-MM-DD), bucket (day|week|month), groupBy (service|project|workType),
+   * weekStart (monday|from)
+   */
+  @Operation(
+    summary = "Get time log histogram",
+    description = "Hours of the authenticated employee per day, week or month between two dates, as dense arrays " +
+                  "with zero-filled gaps, optionally split by service, project or work type. " +
+                  "Weeks start on Monday, or every 7 days from 'from' with weekStart=from."
+  )
+  @ApiResponses(value = {
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved histogram"),
+    @ApiResponse(responseCode = "400", description = "Invalid range, bucket, groupBy or weekStart, or too many buckets"),
+    @ApiResponse(responseCode = "401", description = "Unauthorized"),
+    @ApiResponse(responseCode = "403", description = "Forbidden")
+  })
+  @GetMapping("/histogram")
+  @PreAuthorize("hasAnyRole('EMPLOYEE', 'ADMIN', 'SUPER_ADMIN')")
+  public ResponseEntity<TimeLogHistogramResponse> getHistogram(
+          @Parameter(description = "Employee ID from authentication token", required = true)
+          @RequestHeader("X-User-Subject") String employeeId,
+          @Parameter(description = "Start date (YYYY-MM-DD, inclusive)", required = true)
+          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+          @Parameter(description = "End date (YYYY-MM-DD, inclusive)", required = true)
+          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+          @Parameter(description = "Bucket size: 'day', 'week' or 'month'")
+          @RequestParam(defaultValue = "day") String bucket,
+          @Parameter(description = "Split each bucket by 'service', 'project' or 'workType'")
+          @RequestParam(required = false) String groupBy,
+          @Parameter(description = "Week buckets start on 'monday' or every 7 days from 'from'")
+          @RequestParam(defaultValue = "monday") String weekStart) {
 
-    TimeLogSummaryResponse summary = timeLogService.getEmployeeSummaryByPeriod(employeeId, period, date);
-    return ResponseEntity.ok(summary);
+    return ResponseEntity.ok(timeLogService.getEmployeeHistogram(employeeId, from, to, bucket, groupBy, weekStart));
   }
 
   // Additional convenience endpoints (not in original design but useful)
@@ -279,10 +402,16 @@ public class TimeLogController {
   )
   @GetMapping("/project/{projectId}")
   @PreAuthorize("hasAnyRole('CUSTOMER', 'EMPLOYEE', 'ADMIN')")
-  public ResponseEntity<List<TimeLogResponse>> getTimeLogsForProject(
+  public ResponseEntity<List<?>> getTimeLogsForProject(
           @Parameter(description = "Project ID", required = true)
-          @PathVariable String projectId) {
+          @PathVariable String projectId,
+          @Parameter(description = "Comma-separated fields to return (e.g. id,date,hours); all fields when omitted")
+          @RequestParam(required = false) String fields) {
     
+    if (fields != null) {
+      return ResponseEntity.ok(timeLogService.getTimeLogFields(TimeLogField.parse(fields),
+              null, null, projectId, null, null, null));
+    }
     List<TimeLogResponse> responses = timeLogService.getTimeLogsByProjectId(projectId);
     return ResponseEntity.ok(responses);
   }
@@ -0,0 +1,147 @@
+package com.techtorque.time_logging_service.controller;
+
+import com.techtorque.time_logging_service.dto.request.TimerStartRequest;
+import com.techtorque.time_logging_service.dto.response.ActiveTimerResponse;
+import com.techtorque.time_logging_service.dto.response.TimeLogResponse;
+import com.techtorque.time_logging_service.service.TimerService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for live clock-in / clock-out timers
+ *
+ * Technicians start a timer, their app sends heartbeats while work is in progress,
+ * and stopping the timer creates regular time logs for the elapsed time (one per day it spans).
+ */
+@RestController
+@RequestMapping("/time-logs/timer")
+@Tag(name = "Time Logging Timer", description = "Running clock-in / clock-out timers")
+@SecurityRequirement(name = "bearerAuth")
+public class TimerController {
+
+  private final TimerService timerService;
+
+  public TimerController(TimerService timerService) {
+    this.timerService = timerService;
+  }
+
+  /**
+   * POST /time-logs/timer/start - Clock in
+   */
+  @Operation(
+    summary = "Start a timer",
+    description = "Start a running timer for a service or project. Only one timer can run per employee."
+  )
+  @ApiResponses(value = {
+    @ApiResponse(responseCode = "201", description = "Timer started"),
+    @ApiResponse(responseCode = "400", description = "Invalid request or a timer is already running"),
+    @ApiResponse(responseCode = "401", description = "Unauthorized"),
+    @ApiResponse(responseCode = "403", description = "Forbidden")
+  })
+  @PostMapping("/start")
+  @PreAuthorize("hasAnyRole('EMPLOYEE', 'ADMIN', 'SUPER_ADMIN')")
+  public ResponseEntity<ActiveTimerResponse> startTimer(
+          @Parameter(description = "Employee ID from authentication token", required = true)
+          @RequestHeader("X-User-Subject") String employeeId,
+          @Valid @RequestBody TimerStartRequest request) {
+
+    ActiveTimerResponse response = timerService.startTimer(employeeId, request);
+    return ResponseEntity.status(HttpStatus.CREATED).body(response);
+  }
+
+  /**
+   * POST /time-logs/timer/heartbeat - Keep the running timer alive
+   */
+  @Operation(
+    summary = "Timer heartbeat",
+    description = "Signal that work on the running timer is still in progress. Held in memory only."
+  )
+  @ApiResponses(value = {
+    @ApiResponse(responseCode = "200", description = "Heartbeat recorded"),
+    @ApiResponse(responseCode = "404", description = "No running timer")
+  })
+  @PostMapping("/heartbeat")
+  @PreAuthorize("hasAnyRole('EMPLOYEE', 'ADMIN', 'SUPER_ADMIN')")
+  public ResponseEntity<ActiveTimerResponse> heartbeat(
+          @Parameter(description = "Employee ID from authentication token", required = true)
+          @RequestHeader("X-User-Subject") String employeeId) {
+
+    return ResponseEntity.ok(timerService.heartbeat(employeeId));
+  }
+
+  /**
+   * GET /time-logs/timer - Get the running timer
+   */
+  @Operation(
+    summary = "Get running timer",
+    description = "Retrieve the authenticated employee's running timer and elapsed minutes."
+  )
+  @ApiResponses(value = {
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved timer"),
+    @ApiResponse(responseCode = "404", description = "No running timer")
+  })
+  @GetMapping
+  @PreAuthorize("hasAnyRole('EMPLOYEE', 'ADMIN', 'SUPER_ADMIN')")
+  public ResponseEntity<ActiveTimerResponse> getActiveTimer(
+          @Parameter(description = "Employee ID from authentication token", required = true)
+          @RequestHeader("X-User-Subject") String employeeId) {
+
+    return ResponseEntity.ok(timerService.getActiveTimer(employeeId));
+  }
+
+  /**
+   * POST /time-logs/timer/stop - Clock out
+   * Persists the elapsed time as new time log entries, one per day
+   */
+  @Operation(
+    summary = "Stop the timer",
+    description = "Stop the running timer and create a time log for each day of the elapsed time. " +
+            "Minutes beyond the daily hours cap or in a closed payroll week are not logged."
+  )
+  @ApiResponses(value = {
+    @ApiResponse(responseCode = "201", description = "Timer stopped and time logs created"),
+    @ApiResponse(responseCode = "404", description = "No running timer"),
+    @ApiResponse(responseCode = "409", description = "Daily hours limit would be exceeded")
+  })
+  @PostMapping("/stop")
+  @PreAuthorize("hasAnyRole('EMPLOYEE', 'ADMIN', 'SUPER_ADMIN')")
+  public ResponseEntity<List<TimeLogResponse>> stopTimer(
+          @Parameter(description = "Employee ID from authentication token", required = true)
+          @RequestHeader("X-User-Subject") String employeeId) {
+
+    List<TimeLogResponse> response = timerService.stopTimer(employeeId);
+    return ResponseEntity.status(HttpStatus.CREATED).body(response);
+  }
+
+  /**
+   * DELETE /time-logs/timer - Discard the running timer
+   */
+  @Operation(
+    summary = "Cancel the timer",
+    description = "Discard the running timer without logging any time."
+  )
+  @ApiResponses(value = {
+    @ApiResponse(responseCode = "204", description = "Timer discarded"),
+    @ApiResponse(responseCode = "404", description = "No running timer")
+  })
+  @DeleteMapping
+  @PreAuthorize("hasAnyRole('EMPLOYEE', 'ADMIN', 'SUPER_ADMIN')")
+  public ResponseEntity<Void> cancelTimer(
+          @Parameter(description = "Employee ID from authentication token", required = true)
+          @RequestHeader("X-User-Subject") String employeeId) {
+
+    timerService.cancelTimer(employeeId);
+    return ResponseEntity.noContent().build();
+  }
+}
@@ -0,0 +1,92 @@
+package com.techtorque.time_logging_service.dto.mapper;
+
+import com.techtorque.time_logging_service.entity.TimeLogHours;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Fields that can be requested through the fields= sparse fieldset parameter
+ *
+ * Each field maps a JSON property of TimeLogResponse to the TimeLog attribute it is selected from,
+ * so only the requested columns are read from the database.
+ */
+public enum TimeLogField {
+
+    ID("id", "id", value -> value != null ? ((UUID) value).toString() : null),
+    EMPLOYEE_ID("employeeId", "employeeId", Function.identity()),
+    SERVICE_ID("serviceId", "serviceId", Function.identity()),
+    PROJECT_ID("projectId", "projectId", Function.identity()),
+    HOURS("hours", "minutes", value -> TimeLogHours.toHours(((Number) value).longValue())),
+    DATE("date", "date", Function.identity()),
+    DESCRIPTION("description", "description", Function.identity()),
+    WORK_TYPE("workType", "workType", Function.identity()),
+    CREATED_AT("createdAt", "createdAt", Function.identity()),
+    UPDATED_AT("updatedAt", "updatedAt", Function.identity());
+
+    private final String jsonName;
+    private final String attribute;
+    private final Function<Object, Object> toJson;
+
+    TimeLogField(String jsonName, String attribute, Function<Object, Object> toJson) {
+        this.jsonName = jsonName;
+        this.attribute = attribute;
+        this.toJson = toJson;
+    }
+
+    public String getJsonName() {
+        return jsonName;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    public Object toJson(Object value) {
+        return toJson.apply(value);
+    }
+
+    /**
+     * Parse a comma-separated fields parameter, e.g. "id,date,hours"
+     *
+     * @throws IllegalArgumentException on an unknown field name
+     */
+    public static List<TimeLogField> parse(String fields) {
+        List<TimeLogField> parsed = new ArrayList<>();
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            TimeLogField field = byJsonName(trimmed);
+            if (!parsed.contains(field)) {
+                parsed.add(field);
+            }
+        }
+        if (parsed.isEmpty()) {
+            throw new IllegalArgumentException("fields must name at least one field");
+        }
+        return parsed;
+    }
+
+    private static TimeLogField byJsonName(String name) {
+        for (TimeLogField field : values()) {
+            if (field.jsonName.equalsIgnoreCase(name)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown field '" + name + "'. Allowed: "
+                + String.join(", ", allowedNames()).toLowerCase(Locale.ROOT));
+    }
+
+    private static List<String> allowedNames() {
+        List<String> names = new ArrayList<>();
+        for (TimeLogField field : values()) {
+            names.add(field.jsonName);
+        }
+        return names;
+    }
+}
@@ -4,17 +4,31 @@ import com.techtorque.time_logging_service.dto.request.TimeLogRequest;
 import com.techtorque.time_logging_service.dto.request.TimeLogUpdateRequest;
 import com.techtorque.time_logging_service.dto.response.TimeLogResponse;
 import com.techtorque.time_logging_service.entity.TimeLog;
+import com.techtorque.time_logging_service.entity.TimeLogHours;
 
 import java.util.Objects;
+import java.util.UUID;
 
 public class TimeLogMapper {
 
+    /**
+     * Parse a time log ID from the REST API; null if it is not a UUID (no such log can exist)
+     */
+    public static UUID parseId(String id) {
+        if (id == null) return null;
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     public static TimeLog toEntity(TimeLogRequest req) {
         if (req == null) return null;
         TimeLog e = new TimeLog();
         e.setServiceId(req.getServiceId());
         e.setProjectId(req.getProjectId());
-        e.setHours(req.getHours());
+        e.setMinutes(TimeLogHours.toMinutes(req.getHours()));
         e.setDate(req.getDate());
         e.setDescription(req.getDescription());
         e.setWorkType(req.getWorkType());
@@ -25,7 +39,7 @@ public class TimeLogMapper {
         if (update == null || e == null) return;
         if (Objects.nonNull(update.getServiceId())) e.setServiceId(update.getServiceId());
         if (Objects.nonNull(update.getProjectId())) e.setProjectId(update.getProjectId());
-        if (Objects.nonNull(update.getHours())) e.setHours(update.getHours());
+        if (Objects.nonNull(update.getHours())) e.setMinutes(TimeLogHours.toMinutes(update.getHours()));
         if (Objects.nonNull(update.getDate())) e.setDate(update.getDate());
         if (Objects.nonNull(update.getDescription())) e.setDescription(update.getDescription());
         if (Objects.nonNull(update.getWorkType())) e.setWorkType(update.getWorkType());
@@ -34,11 +48,11 @@ public class TimeLogMapper {
     public static TimeLogResponse toResponse(TimeLog e) {
         if (e == null) return null;
         TimeLogResponse r = new TimeLogResponse();
-        r.setId(e.getId());
+        r.setId(e.getId() != null ? e.getId().toString() : null);
         r.setEmployeeId(e.getEmployeeId());
         r.setServiceId(e.getServiceId());
         r.setProjectId(e.getProjectId());
-        r.setHours(e.getHours());
+        r.setHours(TimeLogHours.toHours(e.getMinutes()));
         r.setDate(e.getDate());
         r.setDescription(e.getDescription());
         r.setWorkType(e.getWorkType());
@@ -1,7 +1,8 @@
 package com.techtorque.time_logging_service.dto.request;
 
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Positive;
 import java.time.LocalDate;
 
 public class TimeLogRequest {
@@ -12,7 +13,10 @@ public class TimeLogRequest {
 
     private String projectId;
 
-    @Positive
+    // At least one stored minute (hours are rounded to whole minutes) and at most one day; a lower
+    // app.time-logs.daily-hours-cap is enforced on the day's total by the service (409)
+    @DecimalMin("0.01")
+    @DecimalMax("24")
     private double hours;
 
     @NotNull
@@ -0,0 +1,106 @@
+package com.techtorque.time_logging_service.dto.request;
+
+import jakarta.validation.Valid;
+import java.time.LocalDate;
+import java.util.List;
+
+public class TimeLogSelectionRequest {
+
+    // Values are OR-ed within a list, lists are AND-ed; an empty or missing list does not filter
+    private List<String> employeeIds;
+
+    private List<String> serviceIds;
+
+    private List<String> projectIds;
+
+    private List<String> workTypes;
+
+    @Valid
+    private List<DateRange> dateRanges;
+
+    // Up to three of employee, service, project, workType, date
+    private List<String> groupBy;
+
+    // auto, columnar or database
+    private String source;
+
+    public List<String> getEmployeeIds() {
+        return employeeIds;
+    }
+
+    public void setEmployeeIds(List<String> employeeIds) {
+        this.employeeIds = employeeIds;
+    }
+
+    public List<String> getServiceIds() {
+        return serviceIds;
+    }
+
+    public void setServiceIds(List<String> serviceIds) {
+        this.serviceIds = serviceIds;
+    }
+
+    public List<String> getProjectIds() {
+        return projectIds;
+    }
+
+    public void setProjectIds(List<String> projectIds) {
+        this.projectIds = projectIds;
+    }
+
+    public List<String> getWorkTypes() {
+        return workTypes;
+    }
+
+    public void setWorkTypes(List<String> workTypes) {
+        this.workTypes = workTypes;
+    }
+
+    public List<DateRange> getDateRanges() {
+        return dateRanges;
+    }
+
+    public void setDateRanges(List<DateRange> dateRanges) {
+        this.dateRanges = dateRanges;
+    }
+
+    public List<String> getGroupBy() {
+        return groupBy;
+    }
+
+    public void setGroupBy(List<String> groupBy) {
+        this.groupBy = groupBy;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public static class DateRange {
+
+        // Inclusive; a missing bound is open
+        private LocalDate from;
+
+        private LocalDate to;
+
+        public LocalDate getFrom() {
+            return from;
+        }
+
+        public void setFrom(LocalDate from) {
+            this.from = from;
+        }
+
+        public LocalDate getTo() {
+            return to;
+        }
+
+        public void setTo(LocalDate to) {
+            this.to = to;
+        }
+    }
+}
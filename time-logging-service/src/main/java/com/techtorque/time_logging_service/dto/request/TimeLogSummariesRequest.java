@@ -0,0 +1,45 @@
+package com.techtorque.time_logging_service.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDate;
+import java.util.List;
+
+public class TimeLogSummariesRequest {
+
+    @NotEmpty
+    @Size(max = 10000)
+    private List<String> employeeIds;
+
+    // daily or weekly, as for GET /time-logs/summary
+    @NotNull
+    private String period;
+
+    @NotNull
+    private LocalDate date;
+
+    public List<String> getEmployeeIds() {
+        return employeeIds;
+    }
+
+    public void setEmployeeIds(List<String> employeeIds) {
+        this.employeeIds = employeeIds;
+    }
+
+    public String getPeriod() {
+        return period;
+    }
+
+    public void setPeriod(String period) {
+        this.period = period;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+}
@@ -1,6 +1,7 @@
 package com.techtorque.time_logging_service.dto.request;
 
-import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import java.time.LocalDate;
 
 public class TimeLogUpdateRequest {
@@ -8,7 +9,10 @@ public class TimeLogUpdateRequest {
     private String serviceId;
     private String projectId;
 
-    @Positive
+    // At least one stored minute (hours are rounded to whole minutes) and at most one day; a lower
+    // app.time-logs.daily-hours-cap is enforced on the day's total by the service (409)
+    @DecimalMin("0.01")
+    @DecimalMax("24")
     private Double hours;
 
     private LocalDate date;
@@ -0,0 +1,47 @@
+package com.techtorque.time_logging_service.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+
+public class TimerStartRequest {
+
+    @NotNull
+    private String serviceId;
+
+    private String projectId;
+
+    private String description;
+
+    private String workType;
+
+    public String getServiceId() {
+        return serviceId;
+    }
+
+    public void setServiceId(String serviceId) {
+        this.serviceId = serviceId;
+    }
+
+    public String getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(String projectId) {
+        this.projectId = projectId;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getWorkType() {
+        return workType;
+    }
+
+    public void setWorkType(String workType) {
+        this.workType = workType;
+    }
+}
@@ -0,0 +1,79 @@
+package com.techtorque.time_logging_service.dto.response;
+
+import java.time.Instant;
+
+public class ActiveTimerResponse {
+
+    private String employeeId;
+    private String serviceId;
+    private String projectId;
+    private String workType;
+    private String description;
+    private Instant startedAt;
+    private Instant lastHeartbeatAt;
+    private long elapsedMinutes;
+
+    public String getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(String employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public String getServiceId() {
+        return serviceId;
+    }
+
+    public void setServiceId(String serviceId) {
+        this.serviceId = serviceId;
+    }
+
+    public String getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(String projectId) {
+        this.projectId = projectId;
+    }
+
+    public String getWorkType() {
+        return workType;
+    }
+
+    public void setWorkType(String workType) {
+        this.workType = workType;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getLastHeartbeatAt() {
+        return lastHeartbeatAt;
+    }
+
+    public void setLastHeartbeatAt(Instant lastHeartbeatAt) {
+        this.lastHeartbeatAt = lastHeartbeatAt;
+    }
+
+    public long getElapsedMinutes() {
+        return elapsedMinutes;
+    }
+
+    public void setElapsedMinutes(long elapsedMinutes) {
+        this.elapsedMinutes = elapsedMinutes;
+    }
+}
@@ -0,0 +1,79 @@
+package com.techtorque.time_logging_service.dto.response;
+
+import java.time.LocalDate;
+
+public class DistinctCountResponse {
+
+    private String dimension; // what the count is per: service, project or employee
+    private String key;
+    private String counted; // what is counted: employee or service
+    private LocalDate from;
+    private LocalDate to;
+    private long estimate;
+    private double relativeStandardError;
+    private int sketches; // daily sketches merged
+
+    public String getDimension() {
+        return dimension;
+    }
+
+    public void setDimension(String dimension) {
+        this.dimension = dimension;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public String getCounted() {
+        return counted;
+    }
+
+    public void setCounted(String counted) {
+        this.counted = counted;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public long getEstimate() {
+        return estimate;
+    }
+
+    public void setEstimate(long estimate) {
+        this.estimate = estimate;
+    }
+
+    public double getRelativeStandardError() {
+        return relativeStandardError;
+    }
+
+    public void setRelativeStandardError(double relativeStandardError) {
+        this.relativeStandardError = relativeStandardError;
+    }
+
+    public int getSketches() {
+        return sketches;
+    }
+
+    public void setSketches(int sketches) {
+        this.sketches = sketches;
+    }
+}
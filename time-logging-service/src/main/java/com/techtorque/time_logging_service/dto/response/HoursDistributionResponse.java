@@ -0,0 +1,107 @@
+package com.techtorque.time_logging_service.dto.response;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+public class HoursDistributionResponse {
+
+    private String dimension; // workType or service
+    private String key;
+    private LocalDate from; // first day of the first month merged
+    private LocalDate to; // last day of the last month merged
+    private long count; // entries, exact
+    private double meanHours; // exact
+    private double minHours;
+    private double maxHours;
+    private Map<String, Double> quantiles; // "p50" -> hours per entry
+    private double rankError; // a quantile's rank is off by about this fraction of count
+    private int months; // monthly sketches merged
+
+    public String getDimension() {
+        return dimension;
+    }
+
+    public void setDimension(String dimension) {
+        this.dimension = dimension;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public double getMeanHours() {
+        return meanHours;
+    }
+
+    public void setMeanHours(double meanHours) {
+        this.meanHours = meanHours;
+    }
+
+    public double getMinHours() {
+        return minHours;
+    }
+
+    public void setMinHours(double minHours) {
+        this.minHours = minHours;
+    }
+
+    public double getMaxHours() {
+        return maxHours;
+    }
+
+    public void setMaxHours(double maxHours) {
+        this.maxHours = maxHours;
+    }
+
+    public Map<String, Double> getQuantiles() {
+        return quantiles;
+    }
+
+    public void setQuantiles(Map<String, Double> quantiles) {
+        this.quantiles = quantiles;
+    }
+
+    public double getRankError() {
+        return rankError;
+    }
+
+    public void setRankError(double rankError) {
+        this.rankError = rankError;
+    }
+
+    public int getMonths() {
+        return months;
+    }
+
+    public void setMonths(int months) {
+        this.months = months;
+    }
+}
@@ -0,0 +1,53 @@
+package com.techtorque.time_logging_service.dto.response;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+public class PayrollPeriodResponse {
+
+    private LocalDate weekStart; // Monday
+    private LocalDate weekEnd; // Sunday
+    private Instant closedAt;
+    private String closedBy;
+    private long snapshotEntries; // frozen (employee, day, service, project) totals
+
+    public LocalDate getWeekStart() {
+        return weekStart;
+    }
+
+    public void setWeekStart(LocalDate weekStart) {
+        this.weekStart = weekStart;
+    }
+
+    public LocalDate getWeekEnd() {
+        return weekEnd;
+    }
+
+    public void setWeekEnd(LocalDate weekEnd) {
+        this.weekEnd = weekEnd;
+    }
+
+    public Instant getClosedAt() {
+        return closedAt;
+    }
+
+    public void setClosedAt(Instant closedAt) {
+        this.closedAt = closedAt;
+    }
+
+    public String getClosedBy() {
+        return closedBy;
+    }
+
+    public void setClosedBy(String closedBy) {
+        this.closedBy = closedBy;
+    }
+
+    public long getSnapshotEntries() {
+        return snapshotEntries;
+    }
+
+    public void setSnapshotEntries(long snapshotEntries) {
+        this.snapshotEntries = snapshotEntries;
+    }
+}
@@ -0,0 +1,111 @@
+package com.techtorque.time_logging_service.dto.response;
+
+import java.util.List;
+import java.util.Map;
+
+public class TimeLogAnalyticsResponse {
+
+    private String source; // "columnar" (in-memory store) or "database"
+    private List<String> groupBy;
+    private long count;
+    private long totalMinutes;
+    private double totalHours;
+    private long elapsedMicros;
+    private List<Group> groups;
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public List<String> getGroupBy() {
+        return groupBy;
+    }
+
+    public void setGroupBy(List<String> groupBy) {
+        this.groupBy = groupBy;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public long getTotalMinutes() {
+        return totalMinutes;
+    }
+
+    public void setTotalMinutes(long totalMinutes) {
+        this.totalMinutes = totalMinutes;
+    }
+
+    public double getTotalHours() {
+        return totalHours;
+    }
+
+    public void setTotalHours(double totalHours) {
+        this.totalHours = totalHours;
+    }
+
+    public long getElapsedMicros() {
+        return elapsedMicros;
+    }
+
+    public void setElapsedMicros(long elapsedMicros) {
+        this.elapsedMicros = elapsedMicros;
+    }
+
+    public List<Group> getGroups() {
+        return groups;
+    }
+
+    public void setGroups(List<Group> groups) {
+        this.groups = groups;
+    }
+
+    public static class Group {
+
+        private Map<String, String> key; // dimension -> value
+        private long count;
+        private long minutes;
+        private double hours;
+
+        public Map<String, String> getKey() {
+            return key;
+        }
+
+        public void setKey(Map<String, String> key) {
+            this.key = key;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+
+        public long getMinutes() {
+            return minutes;
+        }
+
+        public void setMinutes(long minutes) {
+            this.minutes = minutes;
+        }
+
+        public double getHours() {
+            return hours;
+        }
+
+        public void setHours(double hours) {
+            this.hours = hours;
+        }
+    }
+}
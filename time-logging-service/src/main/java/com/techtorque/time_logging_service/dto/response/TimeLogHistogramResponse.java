@@ -0,0 +1,107 @@
+package com.techtorque.time_logging_service.dto.response;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+public class TimeLogHistogramResponse {
+    private String employeeId;
+    private String bucket; // day, week or month
+    private String groupBy; // service, project, workType or null
+    private LocalDate from;
+    private LocalDate to;
+    private List<LocalDate> buckets; // first day of each bucket, one per element of the arrays below
+    private List<Double> hours; // total hours per bucket, 0 for empty buckets
+    private List<Integer> counts; // entries per bucket
+    private Map<String, List<Double>> series; // groupBy value -> hours per bucket (only with groupBy)
+    private long totalMinutes; // exact total over [from, to]
+    private double totalHours;
+
+    public String getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(String employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public String getBucket() {
+        return bucket;
+    }
+
+    public void setBucket(String bucket) {
+        this.bucket = bucket;
+    }
+
+    public String getGroupBy() {
+        return groupBy;
+    }
+
+    public void setGroupBy(String groupBy) {
+        this.groupBy = groupBy;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public List<LocalDate> getBuckets() {
+        return buckets;
+    }
+
+    public void setBuckets(List<LocalDate> buckets) {
+        this.buckets = buckets;
+    }
+
+    public List<Double> getHours() {
+        return hours;
+    }
+
+    public void setHours(List<Double> hours) {
+        this.hours = hours;
+    }
+
+    public List<Integer> getCounts() {
+        return counts;
+    }
+
+    public void setCounts(List<Integer> counts) {
+        this.counts = counts;
+    }
+
+    public Map<String, List<Double>> getSeries() {
+        return series;
+    }
+
+    public void setSeries(Map<String, List<Double>> series) {
+        this.series = series;
+    }
+
+    public long getTotalMinutes() {
+        return totalMinutes;
+    }
+
+    public void setTotalMinutes(long totalMinutes) {
+        this.totalMinutes = totalMinutes;
+    }
+
+    public double getTotalHours() {
+        return totalHours;
+    }
+
+    public void setTotalHours(double totalHours) {
+        this.totalHours = totalHours;
+    }
+}
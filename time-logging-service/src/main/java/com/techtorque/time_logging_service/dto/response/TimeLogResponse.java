@@ -1,7 +1,10 @@
 package com.techtorque.time_logging_service.dto.response;
 
+import com.techtorque.time_logging_service.entity.TimeLogHours;
+
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 public class TimeLogResponse {
 
@@ -16,6 +19,28 @@ public class TimeLogResponse {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    public TimeLogResponse() {
+    }
+
+    /**
+     * Constructor expression target for read-only queries (see TimeLogRepository),
+     * so responses are built straight from the result set without managed entities
+     */
+    public TimeLogResponse(UUID id, String employeeId, String serviceId, String projectId, int minutes,
+                           LocalDate date, String description, String workType,
+                           LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id != null ? id.toString() : null;
+        this.employeeId = employeeId;
+        this.serviceId = serviceId;
+        this.projectId = projectId;
+        this.hours = TimeLogHours.toHours(minutes);
+        this.date = date;
+        this.description = description;
+        this.workType = workType;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
     public String getId() {
         return id;
     }
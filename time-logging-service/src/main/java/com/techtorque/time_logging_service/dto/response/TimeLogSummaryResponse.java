@@ -6,6 +6,7 @@ public class TimeLogSummaryResponse {
     private String employeeId;
     private String period;
     private double totalHours;
+    private long totalMinutes; // exact total; totalHours is derived from it
     private int count;
     private Map<String, Double> byService; // serviceId -> hours
     private Map<String, Double> byProject; // projectId -> hours
@@ -34,6 +35,14 @@ public class TimeLogSummaryResponse {
         this.totalHours = totalHours;
     }
 
+    public long getTotalMinutes() {
+        return totalMinutes;
+    }
+
+    public void setTotalMinutes(long totalMinutes) {
+        this.totalMinutes = totalMinutes;
+    }
+
     public int getCount() {
         return count;
     }
@@ -0,0 +1,138 @@
+package com.techtorque.time_logging_service.dto.response;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class TopKResponse {
+
+    private String dimension; // service or project
+    private String window; // day, week or month
+    private LocalDate from;
+    private LocalDate to;
+    private long totalMinutes; // exact, all keys
+    private double totalHours;
+    private long maxUntrackedMinutes; // no key missing from entries has more
+    private int capacity; // counters kept per window
+    private List<Entry> entries;
+
+    public String getDimension() {
+        return dimension;
+    }
+
+    public void setDimension(String dimension) {
+        this.dimension = dimension;
+    }
+
+    public String getWindow() {
+        return window;
+    }
+
+    public void setWindow(String window) {
+        this.window = window;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public long getTotalMinutes() {
+        return totalMinutes;
+    }
+
+    public void setTotalMinutes(long totalMinutes) {
+        this.totalMinutes = totalMinutes;
+    }
+
+    public double getTotalHours() {
+        return totalHours;
+    }
+
+    public void setTotalHours(double totalHours) {
+        this.totalHours = totalHours;
+    }
+
+    public long getMaxUntrackedMinutes() {
+        return maxUntrackedMinutes;
+    }
+
+    public void setMaxUntrackedMinutes(long maxUntrackedMinutes) {
+        this.maxUntrackedMinutes = maxUntrackedMinutes;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    public void setEntries(List<Entry> entries) {
+        this.entries = entries;
+    }
+
+    public static class Entry {
+
+        private String key;
+        private long minutes; // upper bound
+        private long minMinutes; // lower bound
+        private double hours;
+        private boolean guaranteed; // minMinutes exceeds every unlisted key: certainly in the top k
+
+        public String getKey() {
+            return key;
+        }
+
+        public void setKey(String key) {
+            this.key = key;
+        }
+
+        public long getMinutes() {
+            return minutes;
+        }
+
+        public void setMinutes(long minutes) {
+            this.minutes = minutes;
+        }
+
+        public long getMinMinutes() {
+            return minMinutes;
+        }
+
+        public void setMinMinutes(long minMinutes) {
+            this.minMinutes = minMinutes;
+        }
+
+        public double getHours() {
+            return hours;
+        }
+
+        public void setHours(double hours) {
+            this.hours = hours;
+        }
+
+        public boolean isGuaranteed() {
+            return guaranteed;
+        }
+
+        public void setGuaranteed(boolean guaranteed) {
+            this.guaranteed = guaranteed;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.techtorque.time_logging_service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * Checkpoint of a running clock-in timer
+ *
+ * Running timers live in memory (see TimerService); this table only holds periodic
+ * checkpoints so they can be restored after a restart. At most one timer per employee.
+ * Each row belongs to the instance holding the timer in memory; only that instance restores or stops it,
+ * unless the row goes stale and another instance claims it.
+ */
+@Entity
+@Table(name = "active_timers")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActiveTimer implements Persistable<String> {
+
+  @Id
+  private String employeeId;
+
+  @Column(nullable = false)
+  private String serviceId;
+
+  private String projectId;
+
+  private String workType;
+
+  @Column(columnDefinition = "TEXT")
+  private String description;
+
+  @Column(nullable = false)
+  private Instant startedAt;
+
+  @Column(nullable = false)
+  private Instant lastHeartbeatAt;
+
+  // Instance holding the timer (app.time-logs.timer.instance-id); null on rows written before ownership existed
+  private String owner;
+
+  // Checkpoints are inserted once and then only touched by bulk heartbeat updates,
+  // so saveAll() can persist (and batch) without a SELECT per row
+  @Transient
+  @Builder.Default
+  private boolean newEntity = true;
+
+  @Override
+  public String getId() {
+    return employeeId;
+  }
+
+  @Override
+  public boolean isNew() {
+    return newEntity;
+  }
+
+  @PostLoad
+  @PostPersist
+  void markNotNew() {
+    this.newEntity = false;
+  }
+}
@@ -0,0 +1,48 @@
+package com.techtorque.time_logging_service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Serialized HyperLogLog sketch of one day's distinct employees per service or project,
+ * or distinct services per employee (see DistinctCountSketches)
+ *
+ * Versioned: concurrent writers merging into the same sketch retry instead of losing an update.
+ */
+@Entity
+@Table(name = "time_log_distinct_sketches",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"dimension", "sketch_key", "date"}),
+        indexes = @Index(name = "idx_distinct_sketches_date", columnList = "date"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DistinctSketch {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.UUID)
+  private UUID id;
+
+  // What the sketch is keyed by: "service", "project" or "employee"
+  @Column(nullable = false, length = 16)
+  private String dimension;
+
+  @Column(name = "sketch_key", nullable = false)
+  private String sketchKey;
+
+  @Column(nullable = false)
+  private LocalDate date;
+
+  // Sparse while few registers are set (a few bytes per distinct value), at most 2 + 2^16 bytes dense
+  @Column(nullable = false, length = 65538)
+  private byte[] registers;
+
+  @Version
+  private Long version;
+}
@@ -0,0 +1,55 @@
+package com.techtorque.time_logging_service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Marker for a journal record that has been replayed into time_logs
+ *
+ * Written in the same transaction as the replayed TimeLog, so a record replayed twice
+ * (e.g. after a crash before the journal checkpoint) is detected and skipped.
+ */
+@Entity
+@Table(name = "time_log_journal_replays")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JournalReplay implements Persistable<String> {
+
+  @Id
+  private String recordId;
+
+  @Column(nullable = false)
+  private UUID timeLogId;
+
+  @Column(nullable = false)
+  private Instant replayedAt;
+
+  @Transient
+  @Builder.Default
+  private boolean newEntity = true;
+
+  @Override
+  public String getId() {
+    return recordId;
+  }
+
+  @Override
+  public boolean isNew() {
+    return newEntity;
+  }
+
+  @PostLoad
+  @PostPersist
+  void markNotNew() {
+    this.newEntity = false;
+  }
+}
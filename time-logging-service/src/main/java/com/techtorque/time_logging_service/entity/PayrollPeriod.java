@@ -0,0 +1,39 @@
+package com.techtorque.time_logging_service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * A closed payroll week (Monday to Sunday): its time logs can no longer be changed and its summaries are
+ * served from PayrollSnapshotEntry rows. Re-opening deletes the row; closing again creates a new one with a
+ * new ID, which is what summary ETags are derived from.
+ */
+@Entity
+@Table(name = "payroll_periods",
+        uniqueConstraints = @UniqueConstraint(columnNames = "week_start"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayrollPeriod {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.UUID)
+  private UUID id;
+
+  // Monday of the closed week
+  @Column(name = "week_start", nullable = false)
+  private LocalDate weekStart;
+
+  @Column(nullable = false)
+  private Instant closedAt;
+
+  private String closedBy;
+}
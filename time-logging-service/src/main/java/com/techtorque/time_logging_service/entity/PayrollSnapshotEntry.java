@@ -0,0 +1,47 @@
+package com.techtorque.time_logging_service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Frozen minutes and entry count of one employee, day, service and project in a closed payroll week
+ * (one group of the GROUP BY taken when the week was closed)
+ */
+@Entity
+@Table(name = "payroll_snapshot_entries",
+        indexes = @Index(name = "idx_payroll_snapshot_week_employee", columnList = "week_start, employee_id"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayrollSnapshotEntry {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.UUID)
+  private UUID id;
+
+  @Column(name = "week_start", nullable = false)
+  private LocalDate weekStart;
+
+  @Column(name = "employee_id", nullable = false)
+  private String employeeId;
+
+  @Column(nullable = false)
+  private LocalDate date;
+
+  private String serviceId;
+
+  private String projectId;
+
+  @Column(nullable = false)
+  private long minutes;
+
+  @Column(nullable = false)
+  private int entries;
+}
@@ -0,0 +1,27 @@
+package com.techtorque.time_logging_service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Lock row of a payroll week, created the first time the week is written to or closed and never deleted
+ *
+ * Writes to time logs dated in the week hold it in shared mode until they commit; closing and re-opening the
+ * week hold it exclusively, so a close waits for in-flight writes and later writes see the close.
+ */
+@Entity
+@Table(name = "payroll_week_locks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PayrollWeekLock {
+
+  // Monday of the week
+  @Id
+  @Column(name = "week_start")
+  private LocalDate weekStart;
+}
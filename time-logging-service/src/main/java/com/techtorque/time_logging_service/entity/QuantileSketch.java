@@ -0,0 +1,48 @@
+package com.techtorque.time_logging_service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Serialized KLL sketch of one month's minutes per entry for a work type or a service (see QuantileSketches)
+ *
+ * Versioned: concurrent writers merging into the same sketch retry instead of losing an update.
+ */
+@Entity
+@Table(name = "time_log_quantile_sketches",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"dimension", "sketch_key", "month_start"}),
+        indexes = @Index(name = "idx_quantile_sketches_month", columnList = "month_start"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuantileSketch {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.UUID)
+  private UUID id;
+
+  // What the sketch is keyed by: "workType" or "service"
+  @Column(nullable = false, length = 16)
+  private String dimension;
+
+  @Column(name = "sketch_key", nullable = false)
+  private String sketchKey;
+
+  // First day of the month ("month" is a keyword in H2)
+  @Column(name = "month_start", nullable = false)
+  private LocalDate month;
+
+  // About 2 bytes per retained item: a few hundred bytes up to ~6 KB at k = 1000
+  @Column(nullable = false, length = 65536)
+  private byte[] items;
+
+  @Version
+  private Long version;
+}
@@ -5,23 +5,29 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Entity
 @Table(name = "time_logs")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "time-logs")
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class TimeLog {
 
+  // Native uuid column (16 bytes) rather than a 36-character varchar; exposed as a string in the REST API
   @Id
   @GeneratedValue(strategy = GenerationType.UUID)
-  private String id;
+  private UUID id;
 
   @Column(nullable = false, updatable = false)
   private String employeeId;
@@ -35,8 +41,9 @@ public class TimeLog {
 
 
 
+  // Stored as whole minutes so sums are exact integer arithmetic; converted to hours only at the DTO boundary
   @Column(nullable = false)
-  private double hours;
+  private int minutes;
 
   @Column(nullable = false)
   private LocalDate date; // The date the work was performed
@@ -44,6 +51,9 @@ public class TimeLog {
   @Column(columnDefinition = "TEXT")
   private String description;
 
+  // Dictionary-encoded: stored as a smallint code into work_types (see WorkTypeDictionary)
+  @Convert(converter = WorkTypeConverter.class)
+  @Column(name = "work_type_code", columnDefinition = "smallint")
   private String workType;
 
   @CreationTimestamp
@@ -55,7 +65,7 @@ public class TimeLog {
   private LocalDateTime updatedAt;
 
   // Explicit getters - Lombok @Data should generate these, but we make them explicit
-  public String getId() {
+  public UUID getId() {
     return id;
   }
 
@@ -71,8 +81,8 @@ public class TimeLog {
     return projectId;
   }
 
-  public double getHours() {
-    return hours;
+  public int getMinutes() {
+    return minutes;
   }
 
   public LocalDate getDate() {
@@ -108,8 +118,8 @@ public class TimeLog {
     this.projectId = projectId;
   }
 
-  public void setHours(double hours) {
-    this.hours = hours;
+  public void setMinutes(int minutes) {
+    this.minutes = minutes;
   }
 
   public void setDate(LocalDate date) {
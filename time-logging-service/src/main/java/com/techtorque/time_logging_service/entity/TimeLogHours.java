@@ -0,0 +1,42 @@
+package com.techtorque.time_logging_service.entity;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Conversions between the hours of the API and the whole minutes stored on time logs
+ */
+public final class TimeLogHours {
+
+  private TimeLogHours() {
+  }
+
+  /**
+   * Hours from the API to stored minutes, rounded to the nearest minute
+   *
+   * @throws IllegalArgumentException when the hours are not finite or do not fit in an int of minutes
+   */
+  public static int toMinutes(double hours) {
+    double minutes = hours * 60.0;
+    if (!Double.isFinite(minutes) || Math.abs(minutes) >= Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Hours out of range: " + hours);
+    }
+    return (int) Math.round(minutes);
+  }
+
+  /**
+   * Stored (or exactly aggregated) minutes to hours for the API
+   */
+  public static double toHours(long minutes) {
+    return minutes / 60.0;
+  }
+
+  /**
+   * Convert a map of exact minute totals to hours
+   */
+  public static Map<String, Double> toHours(Map<String, Long> minutesByKey) {
+    Map<String, Double> hours = new HashMap<>(minutesByKey.size() * 2);
+    minutesByKey.forEach((key, minutes) -> hours.put(key, toHours(minutes)));
+    return hours;
+  }
+}
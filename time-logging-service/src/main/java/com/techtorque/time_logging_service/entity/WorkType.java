@@ -0,0 +1,49 @@
+package com.techtorque.time_logging_service.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Dictionary of work type names referenced by time_logs.work_type_code
+ *
+ * Rows are only ever inserted; codes are stable once assigned (see WorkTypeDictionary).
+ */
+@Entity
+@Table(name = "work_types")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkType implements Persistable<Short> {
+
+  @Id
+  private Short code;
+
+  @Column(nullable = false, unique = true)
+  private String name;
+
+  // Always inserted, never merged: a code taken concurrently must fail rather than be overwritten
+  @Transient
+  @Builder.Default
+  private boolean newEntity = true;
+
+  @Override
+  public Short getId() {
+    return code;
+  }
+
+  @Override
+  public boolean isNew() {
+    return newEntity;
+  }
+
+  @PostLoad
+  @PostPersist
+  void markNotNew() {
+    this.newEntity = false;
+  }
+}
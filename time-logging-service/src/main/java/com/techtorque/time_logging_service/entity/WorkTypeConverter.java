@@ -0,0 +1,32 @@
+package com.techtorque.time_logging_service.entity;
+
+import com.techtorque.time_logging_service.service.WorkTypeDictionary;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Stores TimeLog.workType as its smallint dictionary code
+ *
+ * Instantiated by Hibernate through Spring's bean container; the dictionary is resolved lazily
+ * because it depends on the EntityManagerFactory that creates this converter.
+ */
+@Converter
+public class WorkTypeConverter implements AttributeConverter<String, Short> {
+
+  private final ObjectProvider<WorkTypeDictionary> dictionary;
+
+  public WorkTypeConverter(ObjectProvider<WorkTypeDictionary> dictionary) {
+    this.dictionary = dictionary;
+  }
+
+  @Override
+  public Short convertToDatabaseColumn(String workType) {
+    return dictionary.getObject().encode(workType);
+  }
+
+  @Override
+  public String convertToEntityAttribute(Short code) {
+    return dictionary.getObject().decode(code);
+  }
+}
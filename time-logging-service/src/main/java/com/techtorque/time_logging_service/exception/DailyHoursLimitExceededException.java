@@ -0,0 +1,12 @@
+package com.techtorque.time_logging_service.exception;
+
+/**
+ * Exception thrown when a time log would push an employee's total for a day
+ * over the configured daily hours cap.
+ */
+public class DailyHoursLimitExceededException extends RuntimeException {
+
+    public DailyHoursLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -2,6 +2,8 @@ package com.techtorque.time_logging_service.exception;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -11,6 +13,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
@@ -21,8 +24,12 @@ import java.util.Map;
  * 
  * Catches and handles all exceptions thrown by controllers,
  * providing consistent error response format across the API
+ * 
+ * Ordered ahead of RestExceptionHandler: Spring uses the first advice
+ * with any matching handler, and both have a catch-all handler
  */
 @RestControllerAdvice
+@Order(Ordered.HIGHEST_PRECEDENCE)
 public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
@@ -67,6 +74,46 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.FORBIDDEN);
     }
 
+    /**
+     * Handle DailyHoursLimitExceededException
+     * Returns 409 CONFLICT
+     */
+    @ExceptionHandler(DailyHoursLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleDailyHoursLimitExceededException(
+            DailyHoursLimitExceededException ex, WebRequest request) {
+        
+        logger.warn("Daily hours limit exceeded: {}", ex.getMessage());
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.CONFLICT.value(),
+            ex.getMessage(),
+            request.getDescription(false),
+            LocalDateTime.now()
+        );
+        
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handle PayrollPeriodClosedException
+     * Returns 409 CONFLICT
+     */
+    @ExceptionHandler(PayrollPeriodClosedException.class)
+    public ResponseEntity<ErrorResponse> handlePayrollPeriodClosedException(
+            PayrollPeriodClosedException ex, WebRequest request) {
+        
+        logger.warn("Payroll period closed: {}", ex.getMessage());
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+            HttpStatus.CONFLICT.value(),
+            ex.getMessage(),
+            request.getDescription(false),
+            LocalDateTime.now()
+        );
+        
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
     /**
      * Handle Spring Security AccessDeniedException and AuthorizationDeniedException
      * Returns 403 FORBIDDEN
@@ -135,6 +182,26 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handle ResponseStatusException
+     * Returns the status it carries (e.g. 503 SERVICE UNAVAILABLE when the ingestion queue is full)
+     */
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ErrorResponse> handleResponseStatusException(
+            ResponseStatusException ex, WebRequest request) {
+        
+        logger.warn("Request failed with status {}: {}", ex.getStatusCode().value(), ex.getReason());
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+            ex.getStatusCode().value(),
+            ex.getReason(),
+            request.getDescription(false),
+            LocalDateTime.now()
+        );
+        
+        return new ResponseEntity<>(errorResponse, ex.getStatusCode());
+    }
+
     /**
      * Handle all other unexpected exceptions
      * Returns 500 INTERNAL SERVER ERROR
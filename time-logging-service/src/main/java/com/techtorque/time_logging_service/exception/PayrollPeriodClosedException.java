@@ -0,0 +1,11 @@
+package com.techtorque.time_logging_service.exception;
+
+/**
+ * Exception thrown when a time log would be created, changed or deleted in a closed payroll week.
+ */
+public class PayrollPeriodClosedException extends RuntimeException {
+
+    public PayrollPeriodClosedException(String message) {
+        super(message);
+    }
+}
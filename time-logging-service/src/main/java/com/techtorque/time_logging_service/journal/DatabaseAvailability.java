@@ -0,0 +1,109 @@
+package com.techtorque.time_logging_service.journal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import javax.sql.DataSource;
+import java.net.ConnectException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Set;
+
+/**
+ * Tracks whether the database is reachable
+ *
+ * The write path marks the database unavailable when a request fails with a connectivity error;
+ * while it is unavailable a scheduled probe checks for a valid connection and flips it back.
+ */
+@Component
+public class DatabaseAvailability {
+
+  private static final Logger logger = LoggerFactory.getLogger(DatabaseAvailability.class);
+  private static final int PROBE_TIMEOUT_SECONDS = 2;
+  // Undefined table, column and schema (PostgreSQL), table and column not found (H2)
+  private static final Set<String> MISSING_SCHEMA_STATES = Set.of("42P01", "42703", "3F000", "42S02", "42S22");
+
+  private final DataSource dataSource;
+  private volatile boolean available;
+
+  public DatabaseAvailability(DataSource dataSource,
+                              @Value("${app.database.available-at-startup:true}") boolean availableAtStartup) {
+    this.dataSource = dataSource;
+    this.available = availableAtStartup;
+    if (!availableAtStartup) {
+      logger.warn("Database unavailable at startup; time logs will be journaled locally until it is reachable");
+    }
+  }
+
+  public boolean isAvailable() {
+    return available;
+  }
+
+  public void markUnavailable(Throwable cause) {
+    if (available) {
+      available = false;
+      logger.error("Database connectivity lost ({}); switching to degraded mode", cause.getMessage());
+    }
+  }
+
+  /**
+   * While degraded, check whether a valid connection can be obtained again
+   */
+  @Scheduled(fixedDelayString = "${app.time-logs.journal.probe-interval-ms:5000}")
+  public void probe() {
+    if (available) {
+      return;
+    }
+    try (Connection connection = dataSource.getConnection()) {
+      if (connection.isValid(PROBE_TIMEOUT_SECONDS)) {
+        available = true;
+        logger.info("Database connectivity restored");
+      }
+    } catch (Exception e) {
+      logger.debug("Database still unavailable: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Whether an exception (or one of its causes) means the database could not be reached,
+   * as opposed to a rejected statement or a business rule failure
+   */
+  public static boolean isConnectivityFailure(Throwable error) {
+    for (Throwable t = error; t != null; t = t.getCause()) {
+      if (t instanceof CannotCreateTransactionException
+              || t instanceof DataAccessResourceFailureException
+              || t instanceof SQLTransientConnectionException
+              || t instanceof SQLNonTransientConnectionException
+              || t instanceof ConnectException) {
+        return true;
+      }
+      if (t.getCause() == t) {
+        break;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Whether an exception (or one of its causes) means a table or column does not exist: the database is
+   * reachable but has no schema (or an outdated one)
+   */
+  public static boolean isMissingSchema(Throwable error) {
+    for (Throwable t = error; t != null; t = t.getCause()) {
+      if (t instanceof SQLException sqlException && MISSING_SCHEMA_STATES.contains(sqlException.getSQLState())) {
+        return true;
+      }
+      if (t.getCause() == t) {
+        break;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,56 @@
+package com.techtorque.time_logging_service.journal;
+
+import java.time.Instant;
+
+/**
+ * A journal record that could not be replayed, kept in the dead-letter journal with the reason
+ * (the original payload is kept verbatim, so it can be inspected or re-submitted once fixed)
+ */
+public class DeadLetterEntry {
+
+    private String recordId; // Null when the payload could not be read
+    private String employeeId;
+    private String reason;
+    private Instant failedAt;
+    private byte[] payload; // The original journal record
+
+    public String getRecordId() {
+        return recordId;
+    }
+
+    public void setRecordId(String recordId) {
+        this.recordId = recordId;
+    }
+
+    public String getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(String employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    public Instant getFailedAt() {
+        return failedAt;
+    }
+
+    public void setFailedAt(Instant failedAt) {
+        this.failedAt = failedAt;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+
+    public void setPayload(byte[] payload) {
+        this.payload = payload;
+    }
+}
@@ -0,0 +1,317 @@
+package com.techtorque.time_logging_service.journal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Durable append-only journal made of fixed-size memory-mapped segment files
+ *
+ * Record layout: [int length][int crc32c(payload)][payload]; a zero length marks the end of a segment's data.
+ * - Appends are serialized; durability is group-committed: a caller forcing its record to disk
+ *   also forces every record appended before it, so concurrent callers share one fsync
+ * - The replay cursor (segment + offset) is persisted in a checkpoint file after each acknowledged batch,
+ *   and fully replayed segments are deleted
+ * - On open, a torn tail (bad checksum) is treated as the end of valid data and overwritten
+ */
+public class TimeLogJournal implements Closeable {
+
+  private static final Logger logger = LoggerFactory.getLogger(TimeLogJournal.class);
+  private static final int HEADER_BYTES = 8;
+  private static final String SEGMENT_PREFIX = "segment-";
+  private static final String SEGMENT_SUFFIX = ".log";
+  private static final String CHECKPOINT_FILE = "checkpoint";
+
+  private final Path directory;
+  private final int segmentBytes;
+  private final Object appendLock = new Object();
+  private final Object forceLock = new Object();
+  private final AtomicLong pendingRecords = new AtomicLong();
+
+  // Guarded by appendLock
+  private long activeSegment;
+  private MappedByteBuffer active;
+  private long writtenPosition;
+
+  // Guarded by forceLock
+  private long forcedPosition;
+
+  // Replay cursor; only touched by the single replaying thread
+  private volatile JournalPosition replayPosition;
+
+  public TimeLogJournal(Path directory, int segmentBytes) throws IOException {
+    this.directory = directory;
+    this.segmentBytes = segmentBytes;
+    Files.createDirectories(directory);
+    open();
+  }
+
+  /**
+   * Append a record and return once it is durable on disk
+   *
+   * @return Position just past the record
+   */
+  public JournalPosition append(byte[] payload) {
+    int recordBytes = HEADER_BYTES + payload.length;
+    if (recordBytes + 4 > segmentBytes) {
+      throw new IllegalArgumentException("Journal record of " + payload.length + " bytes exceeds the segment size");
+    }
+    CRC32C crc = new CRC32C();
+    crc.update(payload);
+
+    long globalEnd;
+    JournalPosition end;
+    synchronized (appendLock) {
+      if (active.remaining() < recordBytes + 4) {
+        roll();
+      }
+      int start = active.position();
+      active.position(start + 4);
+      active.putInt((int) crc.getValue());
+      active.put(payload);
+      // Length goes in last so a reader never sees a length without its payload
+      active.putInt(start, payload.length);
+      end = new JournalPosition(activeSegment, active.position());
+      globalEnd = toGlobal(end);
+      writtenPosition = globalEnd;
+      pendingRecords.incrementAndGet();
+    }
+    sync(globalEnd);
+    return end;
+  }
+
+  /**
+   * Read up to max records after the replay cursor, in append order
+   */
+  public List<JournalRecord> readPending(int max) {
+    List<JournalRecord> records = new ArrayList<>();
+    JournalPosition position = replayPosition;
+    long lastSegment;
+    synchronized (appendLock) {
+      lastSegment = activeSegment;
+    }
+
+    while (records.size() < max && position.segment() <= lastSegment) {
+      Path file = segmentPath(position.segment());
+      if (!Files.exists(file)) {
+        position = new JournalPosition(position.segment() + 1, 0);
+        continue;
+      }
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        int offset = position.offset();
+        while (records.size() < max) {
+          byte[] payload = readRecord(buffer, offset);
+          if (payload == null) {
+            break;
+          }
+          offset += HEADER_BYTES + payload.length;
+          records.add(new JournalRecord(payload, new JournalPosition(position.segment(), offset)));
+        }
+        if (records.size() >= max || position.segment() == lastSegment) {
+          break;
+        }
+        position = new JournalPosition(position.segment() + 1, 0);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+    return records;
+  }
+
+  /**
+   * Mark records up to (and including) position as replayed
+   */
+  public void acknowledge(JournalPosition position, int records) {
+    JournalPosition previous = replayPosition;
+    replayPosition = position;
+    pendingRecords.addAndGet(-records);
+    try {
+      Path tmp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+      Files.writeString(tmp, position.segment() + " " + position.offset(), StandardCharsets.UTF_8,
+              StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE, StandardOpenOption.SYNC);
+      Files.move(tmp, directory.resolve(CHECKPOINT_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      for (long segment = previous.segment(); segment < position.segment(); segment++) {
+        Files.deleteIfExists(segmentPath(segment));
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Records appended but not yet replayed
+   */
+  public long depth() {
+    return pendingRecords.get();
+  }
+
+  /**
+   * Number of segment files currently on disk
+   */
+  public int segmentCount() {
+    try (Stream<Path> files = Files.list(directory)) {
+      return (int) files.filter(TimeLogJournal::isSegment).count();
+    } catch (IOException e) {
+      return -1;
+    }
+  }
+
+  @Override
+  public void close() {
+    synchronized (appendLock) {
+      if (active != null) {
+        active.force();
+      }
+    }
+  }
+
+  private void sync(long globalEnd) {
+    synchronized (forceLock) {
+      if (forcedPosition >= globalEnd) {
+        return;
+      }
+      MappedByteBuffer buffer;
+      long target;
+      synchronized (appendLock) {
+        buffer = active;
+        target = writtenPosition;
+      }
+      buffer.force();
+      forcedPosition = Math.max(forcedPosition, target);
+    }
+  }
+
+  private void roll() {
+    active.force();
+    activeSegment++;
+    active = map(activeSegment);
+    active.position(0);
+  }
+
+  private void open() throws IOException {
+    replayPosition = readCheckpoint();
+    List<Long> segments = listSegments();
+    activeSegment = segments.isEmpty() ? replayPosition.segment() : segments.get(segments.size() - 1);
+    active = map(activeSegment);
+
+    int end = 0;
+    byte[] payload;
+    while ((payload = readRecord(active, end)) != null) {
+      end += HEADER_BYTES + payload.length;
+    }
+    if (end + 4 <= segmentBytes && active.getInt(end) != 0) {
+      logger.warn("Journal segment {} has a torn record at offset {}; discarding the tail", activeSegment, end);
+      for (int i = end; i < segmentBytes; i++) {
+        active.put(i, (byte) 0);
+      }
+      active.force();
+    }
+    active.position(end);
+    writtenPosition = toGlobal(new JournalPosition(activeSegment, end));
+    forcedPosition = writtenPosition;
+
+    long pending = 0;
+    List<JournalRecord> batch;
+    JournalPosition cursor = replayPosition;
+    while (!(batch = readPending(1024)).isEmpty()) {
+      pending += batch.size();
+      replayPosition = batch.get(batch.size() - 1).end();
+    }
+    replayPosition = cursor;
+    pendingRecords.set(pending);
+    if (pending > 0) {
+      logger.info("Journal opened with {} records awaiting replay", pending);
+    }
+  }
+
+  private byte[] readRecord(MappedByteBuffer buffer, int offset) {
+    if (offset + HEADER_BYTES > buffer.limit()) {
+      return null;
+    }
+    int length = buffer.getInt(offset);
+    if (length <= 0 || offset + HEADER_BYTES + length > buffer.limit()) {
+      return null;
+    }
+    int expectedCrc = buffer.getInt(offset + 4);
+    byte[] payload = new byte[length];
+    buffer.get(offset + HEADER_BYTES, payload);
+    CRC32C crc = new CRC32C();
+    crc.update(payload);
+    if ((int) crc.getValue() != expectedCrc) {
+      return null;
+    }
+    return payload;
+  }
+
+  private MappedByteBuffer map(long segment) {
+    try (FileChannel channel = FileChannel.open(segmentPath(segment),
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private JournalPosition readCheckpoint() throws IOException {
+    Path checkpoint = directory.resolve(CHECKPOINT_FILE);
+    if (!Files.exists(checkpoint)) {
+      List<Long> segments = listSegments();
+      return new JournalPosition(segments.isEmpty() ? 0 : segments.get(0), 0);
+    }
+    String[] parts = Files.readString(checkpoint, StandardCharsets.UTF_8).trim().split(" ");
+    return new JournalPosition(Long.parseLong(parts[0]), Integer.parseInt(parts[1]));
+  }
+
+  private List<Long> listSegments() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.filter(TimeLogJournal::isSegment)
+              .map(path -> {
+                String name = path.getFileName().toString();
+                return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+              })
+              .sorted()
+              .toList();
+    }
+  }
+
+  private static boolean isSegment(Path path) {
+    String name = path.getFileName().toString();
+    return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+  }
+
+  private Path segmentPath(long segment) {
+    return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX));
+  }
+
+  private long toGlobal(JournalPosition position) {
+    return position.segment() * segmentBytes + position.offset();
+  }
+
+  /**
+   * Location in the journal: segment number and byte offset within it
+   */
+  public record JournalPosition(long segment, int offset) {
+  }
+
+  /**
+   * A stored record and the position just past it
+   */
+  public record JournalRecord(byte[] payload, JournalPosition end) {
+  }
+}
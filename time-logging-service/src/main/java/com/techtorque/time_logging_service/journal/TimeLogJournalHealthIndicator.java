@@ -0,0 +1,39 @@
+package com.techtorque.time_logging_service.journal;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports DEGRADED while the database is unreachable or journaled records are still waiting for replay.
+ * Records that could not be replayed are reported as deadLetters (they need an operator, not a restart);
+ * schemaMissing reports a replay held back by a database without its schema (that one needs a restart).
+ * Included in the readiness group; DEGRADED maps to HTTP 200 so the instance keeps receiving traffic.
+ */
+@Component
+public class TimeLogJournalHealthIndicator implements HealthIndicator {
+
+  public static final Status DEGRADED = new Status("DEGRADED", "Time logs are being journaled locally");
+
+  private final DatabaseAvailability databaseAvailability;
+  private final TimeLogJournalService journalService;
+
+  public TimeLogJournalHealthIndicator(DatabaseAvailability databaseAvailability, TimeLogJournalService journalService) {
+    this.databaseAvailability = databaseAvailability;
+    this.journalService = journalService;
+  }
+
+  @Override
+  public Health health() {
+    boolean databaseAvailable = databaseAvailability.isAvailable();
+    long depth = journalService.depth();
+    Health.Builder builder = databaseAvailable && depth == 0 ? Health.up() : Health.status(DEGRADED);
+    return builder
+            .withDetail("databaseAvailable", databaseAvailable)
+            .withDetail("journalDepth", depth)
+            .withDetail("deadLetters", journalService.deadLetterCount())
+            .withDetail("schemaMissing", journalService.isSchemaMissing())
+            .build();
+  }
+}
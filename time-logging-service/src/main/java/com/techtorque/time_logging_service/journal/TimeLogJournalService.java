@@ -0,0 +1,203 @@
+package com.techtorque.time_logging_service.journal;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techtorque.time_logging_service.dto.request.TimeLogRequest;
+import com.techtorque.time_logging_service.service.TimeLogService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Degraded-mode ingestion for POST /time-logs
+ *
+ * While the database is unavailable, accepted create requests are appended to the local
+ * TimeLogJournal (durable before the client is answered). Once connectivity returns,
+ * a scheduled task replays them in append order; each replay is idempotent.
+ * Records that can never be written (unreadable, rejected by the database, dated in a closed payroll week)
+ * are moved to the dead-letter journal - they were answered with 202, so they are kept, not dropped.
+ * A replay that finds tables or columns missing is not the record's fault: replay stops and the records stay
+ * in the journal. After a degraded start the schema is never created by this process (see
+ * DatabasePreflightInitializer), so a database that comes back empty needs a restart of the service.
+ */
+@Service
+public class TimeLogJournalService {
+
+  private static final Logger logger = LoggerFactory.getLogger(TimeLogJournalService.class);
+
+  private final TimeLogJournal journal;
+  private final TimeLogJournal deadLetters;
+  private final TimeLogService timeLogService;
+  private final DatabaseAvailability databaseAvailability;
+  private final ObjectMapper objectMapper;
+  private final boolean enabled;
+  private final int replayBatchSize;
+  private volatile boolean schemaMissing;
+
+  public TimeLogJournalService(TimeLogJournal journal,
+                               @Qualifier("timeLogDeadLetterJournal") TimeLogJournal deadLetters,
+                               TimeLogService timeLogService,
+                               DatabaseAvailability databaseAvailability,
+                               ObjectMapper objectMapper,
+                               @Value("${app.time-logs.journal.enabled:true}") boolean enabled,
+                               @Value("${app.time-logs.journal.replay-batch-size:500}") int replayBatchSize) {
+    this.journal = journal;
+    this.deadLetters = deadLetters;
+    this.timeLogService = timeLogService;
+    this.databaseAvailability = databaseAvailability;
+    this.objectMapper = objectMapper;
+    this.enabled = enabled;
+    this.replayBatchSize = Math.max(1, replayBatchSize);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Durably journal a create request
+   *
+   * @return Journal record ID returned to the client
+   */
+  public String append(String employeeId, TimeLogRequest request) {
+    JournalEntry entry = new JournalEntry();
+    entry.setRecordId(UUID.randomUUID().toString());
+    entry.setEmployeeId(employeeId);
+    entry.setServiceId(request.getServiceId());
+    entry.setProjectId(request.getProjectId());
+    entry.setHours(request.getHours());
+    entry.setDate(request.getDate());
+    entry.setDescription(request.getDescription());
+    entry.setWorkType(request.getWorkType());
+    entry.setAcceptedAt(Instant.now());
+
+    try {
+      journal.append(objectMapper.writeValueAsBytes(entry));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Could not serialize journal entry", e);
+    }
+    logger.info("Time log for employee {} journaled as {} (database unavailable)", employeeId, entry.getRecordId());
+    return entry.getRecordId();
+  }
+
+  /**
+   * Records waiting to be replayed into the database
+   */
+  public long depth() {
+    return journal.depth();
+  }
+
+  /**
+   * Records moved to the dead-letter journal because they could not be replayed
+   */
+  public long deadLetterCount() {
+    return deadLetters.depth();
+  }
+
+  /**
+   * Whether the last replay stopped because the database schema is missing (cleared by the next record replayed)
+   */
+  public boolean isSchemaMissing() {
+    return schemaMissing;
+  }
+
+  /**
+   * Replay journaled records in append order while the database is reachable
+   */
+  @Scheduled(fixedDelayString = "${app.time-logs.journal.replay-interval-ms:5000}")
+  public void replay() {
+    int replayed = 0;
+    while (databaseAvailability.isAvailable() && journal.depth() > 0) {
+      List<TimeLogJournal.JournalRecord> records = journal.readPending(replayBatchSize);
+      if (records.isEmpty()) {
+        break;
+      }
+      TimeLogJournal.JournalPosition acknowledged = null;
+      int count = 0;
+      for (TimeLogJournal.JournalRecord record : records) {
+        if (!replay(record)) {
+          break;
+        }
+        acknowledged = record.end();
+        count++;
+      }
+      if (acknowledged != null) {
+        journal.acknowledge(acknowledged, count);
+        replayed += count;
+      }
+      if (count < records.size()) {
+        break;
+      }
+    }
+    if (replayed > 0) {
+      logger.info("Replayed {} journaled time logs ({} remaining)", replayed, journal.depth());
+    }
+  }
+
+  /**
+   * @return false if replay must stop (database lost again, or its schema missing); the record stays in the journal
+   */
+  private boolean replay(TimeLogJournal.JournalRecord record) {
+    JournalEntry entry;
+    try {
+      entry = objectMapper.readValue(record.payload(), JournalEntry.class);
+    } catch (IOException e) {
+      deadLetter(record, null, "Unreadable journal record: " + e.getMessage());
+      return true;
+    }
+    try {
+      timeLogService.replayJournaledTimeLog(entry);
+      schemaMissing = false;
+      return true;
+    } catch (RuntimeException e) {
+      if (DatabaseAvailability.isConnectivityFailure(e)) {
+        databaseAvailability.markUnavailable(e);
+        return false;
+      }
+      if (DatabaseAvailability.isMissingSchema(e)) {
+        if (!schemaMissing) {
+          schemaMissing = true;
+          logger.error("Journal replay paused, {} records kept: the database schema is missing ({}); "
+                  + "restart the service to create it", journal.depth(), e.getMessage());
+        }
+        return false;
+      }
+      // A record the database rejects will never succeed; set it aside rather than blocking replay
+      deadLetter(record, entry, e.getMessage());
+      return true;
+    }
+  }
+
+  /**
+   * Durably append a record to the dead-letter journal (before it is acknowledged in the main one)
+   */
+  private void deadLetter(TimeLogJournal.JournalRecord record, JournalEntry entry, String reason) {
+    DeadLetterEntry deadLetter = new DeadLetterEntry();
+    deadLetter.setRecordId(entry != null ? entry.getRecordId() : null);
+    deadLetter.setEmployeeId(entry != null ? entry.getEmployeeId() : null);
+    deadLetter.setReason(reason);
+    deadLetter.setFailedAt(Instant.now());
+    deadLetter.setPayload(record.payload());
+    try {
+      deadLetters.append(objectMapper.writeValueAsBytes(deadLetter));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Could not serialize dead-letter entry", e);
+    }
+    if (entry != null) {
+      logger.error("Journal record {} for employee {} moved to the dead-letter journal: {}",
+              entry.getRecordId(), entry.getEmployeeId(), reason);
+    } else {
+      logger.error("Unreadable journal record moved to the dead-letter journal: {}",
+              new String(record.payload(), StandardCharsets.UTF_8));
+    }
+  }
+}
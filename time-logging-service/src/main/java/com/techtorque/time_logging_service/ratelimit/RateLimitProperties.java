@@ -0,0 +1,112 @@
+package com.techtorque.time_logging_service.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rate limiting configuration (prefix: app.rate-limit)
+ *
+ * Rules are evaluated in order and the first one matching the request method and path wins.
+ * Example:
+ *   app.rate-limit.rules[0].method=POST
+ *   app.rate-limit.rules[0].path=/time-logs
+ *   app.rate-limit.rules[0].capacity=60
+ *   app.rate-limit.rules[0].period=60s
+ *   app.rate-limit.rules[0].role-capacity.ADMIN=600
+ */
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Upper bound on tracked buckets; refilled buckets are evicted beyond this, and while none has
+    // refilled, new subjects share an overflow bucket rather than evicting a subject still being limited
+    private int maxKeys = 100_000;
+
+    private List<Rule> rules = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxKeys() {
+        return maxKeys;
+    }
+
+    public void setMaxKeys(int maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    public List<Rule> getRules() {
+        return rules;
+    }
+
+    public void setRules(List<Rule> rules) {
+        this.rules = rules;
+    }
+
+    /**
+     * A token bucket applied per X-User-Subject to requests matching method + path.
+     * The bucket holds {@code capacity} tokens and refills completely every {@code period}.
+     * {@code roleCapacity} raises (or lowers) the capacity for subjects holding a given role;
+     * when a subject has several listed roles the largest capacity applies.
+     */
+    public static class Rule {
+        private String method;
+        private String path = "/**";
+        private int capacity = 60;
+        private Duration period = Duration.ofMinutes(1);
+        private Map<String, Integer> roleCapacity = new HashMap<>();
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public Duration getPeriod() {
+            return period;
+        }
+
+        public void setPeriod(Duration period) {
+            this.period = period;
+        }
+
+        public Map<String, Integer> getRoleCapacity() {
+            return roleCapacity;
+        }
+
+        public void setRoleCapacity(Map<String, Integer> roleCapacity) {
+            this.roleCapacity = roleCapacity;
+        }
+    }
+}
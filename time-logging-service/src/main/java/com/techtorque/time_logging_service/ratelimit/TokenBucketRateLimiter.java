@@ -0,0 +1,146 @@
+package com.techtorque.time_logging_service.ratelimit;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket limiter keyed by an arbitrary string (usually rule + subject)
+ *
+ * Each bucket is a single AtomicLong holding its "theoretical arrival time" (GCRA formulation
+ * of a token bucket), so a check is one map lookup plus one CAS and never takes a lock.
+ * Keys are spread across independent stripes; each stripe is bounded and evicts idle
+ * (completely refilled) buckets when it overflows, so the key map cannot grow without limit.
+ * A bucket that is still limiting its key is never evicted, as that would hand the key a fresh
+ * burst: while a stripe is full of them, new keys share the stripe's overflow bucket instead.
+ */
+public class TokenBucketRateLimiter {
+
+  private final Stripe[] stripes;
+  private final int stripeMask;
+  private final int maxKeysPerStripe;
+  private final LongSupplier nanoClock;
+
+  public TokenBucketRateLimiter(int maxKeys) {
+    this(maxKeys, 64, System::nanoTime);
+  }
+
+  public TokenBucketRateLimiter(int maxKeys, int stripeCount, LongSupplier nanoClock) {
+    if (maxKeys <= 0) {
+      throw new IllegalArgumentException("maxKeys must be positive");
+    }
+    int count = 1;
+    while (count < stripeCount) {
+      count <<= 1;
+    }
+    this.stripes = new Stripe[count];
+    for (int i = 0; i < count; i++) {
+      stripes[i] = new Stripe();
+    }
+    this.stripeMask = count - 1;
+    this.maxKeysPerStripe = Math.max(1, maxKeys / count);
+    this.nanoClock = nanoClock;
+  }
+
+  /**
+   * Try to take one token from the bucket identified by key
+   *
+   * @param key Bucket key
+   * @param capacity Maximum burst size (tokens)
+   * @param nanosPerToken Refill interval for a single token
+   * @return 0 if the token was granted, otherwise the nanoseconds until one becomes available
+   */
+  public long tryAcquire(String key, int capacity, long nanosPerToken) {
+    long now = nanoClock.getAsLong();
+    long burst = nanosPerToken * capacity;
+    Stripe stripe = stripeFor(key);
+    AtomicLong tat = stripe.buckets.get(key);
+    if (tat == null) {
+      tat = stripe.insert(key, now, this);
+    }
+
+    while (true) {
+      long current = tat.get();
+      long next = Math.max(current, now) + nanosPerToken;
+      long waitNanos = next - now - burst;
+      if (waitNanos > 0) {
+        return waitNanos;
+      }
+      if (tat.compareAndSet(current, next)) {
+        return 0L;
+      }
+    }
+  }
+
+  /**
+   * Number of buckets currently tracked (approximate under concurrent updates)
+   */
+  public int size() {
+    int total = 0;
+    for (Stripe stripe : stripes) {
+      total += stripe.size.get();
+    }
+    return total;
+  }
+
+  private Stripe stripeFor(String key) {
+    int h = key.hashCode();
+    h ^= (h >>> 16);
+    return stripes[h & stripeMask];
+  }
+
+  private static final class Stripe {
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong overflow = new AtomicLong(Long.MIN_VALUE);
+    // No tracked bucket refills before this, so a full stripe is not rescanned until then
+    private volatile long earliestRefill = Long.MIN_VALUE;
+
+    AtomicLong insert(String key, long now, TokenBucketRateLimiter owner) {
+      if (size.get() >= owner.maxKeysPerStripe && !evictRefilled(now, owner.maxKeysPerStripe)) {
+        return overflow;
+      }
+      AtomicLong created = new AtomicLong(now);
+      AtomicLong existing = buckets.putIfAbsent(key, created);
+      if (existing != null) {
+        return existing;
+      }
+      size.incrementAndGet();
+      earliestRefill = Long.MIN_VALUE;
+      return created;
+    }
+
+    /**
+     * Drop buckets that have fully refilled (forgetting them is indistinguishable from
+     * keeping them)
+     *
+     * @return whether the stripe has room for another bucket
+     */
+    private boolean evictRefilled(long now, int maxKeys) {
+      if (now < earliestRefill) {
+        return false;
+      }
+      long earliest = Long.MAX_VALUE;
+      Iterator<Map.Entry<String, AtomicLong>> it = buckets.entrySet().iterator();
+      while (it.hasNext()) {
+        Map.Entry<String, AtomicLong> entry = it.next();
+        long tat = entry.getValue().get();
+        if (tat <= now) {
+          if (buckets.remove(entry.getKey(), entry.getValue())) {
+            size.decrementAndGet();
+          }
+        } else {
+          earliest = Math.min(earliest, tat);
+        }
+      }
+      if (size.get() < maxKeys) {
+        return true;
+      }
+      earliestRefill = earliest;
+      return false;
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package com.techtorque.time_logging_service.repository;
+
+import com.techtorque.time_logging_service.entity.ActiveTimer;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ActiveTimerRepository extends JpaRepository<ActiveTimer, String> {
+
+  @Transactional
+  @Modifying
+  @Query("UPDATE ActiveTimer a SET a.lastHeartbeatAt = :heartbeatAt WHERE a.employeeId IN :employeeIds")
+  int updateHeartbeats(Collection<String> employeeIds, Instant heartbeatAt);
+
+  List<ActiveTimer> findByOwner(String owner);
+
+  @Query("SELECT a FROM ActiveTimer a WHERE (a.owner IS NULL OR a.owner <> :owner) AND a.lastHeartbeatAt < :heartbeatBefore")
+  List<ActiveTimer> findStaleNotOwnedBy(String owner, Instant heartbeatBefore);
+
+  /**
+   * Take over rows written before ownership existed
+   */
+  @Transactional
+  @Modifying
+  @Query("UPDATE ActiveTimer a SET a.owner = :owner WHERE a.owner IS NULL")
+  int claimUnowned(String owner);
+
+  /**
+   * Take over a row from its previous owner (empty string for none); 0 if another instance got there first
+   */
+  @Transactional
+  @Modifying
+  @Query("UPDATE ActiveTimer a SET a.owner = :owner WHERE a.employeeId = :employeeId AND COALESCE(a.owner, '') = :previousOwner")
+  int claim(String employeeId, String previousOwner, String owner);
+
+  /**
+   * Delete the row if this owner still holds it; 0 if it is gone or another instance claimed it
+   */
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM ActiveTimer a WHERE a.employeeId = :employeeId AND a.owner = :owner")
+  int deleteOwned(String employeeId, String owner);
+}
@@ -0,0 +1,21 @@
+package com.techtorque.time_logging_service.repository;
+
+import com.techtorque.time_logging_service.entity.DistinctSketch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface DistinctSketchRepository extends JpaRepository<DistinctSketch, UUID> {
+
+  Optional<DistinctSketch> findByDimensionAndSketchKeyAndDate(String dimension, String sketchKey, LocalDate date);
+
+  List<DistinctSketch> findByDimensionAndSketchKeyAndDateBetween(String dimension, String sketchKey,
+                                                                 LocalDate from, LocalDate to);
+
+  List<DistinctSketch> findByDate(LocalDate date);
+}
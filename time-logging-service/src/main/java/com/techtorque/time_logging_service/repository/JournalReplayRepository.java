@@ -0,0 +1,9 @@
+package com.techtorque.time_logging_service.repository;
+
+import com.techtorque.time_logging_service.entity.JournalReplay;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JournalReplayRepository extends JpaRepository<JournalReplay, String> {
+}
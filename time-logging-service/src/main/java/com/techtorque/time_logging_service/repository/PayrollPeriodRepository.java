@@ -0,0 +1,23 @@
+package com.techtorque.time_logging_service.repository;
+
+import com.techtorque.time_logging_service.entity.PayrollPeriod;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface PayrollPeriodRepository extends JpaRepository<PayrollPeriod, UUID> {
+
+  Optional<PayrollPeriod> findByWeekStart(LocalDate weekStart);
+
+  boolean existsByWeekStart(LocalDate weekStart);
+
+  List<PayrollPeriod> findByWeekStartIn(Collection<LocalDate> weekStarts);
+
+  List<PayrollPeriod> findAllByOrderByWeekStartDesc();
+}
@@ -0,0 +1,24 @@
+package com.techtorque.time_logging_service.repository;
+
+import com.techtorque.time_logging_service.entity.PayrollSnapshotEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface PayrollSnapshotEntryRepository extends JpaRepository<PayrollSnapshotEntry, UUID> {
+
+  List<PayrollSnapshotEntry> findByWeekStartAndEmployeeIdIn(LocalDate weekStart, Collection<String> employeeIds);
+
+  long countByWeekStart(LocalDate weekStart);
+
+  @Modifying
+  @Query("DELETE FROM PayrollSnapshotEntry s WHERE s.weekStart = :weekStart")
+  int deleteByWeekStart(LocalDate weekStart);
+}
@@ -0,0 +1,28 @@
+package com.techtorque.time_logging_service.repository;
+
+import com.techtorque.time_logging_service.entity.PayrollWeekLock;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PayrollWeekLockRepository extends JpaRepository<PayrollWeekLock, LocalDate> {
+
+  // SELECT ... FOR SHARE, in week order so writers spanning several weeks cannot deadlock each other
+  @Lock(LockModeType.PESSIMISTIC_READ)
+  @Query("SELECT l FROM PayrollWeekLock l WHERE l.weekStart IN :weekStarts ORDER BY l.weekStart")
+  List<PayrollWeekLock> lockShared(@Param("weekStarts") Collection<LocalDate> weekStarts);
+
+  // SELECT ... FOR UPDATE
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("SELECT l FROM PayrollWeekLock l WHERE l.weekStart = :weekStart")
+  Optional<PayrollWeekLock> lockExclusive(@Param("weekStart") LocalDate weekStart);
+}
@@ -0,0 +1,21 @@
+package com.techtorque.time_logging_service.repository;
+
+import com.techtorque.time_logging_service.entity.QuantileSketch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface QuantileSketchRepository extends JpaRepository<QuantileSketch, UUID> {
+
+  Optional<QuantileSketch> findByDimensionAndSketchKeyAndMonth(String dimension, String sketchKey, LocalDate month);
+
+  List<QuantileSketch> findByDimensionAndSketchKeyAndMonthBetween(String dimension, String sketchKey,
+                                                                  LocalDate from, LocalDate to);
+
+  List<QuantileSketch> findByMonth(LocalDate month);
+}
@@ -0,0 +1,19 @@
+package com.techtorque.time_logging_service.repository;
+
+import com.techtorque.time_logging_service.analytics.AnalyticsResult;
+import com.techtorque.time_logging_service.analytics.Dimension;
+import com.techtorque.time_logging_service.analytics.TimeLogSelection;
+
+import java.util.List;
+
+/**
+ * Admin dashboard aggregation in the database (GROUP BY over time_logs)
+ */
+public interface TimeLogAnalyticsRepository {
+
+  /**
+   * Count and sum minutes of the time logs matching the selection, grouped by the given dimensions
+   * Selected work types must be names known to WorkTypeDictionary.
+   */
+  AnalyticsResult aggregate(TimeLogSelection selection, List<Dimension> groupBy);
+}
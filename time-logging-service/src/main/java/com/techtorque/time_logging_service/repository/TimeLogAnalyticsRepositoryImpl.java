@@ -0,0 +1,96 @@
+package com.techtorque.time_logging_service.repository;
+
+import com.techtorque.time_logging_service.analytics.AnalyticsResult;
+import com.techtorque.time_logging_service.analytics.Dimension;
+import com.techtorque.time_logging_service.analytics.GroupedMinutes;
+import com.techtorque.time_logging_service.analytics.TimeLogSelection;
+import com.techtorque.time_logging_service.entity.TimeLog;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+class TimeLogAnalyticsRepositoryImpl implements TimeLogAnalyticsRepository {
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  public AnalyticsResult aggregate(TimeLogSelection selection, List<Dimension> groupBy) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> query = cb.createTupleQuery();
+    Root<TimeLog> root = query.from(TimeLog.class);
+
+    List<Selection<?>> selections = new ArrayList<>();
+    List<Expression<?>> grouping = new ArrayList<>();
+    for (Dimension dimension : groupBy) {
+      Expression<?> attribute = root.get(dimension.getAttribute());
+      selections.add(attribute);
+      grouping.add(attribute);
+    }
+    selections.add(cb.count(root));
+    selections.add(cb.sumAsLong(root.<Integer>get("minutes")));
+    query.multiselect(selections);
+
+    List<Predicate> predicates = new ArrayList<>();
+    for (Dimension dimension : Dimension.values()) {
+      Set<String> values = selection.values(dimension);
+      if (!values.isEmpty()) {
+        predicates.add(root.get(dimension.getAttribute()).in(values));
+      }
+    }
+    List<Predicate> dateRanges = new ArrayList<>();
+    for (TimeLogSelection.DateRange range : selection.dateRanges()) {
+      if (range.from() == null && range.to() == null) {
+        dateRanges.clear();
+        break;
+      }
+      if (range.from() == null) {
+        dateRanges.add(cb.lessThanOrEqualTo(root.get("date"), range.to()));
+      } else if (range.to() == null) {
+        dateRanges.add(cb.greaterThanOrEqualTo(root.get("date"), range.from()));
+      } else {
+        dateRanges.add(cb.between(root.get("date"), range.from(), range.to()));
+      }
+    }
+    if (!dateRanges.isEmpty()) {
+      predicates.add(cb.or(dateRanges.toArray(new Predicate[0])));
+    }
+    query.where(predicates.toArray(new Predicate[0]));
+    if (!grouping.isEmpty()) {
+      query.groupBy(grouping);
+    }
+
+    List<GroupedMinutes> groups = new ArrayList<>();
+    long count = 0;
+    long minutes = 0;
+    int dimensions = groupBy.size();
+    for (Tuple tuple : entityManager.createQuery(query).getResultList()) {
+      long groupCount = tuple.get(dimensions, Long.class);
+      Long groupMinutes = tuple.get(dimensions + 1, Long.class);
+      long sum = groupMinutes != null ? groupMinutes : 0L;
+      count += groupCount;
+      minutes += sum;
+      if (dimensions > 0) {
+        List<String> key = new ArrayList<>(dimensions);
+        for (int d = 0; d < dimensions; d++) {
+          Object value = tuple.get(d);
+          key.add(value != null ? value.toString() : null);
+        }
+        groups.add(new GroupedMinutes(key, groupCount, sum));
+      }
+    }
+    groups.sort(Comparator.comparingLong(GroupedMinutes::minutes).reversed());
+    return new AnalyticsResult(groups, count, minutes);
+  }
+}
@@ -0,0 +1,21 @@
+package com.techtorque.time_logging_service.repository;
+
+import com.techtorque.time_logging_service.dto.mapper.TimeLogField;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sparse fieldset queries: select only the requested columns
+ */
+public interface TimeLogFieldsRepository {
+
+  /**
+   * Find time logs matching the given (nullable) filters, returning only the requested fields
+   *
+   * @return One map per time log, keyed by JSON field name, in the requested field order
+   */
+  List<Map<String, Object>> findFields(List<TimeLogField> fields, String employeeId, String serviceId,
+                                       String projectId, String workType, LocalDate from, LocalDate to);
+}
@@ -0,0 +1,71 @@
+package com.techtorque.time_logging_service.repository;
+
+import com.techtorque.time_logging_service.dto.mapper.TimeLogField;
+import com.techtorque.time_logging_service.entity.TimeLog;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+class TimeLogFieldsRepositoryImpl implements TimeLogFieldsRepository {
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  public List<Map<String, Object>> findFields(List<TimeLogField> fields, String employeeId, String serviceId,
+                                              String projectId, String workType, LocalDate from, LocalDate to) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> query = cb.createTupleQuery();
+    Root<TimeLog> root = query.from(TimeLog.class);
+
+    List<Selection<?>> selections = new ArrayList<>(fields.size());
+    for (TimeLogField field : fields) {
+      selections.add(root.get(field.getAttribute()).alias(field.getJsonName()));
+    }
+    query.multiselect(selections);
+
+    List<Predicate> predicates = new ArrayList<>();
+    if (employeeId != null) {
+      predicates.add(cb.equal(root.get("employeeId"), employeeId));
+    }
+    if (serviceId != null) {
+      predicates.add(cb.equal(root.get("serviceId"), serviceId));
+    }
+    if (projectId != null) {
+      predicates.add(cb.equal(root.get("projectId"), projectId));
+    }
+    if (workType != null) {
+      predicates.add(cb.equal(root.get("workType"), workType));
+    }
+    if (from != null) {
+      predicates.add(cb.greaterThanOrEqualTo(root.get("date"), from));
+    }
+    if (to != null) {
+      predicates.add(cb.lessThanOrEqualTo(root.get("date"), to));
+    }
+    query.where(predicates.toArray(new Predicate[0]));
+
+    List<Tuple> tuples = entityManager.createQuery(query).getResultList();
+    List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+    for (Tuple tuple : tuples) {
+      Map<String, Object> row = new LinkedHashMap<>(fields.size() * 2);
+      for (int i = 0; i < fields.size(); i++) {
+        TimeLogField field = fields.get(i);
+        row.put(field.getJsonName(), field.toJson(tuple.get(i)));
+      }
+      rows.add(row);
+    }
+    return rows;
+  }
+}
@@ -0,0 +1,18 @@
+package com.techtorque.time_logging_service.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Closed projection for aggregate paths (summaries, statistics)
+ * Selects only these columns, so the description TEXT column is never read.
+ */
+public interface TimeLogHoursView {
+
+  String getServiceId();
+
+  String getProjectId();
+
+  int getMinutes();
+
+  LocalDate getDate();
+}
@@ -1,16 +1,34 @@
 package com.techtorque.time_logging_service.repository;
 
+import com.techtorque.time_logging_service.analytics.TimeLogRow;
+import com.techtorque.time_logging_service.dto.response.TimeLogResponse;
 import com.techtorque.time_logging_service.entity.TimeLog;
+import com.techtorque.time_logging_service.entity.TimeLogHours;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface TimeLogRepository extends JpaRepository<TimeLog, String> {
+public interface TimeLogRepository extends JpaRepository<TimeLog, UUID>, TimeLogFieldsRepository,
+        TimeLogAnalyticsRepository {
+
+  String SELECT_RESPONSE = "SELECT new com.techtorque.time_logging_service.dto.response.TimeLogResponse("
+          + "t.id, t.employeeId, t.serviceId, t.projectId, t.minutes, t.date, t.description, t.workType, t.createdAt, t.updatedAt)"
+          + " FROM TimeLog t";
+
+  String QUERY_CACHE_REGION = "time-log-queries";
+
+  String SELECT_ANALYTICS_ROW = "SELECT new com.techtorque.time_logging_service.analytics.TimeLogRow("
+          + "t.id, t.employeeId, t.serviceId, t.projectId, t.workType, t.date, t.minutes) FROM TimeLog t";
 
   List<TimeLog> findByEmployeeId(String employeeId);
 
@@ -18,10 +36,92 @@ public interface TimeLogRepository extends JpaRepository<TimeLog, String> {
 
   List<TimeLog> findByProjectId(String projectId);
 
-  Optional<TimeLog> findByIdAndEmployeeId(String id, String employeeId);
+  Optional<TimeLog> findByIdAndEmployeeId(UUID id, String employeeId);
 
   List<TimeLog> findByEmployeeIdAndDateBetween(String employeeId, LocalDate startDate, LocalDate endDate);
 
-  @Query("SELECT SUM(t.hours) FROM TimeLog t WHERE t.employeeId = :employeeId")
-  Double getTotalHoursByEmployeeId(String employeeId);
+  // DTO projections for read-only paths: responses are built from the result set, no entities are hydrated
+  @Query(SELECT_RESPONSE)
+  List<TimeLogResponse> findAllResponses();
+
+  @Query(SELECT_RESPONSE + " WHERE t.employeeId = :employeeId")
+  List<TimeLogResponse> findResponsesByEmployeeId(String employeeId);
+
+  @Query(SELECT_RESPONSE + " WHERE t.employeeId = :employeeId AND t.date BETWEEN :startDate AND :endDate")
+  List<TimeLogResponse> findResponsesByEmployeeIdAndDateBetween(String employeeId, LocalDate startDate, LocalDate endDate);
+
+  @Query(SELECT_RESPONSE + " WHERE t.employeeId = :employeeId AND t.workType = :workType")
+  List<TimeLogResponse> findResponsesByEmployeeIdAndWorkType(String employeeId, String workType);
+
+  @Query(SELECT_RESPONSE + " WHERE t.employeeId = :employeeId AND t.date BETWEEN :startDate AND :endDate AND t.workType = :workType")
+  List<TimeLogResponse> findResponsesByEmployeeIdAndDateBetweenAndWorkType(String employeeId, LocalDate startDate,
+                                                                         LocalDate endDate, String workType);
+
+  @Query(SELECT_RESPONSE + " WHERE t.date BETWEEN :startDate AND :endDate")
+  List<TimeLogResponse> findResponsesByDateBetween(LocalDate startDate, LocalDate endDate);
+
+  @Query(SELECT_RESPONSE + " WHERE t.workType = :workType")
+  List<TimeLogResponse> findResponsesByWorkType(String workType);
+
+  @Query(SELECT_RESPONSE + " WHERE t.date BETWEEN :startDate AND :endDate AND t.workType = :workType")
+  List<TimeLogResponse> findResponsesByDateBetweenAndWorkType(LocalDate startDate, LocalDate endDate, String workType);
+
+  // Customer-facing lookups, held in the query cache until the next write to time_logs
+  @Query(SELECT_RESPONSE + " WHERE t.serviceId = :serviceId")
+  @QueryHints({
+          @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+          @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+  })
+  List<TimeLogResponse> findResponsesByServiceId(String serviceId);
+
+  @Query(SELECT_RESPONSE + " WHERE t.projectId = :projectId")
+  @QueryHints({
+          @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+          @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+  })
+  List<TimeLogResponse> findResponsesByProjectId(String projectId);
+
+  // Rows for the in-memory analytics store; stream inside a (read-only) transaction
+  @Query(SELECT_ANALYTICS_ROW)
+  @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "10000"))
+  Stream<TimeLogRow> streamAnalyticsRows();
+
+  @Query(SELECT_ANALYTICS_ROW + " WHERE t.date >= :from")
+  @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "10000"))
+  Stream<TimeLogRow> streamAnalyticsRowsFrom(LocalDate from);
+
+  @Query(SELECT_ANALYTICS_ROW + " WHERE t.id = :id")
+  Optional<TimeLogRow> findAnalyticsRow(UUID id);
+
+  @Query(SELECT_ANALYTICS_ROW + " WHERE t.date = :date")
+  List<TimeLogRow> findAnalyticsRowsByDate(LocalDate date);
+
+  @Query(SELECT_ANALYTICS_ROW + " WHERE t.date BETWEEN :from AND :to")
+  List<TimeLogRow> findAnalyticsRowsByDateBetween(LocalDate from, LocalDate to);
+
+  @Query("SELECT DISTINCT t.date FROM TimeLog t")
+  List<LocalDate> findDistinctDates();
+
+  // Projections for aggregate paths: no description, no managed entities
+  List<TimeLogHoursView> findHoursByEmployeeId(String employeeId);
+
+  List<TimeLogHoursView> findHoursByEmployeeIdAndDateBetween(String employeeId, LocalDate startDate, LocalDate endDate);
+
+  // workType parameters are bound as their smallint code; pass only names known to WorkTypeDictionary
+  List<TimeLog> findByEmployeeIdAndWorkType(String employeeId, String workType);
+
+  @Query("SELECT t.workType, COUNT(t) FROM TimeLog t WHERE t.employeeId = :employeeId AND t.workType IS NOT NULL GROUP BY t.workType")
+  List<Object[]> countByWorkTypeForEmployee(String employeeId);
+
+  // Integer sums over minutes are exact; convert to hours with TimeLogHours.toHours
+  @Query("SELECT SUM(t.minutes) FROM TimeLog t WHERE t.employeeId = :employeeId")
+  Long getTotalMinutesByEmployeeId(String employeeId);
+
+  @Query("SELECT SUM(t.minutes) FROM TimeLog t WHERE t.employeeId = :employeeId AND t.date = :date")
+  Long getTotalMinutesByEmployeeIdAndDate(String employeeId, LocalDate date);
+
+  default Double getTotalHoursByEmployeeId(String employeeId) {
+    Long minutes = getTotalMinutesByEmployeeId(employeeId);
+    return minutes != null ? TimeLogHours.toHours(minutes) : null;
+  }
 }
@@ -0,0 +1,13 @@
+package com.techtorque.time_logging_service.repository;
+
+import com.techtorque.time_logging_service.entity.WorkType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface WorkTypeRepository extends JpaRepository<WorkType, Short> {
+
+  Optional<WorkType> findTopByOrderByCodeDesc();
+}
@@ -0,0 +1,333 @@
+package com.techtorque.time_logging_service.service;
+
+import com.techtorque.time_logging_service.cache.TimeLogCacheEvictor;
+import com.techtorque.time_logging_service.cache.TimeLogChange;
+import com.techtorque.time_logging_service.entity.TimeLogHours;
+import com.techtorque.time_logging_service.exception.DailyHoursLimitExceededException;
+import com.techtorque.time_logging_service.repository.TimeLogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory ledger of hours logged per employee per day
+ *
+ * Lets the write path enforce the daily hours cap without a SUM query on every insert:
+ * - Entries are loaded lazily from the database the first time an (employee, day) is touched
+ * - Increases are reserved up front under the entry's monitor and rolled back if the transaction fails
+ * - Decreases are applied only after commit, so the ledger never under-counts committed work
+ * - Idle entries are evicted and live entries are periodically reconciled against the database; the query runs
+ *   outside the monitor and its result is dropped if a write started or completed meanwhile
+ *
+ * The ledger is per instance; writes from other replicas are evicted through the cache invalidation listener,
+ * and reconciliation bounds any remaining drift.
+ */
+@Component
+public class DailyHoursLedger implements TimeLogCacheEvictor {
+
+  private static final Logger logger = LoggerFactory.getLogger(DailyHoursLedger.class);
+  // Request validation allows at most one day per entry, so the configured cap can only be lower
+  private static final double MAX_DAILY_HOURS_CAP = 24.0;
+
+  private final TimeLogRepository timeLogRepository;
+  private final long capMinutes;
+  private final long idleNanos;
+  private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+
+  public DailyHoursLedger(TimeLogRepository timeLogRepository,
+                          @Value("${app.time-logs.daily-hours-cap:24}") double dailyHoursCap,
+                          @Value("${app.time-logs.ledger.idle-timeout:PT30M}") Duration idleTimeout) {
+    if (!(dailyHoursCap > 0 && dailyHoursCap <= MAX_DAILY_HOURS_CAP)) {
+      throw new IllegalArgumentException("app.time-logs.daily-hours-cap must be in (0, " + MAX_DAILY_HOURS_CAP
+              + "], got " + dailyHoursCap);
+    }
+    this.timeLogRepository = timeLogRepository;
+    this.capMinutes = TimeLogHours.toMinutes(dailyHoursCap);
+    this.idleNanos = idleTimeout.toNanos();
+  }
+
+  /**
+   * Reserve minutes for an employee on a day, failing if the cap would be exceeded.
+   * Inside a transaction the reservation is undone if the transaction rolls back.
+   *
+   * @throws DailyHoursLimitExceededException if the new total would exceed the daily cap
+   */
+  public void reserve(String employeeId, LocalDate date, long minutes) {
+    if (minutes <= 0) {
+      return;
+    }
+    Key key = new Key(employeeId, date);
+    while (true) {
+      Entry entry = entry(key);
+      synchronized (entry) {
+        if (entry.evicted) {
+          continue;
+        }
+        if (entry.total + minutes > capMinutes) {
+          throw new DailyHoursLimitExceededException(String.format(
+                  "Logging %.2f hours on %s would exceed the daily limit of %.2f hours (already logged: %.2f)",
+                  TimeLogHours.toHours(minutes), date, TimeLogHours.toHours(capMinutes),
+                  TimeLogHours.toHours(entry.total)));
+        }
+        entry.total += minutes;
+        entry.begin();
+        entry.touch();
+      }
+      afterCompletion(committed -> {
+        synchronized (entry) {
+          if (!committed) {
+            entry.total -= minutes;
+          }
+          complete(key, entry);
+        }
+      });
+      return;
+    }
+  }
+
+  /**
+   * Release minutes for an employee on a day (delete, or an update that lowers hours).
+   * Inside a transaction the release is applied only once the transaction commits.
+   */
+  public void release(String employeeId, LocalDate date, long minutes) {
+    if (minutes <= 0) {
+      return;
+    }
+    Key key = new Key(employeeId, date);
+    Entry entry = entries.get(key);
+    boolean tracked = false;
+    if (entry != null) {
+      synchronized (entry) {
+        if (!entry.evicted) {
+          entry.begin();
+          tracked = true;
+        }
+      }
+    }
+    if (!tracked) {
+      // An entry loaded before the release commits still counts the released minutes: drop it once it commits
+      forget(employeeId, date);
+      return;
+    }
+    afterCompletion(committed -> {
+      synchronized (entry) {
+        if (committed) {
+          entry.total = Math.max(0, entry.total - minutes);
+        }
+        complete(key, entry);
+      }
+    });
+  }
+
+  /**
+   * Move minutes from one (day, amount) to another for the same employee, enforcing the cap on the target.
+   */
+  public void adjust(String employeeId, LocalDate oldDate, long oldMinutes, LocalDate newDate, long newMinutes) {
+    if (oldDate.equals(newDate)) {
+      long delta = newMinutes - oldMinutes;
+      if (delta > 0) {
+        reserve(employeeId, newDate, delta);
+      } else if (delta < 0) {
+        release(employeeId, newDate, -delta);
+      }
+      return;
+    }
+    reserve(employeeId, newDate, newMinutes);
+    release(employeeId, oldDate, oldMinutes);
+  }
+
+  /**
+   * Resync an employee's day with the database once the current transaction completes
+   * (used when rows are written without going through reserve, e.g. journal replay)
+   */
+  public void forget(String employeeId, LocalDate date) {
+    Key key = new Key(employeeId, date);
+    afterCompletion(committed -> {
+      Entry entry = entries.get(key);
+      if (entry == null) {
+        return;
+      }
+      synchronized (entry) {
+        if (entry.inFlight == 0) {
+          evict(key, entry);
+        } else {
+          // Reloaded once the writes in flight complete, so their minutes are not counted twice
+          entry.stale = true;
+        }
+      }
+    });
+  }
+
+  /**
+   * Resync every tracked day with the database
+   */
+  public void forgetAll() {
+    for (Key key : entries.keySet()) {
+      forget(key.employeeId(), key.date());
+    }
+  }
+
+  @Override
+  public void evict(TimeLogChange change) {
+    forget(change.employeeId(), change.date());
+  }
+
+  @Override
+  public void evictAll() {
+    forgetAll();
+  }
+
+  /**
+   * Minutes currently accounted for an employee on a day (loads the entry if needed)
+   */
+  public long getMinutes(String employeeId, LocalDate date) {
+    Entry entry = entry(new Key(employeeId, date));
+    synchronized (entry) {
+      return entry.total;
+    }
+  }
+
+  /**
+   * Minutes an employee can still log on a day before reaching the cap (loads the entry if needed)
+   */
+  public long getRemainingMinutes(String employeeId, LocalDate date) {
+    Entry entry = entry(new Key(employeeId, date));
+    synchronized (entry) {
+      return Math.max(0, capMinutes - entry.total);
+    }
+  }
+
+  /**
+   * Evict idle entries and reconcile the remaining ones against the database.
+   * Entries with writes in flight are skipped: whether the database total already includes them is unknown
+   * until they complete, so they are reconciled on a later pass.
+   */
+  @Scheduled(fixedDelayString = "${app.time-logs.ledger.reconcile-interval-ms:300000}")
+  public void reconcile() {
+    long now = System.nanoTime();
+    int evicted = 0;
+    int drifted = 0;
+    for (Map.Entry<Key, Entry> mapEntry : entries.entrySet()) {
+      Key key = mapEntry.getKey();
+      Entry entry = mapEntry.getValue();
+      long generation;
+      synchronized (entry) {
+        if (entry.inFlight > 0 || entry.evicted || !entry.loaded) {
+          continue;
+        }
+        if (now - entry.lastTouched >= idleNanos) {
+          evict(key, entry);
+          evicted++;
+          continue;
+        }
+        generation = entry.generation;
+      }
+      long committed = loadMinutes(key);
+      synchronized (entry) {
+        // A write that started or completed during the query may or may not be in its result
+        if (entry.evicted || entry.generation != generation) {
+          continue;
+        }
+        if (committed != entry.total) {
+          drifted++;
+          entry.total = committed;
+        }
+      }
+    }
+    if (evicted > 0 || drifted > 0) {
+      logger.info("Daily hours ledger reconciled: {} entries evicted, {} corrected, {} tracked",
+              evicted, drifted, entries.size());
+    }
+  }
+
+  int size() {
+    return entries.size();
+  }
+
+  private Entry entry(Key key) {
+    Entry entry = entries.computeIfAbsent(key, k -> new Entry());
+    if (!entry.loaded) {
+      synchronized (entry) {
+        if (!entry.loaded) {
+          entry.total = loadMinutes(key);
+          entry.loaded = true;
+          entry.touch();
+        }
+      }
+    }
+    return entry;
+  }
+
+  /**
+   * Called under the entry's monitor when a write registered with begin() completes
+   */
+  private void complete(Key key, Entry entry) {
+    entry.inFlight--;
+    entry.generation++;
+    if (entry.stale && entry.inFlight == 0) {
+      evict(key, entry);
+    }
+  }
+
+  private void evict(Key key, Entry entry) {
+    entry.evicted = true;
+    entries.remove(key, entry);
+  }
+
+  private long loadMinutes(Key key) {
+    Long minutes = timeLogRepository.getTotalMinutesByEmployeeIdAndDate(key.employeeId(), key.date());
+    return minutes != null ? minutes : 0L;
+  }
+
+  private static void afterCompletion(CompletionCallback callback) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      callback.completed(true);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        callback.completed(status == STATUS_COMMITTED);
+      }
+    });
+  }
+
+  @FunctionalInterface
+  private interface CompletionCallback {
+    void completed(boolean committed);
+  }
+
+  private record Key(String employeeId, LocalDate date) {
+  }
+
+  private static final class Entry {
+    private volatile boolean loaded;
+    private boolean evicted;
+    // Set by forget() while writes are in flight
+    private boolean stale;
+    private long total;
+    // Reservations and releases whose transaction has not completed yet
+    private int inFlight;
+    // Bumped whenever a write starts or completes, so reconcile() can tell if its query raced one
+    private long generation;
+    private long lastTouched = System.nanoTime();
+
+    void begin() {
+      inFlight++;
+      generation++;
+    }
+
+    void touch() {
+      lastTouched = System.nanoTime();
+    }
+  }
+}
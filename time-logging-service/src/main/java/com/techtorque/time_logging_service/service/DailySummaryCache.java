@@ -0,0 +1,345 @@
+package com.techtorque.time_logging_service.service;
+
+import com.techtorque.time_logging_service.analytics.AnalyticsResult;
+import com.techtorque.time_logging_service.analytics.Dimension;
+import com.techtorque.time_logging_service.analytics.GroupedMinutes;
+import com.techtorque.time_logging_service.analytics.TimeLogSelection;
+import com.techtorque.time_logging_service.cache.EncodedResponseCache;
+import com.techtorque.time_logging_service.cache.TimeLogCacheEvictor;
+import com.techtorque.time_logging_service.cache.TimeLogChange;
+import com.techtorque.time_logging_service.cache.TimeLogCommitListener;
+import com.techtorque.time_logging_service.entity.TimeLog;
+import com.techtorque.time_logging_service.repository.TimeLogRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-employee, per-day summary segments: entry count, minutes, and minutes by service and by project
+ *
+ * A range summary is assembled by merging the day segments of the range, so overlapping ranges (this week,
+ * the last 7 days, this month) share their days. Days not cached are loaded together in one GROUP BY over just
+ * those days, and days without logs are cached as empty segments.
+ *
+ * Segments are evicted after commit of any local write to the employee's day (Hibernate post-commit listeners,
+ * so every write path is covered), through the invalidation listener for writes on other instances, and after
+ * being idle. A load that overlapped an eviction is returned but not cached, so a segment never outlives the
+ * write that changed it. Every eviction then moves the employee's response cache scope on, so a response computed
+ * from a segment evicted after the response cache saw the write is not kept. Reads inside a read-write transaction bypass the cache: they may see their own
+ * uncommitted writes, which must neither be cached nor hidden.
+ */
+@Component
+public class DailySummaryCache implements TimeLogCacheEvictor, TimeLogCommitListener {
+
+  private static final Logger logger = LoggerFactory.getLogger(DailySummaryCache.class);
+  private static final List<Dimension> GROUP_BY = List.of(Dimension.DATE, Dimension.SERVICE, Dimension.PROJECT);
+  // Beyond this many runs of missing days, one range spanning them all is queried instead
+  private static final int MAX_QUERY_RANGES = 16;
+
+  private final EntityManagerFactory entityManagerFactory;
+  private final TimeLogRepository timeLogRepository;
+  private final EncodedResponseCache responseCache;
+  private final boolean enabled;
+  private final int maxSegments;
+  private final long idleNanos;
+  private final ConcurrentHashMap<Key, Segment> segments = new ConcurrentHashMap<>();
+  // Bumped by every eviction; a load only caches its segments if no eviction happened while it ran
+  private final AtomicLong evictions = new AtomicLong();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  /**
+   * Totals of one employee over a range, merged from its day segments
+   */
+  public record RangeTotals(long count, long minutes, Map<String, Long> minutesByService,
+                            Map<String, Long> minutesByProject) {
+  }
+
+  /**
+   * @param hits Day segments served from the cache
+   * @param misses Day segments loaded from the database
+   */
+  public record Stats(long hits, long misses, int segments) {
+
+    public double hitRate() {
+      return hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+    }
+  }
+
+  public DailySummaryCache(EntityManagerFactory entityManagerFactory, TimeLogRepository timeLogRepository,
+                           EncodedResponseCache responseCache, MeterRegistry meterRegistry,
+                           @Value("${app.time-logs.summary-cache.enabled:true}") boolean enabled,
+                           @Value("${app.time-logs.summary-cache.max-segments:500000}") int maxSegments,
+                           @Value("${app.time-logs.summary-cache.idle-timeout:PT30M}") Duration idleTimeout) {
+    this.entityManagerFactory = entityManagerFactory;
+    this.timeLogRepository = timeLogRepository;
+    this.responseCache = responseCache;
+    this.enabled = enabled;
+    this.maxSegments = maxSegments;
+    this.idleNanos = idleTimeout.toNanos();
+    FunctionCounter.builder("time_logs.summary_cache.segments.requests", hits, LongAdder::sum)
+            .tag("result", "hit")
+            .description("Day segments served from the summary cache")
+            .register(meterRegistry);
+    FunctionCounter.builder("time_logs.summary_cache.segments.requests", misses, LongAdder::sum)
+            .tag("result", "miss")
+            .description("Day segments loaded from the database")
+            .register(meterRegistry);
+    Gauge.builder("time_logs.summary_cache.segments.size", segments, Map::size)
+            .description("Cached day segments")
+            .register(meterRegistry);
+  }
+
+  @PostConstruct
+  void register() {
+    if (!enabled) {
+      return;
+    }
+    TimeLogCommitListener.register(entityManagerFactory, this);
+  }
+
+  /**
+   * False when disabled, or inside a read-write transaction (whose uncommitted writes the cache cannot see)
+   */
+  public boolean isUsable() {
+    return enabled && (!TransactionSynchronizationManager.isActualTransactionActive()
+            || TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+  }
+
+  /**
+   * Totals of an employee over [from, to]: cached days are merged as they are, the others are loaded in one query
+   *
+   * @throws IllegalArgumentException when from is after to
+   */
+  public RangeTotals totals(String employeeId, LocalDate from, LocalDate to) {
+    if (from.isAfter(to)) {
+      throw new IllegalArgumentException("from must not be after to");
+    }
+    int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+    Segment[] found = new Segment[days];
+    List<LocalDate> missing = new ArrayList<>();
+    long now = System.nanoTime();
+    for (int i = 0; i < days; i++) {
+      LocalDate day = from.plusDays(i);
+      Segment segment = segments.get(new Key(employeeId, day));
+      if (segment != null) {
+        segment.lastAccessed = now;
+        found[i] = segment;
+      } else {
+        missing.add(day);
+      }
+    }
+    hits.add(days - missing.size());
+    misses.add(missing.size());
+
+    if (!missing.isEmpty()) {
+      Map<LocalDate, Segment> loaded = load(employeeId, missing);
+      for (int i = 0; i < days; i++) {
+        if (found[i] == null) {
+          found[i] = loaded.get(from.plusDays(i));
+        }
+      }
+    }
+
+    long count = 0;
+    long minutes = 0;
+    Map<String, Long> minutesByService = new HashMap<>();
+    Map<String, Long> minutesByProject = new HashMap<>();
+    for (Segment segment : found) {
+      count += segment.count;
+      minutes += segment.minutes;
+      segment.minutesByService.forEach((serviceId, m) -> minutesByService.merge(serviceId, m, Long::sum));
+      segment.minutesByProject.forEach((projectId, m) -> minutesByProject.merge(projectId, m, Long::sum));
+    }
+    return new RangeTotals(count, minutes, minutesByService, minutesByProject);
+  }
+
+  /**
+   * Load the given days (ascending) of one employee in one GROUP BY and cache them, unless an eviction intervened
+   */
+  private Map<LocalDate, Segment> load(String employeeId, List<LocalDate> days) {
+    long evictionsBefore = evictions.get();
+    AnalyticsResult result = timeLogRepository.aggregate(new TimeLogSelection(Set.of(employeeId), null, null, null,
+            ranges(days)), GROUP_BY);
+
+    Map<LocalDate, SegmentBuilder> builders = new HashMap<>();
+    for (LocalDate day : days) {
+      builders.put(day, new SegmentBuilder());
+    }
+    for (GroupedMinutes group : result.groups()) {
+      // A spanning range also returns days that were cached already: those are left as they are
+      SegmentBuilder builder = builders.get(LocalDate.parse(group.key().get(0)));
+      if (builder != null) {
+        builder.add(group.key().get(1), group.key().get(2), group.count(), group.minutes());
+      }
+    }
+
+    Map<LocalDate, Segment> loaded = new HashMap<>();
+    builders.forEach((day, builder) -> loaded.put(day, builder.build()));
+    if (evictions.get() == evictionsBefore && segments.size() + loaded.size() <= maxSegments) {
+      loaded.forEach((day, segment) -> segments.put(new Key(employeeId, day), segment));
+      if (evictions.get() != evictionsBefore) {
+        // Evicted while being stored: the stored segments may predate that write
+        loaded.keySet().forEach(day -> segments.remove(new Key(employeeId, day)));
+      }
+    }
+    return loaded;
+  }
+
+  /**
+   * Runs of consecutive days as date ranges, or one range spanning them all when there are too many runs
+   */
+  private static List<TimeLogSelection.DateRange> ranges(List<LocalDate> days) {
+    List<TimeLogSelection.DateRange> ranges = new ArrayList<>();
+    LocalDate start = days.get(0);
+    LocalDate previous = start;
+    for (LocalDate day : days.subList(1, days.size())) {
+      if (!day.equals(previous.plusDays(1))) {
+        ranges.add(new TimeLogSelection.DateRange(start, previous));
+        start = day;
+      }
+      previous = day;
+    }
+    ranges.add(new TimeLogSelection.DateRange(start, previous));
+    if (ranges.size() > MAX_QUERY_RANGES) {
+      return List.of(new TimeLogSelection.DateRange(days.get(0), previous));
+    }
+    return ranges;
+  }
+
+  public Stats getStats() {
+    return new Stats(hits.sum(), misses.sum(), segments.size());
+  }
+
+  /**
+   * Drop segments not read for the idle timeout
+   */
+  @Scheduled(fixedDelayString = "${app.time-logs.summary-cache.sweep-interval-ms:60000}")
+  public void evictIdle() {
+    long now = System.nanoTime();
+    int before = segments.size();
+    segments.values().removeIf(segment -> now - segment.lastAccessed >= idleNanos);
+    int evicted = before - segments.size();
+    if (evicted > 0) {
+      logger.debug("Summary cache: {} idle day segments evicted, {} cached", evicted, segments.size());
+    }
+  }
+
+  @Override
+  public void onPostInsert(PostInsertEvent event) {
+    if (event.getEntity() instanceof TimeLog timeLog) {
+      evict(timeLog.getEmployeeId(), timeLog.getDate());
+    }
+  }
+
+  @Override
+  public void onPostUpdate(PostUpdateEvent event) {
+    if (!(event.getEntity() instanceof TimeLog timeLog)) {
+      return;
+    }
+    evict(timeLog.getEmployeeId(), timeLog.getDate());
+    Object[] oldState = event.getOldState();
+    if (oldState == null) {
+      // The previous day is unknown: drop all of the employee's days
+      evictions.incrementAndGet();
+      segments.keySet().removeIf(key -> key.employeeId().equals(timeLog.getEmployeeId()));
+      responseCache.employeeChanged(timeLog.getEmployeeId());
+      return;
+    }
+    EntityPersister persister = event.getPersister();
+    Object oldEmployee = oldState[persister.getPropertyIndex("employeeId")];
+    Object oldDate = oldState[persister.getPropertyIndex("date")];
+    if (oldEmployee instanceof String employeeId && oldDate instanceof LocalDate date) {
+      evict(employeeId, date);
+    }
+  }
+
+  @Override
+  public void onPostDelete(PostDeleteEvent event) {
+    if (event.getEntity() instanceof TimeLog timeLog) {
+      evict(timeLog.getEmployeeId(), timeLog.getDate());
+    }
+  }
+
+  @Override
+  public void evict(TimeLogChange change) {
+    evict(change.employeeId(), change.date());
+  }
+
+  @Override
+  public void evictAll() {
+    evictions.incrementAndGet();
+    segments.clear();
+    responseCache.evictAll();
+  }
+
+  private void evict(String employeeId, LocalDate date) {
+    evictions.incrementAndGet();
+    segments.remove(new Key(employeeId, date));
+    responseCache.employeeChanged(employeeId);
+  }
+
+  private record Key(String employeeId, LocalDate date) {
+  }
+
+  private static final class Segment {
+    private final long count;
+    private final long minutes;
+    private final Map<String, Long> minutesByService;
+    private final Map<String, Long> minutesByProject;
+    private volatile long lastAccessed = System.nanoTime();
+
+    Segment(long count, long minutes, Map<String, Long> minutesByService, Map<String, Long> minutesByProject) {
+      this.count = count;
+      this.minutes = minutes;
+      this.minutesByService = minutesByService;
+      this.minutesByProject = minutesByProject;
+    }
+  }
+
+  private static final class SegmentBuilder {
+    private long count;
+    private long minutes;
+    private final Map<String, Long> minutesByService = new HashMap<>();
+    private final Map<String, Long> minutesByProject = new HashMap<>();
+
+    void add(String serviceId, String projectId, long count, long minutes) {
+      this.count += count;
+      this.minutes += minutes;
+      if (serviceId != null) {
+        minutesByService.merge(serviceId, minutes, Long::sum);
+      }
+      if (projectId != null) {
+        minutesByProject.merge(projectId, minutes, Long::sum);
+      }
+    }
+
+    Segment build() {
+      return new Segment(count, minutes, Map.copyOf(minutesByService), Map.copyOf(minutesByProject));
+    }
+  }
+}
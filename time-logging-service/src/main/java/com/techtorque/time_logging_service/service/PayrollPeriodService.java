@@ -0,0 +1,348 @@
+package com.techtorque.time_logging_service.service;
+
+import com.techtorque.time_logging_service.analytics.AnalyticsResult;
+import com.techtorque.time_logging_service.analytics.Dimension;
+import com.techtorque.time_logging_service.analytics.GroupedMinutes;
+import com.techtorque.time_logging_service.analytics.TimeLogSelection;
+import com.techtorque.time_logging_service.cache.CacheInvalidationPublisher;
+import com.techtorque.time_logging_service.cache.PayrollWeekChange;
+import com.techtorque.time_logging_service.cache.TimeLogCacheEvictor;
+import com.techtorque.time_logging_service.cache.TimeLogChange;
+import com.techtorque.time_logging_service.dto.response.PayrollPeriodResponse;
+import com.techtorque.time_logging_service.dto.response.TimeLogSummaryResponse;
+import com.techtorque.time_logging_service.entity.PayrollPeriod;
+import com.techtorque.time_logging_service.entity.PayrollSnapshotEntry;
+import com.techtorque.time_logging_service.entity.PayrollWeekLock;
+import com.techtorque.time_logging_service.exception.PayrollPeriodClosedException;
+import com.techtorque.time_logging_service.exception.ResourceNotFoundException;
+import com.techtorque.time_logging_service.repository.PayrollPeriodRepository;
+import com.techtorque.time_logging_service.repository.PayrollSnapshotEntryRepository;
+import com.techtorque.time_logging_service.repository.PayrollWeekLockRepository;
+import com.techtorque.time_logging_service.repository.TimeLogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Closing and re-opening payroll weeks (Monday to Sunday)
+ *
+ * Closing a week freezes its per-employee, per-day, per-service and per-project totals into
+ * payroll_snapshot_entries; from then on creates, updates and deletes of time logs dated in that week are
+ * rejected, and daily and weekly summaries inside it are read from the snapshot. Re-opening deletes the
+ * snapshot and allows edits again.
+ *
+ * Writes and closes are serialized per week through its payroll_week_locks row: each write holds the row in
+ * shared mode from its close check until it commits, and close() and reopen() take it exclusively, so a close
+ * waits for in-flight writes to commit before taking the snapshot and writes that start later see the close.
+ * Journal replays go through the same check; a replay into a closed week is dead-lettered.
+ *
+ * Summaries check for a closed week without the database once the week was found open: open weeks are remembered
+ * until a close commits here or is announced by another instance on the invalidation channel. A week is still
+ * served live in the moment between another instance's close and its announcement, which shows the same totals.
+ */
+@Service
+public class PayrollPeriodService implements TimeLogCacheEvictor {
+
+  private static final Logger logger = LoggerFactory.getLogger(PayrollPeriodService.class);
+  private static final List<Dimension> SNAPSHOT_GROUP_BY =
+          List.of(Dimension.EMPLOYEE, Dimension.DATE, Dimension.SERVICE, Dimension.PROJECT);
+  private static final int MAX_OPEN_WEEKS = 4096;
+
+  private final PayrollPeriodRepository payrollPeriodRepository;
+  private final PayrollSnapshotEntryRepository snapshotEntryRepository;
+  private final TimeLogRepository timeLogRepository;
+  private final PayrollWeekLockRepository weekLockRepository;
+  private final CacheInvalidationPublisher invalidationPublisher;
+  private final TransactionTemplate requiresNew;
+  private final TransactionTemplate readOnly;
+  // Weeks whose lock row is known to exist, so it is only created once per week and instance
+  private final Set<LocalDate> lockedWeeks = ConcurrentHashMap.newKeySet();
+  // Weeks found open by a summary; a close forgets its week
+  private final Set<LocalDate> openWeeks = ConcurrentHashMap.newKeySet();
+  // Bumped by every forget; a lookup only remembers its week as open if nothing was forgotten while it ran
+  private final AtomicLong openWeekEvictions = new AtomicLong();
+
+  /**
+   * Summaries served from a closed week's snapshot
+   *
+   * @param etag Strong ETag of the summaries: changes whenever the week is re-opened and closed again
+   */
+  public record ClosedSummaries(PayrollPeriod period, List<TimeLogSummaryResponse> summaries, String etag) {
+  }
+
+  public PayrollPeriodService(PayrollPeriodRepository payrollPeriodRepository,
+                              PayrollSnapshotEntryRepository snapshotEntryRepository,
+                              TimeLogRepository timeLogRepository,
+                              PayrollWeekLockRepository weekLockRepository,
+                              CacheInvalidationPublisher invalidationPublisher,
+                              PlatformTransactionManager transactionManager) {
+    this.payrollPeriodRepository = payrollPeriodRepository;
+    this.snapshotEntryRepository = snapshotEntryRepository;
+    this.timeLogRepository = timeLogRepository;
+    this.weekLockRepository = weekLockRepository;
+    this.invalidationPublisher = invalidationPublisher;
+    this.requiresNew = new TransactionTemplate(transactionManager);
+    this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.readOnly = new TransactionTemplate(transactionManager);
+    this.readOnly.setReadOnly(true);
+  }
+
+  /**
+   * Monday of the payroll week containing a date
+   */
+  public static LocalDate weekStart(LocalDate date) {
+    return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+  }
+
+  /**
+   * Close the payroll week containing a date and snapshot its totals; closing a closed week returns it unchanged
+   *
+   * @param date Any day of the week
+   * @param closedBy Who closed it (from the authentication token)
+   */
+  @Transactional
+  public PayrollPeriodResponse close(LocalDate date, String closedBy) {
+    LocalDate weekStart = weekStart(date);
+    lockExclusive(weekStart);
+    Optional<PayrollPeriod> existing = payrollPeriodRepository.findByWeekStart(weekStart);
+    if (existing.isPresent()) {
+      return toResponse(existing.get(), snapshotEntryRepository.countByWeekStart(weekStart));
+    }
+
+    PayrollPeriod period = payrollPeriodRepository.saveAndFlush(PayrollPeriod.builder()
+            .weekStart(weekStart)
+            .closedAt(Instant.now())
+            .closedBy(closedBy)
+            .build());
+
+    AnalyticsResult result = timeLogRepository.aggregate(new TimeLogSelection(null, null, null, null,
+            List.of(new TimeLogSelection.DateRange(weekStart, weekStart.plusDays(6)))), SNAPSHOT_GROUP_BY);
+    List<PayrollSnapshotEntry> entries = new ArrayList<>(result.groups().size());
+    for (GroupedMinutes group : result.groups()) {
+      entries.add(PayrollSnapshotEntry.builder()
+              .weekStart(weekStart)
+              .employeeId(group.key().get(0))
+              .date(LocalDate.parse(group.key().get(1)))
+              .serviceId(group.key().get(2))
+              .projectId(group.key().get(3))
+              .minutes(group.minutes())
+              .entries((int) group.count())
+              .build());
+    }
+    snapshotEntryRepository.saveAll(entries);
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        forgetOpenWeek(weekStart);
+        invalidationPublisher.publish(new PayrollWeekChange(weekStart));
+      }
+    });
+
+    logger.info("Payroll week {} closed by {}: {} time logs in {} snapshot entries", weekStart, closedBy,
+            result.count(), entries.size());
+    return toResponse(period, entries.size());
+  }
+
+  /**
+   * Re-open a closed payroll week: deletes its snapshot and allows edits again
+   *
+   * @param date Any day of the week
+   * @throws ResourceNotFoundException if the week is not closed
+   */
+  @Transactional
+  public void reopen(LocalDate date) {
+    LocalDate weekStart = weekStart(date);
+    lockExclusive(weekStart);
+    PayrollPeriod period = payrollPeriodRepository.findByWeekStart(weekStart)
+            .orElseThrow(() -> new ResourceNotFoundException("Payroll week starting " + weekStart + " is not closed"));
+    int deleted = snapshotEntryRepository.deleteByWeekStart(weekStart);
+    payrollPeriodRepository.delete(period);
+    logger.info("Payroll week {} re-opened ({} snapshot entries deleted)", weekStart, deleted);
+  }
+
+  /**
+   * Closed payroll weeks, most recent first
+   */
+  @Transactional(readOnly = true)
+  public List<PayrollPeriodResponse> getClosedPeriods() {
+    return payrollPeriodRepository.findAllByOrderByWeekStartDesc().stream()
+            .map(period -> toResponse(period, snapshotEntryRepository.countByWeekStart(period.getWeekStart())))
+            .collect(Collectors.toList());
+  }
+
+  /**
+   * Check that the payroll week containing a date is open, and keep it open until the calling transaction ends
+   *
+   * @throws PayrollPeriodClosedException if the payroll week containing the date is closed
+   */
+  @Transactional
+  public void requireOpen(LocalDate date) {
+    LocalDate weekStart = weekStart(date);
+    lockShared(Set.of(weekStart));
+    if (payrollPeriodRepository.existsByWeekStart(weekStart)) {
+      throw closedException(weekStart);
+    }
+  }
+
+  /**
+   * Mondays of the closed payroll weeks among those containing the given dates (one query); the open ones
+   * stay open until the calling transaction ends
+   */
+  @Transactional
+  public Set<LocalDate> closedWeeks(Collection<LocalDate> dates) {
+    Set<LocalDate> weekStarts = dates.stream().filter(Objects::nonNull).map(PayrollPeriodService::weekStart)
+            .collect(Collectors.toCollection(TreeSet::new));
+    if (weekStarts.isEmpty()) {
+      return Set.of();
+    }
+    lockShared(weekStarts);
+    return payrollPeriodRepository.findByWeekStartIn(weekStarts).stream()
+            .map(PayrollPeriod::getWeekStart)
+            .collect(Collectors.toSet());
+  }
+
+  private void lockShared(Set<LocalDate> weekStarts) {
+    weekStarts.forEach(this::ensureLockRow);
+    weekLockRepository.lockShared(weekStarts);
+  }
+
+  private void lockExclusive(LocalDate weekStart) {
+    ensureLockRow(weekStart);
+    weekLockRepository.lockExclusive(weekStart);
+  }
+
+  /**
+   * Create the week's lock row in its own transaction, so it is visible to (and lockable by) every other one
+   */
+  private void ensureLockRow(LocalDate weekStart) {
+    if (lockedWeeks.contains(weekStart)) {
+      return;
+    }
+    try {
+      requiresNew.executeWithoutResult(status -> {
+        if (!weekLockRepository.existsById(weekStart)) {
+          weekLockRepository.saveAndFlush(new PayrollWeekLock(weekStart));
+        }
+      });
+    } catch (DataIntegrityViolationException e) {
+      logger.debug("Lock row of payroll week {} created concurrently", weekStart);
+    }
+    lockedWeeks.add(weekStart);
+  }
+
+  static PayrollPeriodClosedException closedException(LocalDate weekStart) {
+    return new PayrollPeriodClosedException("Payroll week starting " + weekStart + " is closed; time logs dated " +
+            weekStart + " to " + weekStart.plusDays(6) + " cannot be changed");
+  }
+
+  /**
+   * Summaries of the given employees over [from, to] from the snapshot, if the range lies in one closed week
+   *
+   * @param employeeIds Employee IDs, without duplicates
+   * @return The summaries in employeeIds order, or empty if the range is not inside a closed week
+   */
+  public Optional<ClosedSummaries> findClosedSummaries(List<String> employeeIds, LocalDate from, LocalDate to) {
+    LocalDate weekStart = weekStart(from);
+    if (!weekStart.equals(weekStart(to)) || openWeeks.contains(weekStart)) {
+      return Optional.empty();
+    }
+    long evictionsBefore = openWeekEvictions.get();
+    Optional<ClosedSummaries> closed = readOnly.execute(status -> loadClosedSummaries(employeeIds, weekStart, from, to));
+    if (closed.isEmpty()) {
+      if (openWeeks.size() >= MAX_OPEN_WEEKS) {
+        openWeeks.clear();
+      }
+      openWeeks.add(weekStart);
+      // A close that committed after our lookup must not be hidden
+      if (openWeekEvictions.get() != evictionsBefore) {
+        openWeeks.remove(weekStart);
+      }
+    }
+    return closed;
+  }
+
+  private Optional<ClosedSummaries> loadClosedSummaries(List<String> employeeIds, LocalDate weekStart,
+                                                        LocalDate from, LocalDate to) {
+    Optional<PayrollPeriod> period = payrollPeriodRepository.findByWeekStart(weekStart);
+    if (period.isEmpty()) {
+      return Optional.empty();
+    }
+
+    List<GroupedMinutes> groups = new ArrayList<>();
+    for (int start = 0; start < employeeIds.size(); start += TimeLogService.SUMMARY_BATCH_SIZE) {
+      List<String> chunk = employeeIds.subList(start,
+              Math.min(start + TimeLogService.SUMMARY_BATCH_SIZE, employeeIds.size()));
+      for (PayrollSnapshotEntry entry : snapshotEntryRepository.findByWeekStartAndEmployeeIdIn(weekStart, chunk)) {
+        if (!entry.getDate().isBefore(from) && !entry.getDate().isAfter(to)) {
+          groups.add(new GroupedMinutes(Arrays.asList(entry.getEmployeeId(), entry.getServiceId(),
+                  entry.getProjectId()), entry.getEntries(), entry.getMinutes()));
+        }
+      }
+    }
+    List<TimeLogSummaryResponse> summaries = TimeLogService.summarize(employeeIds, from, to, groups);
+    return Optional.of(new ClosedSummaries(period.get(), summaries, etag(period.get(), employeeIds, from, to)));
+  }
+
+  @Override
+  public void evict(TimeLogChange change) {
+  }
+
+  @Override
+  public void evictPayrollWeek(LocalDate weekStart) {
+    forgetOpenWeek(weekStart);
+  }
+
+  @Override
+  public void evictAll() {
+    openWeekEvictions.incrementAndGet();
+    openWeeks.clear();
+  }
+
+  private void forgetOpenWeek(LocalDate weekStart) {
+    openWeekEvictions.incrementAndGet();
+    openWeeks.remove(weekStart);
+  }
+
+  /**
+   * Same close, employees and range: same body, so the ETag is a digest of exactly those
+   */
+  private static String etag(PayrollPeriod period, List<String> employeeIds, LocalDate from, LocalDate to) {
+    String identity = period.getId() + "|" + from + "|" + to + "|" + String.join(",", employeeIds);
+    return "\"" + DigestUtils.md5DigestAsHex(identity.getBytes(StandardCharsets.UTF_8)) + "\"";
+  }
+
+  private static PayrollPeriodResponse toResponse(PayrollPeriod period, long snapshotEntries) {
+    PayrollPeriodResponse response = new PayrollPeriodResponse();
+    response.setWeekStart(period.getWeekStart());
+    response.setWeekEnd(period.getWeekStart().plusDays(6));
+    response.setClosedAt(period.getClosedAt());
+    response.setClosedBy(period.getClosedBy());
+    response.setSnapshotEntries(snapshotEntries);
+    return response;
+  }
+}
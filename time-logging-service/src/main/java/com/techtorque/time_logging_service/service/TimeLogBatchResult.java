@@ -0,0 +1,17 @@
+package com.techtorque.time_logging_service.service;
+
+import com.techtorque.time_logging_service.dto.response.TimeLogResponse;
+
+/**
+ * Outcome of one entry in a batched create: either the created time log or the reason it was rejected
+ */
+public record TimeLogBatchResult(TimeLogResponse response, RuntimeException error) {
+
+  public static TimeLogBatchResult created(TimeLogResponse response) {
+    return new TimeLogBatchResult(response, null);
+  }
+
+  public static TimeLogBatchResult failed(RuntimeException error) {
+    return new TimeLogBatchResult(null, error);
+  }
+}
@@ -0,0 +1,239 @@
+package com.techtorque.time_logging_service.service;
+
+import com.techtorque.time_logging_service.dto.request.TimeLogRequest;
+import com.techtorque.time_logging_service.dto.response.TimeLogResponse;
+import com.techtorque.time_logging_service.journal.DatabaseAvailability;
+import com.techtorque.time_logging_service.journal.TimeLogJournalService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Entry point for POST /time-logs
+ *
+ * In "sync" mode (default) every request is created in its own transaction.
+ * In "batched" mode validated requests are put on a bounded queue and a single writer thread
+ * group-commits them in micro-batches, flushing when the batch is full or when the oldest
+ * entry has waited max-wait. Each caller is released only after its batch has committed, or with a 503 once
+ * commit-timeout has passed: if the entry was still queued it is withdrawn, otherwise its batch may yet commit.
+ * When the queue is full, requests fall back to the synchronous path.
+ *
+ * If the database is unreachable (known to be down, or the write fails with a connectivity error),
+ * the request is appended to the local journal instead and replayed once the database is back.
+ */
+@Component
+public class TimeLogIngestionQueue {
+
+  private static final Logger logger = LoggerFactory.getLogger(TimeLogIngestionQueue.class);
+
+  private final TimeLogService timeLogService;
+  private final DatabaseAvailability databaseAvailability;
+  private final TimeLogJournalService journalService;
+  private final boolean batched;
+  private final int batchSize;
+  private final long maxWaitNanos;
+  private final Duration commitTimeout;
+  private final BlockingQueue<PendingTimeLog> queue;
+  private volatile boolean running;
+  private Thread writer;
+
+  public TimeLogIngestionQueue(TimeLogService timeLogService,
+                               DatabaseAvailability databaseAvailability,
+                               TimeLogJournalService journalService,
+                               @Value("${app.time-logs.ingestion.mode:sync}") String mode,
+                               @Value("${app.time-logs.ingestion.batch-size:200}") int batchSize,
+                               @Value("${app.time-logs.ingestion.max-wait-ms:5}") long maxWaitMillis,
+                               @Value("${app.time-logs.ingestion.queue-capacity:10000}") int queueCapacity,
+                               @Value("${app.time-logs.ingestion.commit-timeout:PT30S}") Duration commitTimeout) {
+    this.timeLogService = timeLogService;
+    this.databaseAvailability = databaseAvailability;
+    this.journalService = journalService;
+    this.batched = "batched".equalsIgnoreCase(mode);
+    this.batchSize = Math.max(1, batchSize);
+    this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, maxWaitMillis));
+    this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+    this.commitTimeout = commitTimeout;
+  }
+
+  @PostConstruct
+  void start() {
+    if (!batched) {
+      return;
+    }
+    running = true;
+    writer = new Thread(this::runWriter, "time-log-group-commit");
+    writer.setDaemon(true);
+    writer.start();
+    logger.info("Batched time log ingestion enabled (batch size {}, max wait {} ms)",
+            batchSize, TimeUnit.NANOSECONDS.toMillis(maxWaitNanos));
+  }
+
+  /**
+   * Flush what is queued, then fail anything the writer did not get to (enqueued after it exited or while it
+   * was still finishing a batch when the join timed out)
+   */
+  @PreDestroy
+  void stop() throws InterruptedException {
+    running = false;
+    if (writer != null) {
+      writer.interrupt();
+      writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+    PendingTimeLog pending;
+    while ((pending = queue.poll()) != null) {
+      pending.future.completeExceptionally(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+              "Time log was not created: the service is shutting down"));
+    }
+  }
+
+  /**
+   * Create a time log, blocking until it has been committed (or durably journaled)
+   */
+  public TimeLogIngestionResult submit(String employeeId, TimeLogRequest request) {
+    if (journalService.isEnabled() && !databaseAvailability.isAvailable()) {
+      return TimeLogIngestionResult.journaled(journalService.append(employeeId, request));
+    }
+    try {
+      return TimeLogIngestionResult.created(create(employeeId, request));
+    } catch (RuntimeException e) {
+      if (!journalService.isEnabled() || !DatabaseAvailability.isConnectivityFailure(e)) {
+        throw e;
+      }
+      databaseAvailability.markUnavailable(e);
+      return TimeLogIngestionResult.journaled(journalService.append(employeeId, request));
+    }
+  }
+
+  private TimeLogResponse create(String employeeId, TimeLogRequest request) {
+    if (!batched || !running) {
+      return timeLogService.createTimeLog(employeeId, request);
+    }
+    PendingTimeLog pending = new PendingTimeLog(employeeId, request);
+    if (!queue.offer(pending)) {
+      logger.debug("Ingestion queue full, creating time log synchronously");
+      return timeLogService.createTimeLog(employeeId, request);
+    }
+    if (!running && queue.remove(pending)) {
+      // Stopped between the check above and the offer: stop() may already have drained the queue
+      return timeLogService.createTimeLog(employeeId, request);
+    }
+    try {
+      return pending.future.get(commitTimeout.toNanos(), TimeUnit.NANOSECONDS);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException(e.getCause());
+    } catch (TimeoutException e) {
+      throw abandon(pending, "did not commit within " + commitTimeout.toMillis() + " ms");
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw abandon(pending, "was interrupted");
+    }
+  }
+
+  private ResponseStatusException abandon(PendingTimeLog pending, String reason) {
+    if (queue.remove(pending)) {
+      return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+              "Time log was not created: the ingestion queue " + reason);
+    }
+    logger.warn("Time log batch for employee {} {}; it may still commit", pending.employeeId, reason);
+    return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+            "Time log batch " + reason + "; check whether it was created before retrying");
+  }
+
+  int queueDepth() {
+    return queue.size();
+  }
+
+  private void runWriter() {
+    List<PendingTimeLog> batch = new ArrayList<>(batchSize);
+    while (running || !queue.isEmpty()) {
+      try {
+        PendingTimeLog first = queue.poll(1, TimeUnit.SECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + maxWaitNanos;
+        while (batch.size() < batchSize) {
+          if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+            continue;
+          }
+          long remaining = deadline - System.nanoTime();
+          if (remaining <= 0) {
+            break;
+          }
+          PendingTimeLog next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+          if (next == null) {
+            break;
+          }
+          batch.add(next);
+        }
+      } catch (InterruptedException e) {
+        // Woken up by stop(); the loop flushes whatever is still queued before exiting
+      }
+      if (!batch.isEmpty()) {
+        flush(batch);
+        batch.clear();
+      }
+    }
+  }
+
+  private void flush(List<PendingTimeLog> batch) {
+    List<String> employeeIds = new ArrayList<>(batch.size());
+    List<TimeLogRequest> requests = new ArrayList<>(batch.size());
+    for (PendingTimeLog pending : batch) {
+      employeeIds.add(pending.employeeId);
+      requests.add(pending.request);
+    }
+
+    List<TimeLogBatchResult> results;
+    try {
+      results = timeLogService.createTimeLogBatch(employeeIds, requests);
+    } catch (RuntimeException e) {
+      logger.error("Time log batch of {} failed: {}", batch.size(), e.getMessage());
+      batch.forEach(pending -> pending.future.completeExceptionally(e));
+      return;
+    }
+
+    // createTimeLogBatch has returned, so its transaction has committed
+    int rejected = 0;
+    for (int i = 0; i < batch.size(); i++) {
+      TimeLogBatchResult result = results.get(i);
+      if (result.error() != null) {
+        rejected++;
+        batch.get(i).future.completeExceptionally(result.error());
+      } else {
+        batch.get(i).future.complete(result.response());
+      }
+    }
+    logger.info("Time log batch of {} committed ({} rejected)", batch.size(), rejected);
+  }
+
+  private static final class PendingTimeLog {
+    private final String employeeId;
+    private final TimeLogRequest request;
+    private final CompletableFuture<TimeLogResponse> future = new CompletableFuture<>();
+
+    PendingTimeLog(String employeeId, TimeLogRequest request) {
+      this.employeeId = employeeId;
+      this.request = request;
+    }
+  }
+}
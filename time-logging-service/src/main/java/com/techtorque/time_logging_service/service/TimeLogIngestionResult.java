@@ -0,0 +1,22 @@
+package com.techtorque.time_logging_service.service;
+
+import com.techtorque.time_logging_service.dto.response.TimeLogResponse;
+
+/**
+ * Outcome of submitting a time log: either created in the database,
+ * or accepted into the local journal (database unavailable) and identified by its record ID
+ */
+public record TimeLogIngestionResult(TimeLogResponse timeLog, String journalRecordId) {
+
+  public static TimeLogIngestionResult created(TimeLogResponse timeLog) {
+    return new TimeLogIngestionResult(timeLog, null);
+  }
+
+  public static TimeLogIngestionResult journaled(String journalRecordId) {
+    return new TimeLogIngestionResult(null, journalRecordId);
+  }
+
+  public boolean isJournaled() {
+    return journalRecordId != null;
+  }
+}
@@ -2,12 +2,26 @@ package com.techtorque.time_logging_service.service;
 
 import com.techtorque.time_logging_service.dto.request.TimeLogRequest;
 import com.techtorque.time_logging_service.dto.request.TimeLogUpdateRequest;
+import com.techtorque.time_logging_service.analytics.AnalyticsResult;
+import com.techtorque.time_logging_service.analytics.Dimension;
+import com.techtorque.time_logging_service.analytics.GroupedMinutes;
+import com.techtorque.time_logging_service.analytics.TimeLogSelection;
+import com.techtorque.time_logging_service.analytics.TimeWindow;
+import com.techtorque.time_logging_service.dto.response.TimeLogHistogramResponse;
 import com.techtorque.time_logging_service.dto.response.TimeLogResponse;
 import com.techtorque.time_logging_service.dto.response.TimeLogSummaryResponse;
+import com.techtorque.time_logging_service.dto.mapper.TimeLogField;
 import com.techtorque.time_logging_service.dto.mapper.TimeLogMapper;
+import com.techtorque.time_logging_service.entity.JournalReplay;
 import com.techtorque.time_logging_service.entity.TimeLog;
+import com.techtorque.time_logging_service.entity.TimeLogHours;
+import com.techtorque.time_logging_service.exception.DailyHoursLimitExceededException;
+import com.techtorque.time_logging_service.exception.PayrollPeriodClosedException;
 import com.techtorque.time_logging_service.exception.ResourceNotFoundException;
 import com.techtorque.time_logging_service.exception.UnauthorizedAccessException;
+import com.techtorque.time_logging_service.journal.JournalEntry;
+import com.techtorque.time_logging_service.repository.JournalReplayRepository;
+import com.techtorque.time_logging_service.repository.TimeLogHoursView;
 import com.techtorque.time_logging_service.repository.TimeLogRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,11 +29,19 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.DayOfWeek;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
@@ -30,15 +52,35 @@ import java.util.stream.Collectors;
  * - Authorization checks (employees can only modify their own logs)
  * - Aggregations and summaries (daily, weekly, by service, by project)
  * - Statistics and analytics
+ * 
+ * Read paths run in read-only transactions (Hibernate flush mode MANUAL, no dirty-checking snapshots)
+ * and query DTO projections, so no managed TimeLog entities are created for them.
  */
 @Service
 public class TimeLogService {
 
   private static final Logger logger = LoggerFactory.getLogger(TimeLogService.class);
+  static final int MAX_HISTOGRAM_BUCKETS = 1000;
+  // Employees per aggregate query in getEmployeeSummaries (bounds the IN list)
+  static final int SUMMARY_BATCH_SIZE = 500;
+  static final String WEEK_START_MONDAY = "monday";
+  static final String WEEK_START_FROM = "from";
   private final TimeLogRepository timeLogRepository;
-
-  public TimeLogService(TimeLogRepository timeLogRepository) {
+  private final DailyHoursLedger dailyHoursLedger;
+  private final JournalReplayRepository journalReplayRepository;
+  private final WorkTypeDictionary workTypeDictionary;
+  private final PayrollPeriodService payrollPeriodService;
+  private final DailySummaryCache dailySummaryCache;
+
+  public TimeLogService(TimeLogRepository timeLogRepository, DailyHoursLedger dailyHoursLedger,
+                        JournalReplayRepository journalReplayRepository, WorkTypeDictionary workTypeDictionary,
+                        PayrollPeriodService payrollPeriodService, DailySummaryCache dailySummaryCache) {
     this.timeLogRepository = timeLogRepository;
+    this.dailyHoursLedger = dailyHoursLedger;
+    this.journalReplayRepository = journalReplayRepository;
+    this.workTypeDictionary = workTypeDictionary;
+    this.payrollPeriodService = payrollPeriodService;
+    this.dailySummaryCache = dailySummaryCache;
   }
 
   /**
@@ -47,19 +89,20 @@ public class TimeLogService {
    * @param employeeId ID of the employee logging time
    * @param request Time log details
    * @return Created time log response
+   * @throws IllegalArgumentException if the work type is unknown
+   * @throws PayrollPeriodClosedException if the date is in a closed payroll week
    */
   @Transactional
   public TimeLogResponse createTimeLog(String employeeId, TimeLogRequest request) {
     logger.info("Creating time log for employee: {}", employeeId);
-    
-    TimeLog timeLog = new TimeLog();
+    workTypeDictionary.requireKnown(request.getWorkType());
+    payrollPeriodService.requireOpen(request.getDate());
+
+    TimeLog timeLog = TimeLogMapper.toEntity(request);
     timeLog.setEmployeeId(employeeId);
-    timeLog.setServiceId(request.getServiceId());
-    timeLog.setProjectId(request.getProjectId());
-    timeLog.setHours(request.getHours());
-    timeLog.setDate(request.getDate());
-    timeLog.setDescription(request.getDescription());
-    timeLog.setWorkType(request.getWorkType());
+
+    // Enforce the daily hours cap (reservation is undone if this transaction rolls back)
+    dailyHoursLedger.reserve(employeeId, timeLog.getDate(), timeLog.getMinutes());
     
     TimeLog saved = timeLogRepository.save(timeLog);
     logger.info("Time log created successfully with ID: {}", saved.getId());
@@ -67,6 +110,95 @@ public class TimeLogService {
     return TimeLogMapper.toResponse(saved);
   }
 
+  /**
+   * Create a batch of time logs in one transaction (group commit for the ingestion queue)
+   * Entries with an unknown work type, rejected by the daily hours cap or dated in a closed payroll week are reported individually and do not
+   * affect the rest; a database failure fails the whole batch.
+   * 
+   * @param employeeIds Employee ID for each entry
+   * @param requests Time log details for each entry (same order as employeeIds)
+   * @return One result per entry, in input order
+   */
+  @Transactional
+  public List<TimeLogBatchResult> createTimeLogBatch(List<String> employeeIds, List<TimeLogRequest> requests) {
+    List<TimeLogBatchResult> results = new ArrayList<>(requests.size());
+    List<TimeLog> accepted = new ArrayList<>(requests.size());
+    Set<LocalDate> closedWeeks = payrollPeriodService.closedWeeks(
+            requests.stream().map(TimeLogRequest::getDate).collect(Collectors.toList()));
+
+    for (int i = 0; i < requests.size(); i++) {
+      String employeeId = employeeIds.get(i);
+      TimeLogRequest request = requests.get(i);
+      LocalDate weekStart = PayrollPeriodService.weekStart(request.getDate());
+      if (closedWeeks.contains(weekStart)) {
+        results.add(TimeLogBatchResult.failed(PayrollPeriodService.closedException(weekStart)));
+        accepted.add(null);
+        continue;
+      }
+      TimeLog timeLog;
+      try {
+        workTypeDictionary.requireKnown(request.getWorkType());
+        timeLog = TimeLogMapper.toEntity(request);
+        dailyHoursLedger.reserve(employeeId, timeLog.getDate(), timeLog.getMinutes());
+      } catch (IllegalArgumentException | DailyHoursLimitExceededException e) {
+        results.add(TimeLogBatchResult.failed(e));
+        accepted.add(null);
+        continue;
+      }
+      timeLog.setEmployeeId(employeeId);
+      accepted.add(timeLog);
+      results.add(null);
+    }
+
+    timeLogRepository.saveAll(accepted.stream().filter(Objects::nonNull).collect(Collectors.toList()));
+
+    for (int i = 0; i < accepted.size(); i++) {
+      if (accepted.get(i) != null) {
+        results.set(i, TimeLogBatchResult.created(TimeLogMapper.toResponse(accepted.get(i))));
+      }
+    }
+    return results;
+  }
+
+  /**
+   * Persist a time log that was accepted into the local journal while the database was down
+   * The request was already acknowledged to the client, so the daily cap is not re-checked here;
+   * a replay marker written in the same transaction makes the replay idempotent.
+   * 
+   * @param entry Journaled create request
+   * @return true if a time log was created, false if the record had already been replayed
+   * @throws PayrollPeriodClosedException if the week was closed before the record could be replayed
+   */
+  @Transactional
+  public boolean replayJournaledTimeLog(JournalEntry entry) {
+    if (journalReplayRepository.existsById(entry.getRecordId())) {
+      logger.debug("Journal record {} already replayed, skipping", entry.getRecordId());
+      return false;
+    }
+    workTypeDictionary.requireKnown(entry.getWorkType());
+    payrollPeriodService.requireOpen(entry.getDate());
+
+    TimeLog timeLog = new TimeLog();
+    timeLog.setEmployeeId(entry.getEmployeeId());
+    timeLog.setServiceId(entry.getServiceId());
+    timeLog.setProjectId(entry.getProjectId());
+    timeLog.setMinutes(TimeLogHours.toMinutes(entry.getHours()));
+    timeLog.setDate(entry.getDate());
+    timeLog.setDescription(entry.getDescription());
+    timeLog.setWorkType(entry.getWorkType());
+    TimeLog saved = timeLogRepository.save(timeLog);
+
+    journalReplayRepository.save(JournalReplay.builder()
+            .recordId(entry.getRecordId())
+            .timeLogId(saved.getId())
+            .replayedAt(Instant.now())
+            .build());
+
+    // The ledger may have cached the day before this replay; reload it on next use
+    dailyHoursLedger.forget(entry.getEmployeeId(), entry.getDate());
+    return true;
+  }
+
   /**
    * Get a time log by ID (no authorization check)
    * 
@@ -74,10 +206,9 @@ public class TimeLogService {
    * @return Time log response
    * @throws ResourceNotFoundException if not found
    */
+  @Transactional(readOnly = true)
   public TimeLogResponse getTimeLogById(String id) {
-    TimeLog timeLog = timeLogRepository.findById(id)
-            .orElseThrow(() -> new ResourceNotFoundException("Time log not found with id: " + id));
-    return TimeLogMapper.toResponse(timeLog);
+    return findTimeLogResponse(id);
   }
 
   /**
@@ -91,13 +222,13 @@ public class TimeLogService {
    * @throws ResourceNotFoundException if not found
    * @throws UnauthorizedAccessException if not authorized
    */
+  @Transactional(readOnly = true)
   public TimeLogResponse getTimeLogByIdWithAuthorization(String logId, String userId, String userRole) {
-    TimeLog timeLog = timeLogRepository.findById(logId)
-            .orElseThrow(() -> new ResourceNotFoundException("Time log not found with id: " + logId));
+    TimeLogResponse timeLog = findTimeLogResponse(logId);
     
     // Admins can view all logs
     if (userRole != null && (userRole.contains("ADMIN") || userRole.contains("ROLE_ADMIN"))) {
-      return TimeLogMapper.toResponse(timeLog);
+      return timeLog;
     }
     
     // Employees can only view their own logs
@@ -105,7 +236,7 @@ public class TimeLogService {
       throw new UnauthorizedAccessException("You are not authorized to view this time log");
     }
     
-    return TimeLogMapper.toResponse(timeLog);
+    return timeLog;
   }
 
   /**
@@ -114,12 +245,10 @@ public class TimeLogService {
    * @param employeeId Employee ID
    * @return List of time log responses
    */
+  @Transactional(readOnly = true)
   public List<TimeLogResponse> getAllTimeLogsByEmployee(String employeeId) {
     logger.info("Fetching all time logs for employee: {}", employeeId);
-    return timeLogRepository.findByEmployeeId(employeeId)
-            .stream()
-            .map(TimeLogMapper::toResponse)
-            .collect(Collectors.toList());
+    return timeLogRepository.findResponsesByEmployeeId(employeeId);
   }
 
   /**
@@ -127,12 +256,10 @@ public class TimeLogService {
    * 
    * @return List of all time log responses
    */
+  @Transactional(readOnly = true)
   public List<TimeLogResponse> getAllTimeLogs() {
     logger.info("Fetching all time logs (admin access)");
-    return timeLogRepository.findAll()
-            .stream()
-            .map(TimeLogMapper::toResponse)
-            .collect(Collectors.toList());
+    return timeLogRepository.findAllResponses();
   }
 
   /**
@@ -143,12 +270,61 @@ public class TimeLogService {
    * @param endDate End date (inclusive)
    * @return List of time log responses
    */
+  @Transactional(readOnly = true)
   public List<TimeLogResponse> getTimeLogsByDateRange(String employeeId, LocalDate startDate, LocalDate endDate) {
     logger.info("Fetching time logs for employee: {} from {} to {}", employeeId, startDate, endDate);
-    return timeLogRepository.findByEmployeeIdAndDateBetween(employeeId, startDate, endDate)
-            .stream()
-            .map(TimeLogMapper::toResponse)
-            .collect(Collectors.toList());
+    return timeLogRepository.findResponsesByEmployeeIdAndDateBetween(employeeId, startDate, endDate);
+  }
+
+  /**
+   * Get an employee's time logs of one work type
+   * Filters on the work type's dictionary code in the database
+   * 
+   * @param employeeId Employee ID
+   * @param workType Work type name
+   * @return List of time log responses (empty for a work type never logged)
+   */
+  @Transactional(readOnly = true)
+  public List<TimeLogResponse> getTimeLogsByWorkType(String employeeId, String workType) {
+    logger.info("Fetching {} time logs for employee: {}", workType, employeeId);
+    if (workTypeDictionary.find(workType) == null) {
+      return new ArrayList<>();
+    }
+    return timeLogRepository.findResponsesByEmployeeIdAndWorkType(employeeId, workType);
+  }
+
+  /**
+   * Get time logs matching optional filters, all applied in the database
+   * (work types on their dictionary code)
+   * 
+   * @param employeeId Employee ID, or null for every employee (admin access)
+   * @param startDate Start date (inclusive), or null with endDate for any date
+   * @param endDate End date (inclusive), or null with startDate for any date
+   * @param workType Work type name, or null for any work type
+   * @return List of time log responses (empty for a work type never logged)
+   */
+  @Transactional(readOnly = true)
+  public List<TimeLogResponse> getTimeLogs(String employeeId, LocalDate startDate, LocalDate endDate, String workType) {
+    logger.info("Fetching time logs (employee: {}, from {} to {}, work type: {})", employeeId, startDate, endDate, workType);
+    boolean dateRange = startDate != null && endDate != null;
+    if (workType == null) {
+      if (employeeId == null) {
+        return dateRange ? timeLogRepository.findResponsesByDateBetween(startDate, endDate)
+                : timeLogRepository.findAllResponses();
+      }
+      return dateRange ? timeLogRepository.findResponsesByEmployeeIdAndDateBetween(employeeId, startDate, endDate)
+              : timeLogRepository.findResponsesByEmployeeId(employeeId);
+    }
+    if (workTypeDictionary.find(workType) == null) {
+      return new ArrayList<>();
+    }
+    if (employeeId == null) {
+      return dateRange ? timeLogRepository.findResponsesByDateBetweenAndWorkType(startDate, endDate, workType)
+              : timeLogRepository.findResponsesByWorkType(workType);
+    }
+    return dateRange
+            ? timeLogRepository.findResponsesByEmployeeIdAndDateBetweenAndWorkType(employeeId, startDate, endDate, workType)
+            : timeLogRepository.findResponsesByEmployeeIdAndWorkType(employeeId, workType);
   }
 
   /**
@@ -157,12 +333,10 @@ public class TimeLogService {
    * @param serviceId Service ID
    * @return List of time log responses
    */
+  @Transactional(readOnly = true)
   public List<TimeLogResponse> getTimeLogsByServiceId(String serviceId) {
     logger.info("Fetching time logs for service: {}", serviceId);
-    return timeLogRepository.findByServiceId(serviceId)
-            .stream()
-            .map(TimeLogMapper::toResponse)
-            .collect(Collectors.toList());
+    return timeLogRepository.findResponsesByServiceId(serviceId);
   }
 
   /**
@@ -171,12 +345,36 @@ public class TimeLogService {
    * @param projectId Project ID
    * @return List of time log responses
    */
+  @Transactional(readOnly = true)
   public List<TimeLogResponse> getTimeLogsByProjectId(String projectId) {
     logger.info("Fetching time logs for project: {}", projectId);
-    return timeLogRepository.findByProjectId(projectId)
-            .stream()
-            .map(TimeLogMapper::toResponse)
-            .collect(Collectors.toList());
+    return timeLogRepository.findResponsesByProjectId(projectId);
+  }
+
+  /**
+   * Get time logs with only the requested fields (sparse fieldset)
+   * Only the columns behind those fields are selected, so e.g. the description
+   * TEXT column is not read unless asked for. Null filters are not applied.
+   * 
+   * @param fields Fields to return
+   * @param employeeId Employee ID filter
+   * @param serviceId Service ID filter
+   * @param projectId Project ID filter
+   * @param workType Work type filter
+   * @param startDate Start date (inclusive)
+   * @param endDate End date (inclusive)
+   * @return One map per time log, keyed by JSON field name
+   */
+  @Transactional(readOnly = true)
+  public List<Map<String, Object>> getTimeLogFields(List<TimeLogField> fields, String employeeId, String serviceId,
+                                                    String projectId, String workType,
+                                                    LocalDate startDate, LocalDate endDate) {
+    logger.info("Fetching time log fields {} (employee: {}, service: {}, project: {})",
+            fields, employeeId, serviceId, projectId);
+    if (workType != null && workTypeDictionary.find(workType) == null) {
+      return new ArrayList<>();
+    }
+    return timeLogRepository.findFields(fields, employeeId, serviceId, projectId, workType, startDate, endDate);
   }
 
   /**
@@ -186,13 +384,13 @@ public class TimeLogService {
    * @param request Update request with new values
    * @return Updated time log response
    * @throws ResourceNotFoundException if not found
+   * @throws PayrollPeriodClosedException if the log is in a closed payroll week
    */
   @Transactional
   public TimeLogResponse updateTimeLog(String id, TimeLogUpdateRequest request) {
-    TimeLog timeLog = timeLogRepository.findById(id)
-            .orElseThrow(() -> new ResourceNotFoundException("Time log not found with id: " + id));
+    TimeLog timeLog = findTimeLog(id);
 
-    TimeLogMapper.applyUpdate(request, timeLog);
+    applyUpdate(request, timeLog);
     TimeLog updated = timeLogRepository.save(timeLog);
     
     return TimeLogMapper.toResponse(updated);
@@ -208,18 +406,18 @@ public class TimeLogService {
    * @return Updated time log response
    * @throws ResourceNotFoundException if not found
    * @throws UnauthorizedAccessException if not authorized
+   * @throws PayrollPeriodClosedException if the log is in a closed payroll week
    */
   @Transactional
   public TimeLogResponse updateTimeLogWithAuthorization(String logId, String employeeId, TimeLogUpdateRequest request) {
-    TimeLog timeLog = timeLogRepository.findById(logId)
-            .orElseThrow(() -> new ResourceNotFoundException("Time log not found with id: " + logId));
+    TimeLog timeLog = findTimeLog(logId);
 
     // Verify ownership
     if (!timeLog.getEmployeeId().equals(employeeId)) {
       throw new UnauthorizedAccessException("You are not authorized to update this time log");
     }
 
-    TimeLogMapper.applyUpdate(request, timeLog);
+    applyUpdate(request, timeLog);
     TimeLog updated = timeLogRepository.save(timeLog);
     
     logger.info("Time log {} updated by employee {}", logId, employeeId);
@@ -231,13 +429,14 @@ public class TimeLogService {
    * 
    * @param id Time log ID
    * @throws ResourceNotFoundException if not found
+   * @throws PayrollPeriodClosedException if the log is in a closed payroll week
    */
   @Transactional
   public void deleteTimeLog(String id) {
-    if (!timeLogRepository.existsById(id)) {
-      throw new ResourceNotFoundException("Time log not found with id: " + id);
-    }
-    timeLogRepository.deleteById(id);
+    TimeLog timeLog = findTimeLog(id);
+    payrollPeriodService.requireOpen(timeLog.getDate());
+    timeLogRepository.deleteById(timeLog.getId());
+    dailyHoursLedger.release(timeLog.getEmployeeId(), timeLog.getDate(), timeLog.getMinutes());
   }
 
   /**
@@ -248,69 +447,130 @@ public class TimeLogService {
    * @param employeeId Employee ID making the request
    * @throws ResourceNotFoundException if not found
    * @throws UnauthorizedAccessException if not authorized
+   * @throws PayrollPeriodClosedException if the log is in a closed payroll week
    */
   @Transactional
   public void deleteTimeLogWithAuthorization(String logId, String employeeId) {
-    TimeLog timeLog = timeLogRepository.findById(logId)
-            .orElseThrow(() -> new ResourceNotFoundException("Time log not found with id: " + logId));
+    TimeLog timeLog = findTimeLog(logId);
 
     // Verify ownership
     if (!timeLog.getEmployeeId().equals(employeeId)) {
       throw new UnauthorizedAccessException("You are not authorized to delete this time log");
     }
+    payrollPeriodService.requireOpen(timeLog.getDate());
 
-    timeLogRepository.deleteById(logId);
+    timeLogRepository.deleteById(timeLog.getId());
+    dailyHoursLedger.release(timeLog.getEmployeeId(), timeLog.getDate(), timeLog.getMinutes());
     logger.info("Time log {} deleted by employee {}", logId, employeeId);
   }
 
+  /**
+   * Load a time log by its string ID
+   * 
+   * @throws ResourceNotFoundException if the ID is not a UUID or no such log exists
+   */
+  private TimeLog findTimeLog(String id) {
+    UUID uuid = TimeLogMapper.parseId(id);
+    if (uuid == null) {
+      throw new ResourceNotFoundException("Time log not found with id: " + id);
+    }
+    return timeLogRepository.findById(uuid)
+            .orElseThrow(() -> new ResourceNotFoundException("Time log not found with id: " + id));
+  }
+
+  /**
+   * Load a time log response by its string ID
+   * Served from the second-level cache when enabled; the entity is loaded read-only (no snapshot)
+   * 
+   * @throws ResourceNotFoundException if the ID is not a UUID or no such log exists
+   */
+  private TimeLogResponse findTimeLogResponse(String id) {
+    return TimeLogMapper.toResponse(findTimeLog(id));
+  }
+
+  /**
+   * Apply a partial update, keeping the daily hours ledger in step with any change of date or hours
+   *
+   * @throws IllegalArgumentException if the new work type is unknown
+   * @throws PayrollPeriodClosedException if the log is, or would move, into a closed payroll week
+   */
+  private void applyUpdate(TimeLogUpdateRequest request, TimeLog timeLog) {
+    LocalDate oldDate = timeLog.getDate();
+    int oldMinutes = timeLog.getMinutes();
+
+    workTypeDictionary.requireKnown(request.getWorkType());
+    payrollPeriodService.requireOpen(oldDate);
+    TimeLogMapper.applyUpdate(request, timeLog);
+    if (!PayrollPeriodService.weekStart(oldDate).equals(PayrollPeriodService.weekStart(timeLog.getDate()))) {
+      payrollPeriodService.requireOpen(timeLog.getDate());
+    }
+    dailyHoursLedger.adjust(timeLog.getEmployeeId(), oldDate, oldMinutes, timeLog.getDate(), timeLog.getMinutes());
+  }
+
   /**
    * Get total hours logged by an employee
    * 
    * @param employeeId Employee ID
    * @return Total hours (0.0 if no logs)
    */
+  @Transactional(readOnly = true)
   public Double getTotalHoursByEmployee(String employeeId) {
-    Double total = timeLogRepository.getTotalHoursByEmployeeId(employeeId);
-    return total != null ? total : 0.0;
+    Long minutes = timeLogRepository.getTotalMinutesByEmployeeId(employeeId);
+    return minutes != null ? TimeLogHours.toHours(minutes) : 0.0;
   }
 
   /**
    * Get employee summary for a specific date range
+   * Assembled from cached per-day segments when the summary cache is usable (only uncached days are queried)
    * 
    * @param employeeId Employee ID
    * @param startDate Start date
    * @param endDate End date
    * @return Summary response with aggregated data
    */
+  @Transactional(readOnly = true)
   public TimeLogSummaryResponse getEmployeeSummary(String employeeId, LocalDate startDate, LocalDate endDate) {
     logger.info("Generating summary for employee {} from {} to {}", employeeId, startDate, endDate);
+
+    if (dailySummaryCache.isUsable() && !startDate.isAfter(endDate)) {
+      DailySummaryCache.RangeTotals totals = dailySummaryCache.totals(employeeId, startDate, endDate);
+      TimeLogSummaryResponse summary = new TimeLogSummaryResponse();
+      summary.setEmployeeId(employeeId);
+      summary.setPeriod(startDate + " to " + endDate);
+      summary.setCount((int) totals.count());
+      summary.setTotalMinutes(totals.minutes());
+      summary.setTotalHours(TimeLogHours.toHours(totals.minutes()));
+      summary.setByService(TimeLogHours.toHours(totals.minutesByService()));
+      summary.setByProject(TimeLogHours.toHours(totals.minutesByProject()));
+      return summary;
+    }
     
-    List<TimeLog> logs = timeLogRepository.findByEmployeeIdAndDateBetween(employeeId, startDate, endDate);
+    // Projection: only service, project, minutes and date are read (never the description)
+    List<TimeLogHoursView> logs = timeLogRepository.findHoursByEmployeeIdAndDateBetween(employeeId, startDate, endDate);
 
     TimeLogSummaryResponse summary = new TimeLogSummaryResponse();
     summary.setEmployeeId(employeeId);
     summary.setPeriod(startDate + " to " + endDate);
     summary.setCount(logs.size());
 
-    // Calculate total hours
-    double totalHours = logs.stream()
-            .mapToDouble(TimeLog::getHours)
-            .sum();
-    summary.setTotalHours(totalHours);
-
-    // Group by service
-    Map<String, Double> byService = new HashMap<>();
-    logs.stream()
-            .filter(log -> log.getServiceId() != null)
-            .forEach(log -> byService.merge(log.getServiceId(), log.getHours(), Double::sum));
-    summary.setByService(byService);
-
-    // Group by project
-    Map<String, Double> byProject = new HashMap<>();
-    logs.stream()
-            .filter(log -> log.getProjectId() != null)
-            .forEach(log -> byProject.merge(log.getProjectId(), log.getHours(), Double::sum));
-    summary.setByProject(byProject);
+    // Totals are summed as exact integer minutes and converted to hours once
+    long totalMinutes = 0;
+    Map<String, Long> minutesByService = new HashMap<>();
+    Map<String, Long> minutesByProject = new HashMap<>();
+    for (TimeLogHoursView log : logs) {
+      long minutes = log.getMinutes();
+      totalMinutes += minutes;
+      if (log.getServiceId() != null) {
+        minutesByService.merge(log.getServiceId(), minutes, Long::sum);
+      }
+      if (log.getProjectId() != null) {
+        minutesByProject.merge(log.getProjectId(), minutes, Long::sum);
+      }
+    }
+    summary.setTotalMinutes(totalMinutes);
+    summary.setTotalHours(TimeLogHours.toHours(totalMinutes));
+    summary.setByService(TimeLogHours.toHours(minutesByService));
+    summary.setByProject(TimeLogHours.toHours(minutesByProject));
 
     return summary;
   }
@@ -325,26 +585,213 @@ public class TimeLogService {
    * @throws IllegalArgumentException if period is invalid
    */
   public TimeLogSummaryResponse getEmployeeSummaryByPeriod(String employeeId, String period, LocalDate date) {
-    LocalDate startDate;
-    LocalDate endDate;
+    LocalDate[] range = periodRange(period, date);
+    Optional<PayrollPeriodService.ClosedSummaries> closed =
+            payrollPeriodService.findClosedSummaries(List.of(employeeId), range[0], range[1]);
+    if (closed.isPresent()) {
+      return closed.get().summaries().get(0);
+    }
+    logger.info("Generating {} summary for employee {} (reference date: {})", period, employeeId, date);
+    return getEmployeeSummary(employeeId, range[0], range[1]);
+  }
+
+  /**
+   * Summaries of a daily or weekly period that lies in a closed payroll week, read from its snapshot
+   * (they cannot change until the week is re-opened)
+   * 
+   * @param employeeIds Employee IDs; duplicates are summarized once
+   * @param period Period type: "daily" or "weekly"
+   * @param date Reference date
+   * @return The summaries with their ETag, or empty if the period's week is open
+   * @throws IllegalArgumentException if period is invalid
+   */
+  public Optional<PayrollPeriodService.ClosedSummaries> getClosedSummaries(List<String> employeeIds, String period,
+                                                                          LocalDate date) {
+    LocalDate[] range = periodRange(period, date);
+    return payrollPeriodService.findClosedSummaries(
+            employeeIds.stream().filter(Objects::nonNull).distinct().toList(), range[0], range[1]);
+  }
+
+  /**
+   * Summaries of many employees (a team) for one period, from one aggregate query per chunk of
+   * SUMMARY_BATCH_SIZE employees instead of one query per employee
+   * 
+   * @param employeeIds Employee IDs; duplicates are summarized once
+   * @param period Period type: "daily" or "weekly"
+   * @param date Reference date
+   * @return One summary per employee, in request order (employees without logs get an empty summary)
+   * @throws IllegalArgumentException if period is invalid
+   */
+  @Transactional(readOnly = true)
+  public List<TimeLogSummaryResponse> getEmployeeSummaries(List<String> employeeIds, String period, LocalDate date) {
+    LocalDate[] range = periodRange(period, date);
+    List<String> distinctIds = employeeIds.stream().filter(Objects::nonNull).distinct().toList();
+    Optional<PayrollPeriodService.ClosedSummaries> closed =
+            payrollPeriodService.findClosedSummaries(distinctIds, range[0], range[1]);
+    if (closed.isPresent()) {
+      return closed.get().summaries();
+    }
+    logger.info("Generating {} summaries for {} employees (reference date: {})", period, distinctIds.size(), date);
+
+    List<GroupedMinutes> groups = new ArrayList<>();
+    List<Dimension> groupBy = List.of(Dimension.EMPLOYEE, Dimension.SERVICE, Dimension.PROJECT);
+    for (int from = 0; from < distinctIds.size(); from += SUMMARY_BATCH_SIZE) {
+      List<String> chunk = distinctIds.subList(from, Math.min(from + SUMMARY_BATCH_SIZE, distinctIds.size()));
+      AnalyticsResult result = timeLogRepository.aggregate(new TimeLogSelection(Set.copyOf(chunk), null, null, null,
+              List.of(new TimeLogSelection.DateRange(range[0], range[1]))), groupBy);
+      groups.addAll(result.groups());
+    }
+    return summarize(distinctIds, range[0], range[1], groups);
+  }
 
+  /**
+   * One summary per employee from (employee, service, project) groups
+   * 
+   * @param employeeIds Employee IDs, without duplicates
+   * @return One summary per employee, in employeeIds order (employees without groups get an empty summary)
+   */
+  static List<TimeLogSummaryResponse> summarize(List<String> employeeIds, LocalDate startDate, LocalDate endDate,
+                                                List<GroupedMinutes> groups) {
+    Map<String, Long> totalMinutes = new HashMap<>();
+    Map<String, Long> counts = new HashMap<>();
+    Map<String, Map<String, Long>> minutesByService = new HashMap<>();
+    Map<String, Map<String, Long>> minutesByProject = new HashMap<>();
+    for (GroupedMinutes group : groups) {
+      String employeeId = group.key().get(0);
+      String serviceId = group.key().get(1);
+      String projectId = group.key().get(2);
+      totalMinutes.merge(employeeId, group.minutes(), Long::sum);
+      counts.merge(employeeId, group.count(), Long::sum);
+      if (serviceId != null) {
+        minutesByService.computeIfAbsent(employeeId, id -> new HashMap<>()).merge(serviceId, group.minutes(), Long::sum);
+      }
+      if (projectId != null) {
+        minutesByProject.computeIfAbsent(employeeId, id -> new HashMap<>()).merge(projectId, group.minutes(), Long::sum);
+      }
+    }
+
+    List<TimeLogSummaryResponse> summaries = new ArrayList<>(employeeIds.size());
+    for (String employeeId : employeeIds) {
+      long minutes = totalMinutes.getOrDefault(employeeId, 0L);
+      TimeLogSummaryResponse summary = new TimeLogSummaryResponse();
+      summary.setEmployeeId(employeeId);
+      summary.setPeriod(startDate + " to " + endDate);
+      summary.setCount(counts.getOrDefault(employeeId, 0L).intValue());
+      summary.setTotalMinutes(minutes);
+      summary.setTotalHours(TimeLogHours.toHours(minutes));
+      summary.setByService(TimeLogHours.toHours(minutesByService.getOrDefault(employeeId, Map.of())));
+      summary.setByProject(TimeLogHours.toHours(minutesByProject.getOrDefault(employeeId, Map.of())));
+      summaries.add(summary);
+    }
+    return summaries;
+  }
+
+  /**
+   * First and last day of a "daily" or "weekly" (Monday to Sunday) period
+   */
+  private static LocalDate[] periodRange(String period, LocalDate date) {
     switch (period.toLowerCase()) {
       case "daily":
         // Summary for the specified day only
-        startDate = date;
-        endDate = date;
-        break;
+        return new LocalDate[]{date, date};
       case "weekly":
         // Summary for the week containing the specified date (Monday to Sunday)
-        startDate = date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
-        endDate = date.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
-        break;
+        return new LocalDate[]{date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)),
+                date.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY))};
       default:
         throw new IllegalArgumentException("Invalid period. Must be 'daily' or 'weekly'");
     }
+  }
 
-    logger.info("Generating {} summary for employee {} (reference date: {})", period, employeeId, date);
-    return getEmployeeSummary(employeeId, startDate, endDate);
+  /**
+   * Hours per day, week or month over [from, to] in one GROUP BY (per day and, optionally, per dimension),
+   * bucketed here into dense arrays with zero-filled gaps
+   *
+   * Weeks start on Monday as in the weekly summary, or every 7 days from 'from' as in the week summary of
+   * TimeLoggingService; months are calendar months. The first and last buckets only count days within [from, to].
+   *
+   * @param bucket "day", "week" or "month"
+   * @param groupBy "service", "project", "workType", or null for totals only
+   * @param weekStart "monday" or "from"
+   * @throws IllegalArgumentException for an inverted range, an unknown bucket, groupBy or weekStart,
+   *                                  or more than MAX_HISTOGRAM_BUCKETS buckets
+   */
+  @Transactional(readOnly = true)
+  public TimeLogHistogramResponse getEmployeeHistogram(String employeeId, LocalDate from, LocalDate to, String bucket,
+                                                       String groupBy, String weekStart) {
+    if (from.isAfter(to)) {
+      throw new IllegalArgumentException("from must not be after to");
+    }
+    TimeWindow window = TimeWindow.byParameterName(bucket);
+    Dimension dimension = groupBy != null ? Dimension.byParameterName(groupBy) : null;
+    if (dimension == Dimension.EMPLOYEE || dimension == Dimension.DATE) {
+      throw new IllegalArgumentException("groupBy must be service, project or workType");
+    }
+    if (!WEEK_START_MONDAY.equalsIgnoreCase(weekStart) && !WEEK_START_FROM.equalsIgnoreCase(weekStart)) {
+      throw new IllegalArgumentException("Invalid weekStart. Must be 'monday' or 'from'");
+    }
+
+    List<LocalDate> starts = new ArrayList<>();
+    LocalDate start = window == TimeWindow.WEEK && WEEK_START_FROM.equalsIgnoreCase(weekStart) ? from : window.start(from);
+    while (!start.isAfter(to)) {
+      if (starts.size() == MAX_HISTOGRAM_BUCKETS) {
+        throw new IllegalArgumentException("At most " + MAX_HISTOGRAM_BUCKETS + " buckets per histogram");
+      }
+      starts.add(start);
+      start = window.end(start).plusDays(1);
+    }
+    logger.info("Generating {} histogram for employee {} from {} to {} ({} buckets)", window.getParameterName(),
+            employeeId, from, to, starts.size());
+
+    List<Dimension> grouping = dimension != null ? List.of(Dimension.DATE, dimension) : List.of(Dimension.DATE);
+    AnalyticsResult result = timeLogRepository.aggregate(new TimeLogSelection(Set.of(employeeId), null, null, null,
+            List.of(new TimeLogSelection.DateRange(from, to))), grouping);
+
+    long[] minutes = new long[starts.size()];
+    int[] counts = new int[starts.size()];
+    Map<String, long[]> minutesByKey = new HashMap<>();
+    for (GroupedMinutes group : result.groups()) {
+      int index = Collections.binarySearch(starts, LocalDate.parse(group.key().get(0)));
+      // Days between two bucket starts land in the bucket of the earlier one
+      index = index >= 0 ? index : -index - 2;
+      minutes[index] += group.minutes();
+      counts[index] += (int) group.count();
+      if (dimension != null && group.key().get(1) != null) {
+        minutesByKey.computeIfAbsent(group.key().get(1), key -> new long[starts.size()])[index] += group.minutes();
+      }
+    }
+
+    TimeLogHistogramResponse histogram = new TimeLogHistogramResponse();
+    histogram.setEmployeeId(employeeId);
+    histogram.setBucket(window.getParameterName());
+    histogram.setGroupBy(dimension != null ? dimension.getParameterName() : null);
+    histogram.setFrom(from);
+    histogram.setTo(to);
+    histogram.setBuckets(starts);
+    histogram.setHours(toHours(minutes));
+    List<Integer> countList = new ArrayList<>(counts.length);
+    for (int count : counts) {
+      countList.add(count);
+    }
+    histogram.setCounts(countList);
+    if (dimension != null) {
+      Map<String, List<Double>> series = new LinkedHashMap<>();
+      minutesByKey.entrySet().stream()
+              .sorted(Map.Entry.comparingByKey())
+              .forEach(entry -> series.put(entry.getKey(), toHours(entry.getValue())));
+      histogram.setSeries(series);
+    }
+    histogram.setTotalMinutes(result.minutes());
+    histogram.setTotalHours(TimeLogHours.toHours(result.minutes()));
+    return histogram;
+  }
+
+  private static List<Double> toHours(long[] minutes) {
+    List<Double> hours = new ArrayList<>(minutes.length);
+    for (long m : minutes) {
+      hours.add(TimeLogHours.toHours(m));
+    }
+    return hours;
   }
 
   /**
@@ -354,53 +801,56 @@ public class TimeLogService {
    * @param employeeId Employee ID
    * @return Map containing various statistics
    */
+  @Transactional(readOnly = true)
   public Map<String, Object> getEmployeeStatistics(String employeeId) {
     logger.info("Generating statistics for employee: {}", employeeId);
     
-    List<TimeLog> allLogs = timeLogRepository.findByEmployeeId(employeeId);
+    List<TimeLogHoursView> allLogs = timeLogRepository.findHoursByEmployeeId(employeeId);
     
     Map<String, Object> stats = new HashMap<>();
     stats.put("employeeId", employeeId);
     stats.put("totalLogs", allLogs.size());
     
-    // Total hours
-    double totalHours = allLogs.stream()
-            .mapToDouble(TimeLog::getHours)
+    // Total hours (summed as exact integer minutes)
+    long totalMinutes = allLogs.stream()
+            .mapToLong(TimeLogHoursView::getMinutes)
             .sum();
+    double totalHours = TimeLogHours.toHours(totalMinutes);
     stats.put("totalHours", totalHours);
     
     // Average hours per log
     double avgHours = allLogs.isEmpty() ? 0.0 : totalHours / allLogs.size();
     stats.put("averageHoursPerLog", Math.round(avgHours * 100.0) / 100.0);
     
-    // Count by work type
-    Map<String, Long> byWorkType = allLogs.stream()
-            .filter(log -> log.getWorkType() != null)
-            .collect(Collectors.groupingBy(TimeLog::getWorkType, Collectors.counting()));
+    // Count by work type (grouped on the smallint code in the database)
+    Map<String, Long> byWorkType = new HashMap<>();
+    for (Object[] row : timeLogRepository.countByWorkTypeForEmployee(employeeId)) {
+      byWorkType.put((String) row[0], (Long) row[1]);
+    }
     stats.put("logsByWorkType", byWorkType);
     
     // Hours by service
-    Map<String, Double> byService = new HashMap<>();
+    Map<String, Long> byService = new HashMap<>();
     allLogs.stream()
             .filter(log -> log.getServiceId() != null)
-            .forEach(log -> byService.merge(log.getServiceId(), log.getHours(), Double::sum));
-    stats.put("hoursByService", byService);
+            .forEach(log -> byService.merge(log.getServiceId(), (long) log.getMinutes(), Long::sum));
+    stats.put("hoursByService", TimeLogHours.toHours(byService));
     
     // Hours by project
-    Map<String, Double> byProject = new HashMap<>();
+    Map<String, Long> byProject = new HashMap<>();
     allLogs.stream()
             .filter(log -> log.getProjectId() != null)
-            .forEach(log -> byProject.merge(log.getProjectId(), log.getHours(), Double::sum));
-    stats.put("hoursByProject", byProject);
+            .forEach(log -> byProject.merge(log.getProjectId(), (long) log.getMinutes(), Long::sum));
+    stats.put("hoursByProject", TimeLogHours.toHours(byProject));
     
     // Date range
     if (!allLogs.isEmpty()) {
       LocalDate firstDate = allLogs.stream()
-              .map(TimeLog::getDate)
+              .map(TimeLogHoursView::getDate)
               .min(LocalDate::compareTo)
               .orElse(null);
       LocalDate lastDate = allLogs.stream()
-              .map(TimeLog::getDate)
+              .map(TimeLogHoursView::getDate)
               .max(LocalDate::compareTo)
               .orElse(null);
       stats.put("firstLogDate", firstDate);
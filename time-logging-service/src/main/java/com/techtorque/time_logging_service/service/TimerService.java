@@ -0,0 +1,479 @@
+package com.techtorque.time_logging_service.service;
+
+import com.techtorque.time_logging_service.dto.request.TimeLogRequest;
+import com.techtorque.time_logging_service.dto.request.TimerStartRequest;
+import com.techtorque.time_logging_service.dto.response.ActiveTimerResponse;
+import com.techtorque.time_logging_service.dto.response.TimeLogResponse;
+import com.techtorque.time_logging_service.entity.ActiveTimer;
+import com.techtorque.time_logging_service.exception.ResourceNotFoundException;
+import com.techtorque.time_logging_service.journal.DatabaseAvailability;
+import com.techtorque.time_logging_service.repository.ActiveTimerRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service layer for live clock-in / clock-out timers
+ *
+ * Running timers are held in memory so heartbeats cost no database write:
+ * - start/heartbeat only touch the in-memory session
+ * - stop persists the elapsed time as one TimeLog per day (through TimeLogService, so the daily cap applies);
+ *   minutes over the cap or in a closed payroll week are discarded with a warning
+ * - a scheduled checkpoint batches new sessions and heartbeats into active_timers,
+ *   so a crash loses at most one checkpoint interval
+ * - sessions without a heartbeat for too long are stopped at their last heartbeat
+ *
+ * Each active_timers row is owned by the instance holding the session (app.time-logs.timer.instance-id, which must
+ * stay the same across restarts of an instance). Only the owner restores and stops it; rows left stale by an instance
+ * that is gone are claimed by another one, and the owned delete in stop() keeps a timer from being booked twice.
+ */
+@Service
+public class TimerService {
+
+  private static final Logger logger = LoggerFactory.getLogger(TimerService.class);
+  private static final int CHECKPOINT_CHUNK_SIZE = 1000;
+
+  private final ConcurrentHashMap<String, TimerSession> sessions = new ConcurrentHashMap<>();
+  private final TimeLogService timeLogService;
+  private final WorkTypeDictionary workTypeDictionary;
+  private final DailyHoursLedger dailyHoursLedger;
+  private final PayrollPeriodService payrollPeriodService;
+  private final ActiveTimerRepository activeTimerRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final Duration staleAfter;
+  private final String instanceId;
+  private final Clock clock;
+
+  @Autowired
+  public TimerService(TimeLogService timeLogService,
+                      WorkTypeDictionary workTypeDictionary,
+                      DailyHoursLedger dailyHoursLedger,
+                      PayrollPeriodService payrollPeriodService,
+                      ActiveTimerRepository activeTimerRepository,
+                      PlatformTransactionManager transactionManager,
+                      @Value("${app.time-logs.timer.stale-after:PT2H}") Duration staleAfter,
+                      @Value("${app.time-logs.timer.instance-id:${HOSTNAME:local}}") String instanceId) {
+    this(timeLogService, workTypeDictionary, dailyHoursLedger, payrollPeriodService, activeTimerRepository,
+            transactionManager, staleAfter, instanceId, Clock.systemDefaultZone());
+  }
+
+  TimerService(TimeLogService timeLogService,
+               WorkTypeDictionary workTypeDictionary,
+               DailyHoursLedger dailyHoursLedger,
+               PayrollPeriodService payrollPeriodService,
+               ActiveTimerRepository activeTimerRepository,
+               PlatformTransactionManager transactionManager,
+               Duration staleAfter,
+               String instanceId,
+               Clock clock) {
+    this.timeLogService = timeLogService;
+    this.workTypeDictionary = workTypeDictionary;
+    this.dailyHoursLedger = dailyHoursLedger;
+    this.payrollPeriodService = payrollPeriodService;
+    this.activeTimerRepository = activeTimerRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.staleAfter = staleAfter;
+    this.instanceId = instanceId;
+    this.clock = clock;
+  }
+
+  /**
+   * Restore the timers this instance held when it last checkpointed
+   */
+  @PostConstruct
+  void recover() {
+    try {
+      activeTimerRepository.claimUnowned(instanceId);
+      List<ActiveTimer> checkpoints = activeTimerRepository.findByOwner(instanceId);
+      for (ActiveTimer checkpoint : checkpoints) {
+        sessions.putIfAbsent(checkpoint.getEmployeeId(), TimerSession.restore(checkpoint));
+      }
+      if (!checkpoints.isEmpty()) {
+        logger.info("Restored {} active timers from checkpoint", checkpoints.size());
+      }
+    } catch (RuntimeException e) {
+      logger.warn("Could not restore active timers from checkpoint: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Start a timer for an employee
+   *
+   * @throws IllegalArgumentException if the work type is unknown or the employee already has a running timer
+   */
+  public ActiveTimerResponse startTimer(String employeeId, TimerStartRequest request) {
+    // Checked now rather than when the timer is stopped and its time log is written
+    workTypeDictionary.requireKnown(request.getWorkType());
+    Instant now = clock.instant();
+    TimerSession session = new TimerSession(employeeId, request.getServiceId(), request.getProjectId(),
+            request.getWorkType(), request.getDescription(), now);
+    if (sessions.putIfAbsent(employeeId, session) != null) {
+      throw new IllegalArgumentException("A timer is already running for this employee. Stop it before starting a new one.");
+    }
+    logger.info("Timer started for employee {} on service {}", employeeId, request.getServiceId());
+    return toResponse(session, now);
+  }
+
+  /**
+   * Record a heartbeat for the employee's running timer (memory only)
+   * Heartbeats are kept to the second, so the checkpoint can update the sessions of each second together.
+   */
+  public ActiveTimerResponse heartbeat(String employeeId) {
+    TimerSession session = requireSession(employeeId);
+    Instant now = clock.instant();
+    session.heartbeat(now.truncatedTo(ChronoUnit.SECONDS));
+    return toResponse(session, now);
+  }
+
+  /**
+   * Get the employee's running timer
+   */
+  public ActiveTimerResponse getActiveTimer(String employeeId) {
+    return toResponse(requireSession(employeeId), clock.instant());
+  }
+
+  /**
+   * Stop the employee's running timer and persist the elapsed time as one TimeLog per day it spans.
+   * If that fails the timer keeps running, so the employee can retry or discard it with cancelTimer.
+   *
+   * @return The created time logs, oldest day first; minutes over the daily cap or in a closed week are not booked
+   */
+  public List<TimeLogResponse> stopTimer(String employeeId) {
+    TimerSession session = sessions.remove(employeeId);
+    if (session == null) {
+      throw new ResourceNotFoundException("No active timer for employee: " + employeeId);
+    }
+    try {
+      return stop(session, clock.instant());
+    } catch (RuntimeException e) {
+      resume(session);
+      throw e;
+    }
+  }
+
+  /**
+   * Discard the employee's running timer without logging any time
+   */
+  public void cancelTimer(String employeeId) {
+    TimerSession session = sessions.remove(employeeId);
+    if (session == null) {
+      throw new ResourceNotFoundException("No active timer for employee: " + employeeId);
+    }
+    session.stopped = true;
+    try {
+      activeTimerRepository.deleteOwned(employeeId, instanceId);
+    } catch (RuntimeException e) {
+      resume(session);
+      throw e;
+    }
+    logger.info("Timer discarded for employee {} after {} minutes", employeeId,
+            Duration.between(session.startedAt, clock.instant()).toMinutes());
+  }
+
+  /**
+   * Batch the in-memory state into active_timers:
+   * new sessions are inserted, sessions with fresh heartbeats get one bulk update per heartbeat second
+   * (each row keeps its own heartbeat), and stale sessions are stopped at their last heartbeat.
+   * A stale session whose time cannot be booked is dropped, unless the database is unreachable.
+   */
+  @Scheduled(fixedDelayString = "${app.time-logs.timer.checkpoint-interval-ms:60000}")
+  public void checkpoint() {
+    Instant now = clock.instant();
+    claimAbandoned(now);
+    List<ActiveTimer> inserts = new ArrayList<>();
+    List<TimerSession> inserted = new ArrayList<>();
+    Map<Instant, List<String>> heartbeats = new TreeMap<>();
+    int heartbeatCount = 0;
+    List<TimerSession> stale = new ArrayList<>();
+
+    for (TimerSession session : sessions.values()) {
+      if (session.lastHeartbeatAt().plus(staleAfter).isBefore(now)) {
+        stale.add(session);
+      } else if (!session.persisted) {
+        inserts.add(session.toCheckpoint(instanceId));
+        inserted.add(session);
+      } else {
+        Instant heartbeatAt = session.takeDirtyHeartbeat();
+        if (heartbeatAt != null) {
+          heartbeats.computeIfAbsent(heartbeatAt, at -> new ArrayList<>()).add(session.employeeId);
+          heartbeatCount++;
+        }
+      }
+    }
+
+    for (int from = 0; from < inserts.size(); from += CHECKPOINT_CHUNK_SIZE) {
+      activeTimerRepository.saveAll(inserts.subList(from, Math.min(inserts.size(), from + CHECKPOINT_CHUNK_SIZE)));
+    }
+    for (Map.Entry<Instant, List<String>> group : heartbeats.entrySet()) {
+      List<String> ids = group.getValue();
+      for (int from = 0; from < ids.size(); from += CHECKPOINT_CHUNK_SIZE) {
+        activeTimerRepository.updateHeartbeats(ids.subList(from, Math.min(ids.size(), from + CHECKPOINT_CHUNK_SIZE)), group.getKey());
+      }
+    }
+
+    // A session stopped while its checkpoint was being written must not be resurrected on restart
+    List<String> orphaned = new ArrayList<>();
+    for (TimerSession session : inserted) {
+      session.persisted = true;
+      if (session.stopped) {
+        orphaned.add(session.employeeId);
+      }
+    }
+    if (!orphaned.isEmpty()) {
+      activeTimerRepository.deleteAllById(orphaned);
+    }
+
+    for (TimerSession session : stale) {
+      if (sessions.remove(session.employeeId, session)) {
+        logger.warn("Timer for employee {} had no heartbeat since {}; stopping it there", session.employeeId, session.lastHeartbeatAt());
+        try {
+          stop(session, session.lastHeartbeatAt());
+        } catch (RuntimeException e) {
+          if (DatabaseAvailability.isConnectivityFailure(e)) {
+            logger.warn("Could not persist stale timer for employee {}, retrying next checkpoint: {}",
+                    session.employeeId, e.getMessage());
+            resume(session);
+          } else {
+            logger.error("Discarding stale timer for employee {}, its time could not be logged: {}",
+                    session.employeeId, e.getMessage());
+            discard(session);
+          }
+        }
+      }
+    }
+
+    if (!inserts.isEmpty() || heartbeatCount > 0) {
+      logger.debug("Timer checkpoint: {} inserted, {} heartbeats in {} updates, {} active", inserts.size(), heartbeatCount,
+              heartbeats.size(), sessions.size());
+    }
+  }
+
+  int activeCount() {
+    return sessions.size();
+  }
+
+  /**
+   * Book the session's time up to endedAt and delete its checkpoint, in one transaction.
+   * Nothing is booked if another instance has claimed the checkpoint meanwhile.
+   */
+  private List<TimeLogResponse> stop(TimerSession session, Instant endedAt) {
+    session.stopped = true;
+    Map<LocalDate, Long> minutesPerDay = minutesPerDay(session.startedAt, endedAt);
+
+    List<TimeLogResponse> created = transactionTemplate.execute(status -> {
+      if (activeTimerRepository.deleteOwned(session.employeeId, instanceId) == 0 && session.persisted) {
+        logger.warn("Timer for employee {} was claimed by another instance; not logging it here", session.employeeId);
+        return List.of();
+      }
+      Set<LocalDate> closedWeeks = payrollPeriodService.closedWeeks(minutesPerDay.keySet());
+      List<TimeLogResponse> responses = new ArrayList<>();
+      for (Map.Entry<LocalDate, Long> day : minutesPerDay.entrySet()) {
+        LocalDate date = day.getKey();
+        long minutes = day.getValue();
+        if (closedWeeks.contains(PayrollPeriodService.weekStart(date))) {
+          logger.warn("Discarding {} timer minutes of employee {} on {}: the payroll week is closed",
+                  minutes, session.employeeId, date);
+          continue;
+        }
+        long booked = Math.min(minutes, dailyHoursLedger.getRemainingMinutes(session.employeeId, date));
+        if (booked < minutes) {
+          logger.warn("Discarding {} of {} timer minutes of employee {} on {}: the daily hours cap is reached",
+                  minutes - booked, minutes, session.employeeId, date);
+        }
+        if (booked > 0) {
+          responses.add(timeLogService.createTimeLog(session.employeeId, toRequest(session, date, booked)));
+        }
+      }
+      return responses;
+    });
+    logger.info("Timer stopped for employee {} after {} minutes ({} time logs)", session.employeeId,
+            minutesPerDay.values().stream().mapToLong(Long::longValue).sum(), created.size());
+    return created;
+  }
+
+  /**
+   * Elapsed whole minutes per calendar day (in the clock's zone), at least one minute on the start day.
+   * Day boundaries are taken on the running total, so the days add up to the whole elapsed time.
+   */
+  private Map<LocalDate, Long> minutesPerDay(Instant startedAt, Instant endedAt) {
+    ZoneId zone = clock.getZone();
+    Map<LocalDate, Long> minutesPerDay = new LinkedHashMap<>();
+    ZonedDateTime dayStart = startedAt.atZone(zone);
+    long bookedBefore = 0;
+    while (dayStart.toInstant().isBefore(endedAt)) {
+      Instant nextDay = dayStart.toLocalDate().plusDays(1).atStartOfDay(zone).toInstant();
+      Instant dayEnd = nextDay.isBefore(endedAt) ? nextDay : endedAt;
+      long bookedUntil = Duration.between(startedAt, dayEnd).toMinutes();
+      if (bookedUntil > bookedBefore) {
+        minutesPerDay.put(dayStart.toLocalDate(), bookedUntil - bookedBefore);
+      }
+      bookedBefore = bookedUntil;
+      dayStart = dayEnd.atZone(zone);
+    }
+    if (minutesPerDay.isEmpty()) {
+      minutesPerDay.put(LocalDate.ofInstant(startedAt, zone), 1L);
+    }
+    return minutesPerDay;
+  }
+
+  private static TimeLogRequest toRequest(TimerSession session, LocalDate date, long minutes) {
+    TimeLogRequest request = new TimeLogRequest();
+    request.setServiceId(session.serviceId);
+    request.setProjectId(session.projectId);
+    request.setWorkType(session.workType);
+    request.setDescription(session.description);
+    request.setDate(date);
+    request.setHours(minutes / 60.0);
+    return request;
+  }
+
+  /**
+   * Put back a session whose stop failed, unless the employee has started a new timer meanwhile
+   */
+  private void resume(TimerSession session) {
+    session.stopped = false;
+    sessions.putIfAbsent(session.employeeId, session);
+  }
+
+  /**
+   * Drop a session whose time cannot be logged, with its checkpoint
+   */
+  private void discard(TimerSession session) {
+    try {
+      activeTimerRepository.deleteOwned(session.employeeId, instanceId);
+    } catch (RuntimeException e) {
+      logger.error("Could not delete the checkpoint of discarded timer for employee {}: {}",
+              session.employeeId, e.getMessage());
+    }
+  }
+
+  /**
+   * Claim checkpoints another instance left without a heartbeat for twice the stale threshold
+   * (its owner would have stopped them by then if it were running), so they are stopped here
+   */
+  private void claimAbandoned(Instant now) {
+    List<ActiveTimer> abandoned = activeTimerRepository.findStaleNotOwnedBy(instanceId, now.minus(staleAfter.multipliedBy(2)));
+    for (ActiveTimer checkpoint : abandoned) {
+      String previousOwner = checkpoint.getOwner() != null ? checkpoint.getOwner() : "";
+      if (sessions.containsKey(checkpoint.getEmployeeId())
+              || activeTimerRepository.claim(checkpoint.getEmployeeId(), previousOwner, instanceId) == 0) {
+        continue;
+      }
+      logger.warn("Claimed abandoned timer of employee {} from instance {}", checkpoint.getEmployeeId(), previousOwner);
+      sessions.putIfAbsent(checkpoint.getEmployeeId(), TimerSession.restore(checkpoint));
+    }
+  }
+
+  private TimerSession requireSession(String employeeId) {
+    TimerSession session = sessions.get(employeeId);
+    if (session == null) {
+      throw new ResourceNotFoundException("No active timer for employee: " + employeeId);
+    }
+    return session;
+  }
+
+  private static ActiveTimerResponse toResponse(TimerSession session, Instant now) {
+    ActiveTimerResponse response = new ActiveTimerResponse();
+    response.setEmployeeId(session.employeeId);
+    response.setServiceId(session.serviceId);
+    response.setProjectId(session.projectId);
+    response.setWorkType(session.workType);
+    response.setDescription(session.description);
+    response.setStartedAt(session.startedAt);
+    response.setLastHeartbeatAt(session.lastHeartbeatAt());
+    response.setElapsedMinutes(Duration.between(session.startedAt, now).toMinutes());
+    return response;
+  }
+
+  /**
+   * In-memory state of one running timer; only the heartbeat changes after start
+   */
+  private static final class TimerSession {
+    private final String employeeId;
+    private final String serviceId;
+    private final String projectId;
+    private final String workType;
+    private final String description;
+    private final Instant startedAt;
+    private volatile Instant lastHeartbeatAt;
+    private volatile boolean dirty;
+    private volatile boolean persisted;
+    private volatile boolean stopped;
+
+    TimerSession(String employeeId, String serviceId, String projectId, String workType,
+                 String description, Instant startedAt) {
+      this.employeeId = employeeId;
+      this.serviceId = serviceId;
+      this.projectId = projectId;
+      this.workType = workType;
+      this.description = description;
+      this.startedAt = startedAt;
+      this.lastHeartbeatAt = startedAt;
+    }
+
+    static TimerSession restore(ActiveTimer checkpoint) {
+      TimerSession session = new TimerSession(checkpoint.getEmployeeId(), checkpoint.getServiceId(),
+              checkpoint.getProjectId(), checkpoint.getWorkType(), checkpoint.getDescription(),
+              checkpoint.getStartedAt());
+      session.lastHeartbeatAt = checkpoint.getLastHeartbeatAt();
+      session.persisted = true;
+      return session;
+    }
+
+    void heartbeat(Instant at) {
+      lastHeartbeatAt = at;
+      dirty = true;
+    }
+
+    Instant lastHeartbeatAt() {
+      return lastHeartbeatAt;
+    }
+
+    /**
+     * The heartbeat to checkpoint, or null if it has not changed since the last checkpoint.
+     * The flag is cleared before the value is read, so a heartbeat landing in between is written next time.
+     */
+    Instant takeDirtyHeartbeat() {
+      if (!dirty) {
+        return null;
+      }
+      dirty = false;
+      return lastHeartbeatAt;
+    }
+
+    ActiveTimer toCheckpoint(String owner) {
+      dirty = false;
+      return ActiveTimer.builder()
+              .employeeId(employeeId)
+              .serviceId(serviceId)
+              .projectId(projectId)
+              .workType(workType)
+              .description(description)
+              .startedAt(startedAt)
+              .lastHeartbeatAt(lastHeartbeatAt)
+              .owner(owner)
+              .build();
+    }
+  }
+}
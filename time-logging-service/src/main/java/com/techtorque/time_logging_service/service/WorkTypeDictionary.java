@@ -0,0 +1,212 @@
+package com.techtorque.time_logging_service.service;
+
+import com.techtorque.time_logging_service.config.SharedConstants;
+import com.techtorque.time_logging_service.entity.WorkType;
+import com.techtorque.time_logging_service.repository.WorkTypeRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory bidirectional cache of the work_types dictionary
+ *
+ * time_logs stores work types as smallint codes. Names are encoded on write and decoded on read
+ * (see WorkTypeConverter) without touching the database once a name is known:
+ * - The SharedConstants work types are seeded with fixed codes 1..n
+ * - Names listed in app.time-logs.additional-work-types are registered at startup, after them
+ * - Any other name is rejected: writes must call requireKnown first, and encoding never registers
+ * - Codes never change, so other instances only need to reload when they meet an unknown code;
+ *   unknown names are answered from memory, so requests cannot make the dictionary hit the database
+ */
+@Component
+public class WorkTypeDictionary {
+
+  private static final Logger logger = LoggerFactory.getLogger(WorkTypeDictionary.class);
+  private static final int MAX_REGISTER_ATTEMPTS = 5;
+
+  static final List<String> SEED = List.of(
+          SharedConstants.WorkTypes.DIAGNOSTIC,
+          SharedConstants.WorkTypes.REPAIR,
+          SharedConstants.WorkTypes.MAINTENANCE,
+          SharedConstants.WorkTypes.INSTALLATION,
+          SharedConstants.WorkTypes.INSPECTION,
+          SharedConstants.WorkTypes.TESTING,
+          SharedConstants.WorkTypes.CONSULTATION,
+          SharedConstants.WorkTypes.DOCUMENTATION);
+
+  private final WorkTypeRepository workTypeRepository;
+  private final List<String> additionalWorkTypes;
+  private final TransactionTemplate requiresNew;
+  private final ConcurrentHashMap<String, Short> codesByName = new ConcurrentHashMap<>();
+  // Index = code; replaced wholesale on reload so readers never lock
+  private volatile String[] namesByCode = new String[0];
+  // Set once the seed and configured work types are in the database
+  private volatile boolean loaded;
+
+  public WorkTypeDictionary(WorkTypeRepository workTypeRepository, PlatformTransactionManager transactionManager,
+                            @Value("${app.time-logs.additional-work-types:}") List<String> additionalWorkTypes) {
+    this.workTypeRepository = workTypeRepository;
+    this.additionalWorkTypes = additionalWorkTypes.stream().map(String::trim).filter(name -> !name.isEmpty())
+            .distinct().toList();
+    this.requiresNew = new TransactionTemplate(transactionManager);
+    this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+  }
+
+  /**
+   * Seed the fixed and configured work types and load the dictionary (retried lazily if the database is down)
+   */
+  @PostConstruct
+  void load() {
+    try {
+      seed();
+      logger.info("Loaded {} work types", codesByName.size());
+    } catch (RuntimeException e) {
+      logger.warn("Could not load work types, will retry on first use: {}", e.getMessage());
+    }
+  }
+
+  private synchronized void seed() {
+    if (loaded) {
+      return;
+    }
+    requiresNew.executeWithoutResult(status -> {
+      for (int i = 0; i < SEED.size(); i++) {
+        short code = (short) (i + 1);
+        if (!workTypeRepository.existsById(code)) {
+          workTypeRepository.save(WorkType.builder().code(code).name(SEED.get(i)).build());
+        }
+      }
+    });
+    reload();
+    for (String name : additionalWorkTypes) {
+      if (!codesByName.containsKey(name)) {
+        register(name);
+      }
+    }
+    loaded = true;
+  }
+
+  /**
+   * Code for a known work type name (read-only: unknown names are never registered here)
+   *
+   * @throws IllegalArgumentException if the name is not in the dictionary
+   */
+  public Short encode(String name) {
+    if (name == null) {
+      return null;
+    }
+    requireKnown(name);
+    return codesByName.get(name);
+  }
+
+  /**
+   * Check a work type from a request before it is written
+   *
+   * @throws IllegalArgumentException if the name is neither a SharedConstants work type nor a configured one
+   */
+  public void requireKnown(String name) {
+    if (name != null && find(name) == null) {
+      throw new IllegalArgumentException("Unknown work type '" + name + "'; expected one of " + names());
+    }
+  }
+
+  /**
+   * Code for a work type name if it is known, without registering it
+   * Every name this instance accepts is loaded at startup, so a miss is answered without a reload.
+   */
+  public Short find(String name) {
+    if (name == null) {
+      return null;
+    }
+    if (!loaded) {
+      seed();
+    }
+    return codesByName.get(name);
+  }
+
+  /**
+   * Known work type names, in code order
+   */
+  public List<String> names() {
+    return Arrays.stream(namesByCode).filter(Objects::nonNull).toList();
+  }
+
+  /**
+   * Name for a code
+   *
+   * @throws IllegalStateException if the code is not in the dictionary
+   */
+  public String decode(Short code) {
+    if (code == null) {
+      return null;
+    }
+    String name = lookup(code);
+    if (name == null) {
+      // Registered by another instance since we last loaded
+      reload();
+      name = lookup(code);
+      if (name == null) {
+        throw new IllegalStateException("Unknown work type code: " + code);
+      }
+    }
+    return name;
+  }
+
+  public int size() {
+    return codesByName.size();
+  }
+
+  private String lookup(short code) {
+    String[] names = namesByCode;
+    return code >= 0 && code < names.length ? names[code] : null;
+  }
+
+  private synchronized Short register(String name) {
+    for (int attempt = 0; attempt < MAX_REGISTER_ATTEMPTS; attempt++) {
+      reload();
+      Short existing = codesByName.get(name);
+      if (existing != null) {
+        return existing;
+      }
+      try {
+        Short code = requiresNew.execute(status -> {
+          int next = workTypeRepository.findTopByOrderByCodeDesc().map(WorkType::getCode).orElse((short) 0) + 1;
+          if (next > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many distinct work types");
+          }
+          return workTypeRepository.saveAndFlush(WorkType.builder().code((short) next).name(name).build()).getCode();
+        });
+        logger.info("Registered work type '{}' with code {}", name, code);
+        reload();
+        return code;
+      } catch (DataIntegrityViolationException e) {
+        // Another instance took the code or the name first; reload and retry
+        logger.debug("Work type registration raced for '{}': {}", name, e.getMessage());
+      }
+    }
+    throw new IllegalStateException("Could not register work type: " + name);
+  }
+
+  private synchronized void reload() {
+    // Own transaction: may run while Hibernate is reading or flushing time logs on the caller's session
+    List<WorkType> all = requiresNew.execute(status -> workTypeRepository.findAll());
+    int maxCode = all.stream().mapToInt(WorkType::getCode).max().orElse(0);
+    String[] names = Arrays.copyOf(namesByCode, Math.max(maxCode + 1, namesByCode.length));
+    for (WorkType workType : all) {
+      names[workType.getCode()] = workType.getName();
+      codesByName.put(workType.getName(), workType.getCode());
+    }
+    namesByCode = names;
+  }
+}
@@ -2,8 +2,10 @@ package com.techtorque.time_logging_service.service.impl;
 
 import com.techtorque.time_logging_service.dto.request.TimeLogRequest;
 import com.techtorque.time_logging_service.dto.request.TimeLogUpdateRequest;
+import com.techtorque.time_logging_service.dto.mapper.TimeLogMapper;
 import com.techtorque.time_logging_service.dto.response.TimeLogSummaryResponse;
 import com.techtorque.time_logging_service.entity.TimeLog;
+import com.techtorque.time_logging_service.entity.TimeLogHours;
 import com.techtorque.time_logging_service.repository.TimeLogRepository;
 import com.techtorque.time_logging_service.service.TimeLoggingService;
 import org.springframework.stereotype.Service;
@@ -14,6 +16,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 import org.springframework.security.access.AccessDeniedException;
 
 
@@ -34,7 +37,7 @@ public class TimeLoggingServiceImpl implements TimeLoggingService {
     timeLog.setEmployeeId(employeeId);
     timeLog.setServiceId(request.getServiceId());
     timeLog.setProjectId(request.getProjectId());
-    timeLog.setHours(request.getHours());
+    timeLog.setMinutes(TimeLogHours.toMinutes(request.getHours()));
     timeLog.setDate(request.getDate());
     timeLog.setDescription(request.getDescription());
     timeLog.setWorkType(request.getWorkType());
@@ -52,7 +55,8 @@ public class TimeLoggingServiceImpl implements TimeLoggingService {
   @Override
   public Optional<TimeLog> getLogDetails(String logId, String employeeId) {
     // Find the time log by ID and verify it belongs to the employee
-    Optional<TimeLog> timeLog = timeLogRepository.findByIdAndEmployeeId(logId, employeeId);
+    UUID id = TimeLogMapper.parseId(logId);
+    Optional<TimeLog> timeLog = id == null ? Optional.empty() : timeLogRepository.findByIdAndEmployeeId(id, employeeId);
 
     // If not found or doesn't belong to employee, throw access denied
     if (timeLog.isEmpty()) {
@@ -76,7 +80,7 @@ public class TimeLoggingServiceImpl implements TimeLoggingService {
       timeLog.setProjectId(request.getProjectId());
     }
     if (request.getHours() != null) {
-      timeLog.setHours(request.getHours());
+      timeLog.setMinutes(TimeLogHours.toMinutes(request.getHours()));
     }
     if (request.getDate() != null) {
       timeLog.setDate(request.getDate());
@@ -124,26 +128,26 @@ public class TimeLoggingServiceImpl implements TimeLoggingService {
     // Fetch all time logs for the employee in the date range
     List<TimeLog> logs = timeLogRepository.findByEmployeeIdAndDateBetween(employeeId, startDate, endDate);
 
-    // Calculate total hours
-    double totalHours = logs.stream()
-            .mapToDouble(TimeLog::getHours)
+    // Calculate total minutes (exact integer sum)
+    long totalMinutes = logs.stream()
+            .mapToLong(TimeLog::getMinutes)
             .sum();
 
-    // Group hours by service
-    Map<String, Double> byService = new HashMap<>();
+    // Group minutes by service
+    Map<String, Long> byService = new HashMap<>();
     for (TimeLog log : logs) {
       String serviceId = log.getServiceId();
       if (serviceId != null) {
-        byService.put(serviceId, byService.getOrDefault(serviceId, 0.0) + log.getHours());
+        byService.merge(serviceId, (long) log.getMinutes(), Long::sum);
       }
     }
 
-    // Group hours by project
-    Map<String, Double> byProject = new HashMap<>();
+    // Group minutes by project
+    Map<String, Long> byProject = new HashMap<>();
     for (TimeLog log : logs) {
       String projectId = log.getProjectId();
       if (projectId != null) {
-        byProject.put(projectId, byProject.getOrDefault(projectId, 0.0) + log.getHours());
+        byProject.merge(projectId, (long) log.getMinutes(), Long::sum);
       }
     }
 
@@ -151,10 +155,11 @@ public class TimeLoggingServiceImpl implements TimeLoggingService {
     TimeLogSummaryResponse summary = new TimeLogSummaryResponse();
     summary.setEmployeeId(employeeId);
     summary.setPeriod(period);
-    summary.setTotalHours(totalHours);
+    summary.setTotalMinutes(totalMinutes);
+    summary.setTotalHours(TimeLogHours.toHours(totalMinutes));
     summary.setCount(logs.size());
-    summary.setByService(byService);
-    summary.setByProject(byProject);
+    summary.setByService(TimeLogHours.toHours(byService));
+    summary.setByProject(TimeLogHours.toHours(byProject));
 
     return summary;
   }
@@ -0,0 +1,47 @@
+-- Admin dashboard slices in PostgreSQL, to compare with the in-memory columnar store
+-- (ColumnarTimeLogStoreTest#benchmarkMillionRowSlices, same data shape)
+--
+-- Run against a scratch PostgreSQL database:
+--   psql -U techtorque -d techtorque_bench -f benchmark-analytics-groupby.sql
+
+\timing on
+
+DROP TABLE IF EXISTS bench_analytics_logs;
+
+CREATE TABLE bench_analytics_logs (
+    id             uuid PRIMARY KEY,
+    employee_id    VARCHAR(255) NOT NULL,
+    service_id     VARCHAR(255),
+    project_id     VARCHAR(255),
+    minutes        INTEGER NOT NULL,
+    date           DATE NOT NULL,
+    work_type_code SMALLINT
+);
+
+INSERT INTO bench_analytics_logs
+SELECT gen_random_uuid(), 'employee' || (random() * 199)::int, 'SRV-' || (random() * 499)::int,
+       CASE WHEN random() < 0.25 THEN NULL ELSE 'PRJ-' || (random() * 49)::int END,
+       6 * (1 + (random() * 79)::int), DATE '2025-01-01' + (random() * 364)::int, 1 + (random() * 3)::int
+FROM generate_series(1, 1000000);
+
+CREATE INDEX bench_analytics_logs_date ON bench_analytics_logs (date);
+VACUUM ANALYZE bench_analytics_logs;
+
+-- totals
+EXPLAIN ANALYZE SELECT count(*), sum(minutes) FROM bench_analytics_logs;
+
+-- by service
+EXPLAIN ANALYZE SELECT service_id, count(*), sum(minutes) FROM bench_analytics_logs
+GROUP BY service_id ORDER BY sum(minutes) DESC;
+
+-- quarter by employee, work type
+EXPLAIN ANALYZE SELECT employee_id, work_type_code, count(*), sum(minutes) FROM bench_analytics_logs
+WHERE date BETWEEN DATE '2025-01-01' AND DATE '2025-04-01'
+GROUP BY employee_id, work_type_code ORDER BY sum(minutes) DESC;
+
+-- repairs by date
+EXPLAIN ANALYZE SELECT date, count(*), sum(minutes) FROM bench_analytics_logs
+WHERE work_type_code = 2
+GROUP BY date ORDER BY sum(minutes) DESC;
+
+DROP TABLE bench_analytics_logs;
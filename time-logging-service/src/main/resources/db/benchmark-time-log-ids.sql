@@ -0,0 +1,74 @@
+-- Index size and primary key lookup latency: VARCHAR vs native uuid time log IDs
+--
+-- Run against a scratch PostgreSQL database (needs ~3 GB free):
+--   psql -U techtorque -d techtorque_bench -f benchmark-time-log-ids.sql
+-- Builds two 10M-row copies of the time_logs shape that differ only in the id type,
+-- then reports table/index sizes and EXPLAIN ANALYZE timings for point and batched lookups.
+
+\timing on
+SET max_parallel_workers_per_gather = 0;
+
+DROP TABLE IF EXISTS bench_time_logs_varchar;
+DROP TABLE IF EXISTS bench_time_logs_uuid;
+
+CREATE TABLE bench_time_logs_varchar (
+    id          VARCHAR(255) PRIMARY KEY,
+    employee_id VARCHAR(255) NOT NULL,
+    service_id  VARCHAR(255) NOT NULL,
+    hours       DOUBLE PRECISION NOT NULL,
+    date        DATE NOT NULL
+);
+
+CREATE TABLE bench_time_logs_uuid (
+    id          uuid PRIMARY KEY,
+    employee_id VARCHAR(255) NOT NULL,
+    service_id  VARCHAR(255) NOT NULL,
+    hours       DOUBLE PRECISION NOT NULL,
+    date        DATE NOT NULL
+);
+
+INSERT INTO bench_time_logs_uuid (id, employee_id, service_id, hours, date)
+SELECT gen_random_uuid(),
+       'employee' || (n % 5000),
+       'SRV-' || lpad((n % 2000)::text, 3, '0'),
+       ((n % 16) + 1) / 2.0,
+       DATE '2024-01-01' + (n % 730)
+FROM generate_series(1, 10000000) AS n;
+
+INSERT INTO bench_time_logs_varchar (id, employee_id, service_id, hours, date)
+SELECT id::text, employee_id, service_id, hours, date
+FROM bench_time_logs_uuid;
+
+VACUUM ANALYZE bench_time_logs_varchar;
+VACUUM ANALYZE bench_time_logs_uuid;
+
+-- Sizes
+SELECT 'varchar' AS id_type,
+       pg_size_pretty(pg_relation_size('bench_time_logs_varchar')) AS table_size,
+       pg_size_pretty(pg_relation_size('bench_time_logs_varchar_pkey')) AS pk_index_size
+UNION ALL
+SELECT 'uuid',
+       pg_size_pretty(pg_relation_size('bench_time_logs_uuid')),
+       pg_size_pretty(pg_relation_size('bench_time_logs_uuid_pkey'));
+
+-- Sample of existing keys to look up
+DROP TABLE IF EXISTS bench_keys;
+CREATE TEMP TABLE bench_keys AS
+SELECT id FROM bench_time_logs_uuid TABLESAMPLE SYSTEM (0.1) LIMIT 10000;
+
+-- Point lookup (GET /time-logs/{id})
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM bench_time_logs_varchar WHERE id = (SELECT id::text FROM bench_keys LIMIT 1);
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM bench_time_logs_uuid WHERE id = (SELECT id FROM bench_keys LIMIT 1);
+
+-- 10k lookups through the primary key index
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*) FROM bench_keys k JOIN bench_time_logs_varchar t ON t.id = k.id::text;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*) FROM bench_keys k JOIN bench_time_logs_uuid t ON t.id = k.id;
+
+DROP TABLE bench_time_logs_varchar;
+DROP TABLE bench_time_logs_uuid;
@@ -0,0 +1,66 @@
+-- Storage and per-work-type aggregation latency: VARCHAR work types vs smallint dictionary codes
+--
+-- Run against a scratch PostgreSQL database:
+--   psql -U techtorque -d techtorque_bench -f benchmark-work-types.sql
+
+\timing on
+SET max_parallel_workers_per_gather = 0;
+
+DROP TABLE IF EXISTS bench_logs_text;
+DROP TABLE IF EXISTS bench_logs_code;
+DROP TABLE IF EXISTS bench_work_types;
+
+CREATE TABLE bench_work_types (code SMALLINT PRIMARY KEY, name VARCHAR(100) NOT NULL UNIQUE);
+INSERT INTO bench_work_types VALUES
+    (1, 'Diagnostic'), (2, 'Repair'), (3, 'Maintenance'), (4, 'Installation'),
+    (5, 'Inspection'), (6, 'Testing'), (7, 'Consultation'), (8, 'Documentation');
+
+CREATE TABLE bench_logs_code (
+    id             uuid PRIMARY KEY,
+    employee_id    VARCHAR(255) NOT NULL,
+    minutes        INTEGER NOT NULL,
+    date           DATE NOT NULL,
+    work_type_code SMALLINT REFERENCES bench_work_types (code)
+);
+
+INSERT INTO bench_logs_code
+SELECT gen_random_uuid(), 'employee' || (n % 5000), 6 * (1 + n % 80),
+       DATE '2024-01-01' + (n % 730), 1 + (n % 8)
+FROM generate_series(1, 10000000) AS n;
+
+CREATE TABLE bench_logs_text AS
+SELECT l.id, l.employee_id, l.minutes, l.date, w.name AS work_type
+FROM bench_logs_code l JOIN bench_work_types w ON w.code = l.work_type_code;
+ALTER TABLE bench_logs_text ADD PRIMARY KEY (id);
+
+CREATE INDEX bench_logs_code_emp_type ON bench_logs_code (employee_id, work_type_code);
+CREATE INDEX bench_logs_text_emp_type ON bench_logs_text (employee_id, work_type);
+
+VACUUM ANALYZE bench_logs_code;
+VACUUM ANALYZE bench_logs_text;
+
+SELECT 'varchar' AS work_type_storage,
+       pg_size_pretty(pg_relation_size('bench_logs_text')) AS table_size,
+       pg_size_pretty(pg_relation_size('bench_logs_text_emp_type')) AS index_size
+UNION ALL
+SELECT 'smallint',
+       pg_size_pretty(pg_relation_size('bench_logs_code')),
+       pg_size_pretty(pg_relation_size('bench_logs_code_emp_type'));
+
+-- Per-work-type aggregation over the whole table (statistics endpoint shape, all employees)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT work_type, COUNT(*), SUM(minutes) FROM bench_logs_text GROUP BY work_type;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT work_type_code, COUNT(*), SUM(minutes) FROM bench_logs_code GROUP BY work_type_code;
+
+-- One employee, filtered by work type
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT COUNT(*) FROM bench_logs_text WHERE employee_id = 'employee42' AND work_type = 'Repair';
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT COUNT(*) FROM bench_logs_code WHERE employee_id = 'employee42' AND work_type_code = 2;
+
+DROP TABLE bench_logs_text;
+DROP TABLE bench_logs_code;
+DROP TABLE bench_work_types;
@@ -0,0 +1,18 @@
+-- Store time log durations as whole minutes instead of DOUBLE PRECISION hours
+--
+-- TimeLog.hours became TimeLog.minutes (integer) so SUM() is exact integer arithmetic.
+-- Run once against databases created before the change, before deploying:
+-- ddl-auto=update would try to add a NOT NULL minutes column to a populated table and fail.
+
+BEGIN;
+
+ALTER TABLE time_logs ADD COLUMN minutes INTEGER;
+
+UPDATE time_logs SET minutes = ROUND(hours * 60)::INTEGER;
+
+ALTER TABLE time_logs ALTER COLUMN minutes SET NOT NULL;
+ALTER TABLE time_logs DROP COLUMN hours;
+
+COMMIT;
+
+ANALYZE time_logs;
@@ -0,0 +1,28 @@
+-- Convert time log IDs from VARCHAR(255) to native uuid (16 bytes instead of 37+ per key)
+--
+-- Hibernate's ddl-auto=update never changes an existing column type, so run this once
+-- against databases created before TimeLog.id became java.util.UUID, before deploying.
+-- The REST API keeps exposing IDs as strings.
+--
+-- employee_id, service_id and project_id stay VARCHAR: they hold usernames ("employee")
+-- and codes ("SRV-001", "PRJ-001"), not UUIDs.
+
+BEGIN;
+
+-- Fails (and rolls back) if any existing id is not a valid UUID
+ALTER TABLE time_logs
+    ALTER COLUMN id TYPE uuid USING id::uuid;
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'time_log_journal_replays' AND column_name = 'time_log_id') THEN
+        ALTER TABLE time_log_journal_replays
+            ALTER COLUMN time_log_id TYPE uuid USING time_log_id::uuid;
+    END IF;
+END $$;
+
+COMMIT;
+
+-- Rebuild statistics for the new column type
+ANALYZE time_logs;
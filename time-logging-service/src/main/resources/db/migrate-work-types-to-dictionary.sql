@@ -0,0 +1,44 @@
+-- Replace the free-form time_logs.work_type VARCHAR with a smallint code into work_types
+--
+-- Run once against databases created before work types were dictionary-encoded, before deploying.
+-- Codes 1..8 are the SharedConstants.WorkTypes seeded by WorkTypeDictionary; any other distinct
+-- values already present are appended after them.
+-- The DDL matches what ddl-auto=update creates for the WorkType and TimeLog mappings (no foreign key:
+-- the mapping declares none). Reclaiming the space of the dropped column (VACUUM FULL takes an
+-- exclusive lock on time_logs) is left to operators.
+
+BEGIN;
+
+CREATE TABLE IF NOT EXISTS work_types (
+    code SMALLINT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE
+);
+
+INSERT INTO work_types (code, name) VALUES
+    (1, 'Diagnostic'),
+    (2, 'Repair'),
+    (3, 'Maintenance'),
+    (4, 'Installation'),
+    (5, 'Inspection'),
+    (6, 'Testing'),
+    (7, 'Consultation'),
+    (8, 'Documentation')
+ON CONFLICT DO NOTHING;
+
+INSERT INTO work_types (code, name)
+SELECT (SELECT MAX(code) FROM work_types) + ROW_NUMBER() OVER (ORDER BY work_type), work_type
+FROM (SELECT DISTINCT work_type FROM time_logs WHERE work_type IS NOT NULL) existing
+WHERE work_type NOT IN (SELECT name FROM work_types);
+
+ALTER TABLE time_logs ADD COLUMN work_type_code SMALLINT;
+
+UPDATE time_logs t
+SET work_type_code = w.code
+FROM work_types w
+WHERE w.name = t.work_type;
+
+ALTER TABLE time_logs DROP COLUMN work_type;
+
+COMMIT;
+
+ANALYZE time_logs;
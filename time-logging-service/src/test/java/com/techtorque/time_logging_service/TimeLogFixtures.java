@@ -0,0 +1,48 @@
+package com.techtorque.time_logging_service;
+
+import com.techtorque.time_logging_service.entity.TimeLog;
+import com.techtorque.time_logging_service.entity.TimeLogHours;
+
+import java.time.LocalDate;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Time logs and waiting helpers shared by the tests
+ */
+public final class TimeLogFixtures {
+
+    private TimeLogFixtures() {
+    }
+
+    /**
+     * An unsaved "Repair" time log
+     */
+    public static TimeLog timeLog(String employeeId, String serviceId, String projectId, double hours, LocalDate date) {
+        return timeLog(employeeId, serviceId, projectId, "Repair", hours, date);
+    }
+
+    public static TimeLog timeLog(String employeeId, String serviceId, String projectId, String workType, double hours,
+                                  LocalDate date) {
+        return TimeLog.builder()
+                .employeeId(employeeId)
+                .serviceId(serviceId)
+                .projectId(projectId)
+                .minutes(TimeLogHours.toMinutes(hours))
+                .date(date)
+                .workType(workType)
+                .build();
+    }
+
+    /**
+     * Wait up to 10 seconds for a condition fed by a background thread or a post-commit listener
+     */
+    public static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("condition not met within 10 s").isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+}
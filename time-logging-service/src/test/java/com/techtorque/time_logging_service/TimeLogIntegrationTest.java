@@ -0,0 +1,31 @@
+package com.techtorque.time_logging_service;
+
+import com.techtorque.time_logging_service.repository.TimeLogRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Base of the tests that run against the full application on the test profile, with an empty time_logs table
+ * before and after each test.
+ * Not @Transactional - writes must commit to reach the post-commit listeners and caches under test.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public abstract class TimeLogIntegrationTest {
+
+    @Autowired
+    protected TimeLogRepository timeLogRepository;
+
+    @BeforeEach
+    void clearTimeLogsBefore() {
+        timeLogRepository.deleteAll();
+    }
+
+    @AfterEach
+    void clearTimeLogsAfter() {
+        timeLogRepository.deleteAll();
+    }
+}
@@ -0,0 +1,128 @@
+package com.techtorque.time_logging_service.analytics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Every available kernel implementation against a straightforward reference, on randomized inputs:
+ * lengths around the vector width, bounds outside the data, empty ranges and maximal values.
+ */
+class AggregationKernelsTest {
+
+    @Test
+    void testKernelsMatchReferenceOnRandomInputs() {
+        Random random = new Random(2025);
+        for (AggregationKernels kernels : availableKernels()) {
+            for (int trial = 0; trial < 500; trial++) {
+                int length = random.nextInt(4) == 0 ? random.nextInt(40) : random.nextInt(5_000);
+                int buckets = 1 + random.nextInt(50);
+                int[] days = new int[length + random.nextInt(8)];
+                int[] values = new int[days.length];
+                int[] codes = new int[days.length];
+                for (int i = 0; i < days.length; i++) {
+                    days[i] = random.nextInt(10) == 0 ? Integer.MIN_VALUE : 20_000 + random.nextInt(400);
+                    values[i] = random.nextInt(10) == 0 ? 65_535 : random.nextInt(1_441);
+                    codes[i] = random.nextInt(buckets) - 1;
+                }
+                int fromDay = random.nextInt(5) == 0 ? Integer.MIN_VALUE + 1 : 20_000 + random.nextInt(450) - 25;
+                int toDay = random.nextInt(5) == 0 ? Integer.MAX_VALUE : fromDay + random.nextInt(200) - 20;
+
+                assertKernelMatchesReference(kernels, codes, values, days, length, fromDay, toDay, buckets);
+            }
+        }
+    }
+
+    @Test
+    void testSumDoesNotOverflowLanes() {
+        int length = 3_000_003;
+        int[] days = new int[length];
+        int[] values = new int[length];
+        Arrays.fill(values, 65_535);
+        for (AggregationKernels kernels : availableKernels()) {
+            assertThat(kernels.sum(values, days, length, 0, 0)).as(kernels.name()).isEqualTo(65_535L * length);
+            assertThat(kernels.count(days, length, 0, 0)).as(kernels.name()).isEqualTo(length);
+        }
+    }
+
+    @Test
+    void testSelection() {
+        assertThat(AggregationKernels.select(AggregationKernels.SCALAR).name()).isEqualTo(AggregationKernels.SCALAR);
+        assertThat(AggregationKernels.select(AggregationKernels.AUTO)).isNotNull();
+        assertThatThrownBy(() -> AggregationKernels.select("gpu")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Filtered sum and per-bucket histogram throughput per implementation.
+     * Run with -Dbenchmarks=true; sizes via -Dbenchmark.rows=1000000,10000000,100000000 (100M rows needs about -Xmx2g)
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    void benchmarkKernels() {
+        Random random = new Random(9);
+        for (String size : System.getProperty("benchmark.rows", "1000000,10000000").split(",")) {
+            int rows = Integer.parseInt(size.trim());
+            int[] days = new int[rows];
+            int[] values = new int[rows];
+            int[] codes = new int[rows];
+            for (int i = 0; i < rows; i++) {
+                days[i] = 20_000 + random.nextInt(730);
+                values[i] = 6 * (1 + random.nextInt(80));
+                codes[i] = random.nextInt(500);
+            }
+            for (AggregationKernels kernels : availableKernels()) {
+                for (int round = 0; round < 5; round++) {
+                    long t0 = System.nanoTime();
+                    long sum = kernels.sum(values, days, rows, 20_100, 20_465);
+                    long t1 = System.nanoTime();
+                    kernels.histogram(codes, 0, values, days, rows, 20_100, 20_465, new long[500], new long[500]);
+                    long t2 = System.nanoTime();
+                    System.out.printf("%,12d rows %-16s sum %7.2f ms (%.2f Grows/s, %d)  histogram %7.2f ms%n",
+                            rows, kernels.name(), (t1 - t0) / 1e6, rows / (double) (t1 - t0), sum, (t2 - t1) / 1e6);
+                }
+            }
+        }
+    }
+
+    private static void assertKernelMatchesReference(AggregationKernels kernels, int[] codes, int[] values, int[] days,
+                                                     int length, int fromDay, int toDay, int buckets) {
+        long expectedCount = 0;
+        long expectedSum = 0;
+        long[] expectedCounts = new long[buckets];
+        long[] expectedSums = new long[buckets];
+        for (int i = 0; i < length; i++) {
+            if (days[i] >= fromDay && days[i] <= toDay) {
+                expectedCount++;
+                expectedSum += values[i];
+                expectedCounts[codes[i] + 1]++;
+                expectedSums[codes[i] + 1] += values[i];
+            }
+        }
+        long[] counts = new long[buckets];
+        long[] sums = new long[buckets];
+        kernels.histogram(codes, 1, values, days, length, fromDay, toDay, counts, sums);
+
+        String context = kernels.name() + " length " + length + " range [" + fromDay + ", " + toDay + "]";
+        assertThat(kernels.count(days, length, fromDay, toDay)).as(context).isEqualTo(expectedCount);
+        assertThat(kernels.sum(values, days, length, fromDay, toDay)).as(context).isEqualTo(expectedSum);
+        assertThat(counts).as(context).isEqualTo(expectedCounts);
+        assertThat(sums).as(context).isEqualTo(expectedSums);
+    }
+
+    private static List<AggregationKernels> availableKernels() {
+        List<AggregationKernels> kernels = new ArrayList<>();
+        kernels.add(AggregationKernels.select(AggregationKernels.SCALAR));
+        AggregationKernels auto = AggregationKernels.select(AggregationKernels.AUTO);
+        if (!auto.name().equals(AggregationKernels.SCALAR)) {
+            kernels.add(auto);
+        }
+        return kernels;
+    }
+}
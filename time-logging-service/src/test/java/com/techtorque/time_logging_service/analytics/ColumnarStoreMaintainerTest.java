@@ -0,0 +1,62 @@
+package com.techtorque.time_logging_service.analytics;
+
+import com.techtorque.time_logging_service.repository.TimeLogRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ColumnarStoreMaintainerTest {
+
+    private final TimeLogRepository timeLogRepository = mock(TimeLogRepository.class);
+    private final ColumnarStoreMaintainer maintainer = new ColumnarStoreMaintainer(mock(EntityManagerFactory.class),
+            timeLogRepository, mock(PlatformTransactionManager.class), true, AggregationKernels.SCALAR);
+
+    @Test
+    void testEvictAllReloadsOffTheCallingThreadAndAgainWhenRequestedMidLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        when(timeLogRepository.streamAnalyticsRows()).thenAnswer(invocation -> {
+            if (loads.incrementAndGet() == 1) {
+                loading.countDown();
+                assertThat(release.await(10, TimeUnit.SECONDS)).isTrue();
+                return Stream.of(row());
+            }
+            return Stream.of(row(), row());
+        });
+
+        // Returns while the load is still blocked in the database
+        maintainer.evictAll();
+        assertThat(loading.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(maintainer.getStore()).isNull();
+
+        // Requested during the load, which may have read the table before the change behind it
+        maintainer.evictAll();
+        release.countDown();
+
+        verify(timeLogRepository, timeout(10_000).times(2)).streamAnalyticsRows();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while ((maintainer.getStore() == null || maintainer.getStore().size() != 2) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(maintainer.getStore().size()).isEqualTo(2);
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    private static TimeLogRow row() {
+        return new TimeLogRow(UUID.randomUUID(), "employee1", "SRV-1", null, "Repair", LocalDate.of(2025, 11, 21), 60);
+    }
+}
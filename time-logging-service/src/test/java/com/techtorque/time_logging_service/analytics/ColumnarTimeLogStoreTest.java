@@ -0,0 +1,221 @@
+package com.techtorque.time_logging_service.analytics;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ColumnarTimeLogStoreTest {
+
+    private static final LocalDate FROM = LocalDate.of(2025, 1, 1);
+    private static final String[] WORK_TYPES = {"Repair", "Inspection", "Diagnostics", "Maintenance"};
+
+    @Test
+    void testGroupByMatchesBruteForce() {
+        List<TimeLogRow> rows = randomRows(20_000, new Random(11));
+        ColumnarTimeLogStore store = new ColumnarTimeLogStore();
+        rows.forEach(store::upsert);
+
+        TimeLogFilter filter = new TimeLogFilter(null, null, null, "Repair", FROM.plusDays(30), FROM.plusDays(200));
+        List<Dimension> groupBy = List.of(Dimension.SERVICE, Dimension.DATE);
+        AnalyticsResult result = store.query(filter, groupBy);
+
+        Map<List<String>, Long> expected = new HashMap<>();
+        long expectedMinutes = 0;
+        for (TimeLogRow row : rows) {
+            if (row.workType().equals("Repair") && !row.date().isBefore(filter.from()) && !row.date().isAfter(filter.to())) {
+                expected.merge(Arrays.asList(row.serviceId(), row.date().toString()), (long) row.minutes(), Long::sum);
+                expectedMinutes += row.minutes();
+            }
+        }
+        Map<List<String>, Long> actual = new HashMap<>();
+        result.groups().forEach(group -> actual.put(group.key(), group.minutes()));
+
+        assertThat(actual).isEqualTo(expected);
+        assertThat(result.minutes()).isEqualTo(expectedMinutes);
+        assertThat(result.groups()).isSortedAccordingTo((a, b) -> Long.compare(b.minutes(), a.minutes()));
+    }
+
+    @Test
+    void testBitmapSelectionMatchesBruteForce() {
+        List<TimeLogRow> rows = randomRows(20_000, new Random(5));
+        ColumnarTimeLogStore store = new ColumnarTimeLogStore();
+        rows.forEach(store::upsert);
+        // Move some rows to other services and days so stale bitmap entries would show up
+        Random random = new Random(6);
+        for (int i = 0; i < 2_000; i++) {
+            TimeLogRow row = rows.get(i);
+            TimeLogRow moved = new TimeLogRow(row.id(), row.employeeId(), "SRV-" + random.nextInt(500), row.projectId(),
+                    row.workType(), row.date().plusDays(1), row.minutes());
+            rows.set(i, moved);
+            store.upsert(moved);
+        }
+
+        Set<String> services = Set.of("SRV-1", "SRV-2", "SRV-3", "SRV-4", "SRV-unknown");
+        Set<String> workTypes = Set.of("Repair", "Inspection");
+        List<TimeLogSelection.DateRange> ranges = List.of(
+                new TimeLogSelection.DateRange(FROM.plusDays(10), FROM.plusDays(40)),
+                new TimeLogSelection.DateRange(FROM.plusDays(300), null));
+        AnalyticsResult result = store.query(new TimeLogSelection(null, services, null, workTypes, ranges),
+                List.of(Dimension.EMPLOYEE));
+
+        Map<List<String>, Long> expected = new HashMap<>();
+        long expectedCount = 0;
+        for (TimeLogRow row : rows) {
+            boolean inRanges = ranges.stream().anyMatch(range -> !row.date().isBefore(range.from())
+                    && (range.to() == null || !row.date().isAfter(range.to())));
+            if (services.contains(row.serviceId()) && workTypes.contains(row.workType()) && inRanges) {
+                expected.merge(List.of(row.employeeId()), (long) row.minutes(), Long::sum);
+                expectedCount++;
+            }
+        }
+        Map<List<String>, Long> actual = new HashMap<>();
+        result.groups().forEach(group -> actual.put(group.key(), group.minutes()));
+
+        assertThat(expectedCount).isPositive();
+        assertThat(result.count()).isEqualTo(expectedCount);
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void testDenseScanMatchesBruteForce() {
+        List<TimeLogRow> rows = randomRows(20_000, new Random(8));
+        ColumnarTimeLogStore store = new ColumnarTimeLogStore();
+        rows.forEach(store::upsert);
+        for (int i = 0; i < 500; i++) {
+            store.delete(rows.get(i).id());
+        }
+        List<TimeLogRow> liveRows = rows.subList(500, rows.size());
+
+        TimeLogFilter quarter = new TimeLogFilter(null, null, null, null, FROM, FROM.plusDays(90));
+        AnalyticsResult byProject = store.query(quarter, List.of(Dimension.PROJECT));
+        AnalyticsResult totals = store.query(TimeLogFilter.all(), List.of());
+
+        Map<List<String>, Long> expected = new HashMap<>();
+        for (TimeLogRow row : liveRows) {
+            if (!row.date().isAfter(quarter.to())) {
+                expected.merge(Arrays.asList(row.projectId()), (long) row.minutes(), Long::sum);
+            }
+        }
+        Map<List<String>, Long> actual = new HashMap<>();
+        byProject.groups().forEach(group -> actual.put(group.key(), group.minutes()));
+
+        assertThat(actual).isEqualTo(expected);
+        assertThat(totals.count()).isEqualTo(liveRows.size());
+        assertThat(totals.minutes()).isEqualTo(liveRows.stream().mapToLong(TimeLogRow::minutes).sum());
+    }
+
+    @Test
+    void testMinutesBeyondTheKernelRangeAreSummedExactly() {
+        // Enough to overflow the vector kernels' int lanes several times over
+        ColumnarTimeLogStore store = new ColumnarTimeLogStore(1024, AggregationKernels.select(AggregationKernels.AUTO));
+        UUID large = UUID.randomUUID();
+        for (int i = 0; i < 64; i++) {
+            store.upsert(new TimeLogRow(UUID.randomUUID(), "employee" + i, "SRV-1", "PRJ-1", "Repair", FROM, 60));
+        }
+        store.upsert(new TimeLogRow(large, "employee123", "SRV-2", null, "Repair", FROM, 1_000_000_000));
+        for (int i = 0; i < 63; i++) {
+            store.upsert(new TimeLogRow(UUID.randomUUID(), "employee123", "SRV-2", null, "Repair", FROM, 1_000_000_000));
+        }
+
+        assertThat(store.query(TimeLogFilter.all(), List.of()).minutes()).isEqualTo(64_000_003_840L);
+        assertThat(store.query(TimeLogFilter.all(), List.of(Dimension.SERVICE)).groups())
+                .containsExactly(new GroupedMinutes(List.of("SRV-2"), 64, 64_000_000_000L),
+                        new GroupedMinutes(List.of("SRV-1"), 64, 3_840L));
+
+        store.upsert(new TimeLogRow(large, "employee123", "SRV-2", null, "Repair", FROM, 90));
+        assertThat(store.query(TimeLogFilter.all(), List.of()).minutes()).isEqualTo(63_000_003_930L);
+        store.delete(large);
+        assertThat(store.query(TimeLogFilter.all(), List.of()).minutes()).isEqualTo(63_000_003_840L);
+    }
+
+    @Test
+    void testUpdatesAndDeletesAreReflected() {
+        ColumnarTimeLogStore store = new ColumnarTimeLogStore();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        store.upsert(new TimeLogRow(first, "employee123", "SRV-1", null, "Repair", FROM, 120));
+        store.upsert(new TimeLogRow(second, "employee456", "SRV-1", "PRJ-1", "Repair", FROM, 60));
+
+        store.upsert(new TimeLogRow(first, "employee123", "SRV-2", null, "Inspection", FROM.plusDays(1), 90));
+        store.delete(second);
+        store.delete(UUID.randomUUID());
+
+        AnalyticsResult result = store.query(TimeLogFilter.all(), List.of(Dimension.SERVICE, Dimension.PROJECT));
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(result.count()).isEqualTo(1);
+        assertThat(result.groups()).containsExactly(new GroupedMinutes(Arrays.asList("SRV-2", null), 1, 90));
+        assertThat(store.query(new TimeLogFilter(null, "SRV-1", null, null, null, null), List.of()).count()).isZero();
+        assertThat(store.query(new TimeLogFilter(null, null, null, null, FROM, FROM), List.of()).count()).isZero();
+    }
+
+    @Test
+    void testUnknownFilterValueMatchesNothing() {
+        ColumnarTimeLogStore store = new ColumnarTimeLogStore();
+        store.upsert(new TimeLogRow(UUID.randomUUID(), "employee123", "SRV-1", null, "Repair", FROM, 120));
+
+        AnalyticsResult result = store.query(
+                new TimeLogFilter("nobody", null, null, null, null, null), List.of(Dimension.EMPLOYEE));
+
+        assertThat(result.count()).isZero();
+        assertThat(result.groups()).isEmpty();
+        assertThatThrownBy(() -> store.query(TimeLogFilter.all(), List.of(Dimension.EMPLOYEE, Dimension.SERVICE,
+                Dimension.PROJECT, Dimension.DATE))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Heap per million rows (columns and bitmap indexes) and latency of typical dashboard slices.
+     * Run with -Dbenchmarks=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    void benchmarkMillionRowSlices() {
+        int rows = 1_000_000;
+        ColumnarTimeLogStore store = new ColumnarTimeLogStore(rows);
+        randomRows(rows, new Random(3)).forEach(store::upsert);
+        System.out.printf("%d rows: ~%.1f MB in the store%n", store.size(), store.estimatedBytes() / 1e6);
+
+        TimeLogFilter quarter = new TimeLogFilter(null, null, null, null, FROM, FROM.plusDays(90));
+        TimeLogFilter repairs = new TimeLogFilter(null, null, null, "Repair", null, null);
+        TimeLogSelection narrow = new TimeLogSelection(Set.of("employee7", "employee8"), null, null, Set.of("Repair"),
+                List.of(new TimeLogSelection.DateRange(FROM, FROM.plusDays(30))));
+        for (int round = 0; round < 5; round++) {
+            time("totals", () -> store.query(TimeLogFilter.all(), List.of()));
+            time("by service", () -> store.query(TimeLogFilter.all(), List.of(Dimension.SERVICE)));
+            time("quarter by employee,workType", () -> store.query(quarter, List.of(Dimension.EMPLOYEE, Dimension.WORK_TYPE)));
+            time("repairs by date", () -> store.query(repairs, List.of(Dimension.DATE)));
+            time("2 employees, repairs, 1 month", () -> store.query(narrow, List.of(Dimension.SERVICE)));
+        }
+    }
+
+    private static void time(String label, Runnable query) {
+        long started = System.nanoTime();
+        query.run();
+        System.out.printf("%-30s %7.2f ms%n", label, (System.nanoTime() - started) / 1e6);
+    }
+
+    private static List<TimeLogRow> randomRows(int count, Random random) {
+        List<TimeLogRow> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new TimeLogRow(UUID.randomUUID(),
+                    "employee" + random.nextInt(200),
+                    "SRV-" + random.nextInt(500),
+                    random.nextInt(4) == 0 ? null : "PRJ-" + random.nextInt(50),
+                    WORK_TYPES[random.nextInt(WORK_TYPES.length)],
+                    FROM.plusDays(random.nextInt(365)),
+                    6 * (1 + random.nextInt(80))));
+        }
+        return rows;
+    }
+}
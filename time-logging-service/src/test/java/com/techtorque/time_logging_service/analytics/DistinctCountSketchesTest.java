@@ -0,0 +1,68 @@
+package com.techtorque.time_logging_service.analytics;
+
+import com.techtorque.time_logging_service.repository.DistinctSketchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.techtorque.time_logging_service.TimeLogFixtures.awaitTrue;
+import static com.techtorque.time_logging_service.TimeLogFixtures.timeLog;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Sketches follow committed writes: inserts are merged in, deletes rebuild the day.
+ * Not @Transactional - the sketches are written after commit by a background thread.
+ */
+class DistinctCountSketchesTest extends SketchIntegrationTest {
+
+    private static final LocalDate FROM = LocalDate.of(2025, 11, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 11, 30);
+
+    @Autowired
+    private DistinctCountSketches sketches;
+
+    @Autowired
+    private DistinctSketchRepository sketchRepository;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        awaitTrue(() -> sketchRepository.count() == 0);
+    }
+
+    @Test
+    void testDistinctCountsFollowInsertsAndDeletes() throws InterruptedException {
+        timeLogRepository.saveAll(List.of(
+                timeLog("employee1", "SRV-A", "PRJ-1", 1.0, FROM.plusDays(2)),
+                timeLog("employee2", "SRV-A", "PRJ-1", 1.0, FROM.plusDays(2)),
+                timeLog("employee2", "SRV-A", null, 1.0, FROM.plusDays(9)),
+                timeLog("employee3", "SRV-A", null, 1.0, FROM.plusDays(20)),
+                timeLog("employee1", "SRV-B", null, 1.0, FROM.plusDays(20)),
+                timeLog("employee1", "SRV-C", null, 1.0, TO.plusDays(1))));
+
+        // Days are merged in separate batches: SRV-A already counts 3 employees before its day 10 sketch exists
+        awaitTrue(() -> sketches.estimate(Dimension.SERVICE, "SRV-A", FROM, TO).sketches() == 3
+                && estimate(Dimension.EMPLOYEE, "employee1", FROM, TO) == 2
+                && estimate(Dimension.PROJECT, "PRJ-1", FROM, TO) == 2);
+        assertThat(estimate(Dimension.SERVICE, "SRV-A", FROM, TO)).isEqualTo(3);
+        assertThat(estimate(Dimension.SERVICE, "SRV-A", FROM, FROM.plusDays(9))).isEqualTo(2);
+
+        timeLogRepository.deleteAll(timeLogRepository.findByEmployeeId("employee3"));
+
+        awaitTrue(() -> estimate(Dimension.SERVICE, "SRV-A", FROM, TO) == 2);
+    }
+
+    @Test
+    void testOnlyServiceProjectAndEmployeeAreSketched() {
+        assertThatThrownBy(() -> sketches.estimate(Dimension.WORK_TYPE, "Repair", FROM, TO))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(estimate(Dimension.SERVICE, "unknown", FROM, TO)).isZero();
+    }
+
+    private long estimate(Dimension dimension, String key, LocalDate from, LocalDate to) {
+        return sketches.estimate(dimension, key, from, to).estimate();
+    }
+}
@@ -0,0 +1,122 @@
+package com.techtorque.time_logging_service.analytics;
+
+import com.techtorque.time_logging_service.entity.TimeLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.techtorque.time_logging_service.TimeLogFixtures.awaitTrue;
+import static com.techtorque.time_logging_service.TimeLogFixtures.timeLog;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Windows follow committed creates, updates and deletes; windows outside the retention come from the database.
+ * Not @Transactional - the summaries are fed after commit.
+ */
+class HeavyHitterTrackerTest extends SketchIntegrationTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private HeavyHitterTracker tracker;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        awaitTrue(tracker::isLoaded);
+    }
+
+    @Test
+    void testTopFollowsCreatesUpdatesAndDeletes() {
+        timeLogRepository.saveAll(List.of(
+                timeLog("employee1", "SRV-A", "PRJ-1", 3.0, TODAY),
+                timeLog("employee1", "SRV-A", "PRJ-1", 1.0, TODAY),
+                timeLog("employee1", "SRV-B", null, 2.5, TODAY),
+                timeLog("employee1", "SRV-C", "PRJ-2", 1.0, TODAY)));
+
+        HeavyHitterTracker.TopK day = tracker.top(Dimension.SERVICE, TimeWindow.DAY, TODAY, 2);
+        assertThat(day.hitters()).containsExactly(
+                new SpaceSaving.HeavyHitter("SRV-A", 240, 0),
+                new SpaceSaving.HeavyHitter("SRV-B", 150, 0));
+        assertThat(day.untrackedBound()).isEqualTo(60);
+        assertThat(day.totalMinutes()).isEqualTo(450);
+        assertThat(tracker.top(Dimension.PROJECT, TimeWindow.MONTH, TODAY, 5).totalMinutes()).isEqualTo(300);
+
+        TimeLog moved = timeLogRepository.findByServiceId("SRV-C").get(0);
+        moved.setMinutes(300);
+        moved.setProjectId("PRJ-3");
+        timeLogRepository.save(moved);
+        timeLogRepository.deleteAll(timeLogRepository.findByServiceId("SRV-B"));
+
+        assertThat(tracker.top(Dimension.SERVICE, TimeWindow.WEEK, TODAY, 2).hitters()).containsExactly(
+                new SpaceSaving.HeavyHitter("SRV-C", 300, 0),
+                new SpaceSaving.HeavyHitter("SRV-A", 240, 0));
+        assertThat(tracker.top(Dimension.PROJECT, TimeWindow.DAY, TODAY, 5).hitters()).containsExactly(
+                new SpaceSaving.HeavyHitter("PRJ-3", 300, 0),
+                new SpaceSaving.HeavyHitter("PRJ-1", 240, 0));
+    }
+
+    @Test
+    void testWindowsOutsideTheRetentionComeFromTheDatabase() {
+        LocalDate old = TODAY.minusYears(3);
+        timeLogRepository.saveAll(List.of(
+                timeLog("employee1", "SRV-OLD", null, 2.0, old),
+                timeLog("employee1", "SRV-OLD", null, 1.0, old)));
+
+        HeavyHitterTracker.TopK month = tracker.top(Dimension.SERVICE, TimeWindow.MONTH, old, 1);
+
+        assertThat(month.from()).isEqualTo(old.withDayOfMonth(1));
+        assertThat(month.hitters()).containsExactly(new SpaceSaving.HeavyHitter("SRV-OLD", 180, 0));
+    }
+
+    @Test
+    void testRejectsOtherDimensionsAndOversizedK() {
+        assertThatThrownBy(() -> tracker.top(Dimension.EMPLOYEE, TimeWindow.DAY, TODAY, 5))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> tracker.top(Dimension.SERVICE, TimeWindow.DAY, TODAY, 21))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Streaming top-10 vs the exact GROUP BY over a month of 50k logs across 2,000 services.
+     * Run with -Dbenchmarks=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    void benchmarkStreamingVsExactTop() {
+        Random random = new Random(7);
+        LocalDate monthStart = TimeWindow.MONTH.start(TODAY);
+        List<TimeLog> logs = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            String service = "SRV-" + (int) Math.floor(Math.pow(2000, random.nextDouble()));
+            logs.add(timeLog("employee1", service, null, 0.1 * (1 + random.nextInt(80)),
+                    monthStart.plusDays(i % TODAY.getDayOfMonth())));
+        }
+        timeLogRepository.saveAll(logs);
+        TimeLogSelection month = new TimeLogSelection(null, null, null, null,
+                List.of(new TimeLogSelection.DateRange(monthStart, TimeWindow.MONTH.end(monthStart))));
+
+        for (int round = 0; round < 5; round++) {
+            long t0 = System.nanoTime();
+            HeavyHitterTracker.TopK top = tracker.top(Dimension.SERVICE, TimeWindow.MONTH, TODAY, 10);
+            long t1 = System.nanoTime();
+            List<GroupedMinutes> exact = new ArrayList<>(timeLogRepository.aggregate(month, List.of(Dimension.SERVICE)).groups());
+            long t2 = System.nanoTime();
+            exact.sort((a, b) -> Long.compare(b.minutes(), a.minutes()));
+            int found = 0;
+            for (GroupedMinutes group : exact.subList(0, 10)) {
+                if (top.hitters().stream().anyMatch(h -> h.key().equals(group.key().get(0)))) {
+                    found++;
+                }
+            }
+            System.out.printf("top-10: streaming %8.3f ms   GROUP BY %8.2f ms   recall %d/10   max untracked %d min%n",
+                    (t1 - t0) / 1e6, (t2 - t1) / 1e6, found, top.untrackedBound());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.techtorque.time_logging_service.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HyperLogLogTest {
+
+    private static final int[] CARDINALITIES = {10, 100, 1_000, 10_000, 100_000};
+    private static final int TRIALS = 5;
+
+    @Test
+    void testEstimatesStayWithinTheConfiguredErrorBound() {
+        for (double relativeError : new double[]{0.04, 0.02, 0.01}) {
+            assertWithinBound(relativeError);
+        }
+    }
+
+    private static void assertWithinBound(double relativeError) {
+        int precision = HyperLogLog.precisionFor(relativeError);
+        double standardError = HyperLogLog.relativeStandardError(precision);
+        assertThat(standardError).isLessThanOrEqualTo(relativeError);
+
+        double totalError = 0;
+        for (int cardinality : CARDINALITIES) {
+            for (int trial = 0; trial < TRIALS; trial++) {
+                HyperLogLog sketch = new HyperLogLog(precision);
+                for (int i = 0; i < cardinality; i++) {
+                    String employee = "employee-" + trial + "-" + i;
+                    sketch.add(employee);
+                    sketch.add(employee);
+                }
+                double error = Math.abs(sketch.estimate() - cardinality) / (double) cardinality;
+                assertThat(error).as("error %s cardinality %d trial %d", relativeError, cardinality, trial)
+                        .isLessThanOrEqualTo(3 * standardError);
+                totalError += error;
+            }
+        }
+        assertThat(totalError / (CARDINALITIES.length * TRIALS)).isLessThanOrEqualTo(standardError);
+    }
+
+    @Test
+    void testMergeIsTheUnion() {
+        HyperLogLog march = new HyperLogLog(12);
+        HyperLogLog april = new HyperLogLog(12);
+        HyperLogLog both = new HyperLogLog(12);
+        for (int i = 0; i < 20_000; i++) {
+            (i % 3 == 0 ? march : april).add("employee" + i);
+            both.add("employee" + i);
+        }
+        // Overlap: merging a value twice changes nothing
+        march.add("employee1");
+
+        march.merge(april);
+        march.merge(april);
+
+        assertThat(march).isEqualTo(both);
+    }
+
+    @Test
+    void testFoldingMatchesASketchBuiltAtTheLowerPrecision() {
+        HyperLogLog fine = new HyperLogLog(14);
+        HyperLogLog coarse = new HyperLogLog(10);
+        for (int i = 0; i < 50_000; i++) {
+            fine.add("service" + i);
+            coarse.add("service" + i);
+        }
+
+        assertThat(fine.foldTo(10)).isEqualTo(coarse);
+
+        HyperLogLog merged = new HyperLogLog(10);
+        merged.merge(fine);
+        assertThat(merged).isEqualTo(coarse);
+        assertThatThrownBy(() -> fine.merge(coarse)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testSerializationIsSparseForSmallSketches() {
+        HyperLogLog small = new HyperLogLog(12);
+        for (int i = 0; i < 5; i++) {
+            small.add("employee" + i);
+        }
+        HyperLogLog large = new HyperLogLog(12);
+        for (int i = 0; i < 100_000; i++) {
+            large.add("employee" + i);
+        }
+
+        assertThat(small.toBytes()).hasSizeLessThanOrEqualTo(2 + 5 * 3);
+        assertThat(large.toBytes()).hasSize(2 + 4096);
+        assertThat(HyperLogLog.fromBytes(small.toBytes())).isEqualTo(small);
+        assertThat(HyperLogLog.fromBytes(large.toBytes())).isEqualTo(large);
+        assertThat(HyperLogLog.fromBytes(new HyperLogLog(12).toBytes()).isEmpty()).isTrue();
+        assertThatThrownBy(() -> HyperLogLog.fromBytes(new byte[]{9, 12})).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,90 @@
+package com.techtorque.time_logging_service.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KllSketchTest {
+
+    private static final double[] QUANTILES = {0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.95, 0.99};
+
+    @Test
+    void testPercentilesMatchExactRanksWithinTheRankError() {
+        Random random = new Random(42);
+        for (int k : new int[]{100, 200}) {
+            for (int trial = 0; trial < 5; trial++) {
+                int[] minutes = new int[50_000 + random.nextInt(150_000)];
+                KllSketch whole = new KllSketch(k);
+                KllSketch[] months = {new KllSketch(k), new KllSketch(k), new KllSketch(k)};
+                for (int i = 0; i < minutes.length; i++) {
+                    // Long-tailed entry lengths, in 6-minute steps as employees log them
+                    minutes[i] = 6 * Math.max(1, (int) Math.round(Math.exp(2.5 + 0.8 * random.nextGaussian())));
+                    whole.add(minutes[i]);
+                    months[i % months.length].add(minutes[i]);
+                }
+                KllSketch merged = new KllSketch(k);
+                for (KllSketch month : months) {
+                    merged.merge(KllSketch.fromBytes(month.toBytes()));
+                }
+                Arrays.sort(minutes);
+
+                for (KllSketch sketch : new KllSketch[]{whole, merged}) {
+                    assertThat(sketch.getCount()).isEqualTo(minutes.length);
+                    assertThat(sketch.getMin()).isEqualTo(minutes[0]);
+                    assertThat(sketch.getMax()).isEqualTo(minutes[minutes.length - 1]);
+                    assertThat(sketch.getRetained()).isLessThanOrEqualTo(3 * k + 30);
+                    for (double q : QUANTILES) {
+                        assertThat(rankDistance(minutes, sketch.quantile(q), q)).as("k %d q %s", k, q)
+                                .isLessThanOrEqualTo(QuantileSketches.rankError(k));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testExactForSmallInputsAndRoundTrips() {
+        KllSketch sketch = new KllSketch(200);
+        for (int minutes : new int[]{90, 30, 60, 60, 480}) {
+            sketch.add(minutes);
+        }
+
+        assertThat(sketch.quantile(0.5)).isEqualTo(60);
+        assertThat(sketch.quantile(0)).isEqualTo(30);
+        assertThat(sketch.quantile(0.8)).isEqualTo(90);
+        assertThat(sketch.quantile(1)).isEqualTo(480);
+        assertThat(sketch.getSum()).isEqualTo(720);
+
+        KllSketch copy = KllSketch.fromBytes(sketch.toBytes());
+        assertThat(copy.toBytes()).isEqualTo(sketch.toBytes());
+        assertThat(copy.quantile(0.5)).isEqualTo(60);
+        assertThat(KllSketch.fromBytes(new KllSketch(50).toBytes()).isEmpty()).isTrue();
+        assertThatThrownBy(() -> KllSketch.fromBytes(new byte[]{1, 2, 3})).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> sketch.quantile(1.5)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new KllSketch(100).quantile(0.5)).isInstanceOf(IllegalStateException.class);
+    }
+
+    /**
+     * Distance between q and the range of exact ranks the value covers (0 when the value is a true q-quantile)
+     */
+    private static double rankDistance(int[] sorted, int value, double q) {
+        double below = lowerBound(sorted, value) / (double) sorted.length;
+        double atOrBelow = lowerBound(sorted, value + 1) / (double) sorted.length;
+        return Math.max(0, Math.max(below - q, q - atOrBelow));
+    }
+
+    private static int lowerBound(int[] sorted, int value) {
+        int index = Arrays.binarySearch(sorted, value);
+        if (index < 0) {
+            return -index - 1;
+        }
+        while (index > 0 && sorted[index - 1] == value) {
+            index--;
+        }
+        return index;
+    }
+}
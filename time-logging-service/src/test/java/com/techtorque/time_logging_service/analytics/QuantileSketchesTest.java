@@ -0,0 +1,72 @@
+package com.techtorque.time_logging_service.analytics;
+
+import com.techtorque.time_logging_service.repository.QuantileSketchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.techtorque.time_logging_service.TimeLogFixtures.awaitTrue;
+import static com.techtorque.time_logging_service.TimeLogFixtures.timeLog;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Monthly sketches follow committed writes: inserts are merged in, deletes rebuild the month.
+ * Not @Transactional - the sketches are written after commit by a background thread.
+ */
+class QuantileSketchesTest extends SketchIntegrationTest {
+
+    private static final LocalDate NOVEMBER = LocalDate.of(2025, 11, 1);
+
+    @Autowired
+    private QuantileSketches sketches;
+
+    @Autowired
+    private QuantileSketchRepository sketchRepository;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        awaitTrue(() -> sketchRepository.count() == 0);
+    }
+
+    @Test
+    void testDistributionsFollowInsertsAndDeletes() throws InterruptedException {
+        timeLogRepository.saveAll(List.of(
+                timeLog("employee1", "SRV-A", null, "Repair", 1.0, NOVEMBER.plusDays(3)),
+                timeLog("employee1", "SRV-A", null, "Repair", 2.0, NOVEMBER.plusDays(4)),
+                timeLog("employee1", "SRV-A", null, "Repair", 8.0, NOVEMBER.plusDays(5)),
+                timeLog("employee1", "SRV-B", null, "Repair", 3.0, NOVEMBER.plusMonths(1)),
+                timeLog("employee1", "SRV-A", null, "Inspection", 0.5, NOVEMBER.plusDays(6))));
+
+        awaitTrue(() -> count(Dimension.WORK_TYPE, "Repair", NOVEMBER, NOVEMBER.plusMonths(1)) == 4
+                && count(Dimension.SERVICE, "SRV-A", NOVEMBER, NOVEMBER) == 4);
+        QuantileSketches.Distribution repairs = sketches.distribution(Dimension.WORK_TYPE, "Repair",
+                NOVEMBER.plusDays(10), NOVEMBER.plusDays(40));
+        assertThat(repairs.from()).isEqualTo(NOVEMBER);
+        assertThat(repairs.to()).isEqualTo(LocalDate.of(2025, 12, 31));
+        assertThat(repairs.months()).isEqualTo(2);
+        assertThat(repairs.sketch().quantile(0.5)).isEqualTo(120);
+        assertThat(repairs.sketch().getMax()).isEqualTo(480);
+
+        timeLogRepository.deleteAll(timeLogRepository.findByServiceId("SRV-B"));
+
+        awaitTrue(() -> count(Dimension.WORK_TYPE, "Repair", NOVEMBER, NOVEMBER.plusMonths(1)) == 3);
+        assertThat(sketches.distribution(Dimension.SERVICE, "SRV-B", NOVEMBER, NOVEMBER.plusMonths(1)).months())
+                .isZero();
+    }
+
+    @Test
+    void testOnlyWorkTypeAndServiceAreSketched() {
+        assertThatThrownBy(() -> sketches.distribution(Dimension.EMPLOYEE, "employee1", NOVEMBER, NOVEMBER))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(sketches.distribution(Dimension.SERVICE, "unknown", NOVEMBER, NOVEMBER).sketch().isEmpty())
+                .isTrue();
+    }
+
+    private long count(Dimension dimension, String key, LocalDate from, LocalDate to) {
+        return sketches.distribution(dimension, key, from, to).sketch().getCount();
+    }
+}
@@ -0,0 +1,15 @@
+package com.techtorque.time_logging_service.analytics;
+
+import com.techtorque.time_logging_service.TimeLogIntegrationTest;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * One application context, with every post-commit analytics summary enabled, for the summary tests
+ */
+@TestPropertySource(properties = {
+        "app.analytics.distinct.enabled=true",
+        "app.analytics.top.enabled=true",
+        "app.analytics.top.capacity=20",
+        "app.analytics.quantiles.enabled=true"})
+abstract class SketchIntegrationTest extends TimeLogIntegrationTest {
+}
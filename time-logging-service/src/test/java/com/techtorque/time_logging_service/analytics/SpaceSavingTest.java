@@ -0,0 +1,82 @@
+package com.techtorque.time_logging_service.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpaceSavingTest {
+
+    @Test
+    void testBoundsHoldOnASkewedStreamWithRetractions() {
+        Random random = new Random(42);
+        SpaceSaving summary = new SpaceSaving(50);
+        Map<String, Long> exact = new HashMap<>();
+        List<String[]> booked = new ArrayList<>();
+
+        for (int i = 0; i < 200_000; i++) {
+            if (!booked.isEmpty() && random.nextInt(10) == 0) {
+                // Update or delete of an earlier log: its minutes are taken back
+                String[] log = booked.remove(random.nextInt(booked.size()));
+                add(summary, exact, log[0], -Long.parseLong(log[1]));
+                continue;
+            }
+            // Zipf-like: a few services carry most of the hours
+            String key = "SRV-" + (int) Math.floor(Math.pow(1000, random.nextDouble()));
+            long minutes = 6 * (1 + random.nextInt(80));
+            add(summary, exact, key, minutes);
+            booked.add(new String[]{key, Long.toString(minutes)});
+        }
+
+        List<SpaceSaving.HeavyHitter> top = summary.top(summary.size());
+        for (SpaceSaving.HeavyHitter hitter : top) {
+            long weight = exact.getOrDefault(hitter.key(), 0L);
+            assertThat(weight).as(hitter.key()).isBetween(hitter.lowerBound(), hitter.count());
+        }
+        List<String> tracked = top.stream().map(SpaceSaving.HeavyHitter::key).toList();
+        exact.forEach((key, weight) -> {
+            if (!tracked.contains(key)) {
+                assertThat(weight).as(key).isLessThanOrEqualTo(summary.untrackedBound());
+            }
+        });
+
+        // The heaviest keys are found, in order
+        List<String> exactTop = exact.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(3)
+                .map(Map.Entry::getKey)
+                .toList();
+        assertThat(summary.top(3).stream().map(SpaceSaving.HeavyHitter::key).toList()).isEqualTo(exactTop);
+    }
+
+    @Test
+    void testExactWhileUnderCapacity() {
+        SpaceSaving summary = new SpaceSaving(3);
+        summary.add("SRV-A", 120);
+        summary.add("SRV-B", 60);
+        summary.add("SRV-A", -30);
+        summary.add("SRV-C", 200);
+
+        assertThat(summary.top(2)).containsExactly(
+                new SpaceSaving.HeavyHitter("SRV-C", 200, 0),
+                new SpaceSaving.HeavyHitter("SRV-A", 90, 0));
+        assertThat(summary.untrackedBound()).isZero();
+
+        summary.add("SRV-D", 10);
+
+        // SRV-B (60) was evicted: SRV-D may hold up to 60 + 10
+        assertThat(summary.size()).isEqualTo(3);
+        assertThat(summary.untrackedBound()).isEqualTo(60);
+        assertThat(summary.top(3).get(2)).isEqualTo(new SpaceSaving.HeavyHitter("SRV-D", 70, 60));
+    }
+
+    private static void add(SpaceSaving summary, Map<String, Long> exact, String key, long minutes) {
+        summary.add(key, minutes);
+        exact.merge(key, minutes, Long::sum);
+    }
+}
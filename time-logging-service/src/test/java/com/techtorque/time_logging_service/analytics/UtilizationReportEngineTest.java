@@ -0,0 +1,144 @@
+package com.techtorque.time_logging_service.analytics;
+
+import com.techtorque.time_logging_service.entity.TimeLog;
+import com.techtorque.time_logging_service.repository.TimeLogRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Merged partitions give the same totals as summing every entry of the range.
+ * Not @Transactional - each partition reads in its own transaction on a pool thread.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class UtilizationReportEngineTest {
+
+    private static final LocalDate FROM = LocalDate.of(2025, 11, 3);
+    private static final String[] WORK_TYPES = {"Repair", "Inspection", "Documentation"};
+
+    @Autowired
+    private UtilizationReportEngine engine;
+
+    @Autowired
+    private TimeLogRepository timeLogRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        timeLogRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        timeLogRepository.deleteAll();
+    }
+
+    @Test
+    void testMergedPartitionsMatchEntryTotals() {
+        LocalDate to = FROM.plusDays(29);
+        List<TimeLog> logs = saveLogs(20, 400, 40, new Random(11));
+
+        // Expected minutes per employee and work type, counting only entries inside the range
+        Map<String, Map<String, Long>> expected = new TreeMap<>();
+        long billable = 0;
+        for (TimeLog log : logs) {
+            if (log.getDate().isAfter(to)) {
+                continue;
+            }
+            long minutes = log.getMinutes();
+            expected.computeIfAbsent(log.getEmployeeId(), employee -> new TreeMap<>())
+                    .merge(log.getWorkType(), minutes, Long::sum);
+            if (!"Documentation".equals(log.getWorkType())) {
+                billable += minutes;
+            }
+        }
+
+        UtilizationReportEngine.UtilizationReport report = engine.run(FROM, to);
+
+        assertThat(report.partitions()).isEqualTo(5);
+        assertThat(report.capacityMinutes()).isEqualTo(22 * 8 * 60);
+        assertThat(report.billableMinutes()).isEqualTo(billable);
+        assertThat(report.employees()).extracting(UtilizationReportEngine.EmployeeUtilization::employeeId)
+                .containsExactlyElementsOf(expected.keySet());
+        for (UtilizationReportEngine.EmployeeUtilization employee : report.employees()) {
+            Map<String, Long> byWorkType = expected.get(employee.employeeId());
+            assertThat(employee.minutesByWorkType()).isEqualTo(byWorkType);
+            assertThat(employee.totalMinutes())
+                    .isEqualTo(byWorkType.values().stream().mapToLong(Long::longValue).sum());
+            assertThat(employee.billableMinutes())
+                    .isEqualTo(employee.totalMinutes() - byWorkType.getOrDefault("Documentation", 0L));
+        }
+    }
+
+    @Test
+    void testInvertedRangeIsRejected() {
+        assertThatThrownBy(() -> engine.run(FROM, FROM.minusDays(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testRangesBeyondTheMaximumAreRejectedBeforeAnyPartitionRuns() {
+        assertThat(engine.run(FROM, FROM.plusDays(365)).partitions()).isEqualTo(53);
+
+        assertThatThrownBy(() -> engine.run(FROM, FROM.plusDays(366)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("at most 366 days");
+        assertThatThrownBy(() -> engine.run(LocalDate.MIN, LocalDate.MAX))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * One year of entries for 500 employees, aggregated on 1, 2, 4 and 8 workers. Run with -Dbenchmarks=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    void benchmarkParallelism() {
+        saveLogs(500, 200_000, 365, new Random(5));
+        for (int round = 0; round < 3; round++) {
+            for (int workers : new int[]{1, 2, 4, 8}) {
+                UtilizationReportEngine sized = new UtilizationReportEngine(timeLogRepository, transactionManager,
+                        workers, 7, 366, Set.of("Documentation"), 8);
+                try {
+                    UtilizationReportEngine.UtilizationReport report = sized.run(FROM, FROM.plusDays(364));
+                    System.out.printf("%d workers: %d partitions, %d employees in %5d ms%n",
+                            workers, report.partitions(), report.employees().size(), report.elapsedMillis());
+                } finally {
+                    sized.stop();
+                }
+            }
+        }
+    }
+
+    private List<TimeLog> saveLogs(int employees, int entries, int days, Random random) {
+        List<TimeLog> logs = new ArrayList<>(entries);
+        for (int i = 0; i < entries; i++) {
+            logs.add(TimeLog.builder()
+                    .employeeId("technician-" + random.nextInt(employees))
+                    .serviceId("SRV-" + random.nextInt(5))
+                    .minutes(15 * (1 + random.nextInt(32)))
+                    .date(FROM.plusDays(random.nextInt(days)))
+                    .workType(WORK_TYPES[random.nextInt(WORK_TYPES.length)])
+                    .build());
+        }
+        return timeLogRepository.saveAll(logs);
+    }
+}
@@ -0,0 +1,121 @@
+package com.techtorque.time_logging_service.cache;
+
+import com.techtorque.time_logging_service.TimeLoggingServiceApplication;
+import com.techtorque.time_logging_service.dto.request.TimeLogUpdateRequest;
+import com.techtorque.time_logging_service.entity.TimeLog;
+import com.techtorque.time_logging_service.repository.TimeLogRepository;
+import com.techtorque.time_logging_service.service.DailyHoursLedger;
+import com.techtorque.time_logging_service.service.TimeLogService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two application contexts (two "replicas") sharing one PostgreSQL database.
+ * Run with -Dpostgres.url=jdbc:postgresql://localhost:5432/techtorque_timelogs [-Dpostgres.user=... -Dpostgres.password=...]
+ */
+@EnabledIfSystemProperty(named = "postgres.url", matches = ".+")
+class CacheInvalidationIntegrationTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 11, 21);
+
+    private ConfigurableApplicationContext first;
+    private ConfigurableApplicationContext second;
+    private UUID logId;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        first = start("first");
+        second = start("second");
+        awaitTrue(() -> first.getBean(CacheInvalidationListener.class).isListening()
+                && second.getBean(CacheInvalidationListener.class).isListening());
+
+        TimeLog saved = first.getBean(TimeLogRepository.class).save(TimeLog.builder()
+                .employeeId("cache-it-employee")
+                .serviceId("cache-it-service")
+                .minutes(120)
+                .date(DATE)
+                .description("Cross-instance cache test")
+                .build());
+        logId = saved.getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (first != null) {
+            first.getBean(TimeLogRepository.class).deleteById(logId);
+            first.close();
+        }
+        if (second != null) {
+            second.close();
+        }
+    }
+
+    @Test
+    void testUpdateOnOneInstanceEvictsTheOther() throws InterruptedException {
+        TimeLogService secondService = second.getBean(TimeLogService.class);
+        EntityManagerFactory secondCache = second.getBean(EntityManagerFactory.class);
+        assertThat(secondService.getTimeLogById(logId.toString()).getHours()).isEqualTo(2.0);
+        assertThat(secondService.getTimeLogsByServiceId("cache-it-service")).hasSize(1);
+        assertThat(second.getBean(DailyHoursLedger.class).getMinutes("cache-it-employee", DATE)).isEqualTo(120L);
+        assertThat(secondCache.getCache().contains(TimeLog.class, logId)).isTrue();
+
+        TimeLogUpdateRequest update = new TimeLogUpdateRequest();
+        update.setHours(5.0);
+        first.getBean(TimeLogService.class).updateTimeLog(logId.toString(), update);
+
+        awaitTrue(() -> !secondCache.getCache().contains(TimeLog.class, logId));
+        assertThat(secondService.getTimeLogById(logId.toString()).getHours()).isEqualTo(5.0);
+        assertThat(secondService.getTimeLogsByServiceId("cache-it-service").get(0).getHours()).isEqualTo(5.0);
+        assertThat(second.getBean(DailyHoursLedger.class).getMinutes("cache-it-employee", DATE)).isEqualTo(300L);
+    }
+
+    @Test
+    void testMissedMessagesFallBackToAFullFlush() {
+        TimeLogService secondService = second.getBean(TimeLogService.class);
+        EntityManagerFactory secondCache = second.getBean(EntityManagerFactory.class);
+        secondService.getTimeLogById(logId.toString());
+        assertThat(secondCache.getCache().contains(TimeLog.class, logId)).isTrue();
+
+        CacheInvalidationListener listener = second.getBean(CacheInvalidationListener.class);
+        listener.handle(new InvalidationMessage("replica-x", 1, List.of()).encode());
+        listener.handle(new InvalidationMessage("replica-x", 5, List.of()).encode());
+
+        assertThat(secondCache.getCache().contains(TimeLog.class, logId)).isFalse();
+    }
+
+    private static ConfigurableApplicationContext start(String name) {
+        return new SpringApplicationBuilder(TimeLoggingServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--spring.datasource.url=" + System.getProperty("postgres.url"),
+                        "--spring.datasource.username=" + System.getProperty("postgres.user", "techtorque"),
+                        "--spring.datasource.password=" + System.getProperty("postgres.password", "techtorque123"),
+                        "--spring.datasource.driverClassName=org.postgresql.Driver",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+                        "--spring.jpa.hibernate.ddl-auto=update",
+                        "--app.cache.invalidation.enabled=true",
+                        "--app.cache.invalidation.poll-interval-ms=50",
+                        "--app.time-logs.journal.dir=target/cache-it-journal-" + name);
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("condition not met within 10 s").isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.techtorque.time_logging_service.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CacheInvalidationListenerTest {
+
+    private final CacheInvalidationPublisher publisher = mock(CacheInvalidationPublisher.class);
+    private final TimeLogCacheEvictor evictor = mock(TimeLogCacheEvictor.class);
+    private final CacheInvalidationListener listener;
+
+    CacheInvalidationListenerTest() {
+        when(publisher.getInstanceId()).thenReturn("self");
+        listener = new CacheInvalidationListener(null, publisher, List.of(evictor), 500, 5000);
+    }
+
+    @Test
+    void testMessageRoundTrip() {
+        TimeLogChange change = change("employee123", LocalDate.of(2025, 11, 21));
+        TimeLogChange unknownService = new TimeLogChange(UUID.randomUUID(), "emp 2", null, LocalDate.of(2025, 1, 2));
+        InvalidationMessage message = new InvalidationMessage("other", 7,
+                List.of(change, unknownService, new PayrollWeekChange(LocalDate.of(2025, 11, 17))));
+
+        InvalidationMessage decoded = InvalidationMessage.decode(message.encode());
+
+        assertThat(decoded).isEqualTo(message);
+    }
+
+    @Test
+    void testChangesFromOtherInstancesAreEvicted() {
+        TimeLogChange first = change("employee123", LocalDate.of(2025, 11, 21));
+        TimeLogChange second = change("employee456", LocalDate.of(2025, 11, 22));
+
+        listener.handle(new InvalidationMessage("other", 1, List.of(first)).encode());
+        listener.handle(new InvalidationMessage("other", 2, List.of(second)).encode());
+
+        verify(evictor).evict(first);
+        verify(evictor).evict(second);
+        verify(evictor, never()).evictAll();
+    }
+
+    @Test
+    void testClosedPayrollWeeksFromOtherInstancesAreEvicted() {
+        listener.handle(new InvalidationMessage("other", 1,
+                List.of(new PayrollWeekChange(LocalDate.of(2025, 11, 17)))).encode());
+
+        verify(evictor).evictPayrollWeek(LocalDate.of(2025, 11, 17));
+        verify(evictor, never()).evict(any());
+    }
+
+    @Test
+    void testOwnMessagesAreIgnored() {
+        listener.handle(new InvalidationMessage("self", 1, List.of(change("employee123", LocalDate.now()))).encode());
+
+        verify(evictor, never()).evict(any());
+    }
+
+    @Test
+    void testSequenceGapFlushesEverything() {
+        listener.handle(new InvalidationMessage("other", 1, List.of(change("employee123", LocalDate.now()))).encode());
+        listener.handle(new InvalidationMessage("other", 3, List.of(change("employee123", LocalDate.now()))).encode());
+
+        verify(evictor).evictAll();
+    }
+
+    @Test
+    void testFlushMarkerFlushesEverything() {
+        listener.handle(new InvalidationMessage("other", 1,
+                List.of(new CacheFlush(), change("employee123", LocalDate.now()))).encode());
+
+        verify(evictor).evictAll();
+        verify(evictor, never()).evict(any());
+    }
+
+    @Test
+    void testUnreadableMessageFlushesEverything() {
+        listener.handle("garbage");
+
+        verify(evictor).evictAll();
+    }
+
+    private static TimeLogChange change(String employeeId, LocalDate date) {
+        return new TimeLogChange(UUID.randomUUID(), employeeId, "service 1", date);
+    }
+}
@@ -0,0 +1,78 @@
+package com.techtorque.time_logging_service.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CacheInvalidationPublisherTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final List<InvalidationMessage> sent = new CopyOnWriteArrayList<>();
+    private final CacheInvalidationPublisher publisher = new CacheInvalidationPublisher(jdbcTemplate, true,
+            "time_log_invalidation", 2, "jdbc:postgresql://localhost/timelogs");
+
+    CacheInvalidationPublisherTest() {
+        when(jdbcTemplate.execute(anyString(), any(PreparedStatementCallback.class))).thenAnswer(invocation -> {
+            PreparedStatement statement = mock(PreparedStatement.class);
+            doAnswer(setString -> sent.add(InvalidationMessage.decode(setString.getArgument(1))))
+                    .when(statement).setString(eq(2), anyString());
+            return invocation.<PreparedStatementCallback<?>>getArgument(1).doInPreparedStatement(statement);
+        });
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        publisher.stop();
+    }
+
+    @Test
+    void testQueuedChangesAreSent() throws Exception {
+        TimeLogChange change = change();
+        publisher.publish(change);
+        publisher.start();
+
+        awaitSent();
+        assertThat(sent).hasSize(1);
+        assertThat(sent.get(0).changes()).containsExactly(change);
+    }
+
+    @Test
+    void testOverflowSendsAFlushInsteadOfTheQueuedChanges() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            publisher.publish(change());
+        }
+        publisher.start();
+
+        awaitSent();
+        assertThat(sent).hasSize(1);
+        assertThat(sent.get(0).changes()).containsExactly(new CacheFlush());
+        assertThat(sent.get(0).sequence()).isEqualTo(1);
+    }
+
+    private void awaitSent() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (sent.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static TimeLogChange change() {
+        return new TimeLogChange(UUID.randomUUID(), "employee1", "service1", LocalDate.of(2025, 11, 21));
+    }
+}
@@ -0,0 +1,138 @@
+package com.techtorque.time_logging_service.cache;
+
+import com.techtorque.time_logging_service.TimeLogIntegrationTest;
+import com.techtorque.time_logging_service.entity.TimeLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static com.techtorque.time_logging_service.TimeLogFixtures.timeLog;
+import static com.techtorque.time_logging_service.cache.EncodedResponseCache.Format.CBOR;
+import static com.techtorque.time_logging_service.cache.EncodedResponseCache.Format.JSON;
+import static com.techtorque.time_logging_service.cache.EncodedResponseCache.Format.SMILE;
+import static com.techtorque.time_logging_service.cache.EncodedResponseCache.Scope.EMPLOYEE;
+import static com.techtorque.time_logging_service.cache.EncodedResponseCache.Scope.SERVICE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Encoded responses are reused until a committed write touches their employee or service
+ */
+class EncodedResponseCacheTest extends TimeLogIntegrationTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 11, 21);
+
+    @Autowired
+    private EncodedResponseCache cache;
+
+    private final AtomicInteger computed = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        cache.evictAll();
+    }
+
+    @Test
+    void testCommittedWritesInvalidateOnlyTheirScopes() {
+        TimeLog log = timeLogRepository.save(timeLog("employee1", "service1", null, 2.0, DATE));
+        Supplier<Object> body = () -> {
+            computed.incrementAndGet();
+            return List.of(log.getId().toString());
+        };
+
+        EncodedResponseCache.EncodedBody first = cache.get(EMPLOYEE, "employee1", "summary", JSON, body);
+        EncodedResponseCache.EncodedBody second = cache.get(EMPLOYEE, "employee1", "summary", JSON, body);
+        cache.get(SERVICE, "service1", "service", JSON, body);
+        assertThat(second).isSameAs(first);
+        assertThat(computed).hasValue(2);
+
+        // Another employee on another service: both entries stay
+        timeLogRepository.save(timeLog("employee2", "service2", null, 2.0, DATE));
+        cache.get(EMPLOYEE, "employee1", "summary", JSON, body);
+        cache.get(SERVICE, "service1", "service", JSON, body);
+        assertThat(computed).hasValue(2);
+
+        // Updating the entry makes both its employee and its service stale
+        log.setMinutes(180);
+        timeLogRepository.save(log);
+        cache.get(EMPLOYEE, "employee1", "summary", JSON, body);
+        cache.get(SERVICE, "service1", "service", JSON, body);
+        assertThat(computed).hasValue(4);
+
+        cache.get(SERVICE, "service2", "service", JSON, body);
+        timeLogRepository.delete(log);
+        cache.get(SERVICE, "service2", "service", JSON, body);
+        cache.get(SERVICE, "service1", "service", JSON, body);
+        cache.get(SERVICE, "service1", "service", JSON, body);
+        assertThat(computed).hasValue(6);
+    }
+
+    @Test
+    void testRemoteChangesInvalidateOnlyTheirServices() {
+        cache.get(SERVICE, "service1", "service", JSON, this::compute);
+        cache.get(SERVICE, "service2", "service", JSON, this::compute);
+        cache.get(EMPLOYEE, "employee1", "summary", JSON, this::compute);
+
+        cache.evict(new TimeLogChange(UUID.randomUUID(), "employee1", "service1", DATE));
+        cache.get(SERVICE, "service2", "service", JSON, this::compute);
+        assertThat(computed).hasValue(3);
+        cache.get(SERVICE, "service1", "service", JSON, this::compute);
+        cache.get(EMPLOYEE, "employee1", "summary", JSON, this::compute);
+        assertThat(computed).hasValue(5);
+
+        // Without a service every service scope is stale
+        cache.evict(new TimeLogChange(UUID.randomUUID(), "employee2", null, DATE));
+        cache.get(SERVICE, "service2", "service", JSON, this::compute);
+        cache.get(EMPLOYEE, "employee1", "summary", JSON, this::compute);
+        assertThat(computed).hasValue(6);
+    }
+
+    @Test
+    void testGzipIsNegotiated() {
+        String large = "x".repeat(10_000);
+        EncodedResponseCache.EncodedBody body = cache.get(SERVICE, "service1", "large", JSON, () -> List.of(large));
+        EncodedResponseCache.EncodedBody small = cache.get(SERVICE, "service1", "small", JSON, () -> List.of("x"));
+        assertThat(body.gzip()).isNotNull();
+        assertThat(body.gzip().length).isLessThan(body.identity().length / 10);
+        assertThat(small.gzip()).isNull();
+
+        ResponseEntity<byte[]> gzipped = EncodedResponseCache.respond(body, "deflate, gzip;q=0.8");
+        assertThat(gzipped.getHeaders().getFirst("Content-Encoding")).isEqualTo("gzip");
+        assertThat(gzipped.getBody()).isSameAs(body.gzip());
+        assertThat(gzipped.getHeaders().getVary()).containsExactly("Accept", "Accept-Encoding");
+
+        assertThat(EncodedResponseCache.respond(body, null).getBody()).isSameAs(body.identity());
+        assertThat(EncodedResponseCache.respond(body, "gzip;q=0, br").getBody()).isSameAs(body.identity());
+        assertThat(EncodedResponseCache.respond(small, "gzip").getHeaders().getFirst("Content-Encoding")).isNull();
+        assertThat(EncodedResponseCache.acceptsGzip("*")).isTrue();
+        assertThat(EncodedResponseCache.acceptsGzip("identity")).isFalse();
+    }
+
+    @Test
+    void testAcceptSelectsFormat() {
+        EncodedResponseCache.EncodedBody json = cache.get(SERVICE, "service1", "formats", JSON, () -> List.of("x"));
+        EncodedResponseCache.EncodedBody smile = cache.get(SERVICE, "service1", "formats", SMILE, () -> List.of("x"));
+        assertThat(smile).isNotSameAs(json);
+        assertThat(EncodedResponseCache.respond(smile, null).getHeaders().getContentType())
+                .hasToString("application/x-jackson-smile");
+
+        assertThat(EncodedResponseCache.negotiate(null)).isEqualTo(JSON);
+        assertThat(EncodedResponseCache.negotiate("*/*")).isEqualTo(JSON);
+        assertThat(EncodedResponseCache.negotiate("text/html")).isEqualTo(JSON);
+        assertThat(EncodedResponseCache.negotiate("not a media type")).isEqualTo(JSON);
+        assertThat(EncodedResponseCache.negotiate("application/x-jackson-smile")).isEqualTo(SMILE);
+        assertThat(EncodedResponseCache.negotiate("*/*, application/cbor")).isEqualTo(CBOR);
+        assertThat(EncodedResponseCache.negotiate("application/cbor;q=0.5, application/json")).isEqualTo(JSON);
+        assertThat(EncodedResponseCache.negotiate("application/json;q=0, application/*")).isEqualTo(SMILE);
+    }
+
+    private Object compute() {
+        return List.of(computed.incrementAndGet());
+    }
+}
@@ -0,0 +1,158 @@
+package com.techtorque.time_logging_service.config;
+
+import com.techtorque.time_logging_service.ratelimit.RateLimitProperties;
+import com.techtorque.time_logging_service.ratelimit.TokenBucketRateLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * RateLimitFilter in front of a stub controller, on a manual clock
+ */
+class RateLimitFilterTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(1_000));
+    private MockMvc mockMvc;
+
+    @RestController
+    static class StubController {
+
+        @PostMapping("/time-logs")
+        String create() {
+            return "created";
+        }
+
+        @GetMapping("/time-logs/{id}")
+        String get() {
+            return "found";
+        }
+
+        @GetMapping("/health")
+        String health() {
+            return "up";
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties.Rule create = new RateLimitProperties.Rule();
+        create.setMethod("POST");
+        create.setPath("/time-logs");
+        create.setCapacity(2);
+        create.setPeriod(Duration.ofSeconds(60));
+        create.setRoleCapacity(Map.of("ADMIN", 4));
+        RateLimitProperties.Rule everything = new RateLimitProperties.Rule();
+        everything.setPath("/time-logs/**");
+        everything.setCapacity(3);
+        everything.setPeriod(Duration.ofSeconds(60));
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRules(List.of(create, everything));
+
+        mockMvc = MockMvcBuilders.standaloneSetup(new StubController())
+                .addFilters(new RateLimitFilter(properties, new TokenBucketRateLimiter(1_000, 4, clock::get)))
+                .build();
+    }
+
+    @Test
+    void testRequestsBeyondCapacityGet429WithRetryAfter() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(create("employee1")).andExpect(status().isOk());
+        }
+
+        // One token per 30 seconds
+        mockMvc.perform(create("employee1"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "30"))
+                .andExpect(jsonPath("$.status").value(429))
+                .andExpect(jsonPath("$.path").value("/time-logs"));
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(20));
+        mockMvc.perform(create("employee1")).andExpect(header().string("Retry-After", "10"));
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        mockMvc.perform(create("employee1")).andExpect(status().isOk());
+    }
+
+    @Test
+    void testFirstMatchingRuleWinsAndSubjectsAreIndependent() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(create("employee1")).andExpect(status().isOk());
+        }
+        mockMvc.perform(create("employee1")).andExpect(status().isTooManyRequests());
+
+        // Reads match the second rule, which has its own bucket and capacity
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(read("employee1")).andExpect(status().isOk());
+        }
+        mockMvc.perform(read("employee1"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "20"));
+
+        mockMvc.perform(create("employee2")).andExpect(status().isOk());
+
+        // Paths without a rule are never limited
+        for (int i = 0; i < 10; i++) {
+            mockMvc.perform(get("/health").header("X-User-Subject", "employee1")).andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    void testRoleCapacityOverridesTheRuleCapacity() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            mockMvc.perform(create("admin1").header("X-User-Roles", "ROLE_EMPLOYEE,ROLE_ADMIN"))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(create("admin1").header("X-User-Roles", "ROLE_EMPLOYEE,ROLE_ADMIN"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "15"));
+
+        // Roles without an override keep the rule capacity
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(create("employee1").header("X-User-Roles", "ROLE_EMPLOYEE")).andExpect(status().isOk());
+        }
+        mockMvc.perform(create("employee1").header("X-User-Roles", "ROLE_EMPLOYEE"))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    void testAnonymousCallersAreLimitedByAddress() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/time-logs").with(request -> {
+                request.setRemoteAddr("10.0.0.1");
+                return request;
+            })).andExpect(status().isOk());
+        }
+        mockMvc.perform(post("/time-logs").with(request -> {
+            request.setRemoteAddr("10.0.0.1");
+            return request;
+        })).andExpect(status().isTooManyRequests());
+        mockMvc.perform(post("/time-logs").with(request -> {
+            request.setRemoteAddr("10.0.0.2");
+            return request;
+        })).andExpect(status().isOk());
+    }
+
+    private static MockHttpServletRequestBuilder create(String subject) {
+        return post("/time-logs").header("X-User-Subject", subject);
+    }
+
+    private static MockHttpServletRequestBuilder read(String subject) {
+        return get("/time-logs/{id}", "log123").header("X-User-Subject", subject);
+    }
+}
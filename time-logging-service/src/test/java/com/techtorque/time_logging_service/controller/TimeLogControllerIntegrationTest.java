@@ -1,9 +1,14 @@
 package com.techtorque.time_logging_service.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techtorque.time_logging_service.cache.EncodedResponseCache;
+import com.techtorque.time_logging_service.dto.mapper.TimeLogField;
 import com.techtorque.time_logging_service.dto.request.TimeLogRequest;
 import com.techtorque.time_logging_service.dto.request.TimeLogUpdateRequest;
 import com.techtorque.time_logging_service.dto.response.TimeLogResponse;
+import com.techtorque.time_logging_service.dto.response.TimeLogSummaryResponse;
+import com.techtorque.time_logging_service.entity.PayrollPeriod;
+import com.techtorque.time_logging_service.service.PayrollPeriodService;
 import com.techtorque.time_logging_service.service.TimeLogService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,16 +17,28 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayInputStream;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -40,10 +57,21 @@ class TimeLogControllerIntegrationTest {
     @MockBean
     private TimeLogService timeLogService;
 
+    @Autowired
+    private EncodedResponseCache responseCache;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
     private TimeLogResponse testResponse;
 
     @BeforeEach
     void setUp() {
+        // The mocked service changes no data, so nothing would invalidate responses cached by other tests
+        responseCache.evictAll();
         testResponse = new TimeLogResponse();
         testResponse.setId("log123");
         testResponse.setEmployeeId("employee123");
@@ -81,7 +109,7 @@ class TimeLogControllerIntegrationTest {
     @Test
     @WithMockUser(roles = "EMPLOYEE")
     void testGetMyTimeLogs_Employee() throws Exception {
-        when(timeLogService.getAllTimeLogsByEmployee("employee123"))
+        when(timeLogService.getTimeLogs("employee123", null, null, null))
                 .thenReturn(Arrays.asList(testResponse));
 
         mockMvc.perform(get("/time-logs")
@@ -95,14 +123,17 @@ class TimeLogControllerIntegrationTest {
     @Test
     @WithMockUser(roles = "ADMIN")
     void testGetMyTimeLogs_Admin() throws Exception {
-        when(timeLogService.getAllTimeLogs())
+        when(timeLogService.getTimeLogs(null, null, null, "Repair"))
                 .thenReturn(Arrays.asList(testResponse));
 
+        // The work type is filtered in the query, not on the returned list
         mockMvc.perform(get("/time-logs")
                         .header("X-User-Subject", "admin123")
-                        .header("X-User-Roles", "ROLE_ADMIN"))
+                        .header("X-User-Roles", "ROLE_ADMIN")
+                        .param("workType", "Repair"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray());
+                .andExpect(jsonPath("$").isArray())
+                .andExpect(jsonPath("$[0].id").value("log123"));
     }
 
     @Test
@@ -136,6 +167,35 @@ class TimeLogControllerIntegrationTest {
                 .andExpect(jsonPath("$.id").value("log123"));
     }
 
+    @Test
+    @WithMockUser(roles = "EMPLOYEE")
+    void testHoursOutOfRangeAreRejected() throws Exception {
+        // Below half a minute would be stored as 0 minutes; huge values would overflow the minutes column
+        for (double hours : new double[]{0.005, 24.5, 1e12}) {
+            TimeLogRequest request = new TimeLogRequest();
+            request.setServiceId("service456");
+            request.setHours(hours);
+            request.setDate(LocalDate.of(2025, 11, 21));
+            mockMvc.perform(post("/time-logs")
+                            .header("X-User-Subject", "employee123")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.fieldErrors.hours").exists());
+
+            TimeLogUpdateRequest update = new TimeLogUpdateRequest();
+            update.setHours(hours);
+            mockMvc.perform(put("/time-logs/{logId}", "log123")
+                            .header("X-User-Subject", "employee123")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(update)))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.fieldErrors.hours").exists());
+        }
+        verify(timeLogService, times(0)).createTimeLog(anyString(), any(TimeLogRequest.class));
+        verify(timeLogService, times(0)).updateTimeLogWithAuthorization(anyString(), anyString(), any());
+    }
+
     @Test
     @WithMockUser(roles = "EMPLOYEE")
     void testDeleteTimeLog_Success() throws Exception {
@@ -157,6 +217,83 @@ class TimeLogControllerIntegrationTest {
                 .andExpect(jsonPath("$[0].serviceId").value("service456"));
     }
 
+    @Test
+    @WithMockUser(roles = "CUSTOMER")
+    void testGetTimeLogsForService_SparseFields() throws Exception {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", "log123");
+        row.put("hours", 8.0);
+        when(timeLogService.getTimeLogFields(eq(List.of(TimeLogField.ID, TimeLogField.HOURS)),
+                isNull(), eq("service456"), isNull(), isNull(), isNull(), isNull()))
+                .thenReturn(List.of(row));
+
+        mockMvc.perform(get("/time-logs/service/{serviceId}", "service456")
+                        .param("fields", "id,hours"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value("log123"))
+                .andExpect(jsonPath("$[0].hours").value(8.0))
+                .andExpect(jsonPath("$[0].description").doesNotExist());
+    }
+
+    @Test
+    @WithMockUser(roles = "CUSTOMER")
+    void testGetTimeLogsForService_UnknownFieldIsRejected() throws Exception {
+        mockMvc.perform(get("/time-logs/service/{serviceId}", "service456")
+                        .param("fields", "id,salary"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "CUSTOMER")
+    void testGetTimeLogsForService_CachedAndGzipped() throws Exception {
+        List<TimeLogResponse> responses = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            responses.add(testResponse);
+        }
+        when(timeLogService.getTimeLogsByServiceId("service456")).thenReturn(responses);
+
+        byte[] gzipped = mockMvc.perform(get("/time-logs/service/{serviceId}", "service456")
+                        .header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().stringValues("Vary", "Accept", "Accept-Encoding"))
+                .andReturn().getResponse().getContentAsByteArray();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            assertThat(objectMapper.readTree(in.readAllBytes())).hasSize(50);
+        }
+
+        mockMvc.perform(get("/time-logs/service/{serviceId}", "service456"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(jsonPath("$.length()").value(50))
+                .andExpect(jsonPath("$[0].serviceId").value("service456"));
+        verify(timeLogService, times(1)).getTimeLogsByServiceId("service456");
+    }
+
+    @Test
+    @WithMockUser(roles = "CUSTOMER")
+    void testBinaryFormatsAreNegotiated() throws Exception {
+        when(timeLogService.getTimeLogsByServiceId("service456")).thenReturn(List.of(testResponse));
+        when(timeLogService.getTimeLogsByProjectId("project789")).thenReturn(List.of(testResponse));
+
+        byte[] smile = mockMvc.perform(get("/time-logs/service/{serviceId}", "service456")
+                        .header("Accept", "application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+        TimeLogResponse[] fromSmile = smileConverter.getObjectMapper().readValue(smile, TimeLogResponse[].class);
+        assertThat(fromSmile[0]).usingRecursiveComparison().isEqualTo(testResponse);
+
+        byte[] cbor = mockMvc.perform(get("/time-logs/project/{projectId}", "project789")
+                        .header("Accept", "application/cbor, application/json;q=0.5"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        TimeLogResponse[] fromCbor = cborConverter.getObjectMapper().readValue(cbor, TimeLogResponse[].class);
+        assertThat(fromCbor[0]).usingRecursiveComparison().isEqualTo(testResponse);
+        assertThat(cbor.length).isLessThan(objectMapper.writeValueAsBytes(List.of(testResponse)).length);
+    }
+
     @Test
     @WithMockUser(roles = "EMPLOYEE")
     void testGetTimeLogsForProject_Success() throws Exception {
@@ -190,7 +327,7 @@ class TimeLogControllerIntegrationTest {
     @Test
     @WithMockUser(roles = "EMPLOYEE")
     void testGetMyTimeLogs_WithDateRange() throws Exception {
-        when(timeLogService.getTimeLogsByDateRange(anyString(), any(LocalDate.class), any(LocalDate.class)))
+        when(timeLogService.getTimeLogs("employee123", LocalDate.of(2025, 11, 1), LocalDate.of(2025, 11, 30), null))
                 .thenReturn(Arrays.asList(testResponse));
 
         mockMvc.perform(get("/time-logs")
@@ -201,4 +338,31 @@ class TimeLogControllerIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray());
     }
+
+    @Test
+    @WithMockUser(roles = "EMPLOYEE")
+    void testGetSummary_ClosedPeriodIsCacheable() throws Exception {
+        TimeLogSummaryResponse summary = new TimeLogSummaryResponse();
+        summary.setEmployeeId("employee123");
+        summary.setTotalMinutes(150);
+        PayrollPeriod period = PayrollPeriod.builder().id(UUID.randomUUID()).weekStart(LocalDate.of(2025, 11, 10)).build();
+        when(timeLogService.getClosedSummaries(List.of("employee123"), "weekly", LocalDate.of(2025, 11, 12)))
+                .thenReturn(Optional.of(new PayrollPeriodService.ClosedSummaries(period, List.of(summary), "\"abc\"")));
+
+        mockMvc.perform(get("/time-logs/summary")
+                        .header("X-User-Subject", "employee123")
+                        .param("period", "weekly")
+                        .param("date", "2025-11-12"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"abc\""))
+                .andExpect(header().string("Cache-Control", "max-age=2592000, private"))
+                .andExpect(jsonPath("$.totalMinutes").value(150));
+
+        mockMvc.perform(get("/time-logs/summary")
+                        .header("X-User-Subject", "employee123")
+                        .header("If-None-Match", "\"abc\"")
+                        .param("period", "weekly")
+                        .param("date", "2025-11-12"))
+                .andExpect(status().isNotModified());
+    }
 }
@@ -0,0 +1,219 @@
+package com.techtorque.time_logging_service.controller;
+
+import com.techtorque.time_logging_service.cache.EncodedResponseCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.techtorque.time_logging_service.dto.mapper.TimeLogMapper;
+import com.techtorque.time_logging_service.dto.response.TimeLogResponse;
+import com.techtorque.time_logging_service.entity.TimeLog;
+import com.techtorque.time_logging_service.repository.TimeLogRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Response bytes and heap allocated per request for full time logs vs a sparse fieldset,
+ * for loading entities vs the description-free projection used by summaries,
+ * for entity reads + mapping vs DTO constructor-expression reads,
+ * CPU time per request for encoding responses vs writing pre-encoded (and pre-gzipped) bytes,
+ * and size and encode/decode time of time logs as JSON vs Smile vs CBOR.
+ * Run with -Dbenchmarks=true
+ */
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class TimeLogPayloadBenchmarkTest {
+
+    private static final int ROWS = 10_000;
+    private static final int DESCRIPTION_CHARS = 2_000;
+    private static final LocalDate FROM = LocalDate.of(2025, 1, 1);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TimeLogRepository timeLogRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EncodedResponseCache responseCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @BeforeEach
+    void setUp() {
+        timeLogRepository.deleteAll();
+        String description = "x".repeat(DESCRIPTION_CHARS);
+        List<TimeLog> logs = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            logs.add(TimeLog.builder()
+                    .employeeId("employee123")
+                    .serviceId("SRV-BENCH")
+                    .minutes(90)
+                    .date(FROM.plusDays(i % 365))
+                    .description(description)
+                    .workType("Repair")
+                    .build());
+        }
+        timeLogRepository.saveAll(logs);
+    }
+
+    @AfterEach
+    void tearDown() {
+        timeLogRepository.deleteAll();
+    }
+
+    @Test
+    @WithMockUser(roles = "EMPLOYEE")
+    void benchmarkFullVsSparseFields() throws Exception {
+        for (int round = 0; round < 5; round++) {
+            measure("full", null);
+            measure("fields=id,date,hours", "id,date,hours");
+        }
+    }
+
+    @Test
+    @WithMockUser(roles = "EMPLOYEE")
+    void benchmarkEncodedVsCachedResponses() throws Exception {
+        for (int round = 0; round < 5; round++) {
+            for (String acceptEncoding : new String[]{null, "gzip"}) {
+                long coldCpu = 0;
+                long warmCpu = 0;
+                for (int i = 0; i < 10; i++) {
+                    responseCache.evictAll();
+                    coldCpu += requestCpuNanos(acceptEncoding);
+                    warmCpu += requestCpuNanos(acceptEncoding);
+                }
+                int bytes = serviceRequest(acceptEncoding).getResponse().getContentAsByteArray().length;
+                System.out.printf("%-8s %8.1f KB response  encoded %7.2f ms CPU  cached %7.2f ms CPU per request%n",
+                        acceptEncoding != null ? "gzip" : "identity", bytes / 1024.0, coldCpu / 10 / 1e6, warmCpu / 10 / 1e6);
+            }
+        }
+    }
+
+    @Test
+    void benchmarkWireFormats() throws Exception {
+        List<TimeLogResponse> responses = timeLogRepository.findResponsesByServiceId("SRV-BENCH");
+        Map<String, ObjectMapper> formats = new LinkedHashMap<>();
+        formats.put("json", objectMapper);
+        formats.put("smile", smileConverter.getObjectMapper());
+        formats.put("cbor", cborConverter.getObjectMapper());
+        for (int round = 0; round < 5; round++) {
+            for (Map.Entry<String, ObjectMapper> format : formats.entrySet()) {
+                ObjectMapper mapper = format.getValue();
+                long t0 = System.nanoTime();
+                byte[] bytes = mapper.writeValueAsBytes(responses);
+                long t1 = System.nanoTime();
+                TimeLogResponse[] decoded = mapper.readValue(bytes, TimeLogResponse[].class);
+                long t2 = System.nanoTime();
+                System.out.printf("%-6s %d rows %9.1f KB  encode %7.2f ms  decode %7.2f ms%n", format.getKey(),
+                        decoded.length, bytes.length / 1024.0, (t1 - t0) / 1e6, (t2 - t1) / 1e6);
+            }
+        }
+    }
+
+    @Test
+    void benchmarkEntitiesVsProjection() {
+        LocalDate to = FROM.plusDays(365);
+        for (int round = 0; round < 5; round++) {
+            long before = allocatedBytes();
+            int entities = timeLogRepository.findByEmployeeIdAndDateBetween("employee123", FROM, to).size();
+            long afterEntities = allocatedBytes();
+            int views = timeLogRepository.findHoursByEmployeeIdAndDateBetween("employee123", FROM, to).size();
+            long afterViews = allocatedBytes();
+            System.out.printf("summary rows: entities %d -> %8.1f MB allocated   projection %d -> %8.1f MB allocated%n",
+                    entities, (afterEntities - before) / 1e6, views, (afterViews - afterEntities) / 1e6);
+        }
+    }
+
+    @Test
+    void benchmarkEntityVsDtoReads() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        for (int round = 0; round < 5; round++) {
+            long before = allocatedBytes();
+            long t0 = System.nanoTime();
+            int entities = readOnly.execute(status -> timeLogRepository.findByServiceId("SRV-BENCH").stream()
+                    .map(TimeLogMapper::toResponse)
+                    .toList()
+                    .size());
+            long t1 = System.nanoTime();
+            long afterEntities = allocatedBytes();
+            int dtos = readOnly.execute(status -> timeLogRepository.findResponsesByServiceId("SRV-BENCH").size());
+            long t2 = System.nanoTime();
+            long afterDtos = allocatedBytes();
+            System.out.printf("read %d rows: entities+mapper %7.2f ms %8.1f MB   dto projection %d rows %7.2f ms %8.1f MB%n",
+                    entities, (t1 - t0) / 1e6, (afterEntities - before) / 1e6,
+                    dtos, (t2 - t1) / 1e6, (afterDtos - afterEntities) / 1e6);
+        }
+    }
+
+    private void measure(String label, String fields) throws Exception {
+        var request = get("/time-logs/service/{serviceId}", "SRV-BENCH");
+        if (fields != null) {
+            request.param("fields", fields);
+        }
+        // Measures building and encoding the response, not the response cache
+        responseCache.evictAll();
+        long before = allocatedBytes();
+        long started = System.nanoTime();
+        MvcResult result = mockMvc.perform(request).andExpect(status().isOk()).andReturn();
+        long elapsed = System.nanoTime() - started;
+        long allocated = allocatedBytes() - before;
+        System.out.printf("%-22s %8.1f KB response  %8.1f MB allocated  %7.2f ms%n", label,
+                result.getResponse().getContentAsByteArray().length / 1024.0, allocated / 1e6, elapsed / 1e6);
+    }
+
+    private long requestCpuNanos(String acceptEncoding) throws Exception {
+        long before = cpuNanos();
+        serviceRequest(acceptEncoding);
+        return cpuNanos() - before;
+    }
+
+    private MvcResult serviceRequest(String acceptEncoding) throws Exception {
+        var request = get("/time-logs/service/{serviceId}", "SRV-BENCH");
+        if (acceptEncoding != null) {
+            request.header("Accept-Encoding", acceptEncoding);
+        }
+        return mockMvc.perform(request).andExpect(status().isOk()).andReturn();
+    }
+
+    private static long cpuNanos() {
+        return ManagementFactory.getThreadMXBean().getCurrentThreadCpuTime();
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+}
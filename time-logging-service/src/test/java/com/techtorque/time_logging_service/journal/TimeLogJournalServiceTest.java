@@ -0,0 +1,126 @@
+package com.techtorque.time_logging_service.journal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.techtorque.time_logging_service.dto.request.TimeLogRequest;
+import com.techtorque.time_logging_service.service.TimeLogService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.InvalidDataAccessResourceUsageException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class TimeLogJournalServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final TimeLogService timeLogService = mock(TimeLogService.class);
+    private final DatabaseAvailability databaseAvailability = mock(DatabaseAvailability.class);
+    private TimeLogJournal journal;
+    private TimeLogJournal deadLetters;
+    private TimeLogJournalService journalService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        journal = new TimeLogJournal(directory.resolve("journal"), 64 * 1024);
+        deadLetters = new TimeLogJournal(directory.resolve("dead-letter"), 64 * 1024);
+        journalService = new TimeLogJournalService(journal, deadLetters, timeLogService, databaseAvailability,
+                objectMapper, true, 100);
+        when(databaseAvailability.isAvailable()).thenReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        journal.close();
+        deadLetters.close();
+    }
+
+    @Test
+    void testRejectedAndUnreadableRecordsAreDeadLettered() throws Exception {
+        journalService.append("employee1", request("SRV-1"));
+        journalService.append("employee2", request("SRV-REJECTED"));
+        journal.append("{not json".getBytes(StandardCharsets.UTF_8));
+        journalService.append("employee3", request("SRV-3"));
+        when(timeLogService.replayJournaledTimeLog(argThat(entry -> entry.getServiceId().equals("SRV-REJECTED"))))
+                .thenThrow(new DataIntegrityViolationException("rejected"));
+
+        journalService.replay();
+
+        assertThat(journalService.depth()).isZero();
+        assertThat(journalService.deadLetterCount()).isEqualTo(2);
+        verify(timeLogService, times(3)).replayJournaledTimeLog(any());
+
+        List<TimeLogJournal.JournalRecord> records = deadLetters.readPending(10);
+        DeadLetterEntry rejected = objectMapper.readValue(records.get(0).payload(), DeadLetterEntry.class);
+        assertThat(rejected.getEmployeeId()).isEqualTo("employee2");
+        assertThat(rejected.getReason()).isEqualTo("rejected");
+        assertThat(objectMapper.readValue(rejected.getPayload(), JournalEntry.class).getServiceId())
+                .isEqualTo("SRV-REJECTED");
+        DeadLetterEntry unreadable = objectMapper.readValue(records.get(1).payload(), DeadLetterEntry.class);
+        assertThat(unreadable.getRecordId()).isNull();
+        assertThat(new String(unreadable.getPayload(), StandardCharsets.UTF_8)).isEqualTo("{not json");
+
+        assertThat(new TimeLogJournalHealthIndicator(databaseAvailability, journalService).health().getDetails())
+                .containsEntry("deadLetters", 2L)
+                .containsEntry("journalDepth", 0L);
+    }
+
+    @Test
+    void testConnectivityFailureKeepsTheRecord() {
+        journalService.append("employee1", request("SRV-1"));
+        when(timeLogService.replayJournaledTimeLog(any()))
+                .thenThrow(new CannotCreateTransactionException("connection refused"));
+
+        journalService.replay();
+
+        assertThat(journalService.depth()).isEqualTo(1);
+        assertThat(journalService.deadLetterCount()).isZero();
+        verify(databaseAvailability).markUnavailable(any());
+    }
+
+    @Test
+    void testMissingSchemaKeepsTheRecords() {
+        journalService.append("employee1", request("SRV-1"));
+        journalService.append("employee2", request("SRV-2"));
+        when(timeLogService.replayJournaledTimeLog(any())).thenThrow(new InvalidDataAccessResourceUsageException(
+                "could not execute statement", new SQLException("relation \"time_logs\" does not exist", "42P01")));
+
+        journalService.replay();
+
+        assertThat(journalService.depth()).isEqualTo(2);
+        assertThat(journalService.deadLetterCount()).isZero();
+        assertThat(journalService.isSchemaMissing()).isTrue();
+        verify(timeLogService, times(1)).replayJournaledTimeLog(any());
+        verify(databaseAvailability, never()).markUnavailable(any());
+
+        reset(timeLogService);
+        journalService.replay();
+
+        assertThat(journalService.depth()).isZero();
+        assertThat(journalService.isSchemaMissing()).isFalse();
+    }
+
+    private static TimeLogRequest request(String serviceId) {
+        TimeLogRequest request = new TimeLogRequest();
+        request.setServiceId(serviceId);
+        request.setHours(2.0);
+        request.setDate(LocalDate.of(2025, 11, 21));
+        request.setDescription("Journaled");
+        return request;
+    }
+}
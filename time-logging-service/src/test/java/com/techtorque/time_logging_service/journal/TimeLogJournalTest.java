@@ -0,0 +1,122 @@
+package com.techtorque.time_logging_service.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimeLogJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRecordsSurviveReopenInAppendOrder() throws Exception {
+        try (TimeLogJournal journal = new TimeLogJournal(directory, 256)) {
+            for (int i = 0; i < 100; i++) {
+                journal.append(("record-" + i).getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        try (TimeLogJournal journal = new TimeLogJournal(directory, 256)) {
+            assertThat(journal.depth()).isEqualTo(100);
+            assertThat(journal.segmentCount()).isGreaterThan(1);
+            assertThat(payloads(journal.readPending(1000))).containsExactlyElementsOf(expected(0, 100));
+        }
+    }
+
+    @Test
+    void testAcknowledgedRecordsAreNotReplayedAgain() throws Exception {
+        try (TimeLogJournal journal = new TimeLogJournal(directory, 256)) {
+            for (int i = 0; i < 100; i++) {
+                journal.append(("record-" + i).getBytes(StandardCharsets.UTF_8));
+            }
+            List<TimeLogJournal.JournalRecord> first = journal.readPending(60);
+            journal.acknowledge(first.get(first.size() - 1).end(), first.size());
+            assertThat(journal.depth()).isEqualTo(40);
+        }
+
+        try (TimeLogJournal journal = new TimeLogJournal(directory, 256)) {
+            assertThat(journal.depth()).isEqualTo(40);
+            List<TimeLogJournal.JournalRecord> rest = journal.readPending(1000);
+            assertThat(payloads(rest)).containsExactlyElementsOf(expected(60, 100));
+
+            journal.acknowledge(rest.get(rest.size() - 1).end(), rest.size());
+            assertThat(journal.depth()).isZero();
+            assertThat(journal.segmentCount()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void testTornTailIsDiscardedOnReopen() throws Exception {
+        TimeLogJournal.JournalPosition end;
+        try (TimeLogJournal journal = new TimeLogJournal(directory, 256)) {
+            journal.append("intact".getBytes(StandardCharsets.UTF_8));
+            end = journal.append("torn".getBytes(StandardCharsets.UTF_8));
+        }
+        // Corrupt the last payload byte, as if the process died mid-write
+        try (RandomAccessFile file = new RandomAccessFile(
+                directory.resolve(String.format("segment-%020d.log", end.segment())).toFile(), "rw")) {
+            file.seek(end.offset() - 1);
+            file.write('X');
+        }
+
+        try (TimeLogJournal journal = new TimeLogJournal(directory, 256)) {
+            assertThat(journal.depth()).isEqualTo(1);
+            journal.append("after".getBytes(StandardCharsets.UTF_8));
+            assertThat(payloads(journal.readPending(10))).containsExactly("intact", "after");
+        }
+    }
+
+    @Test
+    void testConcurrentAppendsAreAllDurable() throws Exception {
+        int threads = 16;
+        int perThread = 200;
+        try (TimeLogJournal journal = new TimeLogJournal(directory, 64 * 1024)) {
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final int thread = t;
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        journal.append((thread + ":" + i).getBytes(StandardCharsets.UTF_8));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            pool.shutdown();
+        }
+
+        try (TimeLogJournal journal = new TimeLogJournal(directory, 64 * 1024)) {
+            List<String> payloads = payloads(journal.readPending(threads * perThread + 1));
+            assertThat(payloads).hasSize(threads * perThread).doesNotHaveDuplicates();
+        }
+    }
+
+    private static List<String> payloads(List<TimeLogJournal.JournalRecord> records) {
+        List<String> payloads = new ArrayList<>();
+        for (TimeLogJournal.JournalRecord record : records) {
+            payloads.add(new String(record.payload(), StandardCharsets.UTF_8));
+        }
+        return payloads;
+    }
+
+    private static List<String> expected(int from, int to) {
+        List<String> expected = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            expected.add("record-" + i);
+        }
+        return expected;
+    }
+}
@@ -0,0 +1,156 @@
+package com.techtorque.time_logging_service.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void testBurstUpToCapacityThenReject() {
+        AtomicLong clock = new AtomicLong(1_000 * SECOND);
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1_000, 4, clock::get);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("employee123", 5, SECOND)).isZero();
+        }
+
+        long wait = limiter.tryAcquire("employee123", 5, SECOND);
+        assertThat(wait).isEqualTo(SECOND);
+    }
+
+    @Test
+    void testRefillsOverTime() {
+        AtomicLong clock = new AtomicLong(1_000 * SECOND);
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1_000, 4, clock::get);
+
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("employee123", 3, SECOND);
+        }
+        assertThat(limiter.tryAcquire("employee123", 3, SECOND)).isPositive();
+
+        clock.addAndGet(SECOND);
+        assertThat(limiter.tryAcquire("employee123", 3, SECOND)).isZero();
+        assertThat(limiter.tryAcquire("employee123", 3, SECOND)).isPositive();
+    }
+
+    @Test
+    void testKeysAreIndependent() {
+        AtomicLong clock = new AtomicLong(1_000 * SECOND);
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1_000, 4, clock::get);
+
+        assertThat(limiter.tryAcquire("employee1", 1, SECOND)).isZero();
+        assertThat(limiter.tryAcquire("employee1", 1, SECOND)).isPositive();
+        assertThat(limiter.tryAcquire("employee2", 1, SECOND)).isZero();
+    }
+
+    @Test
+    void testKeyMapStaysBounded() {
+        AtomicLong clock = new AtomicLong(1_000 * SECOND);
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(256, 4, clock::get);
+
+        for (int i = 0; i < 10_000; i++) {
+            limiter.tryAcquire("employee" + i, 10, SECOND);
+            clock.addAndGet(SECOND);
+        }
+
+        assertThat(limiter.size()).isLessThanOrEqualTo(256);
+    }
+
+    @Test
+    void testFullStripeKeepsLimitedBucketsAndSharesOverflow() {
+        AtomicLong clock = new AtomicLong(1_000 * SECOND);
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(4, 1, clock::get);
+        for (int i = 0; i < 4; i++) {
+            assertThat(limiter.tryAcquire("employee" + i, 1, SECOND)).isZero();
+        }
+
+        // New keys cannot push out the limited buckets; they all draw from one shared bucket
+        int granted = 0;
+        for (int i = 0; i < 1_000; i++) {
+            if (limiter.tryAcquire("flood" + i, 1, SECOND) == 0L) {
+                granted++;
+            }
+        }
+        assertThat(granted).isEqualTo(1);
+        assertThat(limiter.size()).isEqualTo(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(limiter.tryAcquire("employee" + i, 1, SECOND)).isPositive();
+        }
+
+        // Once refilled, buckets are evicted and new keys are tracked on their own again
+        clock.addAndGet(2 * SECOND);
+        assertThat(limiter.tryAcquire("employee4", 1, SECOND)).isZero();
+        assertThat(limiter.tryAcquire("employee5", 1, SECOND)).isZero();
+        assertThat(limiter.tryAcquire("employee4", 1, SECOND)).isPositive();
+        assertThat(limiter.size()).isEqualTo(2);
+    }
+
+    @Test
+    void testConcurrentCallersNeverExceedCapacity() throws Exception {
+        AtomicLong clock = new AtomicLong(1_000 * SECOND);
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1_000, 4, clock::get);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger granted = new AtomicInteger();
+
+        for (int t = 0; t < 8; t++) {
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < 10_000; i++) {
+                    if (limiter.tryAcquire("employee123", 100, SECOND) == 0L) {
+                        granted.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(granted.get()).isEqualTo(100);
+    }
+
+    /**
+     * Throughput check, run with -Dbenchmarks=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    void benchmarkChecksPerSecond() throws Exception {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(100_000);
+        int threads = Runtime.getRuntime().availableProcessors();
+        int checksPerThread = 5_000_000;
+        String[] keys = new String[10_000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = "0:employee" + i;
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long started = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            final int offset = t;
+            pool.submit(() -> {
+                for (int i = 0; i < checksPerThread; i++) {
+                    limiter.tryAcquire(keys[(i + offset) % keys.length], 1_000, 1_000L);
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(5, TimeUnit.MINUTES);
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        System.out.printf("rate limiter: %d threads, %.1f M checks/s%n",
+                threads, threads * (double) checksPerThread / seconds / 1e6);
+    }
+}
@@ -1,18 +1,31 @@
 package com.techtorque.time_logging_service.repository;
 
+import com.techtorque.time_logging_service.analytics.AnalyticsResult;
+import com.techtorque.time_logging_service.analytics.Dimension;
+import com.techtorque.time_logging_service.analytics.GroupedMinutes;
+import com.techtorque.time_logging_service.analytics.TimeLogSelection;
+import com.techtorque.time_logging_service.config.SharedConstants;
+import com.techtorque.time_logging_service.dto.mapper.TimeLogField;
+import com.techtorque.time_logging_service.dto.response.TimeLogResponse;
 import com.techtorque.time_logging_service.entity.TimeLog;
+import com.techtorque.time_logging_service.service.WorkTypeDictionary;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @SpringBootTest
 @ActiveProfiles("test")
@@ -22,6 +35,12 @@ class TimeLogRepositoryTest {
     @Autowired
     private TimeLogRepository timeLogRepository;
 
+    @Autowired
+    private WorkTypeDictionary workTypeDictionary;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private TimeLog testTimeLog;
 
     @BeforeEach
@@ -32,7 +51,7 @@ class TimeLogRepositoryTest {
                 .employeeId("employee123")
                 .serviceId("service456")
                 .projectId("project789")
-                .hours(8.0)
+                .minutes(480)
                 .date(LocalDate.of(2025, 11, 21))
                 .description("Worked on feature implementation")
                 .workType("Development")
@@ -46,7 +65,7 @@ class TimeLogRepositoryTest {
         assertThat(saved).isNotNull();
         assertThat(saved.getId()).isNotNull();
         assertThat(saved.getEmployeeId()).isEqualTo("employee123");
-        assertThat(saved.getHours()).isEqualTo(8.0);
+        assertThat(saved.getMinutes()).isEqualTo(480);
         assertThat(saved.getDate()).isEqualTo(LocalDate.of(2025, 11, 21));
     }
 
@@ -65,7 +84,7 @@ class TimeLogRepositoryTest {
         TimeLog timeLog2 = TimeLog.builder()
                 .employeeId("employee123")
                 .serviceId("service999")
-                .hours(4.0)
+                .minutes(240)
                 .date(LocalDate.of(2025, 11, 22))
                 .description("Code review")
                 .workType("Review")
@@ -121,12 +140,142 @@ class TimeLogRepositoryTest {
         assertThat(found).isEmpty();
     }
 
+    @Test
+    void testUnknownWorkTypesAreRejectedAndNeverRegistered() {
+        int known = workTypeDictionary.size();
+        assertThat(workTypeDictionary.names()).contains(SharedConstants.WorkTypes.DOCUMENTATION, "Development");
+
+        assertThatThrownBy(() -> workTypeDictionary.requireKnown("x".repeat(300)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> workTypeDictionary.encode("Freestyle"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Freestyle");
+
+        assertThat(workTypeDictionary.find("Freestyle")).isNull();
+        assertThat(workTypeDictionary.size()).isEqualTo(known);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM work_types", Integer.class)).isEqualTo(known);
+    }
+
+    @Test
+    void testWorkTypesAreStoredAsDictionaryCodes() {
+        timeLogRepository.save(testTimeLog);
+        timeLogRepository.save(TimeLog.builder()
+                .employeeId("employee123")
+                .serviceId("service1")
+                .minutes(120)
+                .date(LocalDate.of(2025, 11, 21))
+                .workType(SharedConstants.WorkTypes.REPAIR)
+                .build());
+        timeLogRepository.save(TimeLog.builder()
+                .employeeId("employee123")
+                .serviceId("service2")
+                .minutes(180)
+                .date(LocalDate.of(2025, 11, 22))
+                .workType(SharedConstants.WorkTypes.REPAIR)
+                .build());
+        timeLogRepository.flush();
+
+        Short storedCode = jdbcTemplate.queryForObject(
+                "SELECT work_type_code FROM time_logs WHERE id = ?", Short.class, testTimeLog.getId());
+        assertThat(storedCode).isEqualTo(workTypeDictionary.encode("Development"));
+        assertThat(workTypeDictionary.encode(SharedConstants.WorkTypes.REPAIR)).isEqualTo((short) 2);
+
+        List<TimeLog> repairs = timeLogRepository.findByEmployeeIdAndWorkType("employee123", SharedConstants.WorkTypes.REPAIR);
+        assertThat(repairs).hasSize(2).allMatch(log -> log.getWorkType().equals(SharedConstants.WorkTypes.REPAIR));
+
+        List<Object[]> counts = timeLogRepository.countByWorkTypeForEmployee("employee123");
+        assertThat(counts).extracting(row -> row[0] + "=" + row[1])
+                .containsExactlyInAnyOrder("Development=1", "Repair=2");
+    }
+
+    @Test
+    void testHoursProjectionAndSparseFields() {
+        timeLogRepository.save(testTimeLog);
+        timeLogRepository.flush();
+
+        List<TimeLogHoursView> views = timeLogRepository.findHoursByEmployeeIdAndDateBetween(
+                "employee123", LocalDate.of(2025, 11, 1), LocalDate.of(2025, 11, 30));
+        assertThat(views).hasSize(1);
+        assertThat(views.get(0).getMinutes()).isEqualTo(480);
+        assertThat(views.get(0).getServiceId()).isEqualTo("service456");
+
+        List<Map<String, Object>> rows = timeLogRepository.findFields(
+                TimeLogField.parse("id,hours,date"), "employee123", null, null, null, null, null);
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0)).containsOnlyKeys("id", "hours", "date")
+                .containsEntry("id", testTimeLog.getId().toString())
+                .containsEntry("hours", 8.0)
+                .containsEntry("date", LocalDate.of(2025, 11, 21));
+
+        assertThat(timeLogRepository.findFields(TimeLogField.parse("id"), null, "other-service", null, null, null, null))
+                .isEmpty();
+    }
+
+    @Test
+    void testResponseProjections() {
+        timeLogRepository.save(testTimeLog);
+        timeLogRepository.flush();
+
+        List<TimeLogResponse> byService = timeLogRepository.findResponsesByServiceId("service456");
+        assertThat(byService).hasSize(1);
+        TimeLogResponse response = byService.get(0);
+        assertThat(response.getId()).isEqualTo(testTimeLog.getId().toString());
+        assertThat(response.getHours()).isEqualTo(8.0);
+        assertThat(response.getWorkType()).isEqualTo("Development");
+        assertThat(response.getDescription()).isEqualTo("Worked on feature implementation");
+        assertThat(response.getCreatedAt()).isNotNull();
+
+        assertThat(timeLogRepository.findResponsesByEmployeeIdAndWorkType("employee123", "Development")).hasSize(1);
+        assertThat(timeLogRepository.findResponsesByEmployeeIdAndDateBetween(
+                "employee123", LocalDate.of(2025, 11, 22), LocalDate.of(2025, 11, 30))).isEmpty();
+        assertThat(timeLogRepository.findResponsesByEmployeeIdAndDateBetweenAndWorkType(
+                "employee123", LocalDate.of(2025, 11, 1), LocalDate.of(2025, 11, 30), "Development")).hasSize(1);
+        assertThat(timeLogRepository.findResponsesByWorkType("Development")).hasSize(1);
+        assertThat(timeLogRepository.findResponsesByWorkType(SharedConstants.WorkTypes.REPAIR)).isEmpty();
+        assertThat(timeLogRepository.findResponsesByDateBetween(LocalDate.of(2025, 11, 21), LocalDate.of(2025, 11, 21)))
+                .hasSize(1);
+        assertThat(timeLogRepository.findResponsesByDateBetweenAndWorkType(
+                LocalDate.of(2025, 11, 22), LocalDate.of(2025, 11, 30), "Development")).isEmpty();
+    }
+
+    @Test
+    void testAggregateSelection() {
+        timeLogRepository.save(testTimeLog);
+        timeLogRepository.save(TimeLog.builder()
+                .employeeId("employee123")
+                .serviceId("service999")
+                .minutes(90)
+                .date(LocalDate.of(2025, 11, 3))
+                .workType("Development")
+                .build());
+        timeLogRepository.save(TimeLog.builder()
+                .employeeId("employee456")
+                .serviceId("service456")
+                .minutes(120)
+                .date(LocalDate.of(2025, 11, 15))
+                .workType("Development")
+                .build());
+        timeLogRepository.flush();
+
+        TimeLogSelection selection = new TimeLogSelection(null, Set.of("service456", "service999"), null,
+                Set.of("Development"), List.of(
+                        new TimeLogSelection.DateRange(LocalDate.of(2025, 11, 1), LocalDate.of(2025, 11, 5)),
+                        new TimeLogSelection.DateRange(LocalDate.of(2025, 11, 20), null)));
+        AnalyticsResult result = timeLogRepository.aggregate(selection, List.of(Dimension.SERVICE));
+
+        assertThat(result.count()).isEqualTo(2);
+        assertThat(result.minutes()).isEqualTo(570);
+        assertThat(result.groups()).containsExactly(
+                new GroupedMinutes(List.of("service456"), 1, 480),
+                new GroupedMinutes(List.of("service999"), 1, 90));
+    }
+
     @Test
     void testFindByEmployeeIdAndDateBetween() {
         TimeLog log1 = TimeLog.builder()
                 .employeeId("employee123")
                 .serviceId("service1")
-                .hours(8.0)
+                .minutes(480)
                 .date(LocalDate.of(2025, 11, 20))
                 .description("Day 1")
                 .build();
@@ -134,7 +283,7 @@ class TimeLogRepositoryTest {
         TimeLog log2 = TimeLog.builder()
                 .employeeId("employee123")
                 .serviceId("service2")
-                .hours(7.0)
+                .minutes(420)
                 .date(LocalDate.of(2025, 11, 21))
                 .description("Day 2")
                 .build();
@@ -142,7 +291,7 @@ class TimeLogRepositoryTest {
         TimeLog log3 = TimeLog.builder()
                 .employeeId("employee123")
                 .serviceId("service3")
-                .hours(6.0)
+                .minutes(360)
                 .date(LocalDate.of(2025, 11, 25))
                 .description("Day 3 - outside range")
                 .build();
@@ -166,7 +315,7 @@ class TimeLogRepositoryTest {
         TimeLog log1 = TimeLog.builder()
                 .employeeId("employee123")
                 .serviceId("service1")
-                .hours(8.0)
+                .minutes(480)
                 .date(LocalDate.of(2025, 11, 20))
                 .description("Day 1")
                 .build();
@@ -174,7 +323,7 @@ class TimeLogRepositoryTest {
         TimeLog log2 = TimeLog.builder()
                 .employeeId("employee123")
                 .serviceId("service2")
-                .hours(7.5)
+                .minutes(450)
                 .date(LocalDate.of(2025, 11, 21))
                 .description("Day 2")
                 .build();
@@ -198,18 +347,18 @@ class TimeLogRepositoryTest {
     void testUpdateTimeLog() {
         timeLogRepository.save(testTimeLog);
 
-        testTimeLog.setHours(10.0);
+        testTimeLog.setMinutes(600);
         testTimeLog.setDescription("Updated description");
         TimeLog updated = timeLogRepository.save(testTimeLog);
 
-        assertThat(updated.getHours()).isEqualTo(10.0);
+        assertThat(updated.getMinutes()).isEqualTo(600);
         assertThat(updated.getDescription()).isEqualTo("Updated description");
     }
 
     @Test
     void testDeleteTimeLog() {
         timeLogRepository.save(testTimeLog);
-        String logId = testTimeLog.getId();
+        UUID logId = testTimeLog.getId();
 
         timeLogRepository.deleteById(logId);
 
@@ -222,7 +371,7 @@ class TimeLogRepositoryTest {
         TimeLog logWithoutProject = TimeLog.builder()
                 .employeeId("employee123")
                 .serviceId("service456")
-                .hours(5.0)
+                .minutes(300)
                 .date(LocalDate.of(2025, 11, 21))
                 .description("Service only work")
                 .build();
@@ -0,0 +1,280 @@
+package com.techtorque.time_logging_service.service;
+
+import com.techtorque.time_logging_service.exception.DailyHoursLimitExceededException;
+import com.techtorque.time_logging_service.repository.TimeLogRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DailyHoursLedgerTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 11, 21);
+
+    private TimeLogRepository timeLogRepository;
+    private DailyHoursLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        timeLogRepository = mock(TimeLogRepository.class);
+        ledger = new DailyHoursLedger(timeLogRepository, 24.0, Duration.ofMinutes(30));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testLoadsExistingTotalOnceOnFirstTouch() {
+        when(timeLogRepository.getTotalMinutesByEmployeeIdAndDate("employee123", DAY)).thenReturn(1200L);
+
+        ledger.reserve("employee123", DAY, 120);
+        ledger.reserve("employee123", DAY, 120);
+
+        assertThat(ledger.getMinutes("employee123", DAY)).isEqualTo(1440L);
+        verify(timeLogRepository, times(1)).getTotalMinutesByEmployeeIdAndDate("employee123", DAY);
+    }
+
+    @Test
+    void testSequentialInsertsCannotExceedCap() {
+        for (int i = 0; i < 3; i++) {
+            ledger.reserve("employee123", DAY, 480);
+        }
+
+        assertThatThrownBy(() -> ledger.reserve("employee123", DAY, 30))
+                .isInstanceOf(DailyHoursLimitExceededException.class)
+                .hasMessageContaining("daily limit");
+        assertThat(ledger.getMinutes("employee123", DAY)).isEqualTo(1440L);
+    }
+
+    @Test
+    void testCapIsPerEmployeePerDay() {
+        ledger.reserve("employee123", DAY, 1440);
+
+        ledger.reserve("employee123", DAY.plusDays(1), 1440);
+        ledger.reserve("employee999", DAY, 1440);
+
+        assertThat(ledger.getMinutes("employee999", DAY)).isEqualTo(1440L);
+    }
+
+    @Test
+    void testReleaseFreesCapacity() {
+        ledger.reserve("employee123", DAY, 1440);
+        ledger.release("employee123", DAY, 240);
+
+        ledger.reserve("employee123", DAY, 240);
+
+        assertThat(ledger.getMinutes("employee123", DAY)).isEqualTo(1440L);
+    }
+
+    @Test
+    void testAdjustOnTheSameDayReservesOnlyTheDelta() {
+        ledger.reserve("employee123", DAY, 1380);
+
+        ledger.adjust("employee123", DAY, 20, DAY, 80);
+        assertThatThrownBy(() -> ledger.adjust("employee123", DAY, 20, DAY, 21))
+                .isInstanceOf(DailyHoursLimitExceededException.class);
+        ledger.adjust("employee123", DAY, 80, DAY, 1);
+
+        assertThat(ledger.getMinutes("employee123", DAY)).isEqualTo(1361L);
+    }
+
+    @Test
+    void testCapAboveOneDayIsRejected() {
+        assertThatThrownBy(() -> new DailyHoursLedger(timeLogRepository, 25.0, Duration.ofMinutes(30)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testAdjustMovesHoursBetweenDays() {
+        ledger.reserve("employee123", DAY, 600);
+
+        ledger.adjust("employee123", DAY, 600, DAY.plusDays(1), 360);
+
+        assertThat(ledger.getMinutes("employee123", DAY)).isEqualTo(0L);
+        assertThat(ledger.getMinutes("employee123", DAY.plusDays(1))).isEqualTo(360L);
+    }
+
+    @Test
+    void testReservationIsUndoneOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        ledger.reserve("employee123", DAY, 1200);
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(ledger.getMinutes("employee123", DAY)).isEqualTo(0L);
+    }
+
+    @Test
+    void testReleaseIsDeferredUntilCommit() {
+        ledger.reserve("employee123", DAY, 1440);
+
+        TransactionSynchronizationManager.initSynchronization();
+        ledger.release("employee123", DAY, 480);
+        assertThat(ledger.getMinutes("employee123", DAY)).isEqualTo(1440L);
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(ledger.getMinutes("employee123", DAY)).isEqualTo(960L);
+    }
+
+    @Test
+    void testReleaseWithoutAnEntryDropsOneLoadedBeforeCommit() {
+        AtomicInteger committedMinutes = new AtomicInteger(600);
+        when(timeLogRepository.getTotalMinutesByEmployeeIdAndDate("employee123", DAY))
+                .thenAnswer(invocation -> (long) committedMinutes.get());
+
+        TransactionSynchronizationManager.initSynchronization();
+        ledger.release("employee123", DAY, 480);
+        // Loaded while the delete is not committed yet, so it still counts the released minutes
+        assertThat(ledger.getMinutes("employee123", DAY)).isEqualTo(600L);
+        committedMinutes.set(120);
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(ledger.getMinutes("employee123", DAY)).isEqualTo(120L);
+    }
+
+    @Test
+    void testReconcileSkipsEntriesWithWritesInFlight() {
+        TransactionSynchronizationManager.initSynchronization();
+        ledger.reserve("employee123", DAY, 360);
+
+        // Another replica committed 10 hours meanwhile
+        when(timeLogRepository.getTotalMinutesByEmployeeIdAndDate("employee123", DAY)).thenReturn(600L);
+        ledger.reconcile();
+
+        assertThat(ledger.getMinutes("employee123", DAY)).isEqualTo(360L);
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+        ledger.reconcile();
+        assertThat(ledger.getMinutes("employee123", DAY)).isEqualTo(600L);
+    }
+
+    @Test
+    void testCommittedReservationIsNotCountedTwice() {
+        AtomicInteger committedHours = new AtomicInteger();
+        when(timeLogRepository.getTotalMinutesByEmployeeIdAndDate("employee123", DAY))
+                .thenAnswer(invocation -> committedHours.get() * 60L);
+        TransactionSynchronizationManager.initSynchronization();
+        ledger.reserve("employee123", DAY, 480);
+
+        // Committed in the database, but afterCompletion has not run yet
+        committedHours.set(8);
+        ledger.reconcile();
+        ledger.forget("employee123", DAY);
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(ledger.getMinutes("employee123", DAY)).isEqualTo(480L);
+        ledger.reconcile();
+        assertThat(ledger.getMinutes("employee123", DAY)).isEqualTo(480L);
+    }
+
+    @Test
+    void testIdleEntriesAreEvicted() {
+        ledger = new DailyHoursLedger(timeLogRepository, 24.0, Duration.ZERO);
+        ledger.reserve("employee123", DAY, 480);
+
+        ledger.reconcile();
+
+        assertThat(ledger.size()).isZero();
+    }
+
+    @Test
+    void testRacingInsertsCannotExceedCap() throws Exception {
+        when(timeLogRepository.getTotalMinutesByEmployeeIdAndDate(anyString(), any(LocalDate.class))).thenReturn(null);
+        int threads = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < 50; i++) {
+                    try {
+                        ledger.reserve("employee123", DAY, 15);
+                        accepted.incrementAndGet();
+                    } catch (DailyHoursLimitExceededException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        // 24 hours / 15 minutes = 96 entries fit, everything else is rejected
+        assertThat(accepted.get()).isEqualTo(96);
+        assertThat(rejected.get()).isEqualTo(threads * 50 - 96);
+        assertThat(ledger.getMinutes("employee123", DAY)).isEqualTo(1440L);
+        verify(timeLogRepository, times(1)).getTotalMinutesByEmployeeIdAndDate(eq("employee123"), eq(DAY));
+    }
+
+    @Test
+    void testRacingTransactionalInsertsAndReconcileCannotExceedCap() throws Exception {
+        // The mocked database only sees hours once their transaction has committed
+        AtomicInteger committedHours = new AtomicInteger(23);
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        AtomicInteger queries = new AtomicInteger();
+        when(timeLogRepository.getTotalMinutesByEmployeeIdAndDate("employee123", DAY)).thenAnswer(invocation -> {
+            long snapshot = committedHours.get() * 60L;
+            if (queries.incrementAndGet() == 2) {
+                // While reconcile's query runs, another transaction reserves the last hour and commits; this
+                // deadlocks if the query holds the entry's monitor
+                writer.submit(() -> {
+                    TransactionSynchronizationManager.initSynchronization();
+                    ledger.reserve("employee123", DAY, 60);
+                    committedHours.incrementAndGet();
+                    completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+                }).get(5, TimeUnit.SECONDS);
+            }
+            return snapshot;
+        });
+        assertThat(ledger.getMinutes("employee123", DAY)).isEqualTo(1380L);
+
+        ledger.reconcile();
+        writer.shutdown();
+
+        // The query result predates the write, so it is dropped rather than rolling the ledger back to 23 hours
+        assertThat(queries.get()).isEqualTo(2);
+        assertThat(ledger.getMinutes("employee123", DAY)).isEqualTo(1440L);
+        assertThatThrownBy(() -> ledger.reserve("employee123", DAY, 60))
+                .isInstanceOf(DailyHoursLimitExceededException.class);
+        ledger.reconcile();
+        assertThat(ledger.getMinutes("employee123", DAY)).isEqualTo(1440L);
+    }
+
+    private static void completeTransaction(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(s -> s.afterCompletion(status));
+    }
+}
@@ -0,0 +1,154 @@
+package com.techtorque.time_logging_service.service;
+
+import com.techtorque.time_logging_service.TimeLogIntegrationTest;
+import com.techtorque.time_logging_service.dto.response.TimeLogSummaryResponse;
+import com.techtorque.time_logging_service.entity.TimeLog;
+import com.techtorque.time_logging_service.entity.TimeLogHours;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static com.techtorque.time_logging_service.TimeLogFixtures.timeLog;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Range summaries merged from cached day segments agree with the entries, and follow committed writes.
+ * Not @Transactional - the cache is bypassed inside read-write transactions.
+ */
+class DailySummaryCacheTest extends TimeLogIntegrationTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 11, 19);
+
+    @Autowired
+    private TimeLogService timeLogService;
+
+    @Autowired
+    private DailySummaryCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache.evictAll();
+    }
+
+    @Test
+    void testOverlappingRangesMatchEntriesAndReuseDays() {
+        List<TimeLog> logs = saveLogs("employee1", 400, 500, new Random(3));
+        saveLogs("employee2", 400, 200, new Random(4));
+
+        LocalDate monday = LocalDate.of(2025, 11, 17);
+        List<LocalDate[]> ranges = List.of(
+                new LocalDate[]{monday, monday.plusDays(6)},
+                new LocalDate[]{TODAY.minusDays(6), TODAY},
+                new LocalDate[]{TODAY.withDayOfMonth(1), TODAY.withDayOfMonth(30)},
+                new LocalDate[]{TODAY.minusDays(364), TODAY},
+                new LocalDate[]{TODAY.minusDays(120), TODAY.minusDays(45)});
+        DailySummaryCache.Stats before = cache.getStats();
+        for (int pass = 0; pass < 2; pass++) {
+            for (LocalDate[] range : ranges) {
+                TimeLogSummaryResponse summary = timeLogService.getEmployeeSummary("employee1", range[0], range[1]);
+                assertThat(summary).usingRecursiveComparison().isEqualTo(expected("employee1", logs, range[0], range[1]));
+            }
+        }
+
+        // Each day of the union of the ranges (the last 365 days and November 20-30) was loaded exactly once
+        DailySummaryCache.Stats after = cache.getStats();
+        assertThat(after.misses() - before.misses()).isEqualTo(365 + 11);
+        assertThat(after.segments()).isEqualTo(365 + 11);
+        assertThat(after.hits() - before.hits()).isPositive();
+    }
+
+    @Test
+    void testCommittedWritesEvictTheirDays() {
+        TimeLog log = timeLogRepository.save(timeLog("employee1", "SRV-A", "PRJ-1", 2.0, TODAY));
+        LocalDate from = TODAY.minusDays(6);
+        assertThat(timeLogService.getEmployeeSummary("employee1", from, TODAY).getTotalMinutes()).isEqualTo(120);
+
+        timeLogRepository.save(timeLog("employee1", "SRV-B", null, 1.5, TODAY.minusDays(3)));
+        log.setMinutes(180);
+        log.setDate(TODAY.minusDays(10));
+        timeLogRepository.save(log);
+
+        TimeLogSummaryResponse summary = timeLogService.getEmployeeSummary("employee1", from, TODAY);
+        assertThat(summary.getTotalMinutes()).isEqualTo(90);
+        assertThat(summary.getByService()).containsOnlyKeys("SRV-B");
+        assertThat(timeLogService.getEmployeeSummary("employee1", TODAY.minusDays(10), TODAY).getTotalMinutes())
+                .isEqualTo(270);
+
+        timeLogRepository.deleteAll();
+        assertThat(timeLogService.getEmployeeSummary("employee1", TODAY.minusDays(10), TODAY).getCount()).isZero();
+    }
+
+    /**
+     * Cold (empty cache) and warm latency of 7-, 30- and 365-day summaries. Run with -Dbenchmarks=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    void benchmarkRangeLatency() {
+        saveLogs("employee1", 730, 3000, new Random(9));
+        for (int round = 0; round < 3; round++) {
+            for (int days : new int[]{7, 30, 365}) {
+                LocalDate from = TODAY.minusDays(days - 1);
+                cache.evictAll();
+                long t0 = System.nanoTime();
+                timeLogService.getEmployeeSummary("employee1", from, TODAY);
+                long t1 = System.nanoTime();
+                DailySummaryCache.Stats before = cache.getStats();
+                for (int i = 0; i < 100; i++) {
+                    timeLogService.getEmployeeSummary("employee1", from, TODAY);
+                }
+                long t2 = System.nanoTime();
+                DailySummaryCache.Stats after = cache.getStats();
+                double hitRate = (double) (after.hits() - before.hits())
+                        / (after.hits() - before.hits() + after.misses() - before.misses());
+                System.out.printf("%3d days: cold %7.3f ms   warm %7.3f ms   warm segment hit rate %.2f%n",
+                        days, (t1 - t0) / 1e6, (t2 - t1) / 1e6 / 100, hitRate);
+            }
+        }
+    }
+
+    private static TimeLogSummaryResponse expected(String employeeId, List<TimeLog> logs, LocalDate from, LocalDate to) {
+        long minutes = 0;
+        int count = 0;
+        Map<String, Long> byService = new HashMap<>();
+        Map<String, Long> byProject = new HashMap<>();
+        for (TimeLog log : logs) {
+            if (log.getDate().isBefore(from) || log.getDate().isAfter(to)) {
+                continue;
+            }
+            count++;
+            minutes += log.getMinutes();
+            byService.merge(log.getServiceId(), (long) log.getMinutes(), Long::sum);
+            if (log.getProjectId() != null) {
+                byProject.merge(log.getProjectId(), (long) log.getMinutes(), Long::sum);
+            }
+        }
+        TimeLogSummaryResponse summary = new TimeLogSummaryResponse();
+        summary.setEmployeeId(employeeId);
+        summary.setPeriod(from + " to " + to);
+        summary.setCount(count);
+        summary.setTotalMinutes(minutes);
+        summary.setTotalHours(TimeLogHours.toHours(minutes));
+        summary.setByService(TimeLogHours.toHours(byService));
+        summary.setByProject(TimeLogHours.toHours(byProject));
+        return summary;
+    }
+
+    private List<TimeLog> saveLogs(String employeeId, int days, int entries, Random random) {
+        List<TimeLog> logs = new ArrayList<>(entries);
+        for (int i = 0; i < entries; i++) {
+            String serviceId = "SRV-" + random.nextInt(4);
+            String projectId = random.nextBoolean() ? "PRJ-" + random.nextInt(3) : null;
+            logs.add(timeLog(employeeId, serviceId, projectId, 0.25 * (1 + random.nextInt(12)),
+                    TODAY.minusDays(random.nextInt(days))));
+        }
+        return timeLogRepository.saveAll(logs);
+    }
+}
@@ -0,0 +1,214 @@
+package com.techtorque.time_logging_service.service;
+
+import com.techtorque.time_logging_service.TimeLogIntegrationTest;
+import com.techtorque.time_logging_service.dto.request.TimeLogRequest;
+import com.techtorque.time_logging_service.dto.request.TimeLogUpdateRequest;
+import com.techtorque.time_logging_service.dto.response.TimeLogSummaryResponse;
+import com.techtorque.time_logging_service.entity.PayrollPeriod;
+import com.techtorque.time_logging_service.entity.TimeLog;
+import com.techtorque.time_logging_service.exception.PayrollPeriodClosedException;
+import com.techtorque.time_logging_service.exception.ResourceNotFoundException;
+import com.techtorque.time_logging_service.journal.JournalEntry;
+import com.techtorque.time_logging_service.repository.PayrollPeriodRepository;
+import com.techtorque.time_logging_service.repository.PayrollSnapshotEntryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.techtorque.time_logging_service.TimeLogFixtures.timeLog;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Closed weeks reject edits and serve the summaries they had when closed; re-opening undoes both
+ */
+class PayrollPeriodServiceTest extends TimeLogIntegrationTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2025, 11, 10);
+    private static final LocalDate WEDNESDAY = MONDAY.plusDays(2);
+
+    @Autowired
+    private PayrollPeriodService payrollPeriodService;
+
+    @Autowired
+    private TimeLogService timeLogService;
+
+    @Autowired
+    private PayrollPeriodRepository payrollPeriodRepository;
+
+    @Autowired
+    private PayrollSnapshotEntryRepository snapshotEntryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cleanUp();
+    }
+
+    @Test
+    void testClosedWeekServesSnapshotAndRejectsEdits() {
+        TimeLog inWeek = timeLogRepository.save(timeLog("employee1", "SRV-A", "PRJ-1", 2.5, WEDNESDAY));
+        TimeLog nextWeek = timeLogRepository.save(timeLog("employee1", "SRV-A", null, 1.0, MONDAY.plusDays(7)));
+        timeLogRepository.save(timeLog("employee1", "SRV-B", null, 4.0, MONDAY.plusDays(6)));
+        timeLogRepository.save(timeLog("employee2", "SRV-A", "PRJ-1", 3.0, MONDAY));
+        List<String> team = List.of("employee1", "employee2", "employee3");
+        List<TimeLogSummaryResponse> weekly = timeLogService.getEmployeeSummaries(team, "weekly", WEDNESDAY);
+        TimeLogSummaryResponse daily = timeLogService.getEmployeeSummaryByPeriod("employee1", "daily", WEDNESDAY);
+        assertThat(timeLogService.getClosedSummaries(team, "weekly", WEDNESDAY)).isEmpty();
+
+        assertThat(payrollPeriodService.close(WEDNESDAY, "admin1").getWeekStart()).isEqualTo(MONDAY);
+
+        assertThat(timeLogService.getEmployeeSummaries(team, "weekly", WEDNESDAY))
+                .usingRecursiveComparison().isEqualTo(weekly);
+        assertThat(timeLogService.getEmployeeSummaryByPeriod("employee1", "daily", WEDNESDAY))
+                .usingRecursiveComparison().isEqualTo(daily);
+        PayrollPeriodService.ClosedSummaries closed =
+                timeLogService.getClosedSummaries(List.of("employee1"), "daily", WEDNESDAY).orElseThrow();
+        assertThat(closed.etag()).startsWith("\"").endsWith("\"");
+        assertThat(timeLogService.getClosedSummaries(List.of("employee1"), "daily", WEDNESDAY).orElseThrow().etag())
+                .isEqualTo(closed.etag());
+
+        assertThatThrownBy(() -> timeLogService.createTimeLog("employee1", request(MONDAY.plusDays(6))))
+                .isInstanceOf(PayrollPeriodClosedException.class);
+        assertThatThrownBy(() -> timeLogService.updateTimeLog(inWeek.getId().toString(), hours(1.0)))
+                .isInstanceOf(PayrollPeriodClosedException.class);
+        assertThatThrownBy(() -> timeLogService.updateTimeLog(nextWeek.getId().toString(), moveTo(WEDNESDAY)))
+                .isInstanceOf(PayrollPeriodClosedException.class);
+        assertThatThrownBy(() -> timeLogService.deleteTimeLog(inWeek.getId().toString()))
+                .isInstanceOf(PayrollPeriodClosedException.class);
+        List<TimeLogBatchResult> batch = timeLogService.createTimeLogBatch(List.of("employee1", "employee1"),
+                List.of(request(WEDNESDAY), request(MONDAY.plusDays(8))));
+        assertThat(batch.get(0).error()).isInstanceOf(PayrollPeriodClosedException.class);
+        assertThat(batch.get(1).response()).isNotNull();
+        assertThat(timeLogService.getEmployeeSummaries(team, "weekly", WEDNESDAY))
+                .usingRecursiveComparison().isEqualTo(weekly);
+    }
+
+    @Test
+    void testReopenAllowsEditsAndChangesTheEtag() {
+        TimeLog inWeek = timeLogRepository.save(timeLog("employee1", "SRV-A", null, 2.0, WEDNESDAY));
+        payrollPeriodService.close(MONDAY, "admin1");
+        String etag = timeLogService.getClosedSummaries(List.of("employee1"), "weekly", MONDAY).orElseThrow().etag();
+        assertThat(payrollPeriodService.close(WEDNESDAY, "admin2").getClosedBy()).isEqualTo("admin1");
+
+        payrollPeriodService.reopen(WEDNESDAY);
+
+        assertThat(snapshotEntryRepository.count()).isZero();
+        assertThat(timeLogService.getClosedSummaries(List.of("employee1"), "weekly", MONDAY)).isEmpty();
+        timeLogService.updateTimeLog(inWeek.getId().toString(), hours(3.0));
+        assertThat(timeLogService.getEmployeeSummaryByPeriod("employee1", "weekly", MONDAY).getTotalMinutes())
+                .isEqualTo(180);
+        assertThatThrownBy(() -> payrollPeriodService.reopen(WEDNESDAY))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        payrollPeriodService.close(WEDNESDAY, "admin1");
+        PayrollPeriodService.ClosedSummaries reclosed =
+                timeLogService.getClosedSummaries(List.of("employee1"), "weekly", MONDAY).orElseThrow();
+        assertThat(reclosed.etag()).isNotEqualTo(etag);
+        assertThat(reclosed.summaries().get(0).getTotalMinutes()).isEqualTo(180);
+    }
+
+    @Test
+    void testOpenWeeksAreRememberedUntilAClose() {
+        timeLogRepository.save(timeLog("employee1", "SRV-A", null, 2.0, WEDNESDAY));
+        assertThat(timeLogService.getClosedSummaries(List.of("employee1"), "weekly", MONDAY)).isEmpty();
+
+        // Closed by another instance: this one still sees the week open until the close is announced
+        payrollPeriodRepository.save(PayrollPeriod.builder()
+                .weekStart(MONDAY)
+                .closedAt(Instant.now())
+                .closedBy("admin1")
+                .build());
+        assertThat(timeLogService.getClosedSummaries(List.of("employee1"), "weekly", MONDAY)).isEmpty();
+
+        payrollPeriodService.evictPayrollWeek(MONDAY);
+        assertThat(timeLogService.getClosedSummaries(List.of("employee1"), "weekly", MONDAY)).isPresent();
+    }
+
+    @Test
+    void testCloseWaitsForInFlightWritesAndReplaysSeeTheClose() throws Exception {
+        timeLogRepository.save(timeLog("employee1", "SRV-A", null, 2.0, WEDNESDAY));
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    timeLogService.createTimeLog("employee2", request(WEDNESDAY));
+                    written.countDown();
+                    await(commit);
+                }));
+        assertThat(written.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Long> close = CompletableFuture.supplyAsync(() ->
+                payrollPeriodService.close(MONDAY, "admin1").getSnapshotEntries());
+        Thread.sleep(200);
+        assertThat(close).isNotDone();
+        commit.countDown();
+        writer.get(5, TimeUnit.SECONDS);
+
+        // The write committed before the snapshot was taken, so it is part of it
+        assertThat(close.get(5, TimeUnit.SECONDS)).isEqualTo(2);
+        JournalEntry entry = new JournalEntry();
+        entry.setRecordId(UUID.randomUUID().toString());
+        entry.setEmployeeId("employee3");
+        entry.setServiceId("SRV-A");
+        entry.setHours(1.0);
+        entry.setDate(WEDNESDAY);
+        entry.setAcceptedAt(Instant.now());
+        assertThatThrownBy(() -> timeLogService.replayJournaledTimeLog(entry))
+                .isInstanceOf(PayrollPeriodClosedException.class);
+        assertThat(timeLogRepository.count()).isEqualTo(2);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void cleanUp() {
+        payrollPeriodService.evictAll();
+        snapshotEntryRepository.deleteAll();
+        payrollPeriodRepository.deleteAll();
+    }
+
+    private static TimeLogRequest request(LocalDate date) {
+        TimeLogRequest request = new TimeLogRequest();
+        request.setServiceId("SRV-A");
+        request.setHours(1.0);
+        request.setDate(date);
+        request.setWorkType("Repair");
+        return request;
+    }
+
+    private static TimeLogUpdateRequest hours(double hours) {
+        TimeLogUpdateRequest request = new TimeLogUpdateRequest();
+        request.setHours(hours);
+        return request;
+    }
+
+    private static TimeLogUpdateRequest moveTo(LocalDate date) {
+        TimeLogUpdateRequest request = new TimeLogUpdateRequest();
+        request.setDate(date);
+        return request;
+    }
+}
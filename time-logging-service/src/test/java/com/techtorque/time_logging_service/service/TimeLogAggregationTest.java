@@ -0,0 +1,151 @@
+package com.techtorque.time_logging_service.service;
+
+import com.techtorque.time_logging_service.dto.response.TimeLogSummaryResponse;
+import com.techtorque.time_logging_service.entity.TimeLog;
+import com.techtorque.time_logging_service.entity.TimeLogHours;
+import com.techtorque.time_logging_service.repository.JournalReplayRepository;
+import com.techtorque.time_logging_service.repository.TimeLogHoursView;
+import com.techtorque.time_logging_service.repository.TimeLogRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TimeLogAggregationTest {
+
+    private static final LocalDate FROM = LocalDate.of(2025, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 12, 31);
+    private static final BigDecimal HOURLY_RATE = new BigDecimal("37.45");
+
+    @Test
+    void testPayrollTotalsMatchToTheCentOnLargeDatasets() {
+        // 500k entries of 0.1 h (6 min) and similar: exactly the values double sums drift on
+        List<TimeLog> logs = randomLogs(500_000, new Random(42));
+        TimeLogService service = serviceReturning(logs);
+
+        TimeLogSummaryResponse summary = service.getEmployeeSummary("employee123", FROM, TO);
+
+        long expectedMinutes = 0;
+        Map<String, Long> expectedByService = new HashMap<>();
+        BigDecimal expectedPay = BigDecimal.ZERO;
+        for (TimeLog log : logs) {
+            expectedMinutes += log.getMinutes();
+            expectedByService.merge(log.getServiceId(), (long) log.getMinutes(), Long::sum);
+            expectedPay = expectedPay.add(BigDecimal.valueOf(log.getMinutes()).multiply(HOURLY_RATE));
+        }
+        expectedPay = expectedPay.divide(BigDecimal.valueOf(60), 2, RoundingMode.HALF_UP);
+
+        assertThat(summary.getTotalMinutes()).isEqualTo(expectedMinutes);
+        assertThat(pay(summary.getTotalMinutes())).isEqualByComparingTo(expectedPay);
+        assertThat(summary.getTotalHours()).isEqualTo(expectedMinutes / 60.0);
+        expectedByService.forEach((serviceId, minutes) ->
+                assertThat(summary.getByService().get(serviceId)).isEqualTo(minutes / 60.0));
+    }
+
+    @Test
+    void testHoursRoundTripThroughMinutes() {
+        assertThat(TimeLogHours.toMinutes(7.75)).isEqualTo(465);
+        assertThat(TimeLogHours.toHours(465)).isEqualTo(7.75);
+
+        assertThat(TimeLogHours.toMinutes(0.1)).isEqualTo(6);
+        assertThat(TimeLogHours.toHours(6)).isEqualTo(0.1);
+    }
+
+    /**
+     * Summing 10M durations as doubles vs as integer minutes. Run with -Dbenchmarks=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    void benchmarkDoubleVsIntegerAggregation() {
+        int rows = 10_000_000;
+        Random random = new Random(7);
+        double[] hours = new double[rows];
+        int[] minutes = new int[rows];
+        for (int i = 0; i < rows; i++) {
+            minutes[i] = 6 * (1 + random.nextInt(80));
+            hours[i] = minutes[i] / 60.0;
+        }
+
+        for (int round = 0; round < 5; round++) {
+            long t0 = System.nanoTime();
+            double doubleSum = 0;
+            for (double h : hours) {
+                doubleSum += h;
+            }
+            long t1 = System.nanoTime();
+            long minuteSum = 0;
+            for (int m : minutes) {
+                minuteSum += m;
+            }
+            long t2 = System.nanoTime();
+            System.out.printf("double: %7.2f ms (%.6f h)   int minutes: %7.2f ms (%d min = %.6f h, drift %.2e h)%n",
+                    (t1 - t0) / 1e6, doubleSum, (t2 - t1) / 1e6, minuteSum, minuteSum / 60.0,
+                    Math.abs(doubleSum - minuteSum / 60.0));
+        }
+    }
+
+    private static BigDecimal pay(long minutes) {
+        return BigDecimal.valueOf(minutes).multiply(HOURLY_RATE).divide(BigDecimal.valueOf(60), 2, RoundingMode.HALF_UP);
+    }
+
+    private static List<TimeLog> randomLogs(int count, Random random) {
+        double[] durations = {0.1, 0.2, 0.3, 0.7, 1.1, 2.35, 7.9};
+        List<TimeLog> logs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            logs.add(TimeLog.builder()
+                    .employeeId("employee123")
+                    .serviceId("SRV-00" + (i % 5))
+                    .minutes(TimeLogHours.toMinutes(durations[random.nextInt(durations.length)]))
+                    .date(FROM.plusDays(i % 365))
+                    .build());
+        }
+        return logs;
+    }
+
+    private static TimeLogService serviceReturning(List<TimeLog> logs) {
+        TimeLogRepository repository = mock(TimeLogRepository.class);
+        List<TimeLogHoursView> views = new ArrayList<>(logs.size());
+        for (TimeLog log : logs) {
+            views.add(new HoursView(log.getServiceId(), log.getProjectId(), log.getMinutes(), log.getDate()));
+        }
+        when(repository.findHoursByEmployeeIdAndDateBetween(eq("employee123"), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(views);
+        return new TimeLogService(repository, mock(DailyHoursLedger.class), mock(JournalReplayRepository.class),
+                mock(WorkTypeDictionary.class), mock(PayrollPeriodService.class), mock(DailySummaryCache.class));
+    }
+
+    private record HoursView(String serviceId, String projectId, int minutes, LocalDate date) implements TimeLogHoursView {
+        @Override
+        public String getServiceId() {
+            return serviceId;
+        }
+
+        @Override
+        public String getProjectId() {
+            return projectId;
+        }
+
+        @Override
+        public int getMinutes() {
+            return minutes;
+        }
+
+        @Override
+        public LocalDate getDate() {
+            return date;
+        }
+    }
+}
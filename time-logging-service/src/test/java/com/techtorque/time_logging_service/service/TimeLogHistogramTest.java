@@ -0,0 +1,88 @@
+package com.techtorque.time_logging_service.service;
+
+import com.techtorque.time_logging_service.TimeLogIntegrationTest;
+import com.techtorque.time_logging_service.dto.response.TimeLogHistogramResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.techtorque.time_logging_service.TimeLogFixtures.timeLog;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Transactional
+class TimeLogHistogramTest extends TimeLogIntegrationTest {
+
+    @Autowired
+    private TimeLogService timeLogService;
+
+    @BeforeEach
+    void setUp() {
+        timeLogRepository.saveAllAndFlush(List.of(
+                timeLog("employee123", "SRV-A", null, 2.0, LocalDate.of(2025, 11, 3)),
+                timeLog("employee123", "SRV-B", null, 1.0, LocalDate.of(2025, 11, 5)),
+                timeLog("employee123", "SRV-A", null, 3.0, LocalDate.of(2025, 11, 20)),
+                timeLog("employee123", "SRV-A", null, 0.5, LocalDate.of(2025, 12, 2)),
+                timeLog("employee999", "SRV-A", null, 7.0, LocalDate.of(2025, 11, 5))));
+    }
+
+    @Test
+    void testDailyBucketsAreDenseAndZeroFilled() {
+        TimeLogHistogramResponse histogram = timeLogService.getEmployeeHistogram("employee123",
+                LocalDate.of(2025, 11, 1), LocalDate.of(2025, 11, 7), "day", null, "monday");
+
+        assertThat(histogram.getBuckets()).hasSize(7).startsWith(LocalDate.of(2025, 11, 1));
+        assertThat(histogram.getHours()).containsExactly(0.0, 0.0, 2.0, 0.0, 1.0, 0.0, 0.0);
+        assertThat(histogram.getCounts()).containsExactly(0, 0, 1, 0, 1, 0, 0);
+        assertThat(histogram.getTotalMinutes()).isEqualTo(180);
+        assertThat(histogram.getSeries()).isNull();
+    }
+
+    @Test
+    void testWeeksStartOnMondayOrEverySevenDaysFromTheStart() {
+        LocalDate from = LocalDate.of(2025, 11, 5);
+        LocalDate to = LocalDate.of(2025, 11, 20);
+
+        TimeLogHistogramResponse calendarWeeks = timeLogService.getEmployeeHistogram("employee123", from, to,
+                "week", null, "monday");
+        TimeLogHistogramResponse rollingWeeks = timeLogService.getEmployeeHistogram("employee123", from, to,
+                "week", null, "from");
+
+        // The Monday-aligned first week only counts days from 'from' on
+        assertThat(calendarWeeks.getBuckets()).containsExactly(
+                LocalDate.of(2025, 11, 3), LocalDate.of(2025, 11, 10), LocalDate.of(2025, 11, 17));
+        assertThat(calendarWeeks.getHours()).containsExactly(1.0, 0.0, 3.0);
+        assertThat(rollingWeeks.getBuckets()).containsExactly(
+                LocalDate.of(2025, 11, 5), LocalDate.of(2025, 11, 12), LocalDate.of(2025, 11, 19));
+        assertThat(rollingWeeks.getHours()).containsExactly(1.0, 0.0, 3.0);
+    }
+
+    @Test
+    void testMonthlyBucketsSplitByService() {
+        TimeLogHistogramResponse histogram = timeLogService.getEmployeeHistogram("employee123",
+                LocalDate.of(2025, 11, 1), LocalDate.of(2025, 12, 31), "month", "service", "monday");
+
+        assertThat(histogram.getBuckets()).containsExactly(LocalDate.of(2025, 11, 1), LocalDate.of(2025, 12, 1));
+        assertThat(histogram.getHours()).containsExactly(6.0, 0.5);
+        assertThat(histogram.getSeries()).containsOnlyKeys("SRV-A", "SRV-B");
+        assertThat(histogram.getSeries().get("SRV-A")).containsExactly(5.0, 0.5);
+        assertThat(histogram.getSeries().get("SRV-B")).containsExactly(1.0, 0.0);
+    }
+
+    @Test
+    void testRejectsInvalidParameters() {
+        LocalDate from = LocalDate.of(2020, 1, 1);
+        assertThatThrownBy(() -> timeLogService.getEmployeeHistogram("employee123", from, from.plusYears(3),
+                "day", null, "monday")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> timeLogService.getEmployeeHistogram("employee123", from, from.plusDays(1),
+                "quarter", null, "monday")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> timeLogService.getEmployeeHistogram("employee123", from, from.plusDays(1),
+                "day", "employee", "monday")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> timeLogService.getEmployeeHistogram("employee123", from.plusDays(1), from,
+                "day", null, "monday")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,260 @@
+package com.techtorque.time_logging_service.service;
+
+import com.techtorque.time_logging_service.dto.request.TimeLogRequest;
+import com.techtorque.time_logging_service.dto.response.TimeLogResponse;
+import com.techtorque.time_logging_service.exception.DailyHoursLimitExceededException;
+import com.techtorque.time_logging_service.journal.DatabaseAvailability;
+import com.techtorque.time_logging_service.journal.TimeLogJournalService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TimeLogIngestionQueueTest {
+
+    private TimeLogIngestionQueue queue;
+    private final DatabaseAvailability databaseAvailability = mock(DatabaseAvailability.class);
+    private final TimeLogJournalService journalService = mock(TimeLogJournalService.class);
+
+    TimeLogIngestionQueueTest() {
+        when(databaseAvailability.isAvailable()).thenReturn(true);
+        when(journalService.isEnabled()).thenReturn(true);
+        when(journalService.append(anyString(), any(TimeLogRequest.class))).thenReturn("record-1");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (queue != null) {
+            queue.stop();
+        }
+    }
+
+    @Test
+    void testSyncModeDelegatesDirectly() {
+        TimeLogService timeLogService = mock(TimeLogService.class);
+        when(timeLogService.createTimeLog(anyString(), any(TimeLogRequest.class))).thenReturn(response("employee123"));
+        queue = queue(timeLogService, "sync", 100, 5, 100);
+        queue.start();
+
+        TimeLogIngestionResult result = queue.submit("employee123", request());
+
+        assertThat(result.isJournaled()).isFalse();
+        assertThat(result.timeLog().getEmployeeId()).isEqualTo("employee123");
+        verify(timeLogService, never()).createTimeLogBatch(anyList(), anyList());
+    }
+
+    @Test
+    void testConcurrentSubmissionsAreGroupCommitted() throws Exception {
+        TimeLogService timeLogService = batchingService(0);
+        queue = queue(timeLogService, "batched", 50, 100, 1000);
+        queue.start();
+
+        int callers = 200;
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        List<Future<TimeLogIngestionResult>> futures = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            final String employeeId = "employee" + i;
+            futures.add(pool.submit(() -> queue.submit(employeeId, request())));
+        }
+        for (int i = 0; i < callers; i++) {
+            assertThat(futures.get(i).get(10, TimeUnit.SECONDS).timeLog().getEmployeeId()).isEqualTo("employee" + i);
+        }
+        pool.shutdown();
+
+        // Far fewer transactions than requests
+        verify(timeLogService, atMost(callers / 4)).createTimeLogBatch(anyList(), anyList());
+        verify(timeLogService, never()).createTimeLog(anyString(), any(TimeLogRequest.class));
+    }
+
+    @Test
+    void testRejectedEntryOnlyFailsItsOwnCaller() {
+        TimeLogService timeLogService = mock(TimeLogService.class);
+        when(timeLogService.createTimeLogBatch(anyList(), anyList())).thenReturn(Arrays.asList(
+                TimeLogBatchResult.failed(new DailyHoursLimitExceededException("over cap"))));
+        queue = queue(timeLogService, "batched", 1, 0, 10);
+        queue.start();
+
+        assertThatThrownBy(() -> queue.submit("employee123", request()))
+                .isInstanceOf(DailyHoursLimitExceededException.class);
+    }
+
+    @Test
+    void testFailedBatchFailsEveryCaller() {
+        TimeLogService timeLogService = mock(TimeLogService.class);
+        when(timeLogService.createTimeLogBatch(anyList(), anyList())).thenThrow(new IllegalStateException("database down"));
+        queue = queue(timeLogService, "batched", 10, 0, 10);
+        queue.start();
+
+        assertThatThrownBy(() -> queue.submit("employee123", request()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("database down");
+    }
+
+    @Test
+    void testCallersGiveUpAfterTheCommitTimeout() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        TimeLogService timeLogService = mock(TimeLogService.class);
+        when(timeLogService.createTimeLogBatch(anyList(), anyList())).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return List.of(TimeLogBatchResult.created(response("employee1")));
+        });
+        queue = queue(timeLogService, "batched", 1, 0, 10, Duration.ofMillis(200));
+        queue.start();
+
+        // The first caller's batch is stuck in its commit; the second one is still queued behind it
+        assertThatThrownBy(() -> queue.submit("employee1", request()))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("check whether it was created")
+                .hasMessageContaining("503");
+        assertThatThrownBy(() -> queue.submit("employee2", request()))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("was not created");
+        assertThat(queue.queueDepth()).isZero();
+
+        release.countDown();
+        queue.stop();
+        verify(timeLogService, times(1)).createTimeLogBatch(anyList(), anyList());
+    }
+
+    @Test
+    void testConnectivityFailureIsJournaled() {
+        TimeLogService timeLogService = mock(TimeLogService.class);
+        when(timeLogService.createTimeLog(anyString(), any(TimeLogRequest.class)))
+                .thenThrow(new CannotCreateTransactionException("Could not open JPA EntityManager"));
+        queue = queue(timeLogService, "sync", 100, 5, 100);
+        queue.start();
+
+        TimeLogIngestionResult result = queue.submit("employee123", request());
+
+        assertThat(result.isJournaled()).isTrue();
+        assertThat(result.journalRecordId()).isEqualTo("record-1");
+        verify(databaseAvailability).markUnavailable(any());
+    }
+
+    @Test
+    void testDatabaseKnownDownSkipsTheWrite() {
+        TimeLogService timeLogService = mock(TimeLogService.class);
+        when(databaseAvailability.isAvailable()).thenReturn(false);
+        queue = queue(timeLogService, "batched", 10, 0, 10);
+        queue.start();
+
+        assertThat(queue.submit("employee123", request()).isJournaled()).isTrue();
+        verifyNoInteractions(timeLogService);
+    }
+
+    /**
+     * Throughput and latency of the synchronous path vs group commit for several batch sizes,
+     * with a simulated 2 ms commit (fsync) cost per transaction. Run with -Dbenchmarks=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    void benchmarkSyncVsGroupCommit() throws Exception {
+        int callers = 256;
+        int requestsPerCaller = 20;
+        long commitMillis = 2;
+
+        TimeLogService syncService = mock(TimeLogService.class);
+        when(syncService.createTimeLog(anyString(), any(TimeLogRequest.class))).thenAnswer(invocation -> {
+            Thread.sleep(commitMillis);
+            return response(invocation.getArgument(0));
+        });
+        TimeLogIngestionQueue sync = queue(syncService, "sync", 1, 0, 1);
+        sync.start();
+        run("sync", sync, callers, requestsPerCaller);
+
+        for (int batchSize : new int[]{8, 32, 128, 512}) {
+            TimeLogIngestionQueue batched = queue(batchingService(commitMillis), "batched",
+                    batchSize, 5, 10_000);
+            batched.start();
+            run("batched(" + batchSize + ")", batched, callers, requestsPerCaller);
+            batched.stop();
+        }
+    }
+
+    private static void run(String label, TimeLogIngestionQueue queue, int callers, int requestsPerCaller) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        long[] latencies = new long[callers * requestsPerCaller];
+        List<Future<?>> futures = new ArrayList<>();
+        long started = System.nanoTime();
+        for (int c = 0; c < callers; c++) {
+            final int caller = c;
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < requestsPerCaller; i++) {
+                    long t0 = System.nanoTime();
+                    queue.submit("employee" + caller, request());
+                    latencies[caller * requestsPerCaller + i] = System.nanoTime() - t0;
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        pool.shutdown();
+
+        Arrays.sort(latencies);
+        System.out.printf("%-14s %8.0f req/s  p50 %6.2f ms  p99 %6.2f ms%n", label, latencies.length / seconds,
+                latencies[latencies.length / 2] / 1e6, latencies[(int) (latencies.length * 0.99)] / 1e6);
+    }
+
+    private TimeLogIngestionQueue queue(TimeLogService timeLogService, String mode, int batchSize,
+                                        long maxWaitMillis, int queueCapacity) {
+        return queue(timeLogService, mode, batchSize, maxWaitMillis, queueCapacity, Duration.ofSeconds(30));
+    }
+
+    private TimeLogIngestionQueue queue(TimeLogService timeLogService, String mode, int batchSize,
+                                        long maxWaitMillis, int queueCapacity, Duration commitTimeout) {
+        return new TimeLogIngestionQueue(timeLogService, databaseAvailability, journalService,
+                mode, batchSize, maxWaitMillis, queueCapacity, commitTimeout);
+    }
+
+    private static TimeLogService batchingService(long commitMillis) {
+        TimeLogService timeLogService = mock(TimeLogService.class);
+        when(timeLogService.createTimeLogBatch(anyList(), anyList())).thenAnswer(invocation -> {
+            List<String> employeeIds = invocation.getArgument(0);
+            if (commitMillis > 0) {
+                Thread.sleep(commitMillis);
+            }
+            List<TimeLogBatchResult> results = new ArrayList<>();
+            for (String employeeId : employeeIds) {
+                results.add(TimeLogBatchResult.created(response(employeeId)));
+            }
+            return results;
+        });
+        return timeLogService;
+    }
+
+    private static TimeLogRequest request() {
+        TimeLogRequest request = new TimeLogRequest();
+        request.setServiceId("service456");
+        request.setHours(1.0);
+        request.setDate(LocalDate.of(2025, 11, 21));
+        return request;
+    }
+
+    private static TimeLogResponse response(String employeeId) {
+        TimeLogResponse response = new TimeLogResponse();
+        response.setEmployeeId(employeeId);
+        return response;
+    }
+}
@@ -0,0 +1,109 @@
+package com.techtorque.time_logging_service.service;
+
+import com.techtorque.time_logging_service.dto.request.TimeLogUpdateRequest;
+import com.techtorque.time_logging_service.entity.TimeLog;
+import com.techtorque.time_logging_service.exception.ResourceNotFoundException;
+import com.techtorque.time_logging_service.repository.TimeLogRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Second-level cache behaviour through TimeLogService: reads are served from the cache,
+ * and updates/deletes never leave a stale entry behind.
+ * Not @Transactional - each service call must run in its own transaction to reach the shared cache.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TimeLogSecondLevelCacheTest {
+
+    @Autowired
+    private TimeLogService timeLogService;
+
+    @Autowired
+    private TimeLogRepository timeLogRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private String logId;
+
+    @BeforeEach
+    void setUp() {
+        timeLogRepository.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+        TimeLog saved = timeLogRepository.save(TimeLog.builder()
+                .employeeId("employee123")
+                .serviceId("service-cache")
+                .projectId("project-cache")
+                .minutes(120)
+                .date(LocalDate.of(2025, 11, 21))
+                .description("Cached log")
+                .workType("Repair")
+                .build());
+        logId = saved.getId().toString();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        timeLogRepository.deleteAll();
+    }
+
+    @Test
+    void testGetByIdIsServedFromTheEntityCache() {
+        timeLogService.getTimeLogById(logId);
+        timeLogService.getTimeLogById(logId);
+
+        assertThat(statistics.getDomainDataRegionStatistics("time-logs").getHitCount()).isGreaterThanOrEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    void testUpdateInvalidatesEntityAndQueryCache() {
+        assertThat(timeLogService.getTimeLogsByServiceId("service-cache")).hasSize(1);
+        assertThat(timeLogService.getTimeLogsByServiceId("service-cache").get(0).getHours()).isEqualTo(2.0);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        timeLogService.getTimeLogById(logId);
+
+        TimeLogUpdateRequest update = new TimeLogUpdateRequest();
+        update.setHours(3.5);
+        update.setDescription("Updated");
+        timeLogService.updateTimeLog(logId, update);
+
+        assertThat(timeLogService.getTimeLogById(logId).getHours()).isEqualTo(3.5);
+        assertThat(timeLogService.getTimeLogById(logId).getDescription()).isEqualTo("Updated");
+        assertThat(timeLogService.getTimeLogsByServiceId("service-cache").get(0).getHours()).isEqualTo(3.5);
+        assertThat(timeLogService.getTimeLogsByProjectId("project-cache").get(0).getDescription()).isEqualTo("Updated");
+    }
+
+    @Test
+    void testDeleteEvictsEntityAndQueryCache() {
+        timeLogService.getTimeLogById(logId);
+        assertThat(timeLogService.getTimeLogsByServiceId("service-cache")).hasSize(1);
+        assertThat(entityManagerFactory.getCache().contains(TimeLog.class, UUID.fromString(logId))).isTrue();
+
+        timeLogService.deleteTimeLog(logId);
+
+        // A READ_WRITE region keeps a soft lock under the key until it times out, so contains() stays true;
+        // what matters is that the entry can no longer be read from the cache
+        long hits = statistics.getDomainDataRegionStatistics("time-logs").getHitCount();
+        assertThatThrownBy(() -> timeLogService.getTimeLogById(logId)).isInstanceOf(ResourceNotFoundException.class);
+        assertThat(statistics.getDomainDataRegionStatistics("time-logs").getHitCount()).isEqualTo(hits);
+        assertThat(timeLogService.getTimeLogsByServiceId("service-cache")).isEmpty();
+    }
+}
@@ -0,0 +1,113 @@
+package com.techtorque.time_logging_service.service;
+
+import com.techtorque.time_logging_service.dto.response.TimeLogSummaryResponse;
+import com.techtorque.time_logging_service.entity.TimeLog;
+import com.techtorque.time_logging_service.repository.TimeLogRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Batched team summaries agree with one summary call per employee, across several chunks
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TimeLogSummariesTest {
+
+    private static final LocalDate WEDNESDAY = LocalDate.of(2025, 11, 19);
+
+    @Autowired
+    private TimeLogService timeLogService;
+
+    @Autowired
+    private TimeLogRepository timeLogRepository;
+
+    @BeforeEach
+    void setUp() {
+        timeLogRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        timeLogRepository.deleteAll();
+    }
+
+    @Test
+    void testBatchedSummariesMatchIndividualSummaries() {
+        List<String> team = saveTeam(TimeLogService.SUMMARY_BATCH_SIZE + 20, new Random(42));
+        List<String> requested = new ArrayList<>(team);
+        requested.add("employee-without-logs");
+        requested.add(team.get(0));
+
+        for (String period : List.of("daily", "weekly")) {
+            List<TimeLogSummaryResponse> summaries = timeLogService.getEmployeeSummaries(requested, period, WEDNESDAY);
+
+            assertThat(summaries).hasSize(team.size() + 1);
+            for (int i = 0; i < team.size(); i++) {
+                TimeLogSummaryResponse expected = timeLogService.getEmployeeSummaryByPeriod(team.get(i), period, WEDNESDAY);
+                assertThat(summaries.get(i)).usingRecursiveComparison().isEqualTo(expected);
+            }
+            TimeLogSummaryResponse empty = summaries.get(team.size());
+            assertThat(empty.getEmployeeId()).isEqualTo("employee-without-logs");
+            assertThat(empty.getCount()).isZero();
+            assertThat(empty.getByService()).isEmpty();
+        }
+    }
+
+    /**
+     * One batched call vs one call per employee for teams of 10, 100 and 1000. Run with -Dbenchmarks=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+    void benchmarkBatchedVsIndividualSummaries() {
+        List<String> everyone = saveTeam(1000, new Random(7));
+        for (int round = 0; round < 3; round++) {
+            for (int size : new int[]{10, 100, 1000}) {
+                List<String> team = everyone.subList(0, size);
+                long t0 = System.nanoTime();
+                for (String employeeId : team) {
+                    timeLogService.getEmployeeSummaryByPeriod(employeeId, "weekly", WEDNESDAY);
+                }
+                long t1 = System.nanoTime();
+                timeLogService.getEmployeeSummaries(team, "weekly", WEDNESDAY);
+                long t2 = System.nanoTime();
+                System.out.printf("%4d employees: %4d individual calls %8.2f ms   batched %8.2f ms%n",
+                        size, size, (t1 - t0) / 1e6, (t2 - t1) / 1e6);
+            }
+        }
+    }
+
+    private List<String> saveTeam(int size, Random random) {
+        String[] services = {"SRV-A", "SRV-B", "SRV-C"};
+        List<String> team = new ArrayList<>(size);
+        List<TimeLog> logs = new ArrayList<>();
+        for (int e = 0; e < size; e++) {
+            String employeeId = "technician-" + e;
+            team.add(employeeId);
+            int entries = random.nextInt(6);
+            for (int i = 0; i < entries; i++) {
+                logs.add(TimeLog.builder()
+                        .employeeId(employeeId)
+                        .serviceId(services[random.nextInt(services.length)])
+                        .projectId(random.nextBoolean() ? "PRJ-" + random.nextInt(4) : null)
+                        .minutes(30 * (1 + random.nextInt(8)))
+                        .date(WEDNESDAY.plusDays(random.nextInt(15) - 7))
+                        .workType("Repair")
+                        .build());
+            }
+        }
+        timeLogRepository.saveAll(logs);
+        return team;
+    }
+}
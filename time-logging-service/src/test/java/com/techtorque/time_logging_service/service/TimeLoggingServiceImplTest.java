@@ -18,6 +18,7 @@ import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -28,6 +29,8 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class TimeLoggingServiceImplTest {
 
+    private static final UUID LOG_ID = UUID.fromString("6f1d2c3b-8a4e-4f5a-9b7c-1d2e3f4a5b6c");
+
     @Mock
     private TimeLogRepository timeLogRepository;
 
@@ -40,11 +43,11 @@ class TimeLoggingServiceImplTest {
     @BeforeEach
     void setUp() {
         testTimeLog = TimeLog.builder()
-                .id("log123")
+                .id(LOG_ID)
                 .employeeId("employee123")
                 .serviceId("service456")
                 .projectId("project789")
-                .hours(8.0)
+                .minutes(480)
                 .date(LocalDate.of(2025, 11, 21))
                 .description("Worked on feature")
                 .workType("Development")
@@ -67,17 +70,17 @@ class TimeLoggingServiceImplTest {
 
         assertThat(result).isNotNull();
         assertThat(result.getEmployeeId()).isEqualTo("employee123");
-        assertThat(result.getHours()).isEqualTo(8.0);
+        assertThat(result.getMinutes()).isEqualTo(480);
         verify(timeLogRepository, times(1)).save(any(TimeLog.class));
     }
 
     @Test
     void testGetLogsForService() {
         TimeLog log2 = TimeLog.builder()
-                .id("log456")
+                .id(UUID.fromString("0b8f3a52-5c1e-4d2b-9a61-2f0c7e4d9b13"))
                 .employeeId("employee999")
                 .serviceId("service456")
-                .hours(4.0)
+                .minutes(240)
                 .date(LocalDate.of(2025, 11, 22))
                 .description("Another task")
                 .build();
@@ -94,21 +97,21 @@ class TimeLoggingServiceImplTest {
 
     @Test
     void testGetLogDetails_Success() {
-        when(timeLogRepository.findByIdAndEmployeeId("log123", "employee123"))
+        when(timeLogRepository.findByIdAndEmployeeId(LOG_ID, "employee123"))
                 .thenReturn(Optional.of(testTimeLog));
 
-        Optional<TimeLog> result = timeLoggingService.getLogDetails("log123", "employee123");
+        Optional<TimeLog> result = timeLoggingService.getLogDetails(LOG_ID.toString(), "employee123");
 
         assertThat(result).isPresent();
-        assertThat(result.get().getId()).isEqualTo("log123");
+        assertThat(result.get().getId()).isEqualTo(LOG_ID);
     }
 
     @Test
     void testGetLogDetails_AccessDenied() {
-        when(timeLogRepository.findByIdAndEmployeeId("log123", "wrongEmployee"))
+        when(timeLogRepository.findByIdAndEmployeeId(LOG_ID, "wrongEmployee"))
                 .thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> timeLoggingService.getLogDetails("log123", "wrongEmployee"))
+        assertThatThrownBy(() -> timeLoggingService.getLogDetails(LOG_ID.toString(), "wrongEmployee"))
                 .isInstanceOf(AccessDeniedException.class)
                 .hasMessageContaining("Access denied");
     }
@@ -119,11 +122,11 @@ class TimeLoggingServiceImplTest {
         updateRequest.setHours(10.0);
         updateRequest.setDescription("Updated description");
 
-        when(timeLogRepository.findByIdAndEmployeeId("log123", "employee123"))
+        when(timeLogRepository.findByIdAndEmployeeId(LOG_ID, "employee123"))
                 .thenReturn(Optional.of(testTimeLog));
         when(timeLogRepository.save(any(TimeLog.class))).thenReturn(testTimeLog);
 
-        TimeLog result = timeLoggingService.updateLog("log123", updateRequest, "employee123");
+        TimeLog result = timeLoggingService.updateLog(LOG_ID.toString(), updateRequest, "employee123");
 
         assertThat(result).isNotNull();
         verify(timeLogRepository, times(1)).save(any(TimeLog.class));
@@ -134,10 +137,10 @@ class TimeLoggingServiceImplTest {
         TimeLogUpdateRequest updateRequest = new TimeLogUpdateRequest();
         updateRequest.setHours(10.0);
 
-        when(timeLogRepository.findByIdAndEmployeeId("log123", "wrongEmployee"))
+        when(timeLogRepository.findByIdAndEmployeeId(LOG_ID, "wrongEmployee"))
                 .thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> timeLoggingService.updateLog("log123", updateRequest, "wrongEmployee"))
+        assertThatThrownBy(() -> timeLoggingService.updateLog(LOG_ID.toString(), updateRequest, "wrongEmployee"))
                 .isInstanceOf(AccessDeniedException.class);
     }
 
@@ -147,37 +150,37 @@ class TimeLoggingServiceImplTest {
         updateRequest.setHours(10.0);
         // Other fields are null
 
-        when(timeLogRepository.findByIdAndEmployeeId("log123", "employee123"))
+        when(timeLogRepository.findByIdAndEmployeeId(LOG_ID, "employee123"))
                 .thenReturn(Optional.of(testTimeLog));
         when(timeLogRepository.save(any(TimeLog.class))).thenAnswer(invocation -> {
             TimeLog saved = invocation.getArgument(0);
-            assertThat(saved.getHours()).isEqualTo(10.0);
+            assertThat(saved.getMinutes()).isEqualTo(600);
             assertThat(saved.getDescription()).isEqualTo("Worked on feature"); // unchanged
             return saved;
         });
 
-        timeLoggingService.updateLog("log123", updateRequest, "employee123");
+        timeLoggingService.updateLog(LOG_ID.toString(), updateRequest, "employee123");
 
         verify(timeLogRepository, times(1)).save(any(TimeLog.class));
     }
 
     @Test
     void testDeleteLog_Success() {
-        when(timeLogRepository.findByIdAndEmployeeId("log123", "employee123"))
+        when(timeLogRepository.findByIdAndEmployeeId(LOG_ID, "employee123"))
                 .thenReturn(Optional.of(testTimeLog));
         doNothing().when(timeLogRepository).delete(any(TimeLog.class));
 
-        timeLoggingService.deleteLog("log123", "employee123");
+        timeLoggingService.deleteLog(LOG_ID.toString(), "employee123");
 
         verify(timeLogRepository, times(1)).delete(testTimeLog);
     }
 
     @Test
     void testDeleteLog_AccessDenied() {
-        when(timeLogRepository.findByIdAndEmployeeId("log123", "wrongEmployee"))
+        when(timeLogRepository.findByIdAndEmployeeId(LOG_ID, "wrongEmployee"))
                 .thenReturn(Optional.empty());
 
-        assertThatThrownBy(() -> timeLoggingService.deleteLog("log123", "wrongEmployee"))
+        assertThatThrownBy(() -> timeLoggingService.deleteLog(LOG_ID.toString(), "wrongEmployee"))
                 .isInstanceOf(AccessDeniedException.class);
     }
 
@@ -187,7 +190,7 @@ class TimeLoggingServiceImplTest {
                 .employeeId("employee123")
                 .serviceId("service1")
                 .projectId("project1")
-                .hours(8.0)
+                .minutes(480)
                 .date(LocalDate.of(2025, 11, 15))
                 .build();
 
@@ -195,7 +198,7 @@ class TimeLoggingServiceImplTest {
                 .employeeId("employee123")
                 .serviceId("service1")
                 .projectId("project2")
-                .hours(6.0)
+                .minutes(360)
                 .date(LocalDate.of(2025, 11, 20))
                 .build();
 
@@ -203,7 +206,7 @@ class TimeLoggingServiceImplTest {
                 .employeeId("employee123")
                 .serviceId("service2")
                 .projectId("project1")
-                .hours(4.0)
+                .minutes(240)
                 .date(LocalDate.of(2025, 11, 25))
                 .build();
 
@@ -232,14 +235,14 @@ class TimeLoggingServiceImplTest {
         TimeLog log1 = TimeLog.builder()
                 .employeeId("employee123")
                 .serviceId("service1")
-                .hours(8.0)
+                .minutes(480)
                 .date(LocalDate.of(2025, 11, 21))
                 .build();
 
         TimeLog log2 = TimeLog.builder()
                 .employeeId("employee123")
                 .serviceId("service1")
-                .hours(7.0)
+                .minutes(420)
                 .date(LocalDate.of(2025, 11, 22))
                 .build();
 
@@ -0,0 +1,375 @@
+package com.techtorque.time_logging_service.service;
+
+import com.techtorque.time_logging_service.dto.request.TimeLogRequest;
+import com.techtorque.time_logging_service.dto.request.TimerStartRequest;
+import com.techtorque.time_logging_service.dto.response.ActiveTimerResponse;
+import com.techtorque.time_logging_service.dto.response.TimeLogResponse;
+import com.techtorque.time_logging_service.entity.ActiveTimer;
+import com.techtorque.time_logging_service.exception.DailyHoursLimitExceededException;
+import com.techtorque.time_logging_service.exception.ResourceNotFoundException;
+import com.techtorque.time_logging_service.repository.ActiveTimerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TimerServiceTest {
+
+    private TimeLogService timeLogService;
+    private DailyHoursLedger dailyHoursLedger;
+    private PayrollPeriodService payrollPeriodService;
+    private ActiveTimerRepository activeTimerRepository;
+    private MutableClock clock;
+    private TimerService timerService;
+
+    @BeforeEach
+    void setUp() {
+        timeLogService = mock(TimeLogService.class);
+        dailyHoursLedger = mock(DailyHoursLedger.class);
+        payrollPeriodService = mock(PayrollPeriodService.class);
+        activeTimerRepository = mock(ActiveTimerRepository.class);
+        clock = new MutableClock(Instant.parse("2025-11-21T08:00:00Z"));
+        timerService = new TimerService(timeLogService, mock(WorkTypeDictionary.class), dailyHoursLedger,
+                payrollPeriodService, activeTimerRepository, mock(PlatformTransactionManager.class), Duration.ofHours(2),
+                "instance1", clock);
+        when(timeLogService.createTimeLog(any(), any())).thenReturn(new TimeLogResponse());
+        when(dailyHoursLedger.getRemainingMinutes(any(), any())).thenReturn(24 * 60L);
+        when(activeTimerRepository.deleteOwned(any(), any())).thenReturn(1);
+    }
+
+    @Test
+    void testStopPersistsElapsedTimeAsTimeLog() {
+        timerService.startTimer("employee123", startRequest());
+        clock.advance(Duration.ofMinutes(90));
+
+        timerService.stopTimer("employee123");
+
+        ArgumentCaptor<TimeLogRequest> captor = ArgumentCaptor.forClass(TimeLogRequest.class);
+        verify(timeLogService).createTimeLog(eq("employee123"), captor.capture());
+        assertThat(captor.getValue().getHours()).isEqualTo(1.5);
+        assertThat(captor.getValue().getServiceId()).isEqualTo("service456");
+        assertThat(captor.getValue().getDate()).isEqualTo(LocalDate.of(2025, 11, 21));
+        verify(activeTimerRepository).deleteOwned("employee123", "instance1");
+        assertThat(timerService.activeCount()).isZero();
+    }
+
+    @Test
+    void testStopPastMidnightLogsEachDay() {
+        clock.advance(Duration.ofHours(15));
+        timerService.startTimer("employee123", startRequest());
+        clock.advance(Duration.ofMinutes(150));
+
+        List<TimeLogResponse> created = timerService.stopTimer("employee123");
+
+        ArgumentCaptor<TimeLogRequest> captor = ArgumentCaptor.forClass(TimeLogRequest.class);
+        verify(timeLogService, times(2)).createTimeLog(eq("employee123"), captor.capture());
+        assertThat(captor.getAllValues()).extracting(TimeLogRequest::getDate)
+                .containsExactly(LocalDate.of(2025, 11, 21), LocalDate.of(2025, 11, 22));
+        assertThat(captor.getAllValues()).extracting(TimeLogRequest::getHours).containsExactly(1.0, 1.5);
+        assertThat(created).hasSize(2);
+    }
+
+    @Test
+    void testStopLogsOnlyWhatTheCapAndOpenWeeksAllow() {
+        clock.advance(Duration.ofHours(15));
+        timerService.startTimer("employee123", startRequest());
+        clock.advance(Duration.ofHours(3));
+        when(dailyHoursLedger.getRemainingMinutes("employee123", LocalDate.of(2025, 11, 21))).thenReturn(30L);
+
+        timerService.stopTimer("employee123");
+
+        ArgumentCaptor<TimeLogRequest> captor = ArgumentCaptor.forClass(TimeLogRequest.class);
+        verify(timeLogService, times(2)).createTimeLog(eq("employee123"), captor.capture());
+        assertThat(captor.getAllValues()).extracting(TimeLogRequest::getHours).containsExactly(0.5, 2.0);
+
+        // Runs from Saturday into the next payroll week, which is closed
+        timerService.startTimer("employee123", startRequest());
+        clock.advance(Duration.ofDays(3));
+        when(payrollPeriodService.closedWeeks(anyCollection())).thenReturn(Set.of(LocalDate.of(2025, 11, 24)));
+
+        assertThat(timerService.stopTimer("employee123")).hasSize(2);
+        verify(timeLogService, times(4)).createTimeLog(eq("employee123"), any());
+        assertThat(timerService.activeCount()).isZero();
+    }
+
+    @Test
+    void testStopOfATimerClaimedElsewhereLogsNothing() {
+        when(activeTimerRepository.findByOwner("instance1")).thenReturn(List.of(checkpoint("employee123")));
+        timerService.recover();
+        when(activeTimerRepository.deleteOwned("employee123", "instance1")).thenReturn(0);
+
+        assertThat(timerService.stopTimer("employee123")).isEmpty();
+        verifyNoInteractions(timeLogService);
+        assertThat(timerService.activeCount()).isZero();
+    }
+
+    @Test
+    void testCancelDiscardsTheTimer() {
+        timerService.startTimer("employee123", startRequest());
+        clock.advance(Duration.ofMinutes(90));
+
+        timerService.cancelTimer("employee123");
+
+        verify(activeTimerRepository).deleteOwned("employee123", "instance1");
+        verifyNoInteractions(timeLogService);
+        assertThatThrownBy(() -> timerService.getActiveTimer("employee123"))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> timerService.cancelTimer("employee123"))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void testHeartbeatsDoNotTouchTheDatabase() {
+        timerService.startTimer("employee123", startRequest());
+        for (int i = 0; i < 10; i++) {
+            clock.advance(Duration.ofSeconds(30));
+            ActiveTimerResponse response = timerService.heartbeat("employee123");
+            assertThat(response.getLastHeartbeatAt()).isEqualTo(clock.instant());
+        }
+
+        verifyNoInteractions(activeTimerRepository);
+        verifyNoInteractions(timeLogService);
+    }
+
+    @Test
+    void testOnlyOneTimerPerEmployee() {
+        timerService.startTimer("employee123", startRequest());
+
+        assertThatThrownBy(() -> timerService.startTimer("employee123", startRequest()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testStopWithoutTimer() {
+        assertThatThrownBy(() -> timerService.stopTimer("employee123"))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void testFailedStopKeepsTimerRunning() {
+        timerService.startTimer("employee123", startRequest());
+        when(timeLogService.createTimeLog(any(), any())).thenThrow(new DailyHoursLimitExceededException("over cap"));
+
+        assertThatThrownBy(() -> timerService.stopTimer("employee123"))
+                .isInstanceOf(DailyHoursLimitExceededException.class);
+        assertThat(timerService.getActiveTimer("employee123")).isNotNull();
+    }
+
+    @Test
+    void testCheckpointInsertsNewAndBulkUpdatesHeartbeats() {
+        timerService.startTimer("employee1", startRequest());
+        timerService.startTimer("employee2", startRequest());
+
+        timerService.checkpoint();
+        verify(activeTimerRepository, times(1)).saveAll(anyList());
+        verify(activeTimerRepository, never()).updateHeartbeats(anyCollection(), any());
+
+        clock.advance(Duration.ofSeconds(30));
+        timerService.heartbeat("employee1");
+        timerService.checkpoint();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<String>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(activeTimerRepository).updateHeartbeats(ids.capture(), eq(clock.instant()));
+        assertThat(ids.getValue()).containsExactly("employee1");
+        verify(activeTimerRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    void testCheckpointWritesEachSessionsOwnHeartbeat() {
+        timerService.startTimer("employee1", startRequest());
+        timerService.startTimer("employee2", startRequest());
+        timerService.startTimer("employee3", startRequest());
+        timerService.checkpoint();
+
+        clock.advance(Duration.ofMillis(30_250));
+        Instant first = clock.instant().truncatedTo(ChronoUnit.SECONDS);
+        timerService.heartbeat("employee1");
+        timerService.heartbeat("employee3");
+        clock.advance(Duration.ofSeconds(15));
+        Instant second = clock.instant().truncatedTo(ChronoUnit.SECONDS);
+        timerService.heartbeat("employee2");
+        clock.advance(Duration.ofSeconds(15));
+        timerService.checkpoint();
+
+        verify(activeTimerRepository).updateHeartbeats(List.of("employee1", "employee3"), first);
+        verify(activeTimerRepository).updateHeartbeats(List.of("employee2"), second);
+        verify(activeTimerRepository, never()).updateHeartbeats(anyCollection(), eq(clock.instant()));
+        assertThat(timerService.getActiveTimer("employee1").getLastHeartbeatAt()).isEqualTo(first);
+    }
+
+    @Test
+    void testStaleTimersAreStoppedAtLastHeartbeat() {
+        timerService.startTimer("employee123", startRequest());
+        clock.advance(Duration.ofMinutes(45));
+        timerService.heartbeat("employee123");
+        clock.advance(Duration.ofHours(3));
+
+        timerService.checkpoint();
+
+        ArgumentCaptor<TimeLogRequest> captor = ArgumentCaptor.forClass(TimeLogRequest.class);
+        verify(timeLogService).createTimeLog(eq("employee123"), captor.capture());
+        assertThat(captor.getValue().getHours()).isEqualTo(0.75);
+        assertThat(timerService.activeCount()).isZero();
+    }
+
+    @Test
+    void testStaleTimerThatCannotBeLoggedIsDropped() {
+        timerService.startTimer("employee123", startRequest());
+        clock.advance(Duration.ofHours(3));
+        when(timeLogService.createTimeLog(any(), any())).thenThrow(new IllegalArgumentException("Unknown work type"));
+
+        timerService.checkpoint();
+
+        assertThat(timerService.activeCount()).isZero();
+        verify(activeTimerRepository, times(2)).deleteOwned("employee123", "instance1");
+        timerService.checkpoint();
+        verify(timeLogService, times(1)).createTimeLog(any(), any());
+    }
+
+    @Test
+    void testStaleTimerIsKeptWhileTheDatabaseIsDown() {
+        timerService.startTimer("employee123", startRequest());
+        clock.advance(Duration.ofHours(3));
+        when(timeLogService.createTimeLog(any(), any())).thenThrow(new DataAccessResourceFailureException("down"));
+
+        timerService.checkpoint();
+
+        assertThat(timerService.activeCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testRecoverRestoresOnlyOwnedTimers() {
+        when(activeTimerRepository.findByOwner("instance1")).thenReturn(List.of(checkpoint("employee123")));
+
+        timerService.recover();
+
+        verify(activeTimerRepository).claimUnowned("instance1");
+        verify(activeTimerRepository, never()).findAll();
+        assertThat(timerService.getActiveTimer("employee123").getElapsedMinutes()).isEqualTo(30);
+    }
+
+    @Test
+    void testAbandonedTimersOfOtherInstancesAreClaimedAndStopped() {
+        ActiveTimer abandoned = checkpoint("employee123");
+        abandoned.setOwner("instance2");
+        abandoned.setLastHeartbeatAt(clock.instant().minus(Duration.ofHours(5)));
+        ActiveTimer raced = checkpoint("employee456");
+        raced.setOwner("instance3");
+        when(activeTimerRepository.findStaleNotOwnedBy(eq("instance1"), any())).thenReturn(List.of(abandoned, raced));
+        when(activeTimerRepository.claim("employee123", "instance2", "instance1")).thenReturn(1);
+
+        timerService.checkpoint();
+
+        verify(activeTimerRepository).findStaleNotOwnedBy("instance1", clock.instant().minus(Duration.ofHours(4)));
+        verify(timeLogService).createTimeLog(eq("employee123"), any());
+        verify(timeLogService, never()).createTimeLog(eq("employee456"), any());
+        assertThat(timerService.activeCount()).isZero();
+    }
+
+    @Test
+    void testFiftyThousandConcurrentTimers() throws Exception {
+        int timers = 50_000;
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            final int offset = t;
+            pool.submit(() -> {
+                for (int i = offset; i < timers; i += threads) {
+                    timerService.startTimer("employee" + i, startRequest());
+                    timerService.heartbeat("employee" + i);
+                }
+            });
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+        assertThat(timerService.activeCount()).isEqualTo(timers);
+
+        timerService.checkpoint();
+        // 50 chunked batch inserts instead of 50k individual writes
+        verify(activeTimerRepository, times(timers / 1000)).saveAll(anyList());
+
+        ExecutorService heartbeatPool = Executors.newFixedThreadPool(threads);
+        clock.advance(Duration.ofSeconds(30));
+        for (int t = 0; t < threads; t++) {
+            final int offset = t;
+            heartbeatPool.submit(() -> {
+                for (int i = offset; i < timers; i += threads) {
+                    timerService.heartbeat("employee" + i);
+                }
+            });
+        }
+        heartbeatPool.shutdown();
+        assertThat(heartbeatPool.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+
+        timerService.checkpoint();
+        verify(activeTimerRepository, times(timers / 1000)).updateHeartbeats(anyCollection(), any());
+    }
+
+    private ActiveTimer checkpoint(String employeeId) {
+        return ActiveTimer.builder()
+                .employeeId(employeeId)
+                .serviceId("service456")
+                .startedAt(clock.instant().minus(Duration.ofMinutes(30)))
+                .lastHeartbeatAt(clock.instant())
+                .owner("instance1")
+                .build();
+    }
+
+    private static TimerStartRequest startRequest() {
+        TimerStartRequest request = new TimerStartRequest();
+        request.setServiceId("service456");
+        request.setWorkType("Repair");
+        return request;
+    }
+
+    private static final class MutableClock extends Clock {
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.techtorque.time_logging_service.service;
+
+import com.techtorque.time_logging_service.entity.WorkType;
+import com.techtorque.time_logging_service.repository.WorkTypeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyShort;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WorkTypeDictionaryTest {
+
+    private final WorkTypeRepository workTypeRepository = mock(WorkTypeRepository.class);
+    private final List<WorkType> rows = new ArrayList<>();
+    private WorkTypeDictionary dictionary;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < WorkTypeDictionary.SEED.size(); i++) {
+            rows.add(WorkType.builder().code((short) (i + 1)).name(WorkTypeDictionary.SEED.get(i)).build());
+        }
+        when(workTypeRepository.existsById(anyShort())).thenReturn(true);
+        when(workTypeRepository.findAll()).thenAnswer(invocation -> List.copyOf(rows));
+        dictionary = new WorkTypeDictionary(workTypeRepository, mock(PlatformTransactionManager.class), List.of());
+        dictionary.load();
+    }
+
+    @Test
+    void testUnknownNamesAreAnsweredFromMemory() {
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(dictionary.find("Unknown" + i)).isNull();
+        }
+        assertThatThrownBy(() -> dictionary.requireKnown("Freestyle")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(dictionary.find("Repair")).isEqualTo((short) 2);
+
+        verify(workTypeRepository, times(1)).findAll();
+    }
+
+    @Test
+    void testUnknownCodesReloadOnce() {
+        rows.add(WorkType.builder().code((short) 9).name("Development").build());
+
+        assertThat(dictionary.decode((short) 9)).isEqualTo("Development");
+        assertThat(dictionary.find("Development")).isEqualTo((short) 9);
+        assertThatThrownBy(() -> dictionary.decode((short) 10)).isInstanceOf(IllegalStateException.class);
+
+        verify(workTypeRepository, times(3)).findAll();
+    }
+}